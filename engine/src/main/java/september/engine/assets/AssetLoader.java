@@ -1,6 +1,8 @@
 package september.engine.assets;
 
 import org.lwjgl.BufferUtils;
+import september.engine.rendering.DecodedImage;
+import september.engine.rendering.FontAtlas;
 import september.engine.rendering.Texture;
 import september.engine.rendering.gl.Shader;
 
@@ -10,18 +12,61 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * A utility class for loading raw asset data from files.
  * This class handles the low-level details of reading files from the classpath
  * and supports parsing GLSL #include directives.
+ * <p>
+ * If an {@link AssetPack} is mounted, files it contains are served from its memory mapping
+ * without copying, and only files missing from the pack are read from the classpath.
+ * <p>
+ * During development, source directories can be mounted ahead of both with
+ * {@link #mountDirectories(List)}, so edited files are read as saved instead of from a stale
+ * build output or pack.
  */
 public final class AssetLoader {
 
+  private static volatile AssetPack mountedPack;
+  private static volatile List<Path> mountedDirectories = List.of();
+
   // Private constructor to prevent instantiation of this utility class.
   private AssetLoader() {
   }
 
+  /**
+   * Sets the asset pack consulted before the classpath.
+   *
+   * @param pack The pack to serve assets from, or null to read everything from the classpath.
+   */
+  public static void mount(AssetPack pack) {
+    mountedPack = pack;
+  }
+
+  /**
+   * Gets the mounted asset pack.
+   *
+   * @return The mounted pack, or null if none is mounted.
+   */
+  public static AssetPack mountedPack() {
+    return mountedPack;
+  }
+
+  /**
+   * Sets the directories consulted before the asset pack and the classpath. A resource path
+   * such as {@code /textures/player.png} is resolved against each directory in turn.
+   *
+   * @param directories The asset root directories, or an empty list to disable the overlay.
+   */
+  public static void mountDirectories(List<Path> directories) {
+    mountedDirectories = List.copyOf(directories);
+  }
+
   /**
    * Loads a shader program by reading vertex and fragment shader source files.
    * This method recursively processes #include directives.
@@ -51,13 +96,56 @@ public final class AssetLoader {
     }
   }
 
+  /**
+   * Decodes an image file on the classpath into RGBA pixels without touching the GPU.
+   *
+   * @param filePath The classpath resource path to the image file.
+   * @return The decoded image, which the caller must close.
+   */
+  public static DecodedImage decodeImage(String filePath) {
+    try {
+      return DecodedImage.decode(readResourceToByteBuffer(filePath));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load texture resource: " + filePath, e);
+    }
+  }
+
+  /**
+   * Loads a TrueType font from the classpath and rasterizes it into a glyph atlas.
+   *
+   * @param filePath    The classpath resource path to the .ttf file.
+   * @param pixelHeight The height in pixels to rasterize the glyphs at.
+   * @return A new FontAtlas.
+   */
+  public static FontAtlas loadFont(String filePath, float pixelHeight) {
+    try {
+      return FontAtlas.bake(readResourceToByteBuffer(filePath), pixelHeight);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load font resource: " + filePath, e);
+    }
+  }
+
   /**
    * Recursively loads a shader source file, processing #include directives.
+   * This only reads files, so it may run on any thread.
    *
    * @param filePath The classpath path to the shader file.
    * @return The complete shader source with all includes resolved.
    */
-  private static String loadShaderSourceWithIncludes(String filePath) {
+  public static String loadShaderSourceWithIncludes(String filePath) {
+    return loadShaderSourceWithIncludes(filePath, new HashSet<>());
+  }
+
+  /**
+   * Recursively loads a shader source file, processing #include directives, and records every
+   * file read along the way so that a change to any of them can trigger a reload.
+   *
+   * @param filePath     The classpath path to the shader file.
+   * @param dependencies Receives the normalized path of the file and of every file it includes.
+   * @return The complete shader source with all includes resolved.
+   */
+  public static String loadShaderSourceWithIncludes(String filePath, Set<String> dependencies) {
+    dependencies.add(normalize(filePath));
     String source = readResourceToString(filePath);
 
     // Determine the base path for relative includes
@@ -74,7 +162,7 @@ public final class AssetLoader {
         // Extract path from quotes
         String includePath = trimmedLine.substring(trimmedLine.indexOf('"') + 1, trimmedLine.lastIndexOf('"'));
         // Recursively load and append the included source
-        finalSource.append(loadShaderSourceWithIncludes(basePath + includePath));
+        finalSource.append(loadShaderSourceWithIncludes(basePath + includePath, dependencies));
         finalSource.append(System.lineSeparator());
       } else {
         finalSource.append(line).append(System.lineSeparator());
@@ -90,6 +178,18 @@ public final class AssetLoader {
    * @return The contents of the file as a string.
    */
   public static String readResourceToString(String filePath) {
+    Path file = findInDirectories(filePath);
+    if (file != null) {
+      try {
+        return Files.readString(file);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to read resource: " + filePath, e);
+      }
+    }
+    ByteBuffer packed = findInPack(filePath);
+    if (packed != null) {
+      return StandardCharsets.UTF_8.decode(packed).toString();
+    }
     String correctedPath = filePath.startsWith("/") ? filePath.substring(1) : filePath;
     try (InputStream is = AssetLoader.class.getClassLoader().getResourceAsStream(correctedPath)) {
       if (is == null) {
@@ -108,14 +208,53 @@ public final class AssetLoader {
     return newBuffer;
   }
 
+  /**
+   * Gets the canonical form of a resource path used to compare paths from different sources:
+   * a leading slash and no {@code .} or {@code ..} segments.
+   *
+   * @param filePath The resource path.
+   * @return The normalized path.
+   */
+  public static String normalize(String filePath) {
+    String normalized = Path.of("/").resolve(filePath).normalize().toString().replace('\\', '/');
+    return normalized.startsWith("/") ? normalized : "/" + normalized;
+  }
+
+  private static Path findInDirectories(String filePath) {
+    String relative = normalize(filePath).substring(1);
+    for (Path directory : mountedDirectories) {
+      Path file = directory.resolve(relative);
+      if (Files.isRegularFile(file)) {
+        return file;
+      }
+    }
+    return null;
+  }
+
+  private static ByteBuffer findInPack(String filePath) {
+    AssetPack pack = mountedPack;
+    return pack == null ? null : pack.find(filePath);
+  }
+
   /**
    * Reads a resource file from the classpath into a direct ByteBuffer.
    * This method reads the resource in chunks and is robust for use inside JARs.
+   * If the mounted asset pack contains the file, a read-only slice of the pack is returned
+   * instead of a copy. Either way the buffer is garbage collected and must not be freed.
    *
    * @param filePath The classpath resource path.
    * @return A ByteBuffer containing the file data.
    */
   public static ByteBuffer readResourceToByteBuffer(String filePath) throws IOException {
+    Path file = findInDirectories(filePath);
+    if (file != null) {
+      byte[] bytes = Files.readAllBytes(file);
+      return BufferUtils.createByteBuffer(bytes.length).put(bytes).flip();
+    }
+    ByteBuffer packed = findInPack(filePath);
+    if (packed != null) {
+      return packed;
+    }
     String correctedPath = filePath.startsWith("/") ? filePath.substring(1) : filePath;
     InputStream source = AssetLoader.class.getClassLoader().getResourceAsStream(correctedPath);
     if (source == null) {
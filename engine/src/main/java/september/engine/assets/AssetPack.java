@@ -0,0 +1,121 @@
+package september.engine.assets;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A read-only archive of asset files, memory-mapped once and served as zero-copy slices.
+ * <p>
+ * The file starts with a 16-byte header (magic, version, entry count and index size), followed by
+ * an index of entries, each a UTF-8 path with the offset and length of its data. The data blobs
+ * follow the index, each aligned to {@link #ALIGNMENT} bytes. All values are little-endian.
+ * Packs are written by {@link AssetPackBuilder}.
+ * <p>
+ * The slices returned by {@link #find(String)} are direct buffers backed by the mapping, so they
+ * can be passed straight to stb decoders. They must not be freed and stay valid for as long as the
+ * pack is reachable.
+ */
+public final class AssetPack {
+
+  /** The magic number at the start of every pack: "SPAK". */
+  static final int MAGIC = 0x4B415053;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 16;
+  /** The alignment of every data blob, in bytes. */
+  static final int ALIGNMENT = 16;
+
+  private final MappedByteBuffer mapping;
+  private final Map<String, long[]> entries;
+
+  private AssetPack(MappedByteBuffer mapping, Map<String, long[]> entries) {
+    this.mapping = mapping;
+    this.entries = entries;
+  }
+
+  /**
+   * Maps a pack file and reads its index.
+   *
+   * @param file The pack file.
+   * @return The opened pack.
+   * @throws IOException If the file cannot be read or is not a valid pack.
+   */
+  public static AssetPack open(Path file) throws IOException {
+    MappedByteBuffer mapping;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Asset pack is larger than 2 GB: " + file);
+      }
+      // The mapping stays valid after the channel is closed.
+      mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    mapping.order(ByteOrder.LITTLE_ENDIAN);
+
+    if (mapping.limit() < HEADER_BYTES || mapping.getInt(0) != MAGIC) {
+      throw new IOException("Not an asset pack: " + file);
+    }
+    int version = mapping.getInt(4);
+    if (version != VERSION) {
+      throw new IOException("Unsupported asset pack version " + version + ": " + file);
+    }
+    int entryCount = mapping.getInt(8);
+
+    Map<String, long[]> entries = new HashMap<>(entryCount * 2);
+    ByteBuffer index = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(HEADER_BYTES);
+    for (int i = 0; i < entryCount; i++) {
+      byte[] pathBytes = new byte[Short.toUnsignedInt(index.getShort())];
+      index.get(pathBytes);
+      long offset = index.getLong();
+      long length = index.getLong();
+      if (offset < 0 || length < 0 || offset + length > mapping.limit()) {
+        throw new IOException("Corrupt asset pack entry " + i + ": " + file);
+      }
+      entries.put(new String(pathBytes, StandardCharsets.UTF_8), new long[] {offset, length});
+    }
+    return new AssetPack(mapping, entries);
+  }
+
+  /**
+   * Gets the contents of a file in the pack without copying it.
+   *
+   * @param path The resource path, with or without a leading slash.
+   * @return A read-only direct buffer over the file's data, or null if the pack has no such file.
+   */
+  public ByteBuffer find(String path) {
+    long[] entry = entries.get(normalize(path));
+    if (entry == null) {
+      return null;
+    }
+    return mapping.slice((int) entry[0], (int) entry[1]).asReadOnlyBuffer();
+  }
+
+  /**
+   * Checks whether the pack contains a file.
+   *
+   * @param path The resource path, with or without a leading slash.
+   * @return True if the pack contains the file.
+   */
+  public boolean contains(String path) {
+    return entries.containsKey(normalize(path));
+  }
+
+  /**
+   * Gets the number of files in the pack.
+   *
+   * @return The entry count.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  static String normalize(String path) {
+    return path.startsWith("/") ? path.substring(1) : path;
+  }
+}
@@ -0,0 +1,106 @@
+package september.engine.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes an {@link AssetPack} from a directory tree, such as a module's resources directory.
+ * <p>
+ * Every regular file under the root is stored under its path relative to the root, using '/' as
+ * the separator, so the pack serves the same paths the classpath does. Run it from the command
+ * line with the root directory and the output file as arguments.
+ */
+public final class AssetPackBuilder {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetPackBuilder.class);
+
+  private AssetPackBuilder() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: AssetPackBuilder <resource-root> <output-pack>");
+    }
+    int count = build(Path.of(args[0]), Path.of(args[1]));
+    log.info("Wrote {} assets to {}", count, args[1]);
+  }
+
+  /**
+   * Packs every file under a directory.
+   *
+   * @param root   The directory whose files are packed.
+   * @param output The pack file to write; replaced if it exists.
+   * @return The number of files packed.
+   * @throws IOException If a file cannot be read or the pack cannot be written.
+   */
+  public static int build(Path root, Path output) throws IOException {
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(root)) {
+      files = walk.filter(Files::isRegularFile).sorted().toList();
+    }
+
+    List<byte[]> paths = new ArrayList<>(files.size());
+    int indexBytes = 0;
+    for (Path file : files) {
+      byte[] path = root.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8);
+      if (path.length > 0xFFFF) {
+        throw new IOException("Asset path is too long: " + file);
+      }
+      paths.add(path);
+      indexBytes += Short.BYTES + path.length + 2 * Long.BYTES;
+    }
+
+    ByteBuffer index = ByteBuffer.allocate(AssetPack.HEADER_BYTES + indexBytes).order(ByteOrder.LITTLE_ENDIAN);
+    index.putInt(AssetPack.MAGIC).putInt(AssetPack.VERSION).putInt(files.size()).putInt(indexBytes);
+    long offset = align(index.capacity());
+    for (int i = 0; i < files.size(); i++) {
+      long length = Files.size(files.get(i));
+      index.putShort((short) paths.get(i).length).put(paths.get(i)).putLong(offset).putLong(length);
+      offset = align(offset + length);
+    }
+    index.flip();
+
+    try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(out, index, 0);
+      long position = align(index.limit());
+      for (Path file : files) {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+          long length = in.size();
+          long copied = 0;
+          while (copied < length) {
+            copied += in.transferTo(copied, length - copied, out.position(position + copied));
+          }
+          position = align(position + length);
+        }
+      }
+      // Pad the last blob so the file length matches the index.
+      if (out.size() < position) {
+        writeFully(out, ByteBuffer.allocate((int) (position - out.size())), out.size());
+      }
+    }
+    return files.size();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+    while (data.hasRemaining()) {
+      position += channel.write(data, position);
+    }
+  }
+
+  static long align(long value) {
+    return (value + AssetPack.ALIGNMENT - 1) & -AssetPack.ALIGNMENT;
+  }
+}
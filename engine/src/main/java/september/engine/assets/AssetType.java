@@ -0,0 +1,31 @@
+package september.engine.assets;
+
+/**
+ * The kinds of asset cached by the {@link ResourceManager}. Handles are unique per type, so the
+ * type and handle together identify an asset.
+ */
+public enum AssetType {
+  MESH("mesh"),
+  TEXTURE("texture"),
+  SHADER("shader"),
+  AUDIO_BUFFER("audio"),
+  SPRITE_SHEET("spriteSheet"),
+  FONT("font"),
+  MUSIC("music");
+
+  private final String prefix;
+
+  AssetType(String prefix) {
+    this.prefix = prefix;
+  }
+
+  /**
+   * Builds a key that identifies an asset of this type across all types.
+   *
+   * @param handle The asset handle.
+   * @return The key, for example "texture:player".
+   */
+  public String key(String handle) {
+    return prefix + ':' + handle;
+  }
+}
@@ -0,0 +1,117 @@
+package september.engine.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches asset source directories for changed files, for hot reloading during development.
+ * <p>
+ * Every directory below the roots is registered with a {@link WatchService}, including ones
+ * created later. {@link #poll()} never blocks: it drains the events gathered since the last call
+ * and returns the changed files as resource paths, such as {@code /textures/player.png}, which
+ * can be passed to {@link ResourceManager#reload(String)}. Editors often write a file in several
+ * steps, so each path is reported once per poll however many events it produced.
+ */
+public final class AssetWatcher implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(AssetWatcher.class);
+
+  private final List<Path> roots;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> directories = new HashMap<>();
+
+  /**
+   * Starts watching the given directories and everything below them.
+   *
+   * @param roots The asset root directories, each corresponding to the classpath root.
+   * @throws IOException If a directory could not be registered.
+   */
+  public AssetWatcher(List<Path> roots) throws IOException {
+    this.roots = roots.stream().map(root -> root.toAbsolutePath().normalize()).toList();
+    this.watchService = FileSystems.getDefault().newWatchService();
+    for (Path root : this.roots) {
+      register(root, new LinkedHashSet<>());
+    }
+  }
+
+  /**
+   * Collects the files created or modified since the last poll.
+   *
+   * @return The resource paths of the changed files, in the order they were first reported.
+   */
+  public Set<String> poll() {
+    Set<String> changed = new LinkedHashSet<>();
+    WatchKey key;
+    while ((key = watchService.poll()) != null) {
+      Path directory = directories.get(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW || directory == null) {
+          continue;
+        }
+        Path file = directory.resolve((Path) event.context());
+        if (Files.isDirectory(file)) {
+          if (event.kind() == ENTRY_CREATE) {
+            // Files may have landed in the directory before it was registered.
+            register(file, changed);
+          }
+        } else if (Files.isRegularFile(file)) {
+          changed.add(resourcePath(file));
+        }
+      }
+      if (!key.reset()) {
+        directories.remove(key);
+      }
+    }
+    return changed;
+  }
+
+  private void register(Path directory, Set<String> changed) {
+    try (Stream<Path> tree = Files.walk(directory)) {
+      for (Path path : (Iterable<Path>) tree::iterator) {
+        if (Files.isDirectory(path)) {
+          directories.put(path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), path);
+        } else if (Files.isRegularFile(path) && !roots.contains(directory)) {
+          changed.add(resourcePath(path));
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Could not watch asset directory {}", directory, e);
+    }
+  }
+
+  private String resourcePath(Path file) {
+    for (Path root : roots) {
+      if (file.startsWith(root)) {
+        return AssetLoader.normalize(root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"));
+      }
+    }
+    return AssetLoader.normalize(file.getFileName().toString());
+  }
+
+  @Override
+  public void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      log.warn("Failed to close the asset watcher", e);
+    }
+    directories.clear();
+  }
+}
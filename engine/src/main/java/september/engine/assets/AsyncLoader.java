@@ -0,0 +1,97 @@
+package september.engine.assets;
+
+import september.engine.core.MainThreadExecutor;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs two-stage asset loads: a decode stage on a background executor and an upload stage on
+ * the main thread.
+ * <p>
+ * The decode stage does everything that needs no GL or AL context, such as reading files and
+ * decoding images or audio. Its result is handed to the main-thread executor, which performs the
+ * context-bound upload within the per-frame budget. Concurrent requests for the same key share a
+ * single load.
+ */
+final class AsyncLoader {
+
+  private final Executor decodeExecutor;
+  private final MainThreadExecutor mainThread;
+  private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  AsyncLoader(Executor decodeExecutor, MainThreadExecutor mainThread) {
+    this.decodeExecutor = decodeExecutor;
+    this.mainThread = mainThread;
+  }
+
+  /**
+   * Starts a load, or joins the load already in flight for the same key.
+   *
+   * @param key     Identifies the asset across requests, for example "texture:player".
+   * @param decode  Produces the decoded data; runs on the decode executor.
+   * @param upload  Turns decoded data into the asset on the main thread. It takes ownership of
+   *                the decoded data.
+   * @param discard Releases decoded data that will never be uploaded because the loader closed.
+   * @param <D>     The decoded data type.
+   * @param <R>     The asset type.
+   * @return A future completed on the main thread with the asset.
+   */
+  @SuppressWarnings("unchecked")
+  <D, R> CompletableFuture<R> load(String key, Supplier<D> decode, Function<D, R> upload, Consumer<D> discard) {
+    if (closed) {
+      return CompletableFuture.failedFuture(new CancellationException("Asset loader is closed"));
+    }
+    CompletableFuture<?> pending = inFlight.get(key);
+    if (pending != null) {
+      return (CompletableFuture<R>) pending;
+    }
+
+    CompletableFuture<R> future = CompletableFuture
+      .supplyAsync(decode, decodeExecutor)
+      .thenApplyAsync(decoded -> {
+        if (closed) {
+          discard.accept(decoded);
+          throw new CancellationException("Asset loader closed before " + key + " was uploaded");
+        }
+        return upload.apply(decoded);
+      }, mainThread);
+    inFlight.put(key, future);
+    future.whenComplete((asset, error) -> inFlight.remove(key, future));
+    return future;
+  }
+
+  /**
+   * Checks whether a load for a key has not completed yet.
+   *
+   * @param key The key the load was started with.
+   * @return True if the load is in flight.
+   */
+  boolean isInFlight(String key) {
+    return inFlight.containsKey(key);
+  }
+
+  /**
+   * Gets the number of loads that have not completed yet.
+   *
+   * @return The in-flight load count.
+   */
+  int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * Rejects further loads. Loads still waiting for their upload stage release their decoded data
+   * instead of uploading it the next time the main-thread executor is drained.
+   */
+  void close() {
+    closed = true;
+  }
+}
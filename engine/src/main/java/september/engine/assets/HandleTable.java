@@ -0,0 +1,85 @@
+package september.engine.assets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns string handles as dense integer IDs and remembers the resource last resolved for each,
+ * so a hot path can look a resource up by array index instead of hashing its handle.
+ * <p>
+ * ID 0 is never assigned; it marks a handle that has not been interned. IDs stay valid for the
+ * lifetime of the table, even when the resource behind a handle is freed and loaded again.
+ *
+ * @param <T> The resource type.
+ */
+final class HandleTable<T> {
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> handles = new ArrayList<>(List.of(""));
+  private Object[] slots = new Object[16];
+
+  /**
+   * Gets the ID of a handle, assigning the next free one if the handle is new.
+   *
+   * @param handle The handle.
+   * @return The ID, at least 1.
+   */
+  int intern(String handle) {
+    Integer id = ids.get(handle);
+    if (id != null) {
+      return id;
+    }
+    int next = handles.size();
+    handles.add(handle);
+    ids.put(handle, next);
+    return next;
+  }
+
+  /**
+   * Gets the handle an ID was assigned to.
+   *
+   * @param id The ID.
+   * @return The handle.
+   * @throws IllegalArgumentException If the ID was never assigned.
+   */
+  String handle(int id) {
+    if (id <= 0 || id >= handles.size()) {
+      throw new IllegalArgumentException("Unknown resource ID: " + id);
+    }
+    return handles.get(id);
+  }
+
+  /**
+   * Gets the resource remembered for an ID.
+   *
+   * @param id The ID.
+   * @return The resource, or null if none is remembered.
+   */
+  @SuppressWarnings("unchecked")
+  T get(int id) {
+    return id < slots.length ? (T) slots[id] : null;
+  }
+
+  /**
+   * Remembers the resource for an ID.
+   *
+   * @param id       The ID.
+   * @param resource The resource, or null to forget it.
+   */
+  void set(int id, T resource) {
+    if (id >= slots.length) {
+      slots = Arrays.copyOf(slots, Math.max(id + 1, slots.length * 2));
+    }
+    slots[id] = resource;
+  }
+
+  /**
+   * Forgets every remembered resource, keeping the assigned IDs.
+   */
+  void clearSlots() {
+    Arrays.fill(slots, null);
+  }
+}
@@ -1,13 +1,39 @@
 package september.engine.assets;
 
 import september.engine.audio.AudioBuffer;
+import september.engine.audio.DecodedAudio;
+import september.engine.core.MainThreadExecutor;
+import september.engine.rendering.DecodedImage;
+import september.engine.rendering.FontAtlas;
 import september.engine.rendering.Mesh;
+import september.engine.rendering.SpriteSheet;
 import september.engine.rendering.Texture;
+import september.engine.rendering.TextureUploader;
+import september.engine.rendering.gl.GLStateCache;
 import september.engine.rendering.gl.Shader;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * Manages the loading, caching, and lifecycle of engine assets.
@@ -16,13 +42,112 @@ import java.util.Objects;
  * and provides a central point of access for retrieving them via a string handle.
  * It implements AutoCloseable to guarantee that all native resources it manages
  * are freed when the manager is closed.
+ * <p>
+ * The {@code load...Async} methods read and decode files on virtual threads and queue the
+ * GL or AL upload to the main thread, where {@link #processUploads()} runs queued uploads within
+ * a per-frame time budget. They return futures that complete on the main thread once the asset
+ * is cached, so the main loop keeps running while a scene's assets load.
+ * <p>
+ * Assets can be reference counted: {@link #acquire(String, AssetType, String)} records a
+ * reference owned by a named scope, such as a scene, and {@link #releaseScope(String)} drops all
+ * of a scope's references at once. An asset whose count falls to zero is freed at the start of
+ * the next frame unless it is acquired again first, so assets shared by consecutive scenes stay
+ * loaded and nothing in use by the current frame's draws is deleted. Assets that were never
+ * acquired are kept until the manager is closed.
+ * <p>
+ * The manager also accounts for the GPU and audio memory held by its assets. When a
+ * {@linkplain #setMemoryBudgetBytes(long) budget} is set and exceeded, unreferenced textures
+ * loaded from files that have not been bound or resolved for a full frame are evicted, least
+ * recently used first. An evicted texture is reloaded transparently the next time its handle is
+ * resolved.
+ * <p>
+ * Render hot paths can avoid hashing string handles: {@link #textureId(String)} and
+ * {@link #meshId(String)} intern a handle as a small integer once, typically at scene load, and
+ * {@link #resolveTexture(int)} and {@link #resolveMesh(int)} then find the resource by array index.
+ * <p>
+ * Textures, shaders and audio buffers remember the files they were loaded from, so
+ * {@link #reload(String)} can refresh them when one of those files changes on disk, keeping their
+ * handles stable. Shaders also track the files they include.
+ * <p>
+ * Images a later scene is likely to need can be {@linkplain #prefetchTexture(String) prefetched}:
+ * they are decoded one at a time on a low-priority background thread and kept in memory, and the
+ * next load of the same file, synchronous or not, takes the decoded image instead of decoding it
+ * again. Prefetching never touches the GPU, so it cannot delay the current scene's uploads.
  */
 public final class ResourceManager implements AutoCloseable {
 
+  /** The default time per frame spent on queued uploads: a quarter of a 60 Hz frame. */
+  public static final long DEFAULT_UPLOAD_BUDGET_NANOS = 4_000_000L;
+
   private final Map<String, Mesh> meshCache = new HashMap<>();
   private final Map<String, Texture> textureCache = new HashMap<>();
   private final Map<String, Shader> shaderCache = new HashMap<>();
   private final Map<String, AudioBuffer> audioBufferCache = new HashMap<>();
+  private final Map<String, SpriteSheet> spriteSheetCache = new HashMap<>();
+  private final Map<String, FontAtlas> fontCache = new HashMap<>();
+  private final Map<String, String> musicPaths = new HashMap<>();
+  private final TextureUploader textureUploader = new TextureUploader();
+  private final ExecutorService decodeExecutor;
+  private final MainThreadExecutor mainThread;
+  private final AsyncLoader asyncLoader;
+  private long uploadBudgetNanos = DEFAULT_UPLOAD_BUDGET_NANOS;
+
+  // Reference counts keyed by AssetType.key(handle); an asset is only present while referenced.
+  private final Map<String, Integer> referenceCounts = new HashMap<>();
+  private final Map<String, List<String>> scopes = new HashMap<>();
+  private final Map<String, AssetRef> pendingRelease = new LinkedHashMap<>();
+
+  // The source file of every texture loaded from one, so evicted textures can be reloaded.
+  private final Map<String, String> texturePaths = new HashMap<>();
+  private final Function<String, DecodedImage> imageDecoder;
+  private final Function<DecodedImage, Texture> imageUploader;
+  private long memoryBudgetBytes = Long.MAX_VALUE;
+  // Kept up to date by every load, free, eviction and reload rather than summed over the caches.
+  private long memoryUsageBytes;
+  private int evictionCount;
+
+  // The files each shader was built from, including the files they include.
+  private final Map<String, ShaderSource> shaderSources = new HashMap<>();
+  private final Map<String, String> audioPaths = new HashMap<>();
+  // Replaced and released audio buffers may still be attached to sources, which OpenAL will not
+  // delete; they are freed by processUploads once detached.
+  private final List<AudioBuffer> retiredAudioBuffers = new ArrayList<>();
+
+  // Decoded ahead of use, keyed by normalized path; read and written from several threads.
+  private final Map<String, CompletableFuture<DecodedImage>> prefetchedImages = new ConcurrentHashMap<>();
+  private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "asset-prefetch");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    return thread;
+  });
+
+  private final HandleTable<Texture> textureIds = new HandleTable<>();
+  private final HandleTable<Mesh> meshIds = new HandleTable<>();
+
+  public ResourceManager() {
+    this(Executors.newVirtualThreadPerTaskExecutor(), new MainThreadExecutor());
+  }
+
+  /**
+   * Creates a resource manager with explicit executors, allowing tests to decode synchronously.
+   */
+  ResourceManager(ExecutorService decodeExecutor, MainThreadExecutor mainThread) {
+    this(decodeExecutor, mainThread, AssetLoader::decodeImage, Texture::new);
+  }
+
+  /**
+   * Creates a resource manager with explicit executors and texture decoding and upload, allowing
+   * tests to load textures without a GL context.
+   */
+  ResourceManager(ExecutorService decodeExecutor, MainThreadExecutor mainThread,
+                  Function<String, DecodedImage> imageDecoder, Function<DecodedImage, Texture> imageUploader) {
+    this.imageDecoder = imageDecoder;
+    this.imageUploader = imageUploader;
+    this.decodeExecutor = decodeExecutor;
+    this.mainThread = mainThread;
+    this.asyncLoader = new AsyncLoader(decodeExecutor, mainThread);
+  }
 
   /**
    * Loads a texture from a file, stores it in the cache, and returns it.
@@ -33,7 +158,499 @@ public final class ResourceManager implements AutoCloseable {
    * @return The cached or newly loaded Texture.
    */
   public Texture loadTexture(String handle, String filePath) {
-    return textureCache.computeIfAbsent(handle, h -> AssetLoader.loadTexture(filePath));
+    Texture texture = textureCache.computeIfAbsent(handle, h -> {
+      try (DecodedImage image = decodeImage(filePath)) {
+        return track(imageUploader.apply(image));
+      }
+    });
+    texturePaths.put(handle, filePath);
+    return texture;
+  }
+
+  /**
+   * Loads several textures at once, blocking until all of them are cached. The images are decoded
+   * concurrently on virtual threads, and each one is uploaded on the calling thread as soon as its
+   * decode completes, so uploads overlap with the remaining decodes. Textures already cached are
+   * kept. If any texture fails to load, the others are still loaded and the first failure is
+   * thrown afterwards.
+   *
+   * @param pathsByHandle The classpath path of each texture's image file, keyed by handle.
+   */
+  public void loadTextures(Map<String, String> pathsByHandle) {
+    BlockingQueue<DecodedTexture> decoded = new LinkedBlockingQueue<>();
+    AtomicBoolean abandoned = new AtomicBoolean();
+    int pending = 0;
+    for (Map.Entry<String, String> entry : pathsByHandle.entrySet()) {
+      String handle = entry.getKey();
+      String filePath = entry.getValue();
+      if (textureCache.containsKey(handle)) {
+        texturePaths.put(handle, filePath);
+        continue;
+      }
+      pending++;
+      decodeExecutor.execute(() -> {
+        try {
+          decoded.add(new DecodedTexture(handle, filePath, decodeImage(filePath), null));
+        } catch (RuntimeException e) {
+          decoded.add(new DecodedTexture(handle, filePath, null, e));
+        }
+        // The caller gave up while this decode ran; nobody else will free the image.
+        if (abandoned.get()) {
+          closeDecoded(decoded);
+        }
+      });
+    }
+
+    RuntimeException failure = null;
+    for (; pending > 0; pending--) {
+      DecodedTexture texture;
+      try {
+        texture = decoded.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        abandoned.set(true);
+        closeDecoded(decoded);
+        throw new IllegalStateException("Interrupted while loading textures", e);
+      }
+      RuntimeException error = texture.error();
+      if (error == null) {
+        try (DecodedImage image = texture.image()) {
+          textureCache.put(texture.handle(), track(imageUploader.apply(image)));
+          // Only a texture that loaded can be reloaded after eviction.
+          texturePaths.put(texture.handle(), texture.filePath());
+        } catch (RuntimeException e) {
+          error = e;
+        }
+      }
+      if (error != null && failure == null) {
+        failure = error;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static void closeDecoded(BlockingQueue<DecodedTexture> decoded) {
+    DecodedTexture texture;
+    while ((texture = decoded.poll()) != null) {
+      if (texture.image() != null) {
+        texture.image().close();
+      }
+    }
+  }
+
+  /**
+   * Starts decoding an image file that a later load is likely to need, for example one listed
+   * by the next scene. Decodes run one at a time on a low-priority thread. The image is kept in
+   * memory until a texture is loaded from the same file or {@link #discardPrefetched()} is called.
+   * Prefetching a file that is already prefetched, or whose texture is already resident, does
+   * nothing.
+   *
+   * @param filePath The classpath path to the image file.
+   */
+  public void prefetchTexture(String filePath) {
+    String normalized = AssetLoader.normalize(filePath);
+    if (prefetchExecutor.isShutdown() || isTextureResident(normalized)) {
+      return;
+    }
+    prefetchedImages.computeIfAbsent(normalized,
+      path -> CompletableFuture.supplyAsync(() -> imageDecoder.apply(filePath), prefetchExecutor));
+  }
+
+  /**
+   * Checks whether a texture loaded from a file is cached and resident. A load of such a
+   * texture never decodes the file, so an image prefetched for it would never be taken.
+   */
+  private boolean isTextureResident(String normalizedPath) {
+    for (Map.Entry<String, String> entry : texturePaths.entrySet()) {
+      if (AssetLoader.normalize(entry.getValue()).equals(normalizedPath)) {
+        Texture texture = textureCache.get(entry.getKey());
+        if (texture != null && texture.isResident()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of prefetched images that no load has taken yet, including ones still being
+   * decoded.
+   *
+   * @return The prefetched image count.
+   */
+  public int getPrefetchedCount() {
+    return prefetchedImages.size();
+  }
+
+  /**
+   * Frees every prefetched image no load has taken, for example when the scene they were
+   * prefetched for will not be entered after all. Decodes still running are freed when they finish.
+   */
+  public void discardPrefetched() {
+    for (String path : List.copyOf(prefetchedImages.keySet())) {
+      CompletableFuture<DecodedImage> image = prefetchedImages.remove(path);
+      if (image != null) {
+        image.thenAccept(DecodedImage::close);
+      }
+    }
+  }
+
+  /**
+   * Decodes an image file, taking its prefetched image instead if there is one. May block until
+   * a prefetch in progress completes, which is never slower than decoding again.
+   */
+  private DecodedImage decodeImage(String filePath) {
+    return decodeImage(prefetchedImages.remove(AssetLoader.normalize(filePath)), filePath);
+  }
+
+  /**
+   * Decodes an image file, taking an already claimed prefetch instead if there is one.
+   *
+   * @param prefetched The prefetch removed from {@link #prefetchedImages} by the caller, or null.
+   */
+  private DecodedImage decodeImage(CompletableFuture<DecodedImage> prefetched, String filePath) {
+    if (prefetched != null) {
+      try {
+        return prefetched.join();
+      } catch (CompletionException | CancellationException e) {
+        // The prefetch failed or was abandoned; decode again so a real error surfaces here.
+      }
+    }
+    return imageDecoder.apply(filePath);
+  }
+
+  /**
+   * Loads a texture in the background. The image is decoded on a virtual thread, after which a
+   * placeholder texture is created on the main thread and its pixels are streamed to the GPU over
+   * the following frames; it shows transparent contents until {@link Texture#isResident()}
+   * becomes true. A prefetched image of the file is claimed before this returns. If the texture
+   * is already cached, returns a completed future.
+   *
+   * @param handle   The unique handle for this texture.
+   * @param filePath The classpath path to the image file.
+   * @return A future completed on the main thread once the texture can be resolved.
+   */
+  public CompletableFuture<Texture> loadTextureAsync(String handle, String filePath) {
+    Texture cached = textureCache.get(handle);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    String key = AssetType.TEXTURE.key(handle);
+    // Claim a prefetched image here rather than on the decode thread, so discarding the leftover
+    // prefetches right after this call cannot free it. A load already in flight has its own image.
+    CompletableFuture<DecodedImage> prefetched =
+      asyncLoader.isInFlight(key) ? null : prefetchedImages.remove(AssetLoader.normalize(filePath));
+    return asyncLoader.load(key,
+      () -> decodeImage(prefetched, filePath),
+      image -> {
+        // A synchronous load may have cached the texture while this one was decoding.
+        Texture loaded = textureCache.get(handle);
+        if (loaded != null) {
+          image.close();
+          return loaded;
+        }
+        texturePaths.put(handle, filePath);
+        return cache(textureCache, handle, track(textureUploader.upload(image)));
+      },
+      DecodedImage::close);
+  }
+
+  /**
+   * Loads a shader program in the background. The sources are read on a virtual thread and the
+   * program is compiled and linked on the main thread.
+   * If the shader is already cached, returns a completed future.
+   *
+   * @param handle       The unique handle for this shader.
+   * @param vertexPath   The classpath path to the vertex shader file.
+   * @param fragmentPath The classpath path to the fragment shader file.
+   * @return A future completed on the main thread once the shader can be resolved.
+   */
+  public CompletableFuture<Shader> loadShaderAsync(String handle, String vertexPath, String fragmentPath) {
+    Shader cached = shaderCache.get(handle);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return asyncLoader.load(AssetType.SHADER.key(handle),
+      () -> ShaderSource.read(vertexPath, fragmentPath),
+      source -> {
+        // A synchronous load may have cached the shader while these sources were being read.
+        Shader loaded = shaderCache.get(handle);
+        if (loaded != null) {
+          return loaded;
+        }
+        shaderSources.put(handle, source);
+        return cache(shaderCache, handle, source.compile());
+      },
+      source -> { });
+  }
+
+  /**
+   * Loads an audio buffer in the background. The OGG file is decoded on a virtual thread and
+   * the samples are copied into OpenAL on the main thread.
+   * If the audio buffer is already cached, returns a completed future.
+   *
+   * @param handle   The unique handle for this audio buffer.
+   * @param filePath The classpath path to the OGG file.
+   * @return A future completed on the main thread once the audio buffer can be resolved.
+   */
+  public CompletableFuture<AudioBuffer> loadAudioBufferAsync(String handle, String filePath) {
+    AudioBuffer cached = audioBufferCache.get(handle);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return asyncLoader.load(AssetType.AUDIO_BUFFER.key(handle),
+      () -> DecodedAudio.decodeOggResource(filePath),
+      audio -> {
+        try (audio) {
+          // A synchronous load may have cached the buffer while this one was decoding.
+          AudioBuffer loaded = audioBufferCache.get(handle);
+          if (loaded != null) {
+            return loaded;
+          }
+          audioPaths.put(handle, filePath);
+          return cache(audioBufferCache, handle, track(new AudioBuffer(audio)));
+        }
+      },
+      DecodedAudio::close);
+  }
+
+  /**
+   * Frees assets released since the last frame, runs queued main-thread upload work within the
+   * frame's budget and advances streaming texture uploads. A released or replaced audio buffer is
+   * freed once no source has it attached. The engine calls this once per frame
+   * on the render thread.
+   *
+   * @return The number of textures that became resident.
+   */
+  public int processUploads() {
+    freeReleasedAssets();
+    freeRetiredAudioBuffers();
+    enforceMemoryBudget();
+    mainThread.drain(uploadBudgetNanos);
+    return textureUploader.update();
+  }
+
+  /**
+   * Adds a reference to an asset on behalf of a scope. The asset does not need to be loaded yet;
+   * acquiring before loading keeps it from being freed as soon as it arrives.
+   *
+   * @param scope  The owner of the reference, for example a scene path.
+   * @param type   The asset type.
+   * @param handle The asset handle.
+   */
+  public void acquire(String scope, AssetType type, String handle) {
+    String key = type.key(handle);
+    referenceCounts.merge(key, 1, Integer::sum);
+    pendingRelease.remove(key);
+    scopes.computeIfAbsent(scope, s -> new ArrayList<>()).add(key);
+  }
+
+  /**
+   * Drops every reference held by a scope. Assets left without references are freed at the start
+   * of the next frame unless they are acquired again first.
+   *
+   * @param scope The scope whose references are dropped.
+   */
+  public void releaseScope(String scope) {
+    List<String> keys = scopes.remove(scope);
+    if (keys == null) {
+      return;
+    }
+    for (String key : keys) {
+      int count = referenceCounts.merge(key, -1, Integer::sum);
+      if (count <= 0) {
+        referenceCounts.remove(key);
+        pendingRelease.put(key, AssetRef.parse(key));
+      }
+    }
+  }
+
+  /**
+   * Gets the number of references held on an asset.
+   *
+   * @param type   The asset type.
+   * @param handle The asset handle.
+   * @return The reference count, zero if the asset is unreferenced.
+   */
+  public int getReferenceCount(AssetType type, String handle) {
+    return referenceCounts.getOrDefault(type.key(handle), 0);
+  }
+
+  /**
+   * Sets the memory the manager's assets may hold before textures are evicted.
+   *
+   * @param budgetBytes The budget in bytes; {@link Long#MAX_VALUE}, the default, disables eviction.
+   */
+  public void setMemoryBudgetBytes(long budgetBytes) {
+    this.memoryBudgetBytes = budgetBytes;
+  }
+
+  /**
+   * Gets the approximate GPU and audio memory held by all cached meshes, textures, fonts and
+   * audio buffers.
+   *
+   * @return The memory usage in bytes.
+   */
+  public long getMemoryUsageBytes() {
+    return memoryUsageBytes;
+  }
+
+  private Mesh track(Mesh mesh) {
+    memoryUsageBytes += mesh.getSizeBytes();
+    return mesh;
+  }
+
+  private Texture track(Texture texture) {
+    memoryUsageBytes += texture.getSizeBytes();
+    return texture;
+  }
+
+  private FontAtlas track(FontAtlas font) {
+    memoryUsageBytes += font.getTexture().getSizeBytes();
+    return font;
+  }
+
+  private AudioBuffer track(AudioBuffer buffer) {
+    memoryUsageBytes += buffer.getSizeBytes();
+    return buffer;
+  }
+
+  /**
+   * Gets the number of textures evicted to stay within the memory budget.
+   *
+   * @return The eviction count.
+   */
+  public int getEvictionCount() {
+    return evictionCount;
+  }
+
+  private void enforceMemoryBudget() {
+    if (memoryUsageBytes <= memoryBudgetBytes) {
+      return;
+    }
+    // Textures drawn in the previous frame are likely drawn again; only older ones are candidates.
+    // A texture a scope still holds a reference on is never evicted.
+    long previousFrame = GLStateCache.getFrameNumber() - 1;
+    List<Map.Entry<String, Texture>> candidates = new ArrayList<>();
+    for (Map.Entry<String, Texture> entry : textureCache.entrySet()) {
+      Texture texture = entry.getValue();
+      if (texturePaths.containsKey(entry.getKey()) && texture.isResident()
+        && texture.getLastUsedFrame() < previousFrame
+        && !referenceCounts.containsKey(AssetType.TEXTURE.key(entry.getKey()))) {
+        candidates.add(entry);
+      }
+    }
+    candidates.sort(Comparator.comparingLong(entry -> entry.getValue().getLastUsedFrame()));
+    for (Map.Entry<String, Texture> entry : candidates) {
+      if (memoryUsageBytes <= memoryBudgetBytes) {
+        break;
+      }
+      Texture texture = textureCache.remove(entry.getKey());
+      memoryUsageBytes -= texture.getSizeBytes();
+      texture.close();
+      evictionCount++;
+    }
+  }
+
+  private void freeReleasedAssets() {
+    Iterator<Map.Entry<String, AssetRef>> it = pendingRelease.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, AssetRef> entry = it.next();
+      // A load still in flight would cache the asset after it was freed; wait for it to land.
+      if (asyncLoader.isInFlight(entry.getKey())) {
+        continue;
+      }
+      free(entry.getValue());
+      it.remove();
+    }
+  }
+
+  private void freeRetiredAudioBuffers() {
+    Iterator<AudioBuffer> it = retiredAudioBuffers.iterator();
+    while (it.hasNext()) {
+      AudioBuffer buffer = it.next();
+      if (!buffer.isAttached()) {
+        buffer.close();
+        it.remove();
+      }
+    }
+  }
+
+  private void free(AssetRef ref) {
+    switch (ref.type()) {
+      case MESH -> Optional.ofNullable(meshCache.remove(ref.handle())).ifPresent(this::untrackAndClose);
+      case TEXTURE -> {
+        texturePaths.remove(ref.handle());
+        Optional.ofNullable(textureCache.remove(ref.handle())).ifPresent(this::untrackAndClose);
+      }
+      case SHADER -> {
+        shaderSources.remove(ref.handle());
+        Optional.ofNullable(shaderCache.remove(ref.handle())).ifPresent(Shader::close);
+      }
+      case AUDIO_BUFFER -> {
+        audioPaths.remove(ref.handle());
+        Optional.ofNullable(audioBufferCache.remove(ref.handle())).ifPresent(this::retire);
+      }
+      case SPRITE_SHEET -> spriteSheetCache.remove(ref.handle());
+      case FONT -> Optional.ofNullable(fontCache.remove(ref.handle())).ifPresent(this::untrackAndClose);
+      case MUSIC -> musicPaths.remove(ref.handle());
+    }
+  }
+
+  private void untrackAndClose(Mesh mesh) {
+    memoryUsageBytes -= mesh.getSizeBytes();
+    mesh.close();
+  }
+
+  private void untrackAndClose(Texture texture) {
+    memoryUsageBytes -= texture.getSizeBytes();
+    texture.close();
+  }
+
+  private void untrackAndClose(FontAtlas font) {
+    memoryUsageBytes -= font.getTexture().getSizeBytes();
+    font.close();
+  }
+
+  private void retire(AudioBuffer buffer) {
+    memoryUsageBytes -= buffer.getSizeBytes();
+    retiredAudioBuffers.add(buffer);
+  }
+
+  /**
+   * Sets the time per frame that {@link #processUploads()} may spend on queued uploads.
+   * At least one queued upload runs per frame regardless of the budget.
+   *
+   * @param budgetNanos The budget in nanoseconds.
+   */
+  public void setUploadBudgetNanos(long budgetNanos) {
+    this.uploadBudgetNanos = budgetNanos;
+  }
+
+  /**
+   * Gets the number of background loads and texture streams that have not finished, for
+   * example to drive a loading screen.
+   *
+   * @return The pending load count.
+   */
+  public int getPendingLoadCount() {
+    return asyncLoader.getInFlightCount() + textureUploader.getPendingCount();
+  }
+
+  /**
+   * Gets the executor whose tasks run on the main thread during {@link #processUploads()}.
+   *
+   * @return The main-thread executor.
+   */
+  public MainThreadExecutor getMainThreadExecutor() {
+    return mainThread;
+  }
+
+  private static <T> T cache(Map<String, T> cache, String handle, T asset) {
+    cache.put(handle, asset);
+    return asset;
   }
 
   /**
@@ -46,7 +663,77 @@ public final class ResourceManager implements AutoCloseable {
    * @return The cached or newly loaded Shader.
    */
   public Shader loadShader(String handle, String vertexPath, String fragmentPath) {
-    return shaderCache.computeIfAbsent(handle, h -> AssetLoader.loadShader(vertexPath, fragmentPath));
+    return shaderCache.computeIfAbsent(handle, h -> {
+      ShaderSource source = ShaderSource.read(vertexPath, fragmentPath);
+      shaderSources.put(handle, source);
+      return source.compile();
+    });
+  }
+
+  /**
+   * Refreshes every cached texture, shader and audio buffer built from a file that changed.
+   * Textures are re-uploaded and shaders relinked in place, so their IDs and the objects handed
+   * out earlier stay valid. Audio buffers are replaced under the same handle and take effect the
+   * next time a sound resolves it; an old buffer is freed once no source has it attached. An asset
+   * whose file fails to load or compile keeps its current contents, and the first error is thrown
+   * once the other assets have been reloaded.
+   *
+   * @param filePath The classpath path of the changed file.
+   * @return The number of assets reloaded.
+   */
+  public int reload(String filePath) {
+    String path = AssetLoader.normalize(filePath);
+    int reloaded = 0;
+    RuntimeException failure = null;
+    for (Map.Entry<String, String> entry : texturePaths.entrySet()) {
+      Texture texture = textureCache.get(entry.getKey());
+      // Evicted textures are read from the file when next used, and streaming ones are still
+      // being filled; neither holds pixels to replace.
+      if (texture != null && texture.isResident() && path.equals(AssetLoader.normalize(entry.getValue()))) {
+        try (DecodedImage image = imageDecoder.apply(entry.getValue())) {
+          // The new image may have different dimensions.
+          memoryUsageBytes -= texture.getSizeBytes();
+          texture.replaceImage(image);
+          memoryUsageBytes += texture.getSizeBytes();
+          reloaded++;
+        } catch (RuntimeException e) {
+          failure = firstFailure(failure, e);
+        }
+      }
+    }
+    for (Map.Entry<String, ShaderSource> entry : shaderSources.entrySet()) {
+      Shader shader = shaderCache.get(entry.getKey());
+      if (shader == null || !entry.getValue().dependencies().contains(path)) {
+        continue;
+      }
+      try {
+        ShaderSource source = ShaderSource.read(entry.getValue().vertexPath(), entry.getValue().fragmentPath());
+        shader.reload(source.vertexSource(), source.fragmentSource());
+        entry.setValue(source);
+        reloaded++;
+      } catch (RuntimeException e) {
+        failure = firstFailure(failure, e);
+      }
+    }
+    for (Map.Entry<String, String> entry : audioPaths.entrySet()) {
+      if (audioBufferCache.containsKey(entry.getKey()) && path.equals(AssetLoader.normalize(entry.getValue()))) {
+        try {
+          AudioBuffer loaded = track(AudioBuffer.loadFromOggFile(entry.getValue()));
+          retire(audioBufferCache.put(entry.getKey(), loaded));
+          reloaded++;
+        } catch (RuntimeException e) {
+          failure = firstFailure(failure, e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return reloaded;
+  }
+
+  private static RuntimeException firstFailure(RuntimeException first, RuntimeException next) {
+    return first != null ? first : next;
   }
 
   /**
@@ -59,9 +746,64 @@ public final class ResourceManager implements AutoCloseable {
    */
   public void loadProceduralMesh(String handle, float[] vertices, int[] indices) {
     if (meshCache.containsKey(handle)) {
-      meshCache.get(handle).close(); // Clean up the old mesh if it exists
+      untrackAndClose(meshCache.get(handle)); // Clean up the old mesh if it exists
     }
-    meshCache.put(handle, new Mesh(vertices, indices));
+    meshCache.put(handle, track(new Mesh(vertices, indices)));
+  }
+
+  /**
+   * Interns a mesh handle. The mesh does not need to be loaded yet.
+   *
+   * @param handle The mesh handle.
+   * @return The mesh's ID, stable for the lifetime of this manager and never 0.
+   */
+  public int meshId(String handle) {
+    return meshIds.intern(handle);
+  }
+
+  /**
+   * Resolves a mesh by the ID returned from {@link #meshId(String)}.
+   *
+   * @param id The mesh ID.
+   * @return The mesh.
+   */
+  public Mesh resolveMesh(int id) {
+    Mesh mesh = meshIds.get(id);
+    if (mesh == null || mesh.isClosed()) {
+      // First use, or the mesh was replaced or freed since; fall back to the handle once.
+      mesh = resolveMeshHandle(meshIds.handle(id));
+      meshIds.set(id, mesh);
+    }
+    return mesh;
+  }
+
+  /**
+   * Interns a texture handle. The texture does not need to be loaded yet.
+   *
+   * @param handle The texture handle.
+   * @return The texture's ID, stable for the lifetime of this manager and never 0.
+   */
+  public int textureId(String handle) {
+    return textureIds.intern(handle);
+  }
+
+  /**
+   * Resolves a texture by the ID returned from {@link #textureId(String)}, reloading it if it
+   * was evicted.
+   *
+   * @param id The texture ID.
+   * @return The texture.
+   */
+  public Texture resolveTexture(int id) {
+    Texture texture = textureIds.get(id);
+    if (texture == null || texture.isClosed()) {
+      // First use, or the texture was evicted or freed since; fall back to the handle once.
+      texture = resolveTextureHandle(textureIds.handle(id));
+      textureIds.set(id, texture);
+    } else {
+      texture.markUsed();
+    }
+    return texture;
   }
 
   public Mesh resolveMeshHandle(String handle) {
@@ -72,10 +814,51 @@ public final class ResourceManager implements AutoCloseable {
 
   public Texture resolveTextureHandle(String handle) {
     Texture texture = textureCache.get(handle);
+    if (texture == null && texturePaths.containsKey(handle)) {
+      // The texture was evicted to stay within the memory budget; bring it back.
+      texture = loadTexture(handle, texturePaths.get(handle));
+    }
     Objects.requireNonNull(texture, "Texture not found: " + handle);
+    texture.markUsed();
     return texture;
   }
 
+  /**
+   * Loads a TrueType font, rasterizes its glyphs into an atlas, stores it, and returns it.
+   * If the font is already cached, returns the existing instance.
+   *
+   * @param handle      The unique handle for this font.
+   * @param filePath    The classpath path to the .ttf file.
+   * @param pixelHeight The height in pixels to rasterize the glyphs at.
+   * @return The cached or newly loaded FontAtlas.
+   */
+  public FontAtlas loadFont(String handle, String filePath, float pixelHeight) {
+    return fontCache.computeIfAbsent(handle, h -> track(AssetLoader.loadFont(filePath, pixelHeight)));
+  }
+
+  public FontAtlas resolveFontHandle(String handle) {
+    FontAtlas font = fontCache.get(handle);
+    Objects.requireNonNull(font, "Font not found: " + handle);
+    return font;
+  }
+
+  /**
+   * Stores a sprite sheet under a given handle so that all entities animating with it share its
+   * frame table and clips. A sheet already stored under the handle is replaced.
+   *
+   * @param handle The unique handle for this sprite sheet.
+   * @param sheet  The sprite sheet.
+   */
+  public void registerSpriteSheet(String handle, SpriteSheet sheet) {
+    spriteSheetCache.put(handle, sheet);
+  }
+
+  public SpriteSheet resolveSpriteSheetHandle(String handle) {
+    SpriteSheet sheet = spriteSheetCache.get(handle);
+    Objects.requireNonNull(sheet, "SpriteSheet not found: " + handle);
+    return sheet;
+  }
+
   /**
    * Loads an audio buffer from an OGG Vorbis file, stores it in the cache, and returns it.
    * If the audio buffer is already cached, returns the existing instance.
@@ -85,7 +868,31 @@ public final class ResourceManager implements AutoCloseable {
    * @return The cached or newly loaded AudioBuffer.
    */
   public AudioBuffer loadAudioBuffer(String handle, String filePath) {
-    return audioBufferCache.computeIfAbsent(handle, h -> AudioBuffer.loadFromOggFile(filePath));
+    audioPaths.put(handle, filePath);
+    return audioBufferCache.computeIfAbsent(handle, h -> track(AudioBuffer.loadFromOggFile(filePath)));
+  }
+
+  /**
+   * Registers a music track under a handle. Nothing is read or decoded: music is streamed from
+   * its file by a {@link september.engine.audio.MusicStream} while it plays, so a long track never
+   * has to fit in memory. A track already registered under the handle is replaced.
+   *
+   * @param handle   The unique handle for this track.
+   * @param filePath The classpath path to the OGG file.
+   */
+  public void registerMusic(String handle, String filePath) {
+    musicPaths.put(handle, filePath);
+  }
+
+  /**
+   * Gets the file of a music track registered with {@link #registerMusic(String, String)}.
+   *
+   * @param handle The track's handle.
+   * @return The classpath path to the OGG file, or null if no track is registered under the
+   *     handle.
+   */
+  public String resolveMusicPath(String handle) {
+    return musicPaths.get(handle);
   }
 
   public Shader resolveShaderHandle(String handle) {
@@ -100,12 +907,58 @@ public final class ResourceManager implements AutoCloseable {
     return audioBuffer;
   }
 
+  /** The result of decoding one texture of {@link #loadTextures(Map)} on a worker thread. */
+  private record DecodedTexture(String handle, String filePath, DecodedImage image, RuntimeException error) {
+  }
+
+  /** The sources of a shader program and every file they were assembled from. */
+  private record ShaderSource(String vertexPath, String fragmentPath, String vertexSource, String fragmentSource,
+                              Set<String> dependencies) {
+    static ShaderSource read(String vertexPath, String fragmentPath) {
+      Set<String> dependencies = new HashSet<>();
+      String vertexSource = AssetLoader.loadShaderSourceWithIncludes(vertexPath, dependencies);
+      String fragmentSource = AssetLoader.loadShaderSourceWithIncludes(fragmentPath, dependencies);
+      return new ShaderSource(vertexPath, fragmentPath, vertexSource, fragmentSource, dependencies);
+    }
+
+    Shader compile() {
+      return new Shader(vertexSource, fragmentSource);
+    }
+  }
+
+  /** An asset type and handle, recovered from a key built by {@link AssetType#key(String)}. */
+  private record AssetRef(AssetType type, String handle) {
+    static AssetRef parse(String key) {
+      int colon = key.indexOf(':');
+      String prefix = key.substring(0, colon + 1);
+      for (AssetType type : AssetType.values()) {
+        if (type.key("").equals(prefix)) {
+          return new AssetRef(type, key.substring(colon + 1));
+        }
+      }
+      throw new IllegalArgumentException("Unknown asset key: " + key);
+    }
+  }
+
   /**
    * Frees all managed resources. This iterates through all cached assets
    * and calls their respective close() methods to release native resources.
    */
   @Override
   public void close() {
+    // Stop background decodes, then let queued uploads release their decoded data.
+    prefetchExecutor.shutdownNow();
+    discardPrefetched();
+    asyncLoader.close();
+    decodeExecutor.shutdownNow();
+    try {
+      decodeExecutor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    mainThread.drain(Long.MAX_VALUE);
+    textureUploader.close();
+
     meshCache.values().forEach(Mesh::close);
     meshCache.clear();
 
@@ -117,6 +970,24 @@ public final class ResourceManager implements AutoCloseable {
 
     audioBufferCache.values().forEach(AudioBuffer::close);
     audioBufferCache.clear();
+    retiredAudioBuffers.forEach(AudioBuffer::close);
+    retiredAudioBuffers.clear();
+    audioPaths.clear();
+
+    spriteSheetCache.clear();
+    musicPaths.clear();
+
+    texturePaths.clear();
+    shaderSources.clear();
+    textureIds.clearSlots();
+    meshIds.clearSlots();
+    referenceCounts.clear();
+    scopes.clear();
+    pendingRelease.clear();
+
+    fontCache.values().forEach(FontAtlas::close);
+    fontCache.clear();
+    memoryUsageBytes = 0;
   }
 }
 
@@ -1,11 +1,7 @@
 package september.engine.audio;
 
-import org.lwjgl.system.MemoryStack;
-import org.lwjgl.system.MemoryUtil;
-
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.lwjgl.openal.AL10.AL_FORMAT_MONO16;
 import static org.lwjgl.openal.AL10.AL_FORMAT_STEREO16;
@@ -14,7 +10,6 @@ import static org.lwjgl.openal.AL10.alBufferData;
 import static org.lwjgl.openal.AL10.alDeleteBuffers;
 import static org.lwjgl.openal.AL10.alGenBuffers;
 import static org.lwjgl.openal.AL10.alGetError;
-import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
 
 /**
  * Represents an OpenAL audio buffer that holds audio data.
@@ -22,10 +17,17 @@ import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
  * <p>
  * Audio buffers are immutable once created and can be shared among multiple AudioSources.
  * This class manages the native OpenAL buffer lifecycle and provides automatic cleanup.
+ * <p>
+ * OpenAL will not delete a buffer that is still attached to a source, so the buffer counts the
+ * sources it is attached to, and the plays of it still queued for the audio thread. An owner
+ * replacing a buffer waits until {@link #isAttached()} is false before closing it.
  */
 public final class AudioBuffer implements AutoCloseable {
 
   private final int bufferId;
+  private final long sizeBytes;
+  // Updated by the game thread when a play is queued and by the audio thread when it runs.
+  private final AtomicInteger attachments = new AtomicInteger();
   private boolean closed = false;
 
   /**
@@ -37,6 +39,7 @@ public final class AudioBuffer implements AutoCloseable {
    */
   public AudioBuffer(ShortBuffer data, int channels, int sampleRate) {
     this.bufferId = alGenBuffers();
+    this.sizeBytes = (long) data.remaining() * Short.BYTES;
 
     int format = channels == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16;
     alBufferData(bufferId, format, data, sampleRate);
@@ -47,55 +50,24 @@ public final class AudioBuffer implements AutoCloseable {
   }
 
   /**
-   * Creates an AudioBuffer by loading an OGG Vorbis file from the classpath.
+   * Creates an AudioBuffer from decoded samples. The samples are copied into OpenAL, so the
+   * caller may close them afterwards.
    *
-   * @param resourcePath The classpath path to the OGG file
-   * @return A new AudioBuffer containing the loaded audio data
+   * @param audio The decoded audio
    */
-  public static AudioBuffer loadFromOggFile(String resourcePath) {
-    try (MemoryStack stack = MemoryStack.stackPush()) {
-      // Load the OGG file into a ByteBuffer
-      ByteBuffer oggData = loadResourceAsBuffer(resourcePath);
-      if (oggData == null) {
-        throw new RuntimeException("Failed to load audio file: " + resourcePath);
-      }
-
-      // Decode the OGG file
-      IntBuffer channelsBuffer = stack.mallocInt(1);
-      IntBuffer sampleRateBuffer = stack.mallocInt(1);
-
-      ShortBuffer audioData = stb_vorbis_decode_memory(oggData, channelsBuffer, sampleRateBuffer);
-      if (audioData == null) {
-        throw new RuntimeException("Failed to decode OGG file: " + resourcePath);
-      }
-
-      int channels = channelsBuffer.get(0);
-      int sampleRate = sampleRateBuffer.get(0);
-
-      return new AudioBuffer(audioData, channels, sampleRate);
-    }
+  public AudioBuffer(DecodedAudio audio) {
+    this(audio.getSamples(), audio.getChannels(), audio.getSampleRate());
   }
 
   /**
-   * Helper method to load a resource file into a ByteBuffer.
-   * This follows the same pattern used elsewhere in the engine for asset loading.
+   * Creates an AudioBuffer by loading an OGG Vorbis file from the classpath.
+   *
+   * @param resourcePath The classpath path to the OGG file
+   * @return A new AudioBuffer containing the loaded audio data
    */
-  private static ByteBuffer loadResourceAsBuffer(String resourcePath) {
-    // Ensure the resource path starts with / for classpath lookup
-    String correctedPath = resourcePath.startsWith("/") ? resourcePath : "/" + resourcePath;
-
-    try (var inputStream = AudioBuffer.class.getResourceAsStream(correctedPath)) {
-      if (inputStream == null) {
-        return null;
-      }
-
-      byte[] bytes = inputStream.readAllBytes();
-      ByteBuffer buffer = MemoryUtil.memAlloc(bytes.length);
-      buffer.put(bytes);
-      buffer.flip();
-      return buffer;
-    } catch (Exception e) {
-      throw new RuntimeException("Failed to load audio resource: " + resourcePath, e);
+  public static AudioBuffer loadFromOggFile(String resourcePath) {
+    try (DecodedAudio audio = DecodedAudio.decodeOggResource(resourcePath)) {
+      return new AudioBuffer(audio);
     }
   }
 
@@ -112,6 +84,32 @@ public final class AudioBuffer implements AutoCloseable {
     return bufferId;
   }
 
+  /**
+   * Gets the memory held by the buffer's samples.
+   *
+   * @return The size in bytes.
+   */
+  public long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  /**
+   * Checks whether a source has this buffer attached or a play of it is queued.
+   *
+   * @return true if the buffer may still be played, false if it can be closed safely
+   */
+  public boolean isAttached() {
+    return attachments.get() > 0;
+  }
+
+  void attach() {
+    attachments.incrementAndGet();
+  }
+
+  void detach() {
+    attachments.decrementAndGet();
+  }
+
   @Override
   public void close() {
     if (!closed) {
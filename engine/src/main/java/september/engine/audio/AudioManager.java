@@ -26,12 +26,14 @@ import static org.lwjgl.openal.ALC10.alcOpenDevice;
  * - Initializing and cleaning up the OpenAL context
  * - Managing global audio settings (master volume, listener properties)
  * - Providing factory methods for creating audio resources
+ * - Running the {@link AudioThread} that plays every {@link Voice}
  */
 public final class AudioManager implements AutoCloseable {
 
   private long device;
   private long context;
   private boolean initialized = false;
+  private AudioThread audioThread;
 
   /**
    * Initializes the OpenAL audio system.
@@ -76,6 +78,9 @@ public final class AudioManager implements AutoCloseable {
     setListenerPosition(0.0f, 0.0f, 0.0f);
     setListenerOrientation(0.0f, 0.0f, -1.0f, 0.0f, 1.0f, 0.0f);
     setMasterVolume(1.0f);
+
+    audioThread = new AudioThread();
+    audioThread.start();
   }
 
   /**
@@ -153,6 +158,20 @@ public final class AudioManager implements AutoCloseable {
     return new AudioSource();
   }
 
+  /**
+   * Creates a new Voice, whose source is created and played on the audio thread.
+   * The caller is responsible for closing the returned voice.
+   *
+   * @return A new Voice instance
+   */
+  public Voice createVoice() {
+    if (!initialized) {
+      throw new IllegalStateException("AudioManager is not initialized");
+    }
+
+    return new Voice(audioThread);
+  }
+
   /**
    * Creates a new AudioBuffer from raw audio data.
    * The caller is responsible for closing the returned buffer.
@@ -197,6 +216,10 @@ public final class AudioManager implements AutoCloseable {
   @Override
   public void close() {
     if (initialized) {
+      // Let the audio thread release its voices while the context still exists
+      audioThread.close();
+      audioThread = null;
+
       // Clean up OpenAL context
       alcMakeContextCurrent(0);
       alcDestroyContext(context);
@@ -15,6 +15,7 @@ import static org.lwjgl.openal.AL10.*;
 public final class AudioSource implements AutoCloseable {
 
   private final int sourceId;
+  private AudioBuffer buffer;
   private boolean closed = false;
 
   public AudioSource() {
@@ -42,9 +43,27 @@ public final class AudioSource implements AutoCloseable {
     }
 
     alSourcei(sourceId, AL_BUFFER, buffer.getBufferId());
+    buffer.attach();
+    releaseBuffer();
+    this.buffer = buffer;
     alSourcePlay(sourceId);
   }
 
+  /**
+   * Detaches the static buffer, if any, so that buffers can be queued on the source instead.
+   */
+  void detachBuffer() {
+    alSourcei(sourceId, AL_BUFFER, 0);
+    releaseBuffer();
+  }
+
+  private void releaseBuffer() {
+    if (buffer != null) {
+      buffer.detach();
+      buffer = null;
+    }
+  }
+
   /**
    * Pauses audio playback. Can be resumed with resume().
    */
@@ -194,10 +213,24 @@ public final class AudioSource implements AutoCloseable {
     return alGetSourcef(sourceId, AL_GAIN);
   }
 
+  /**
+   * Gets the OpenAL source ID, for classes that drive the source directly such as a
+   * {@link MusicStream}.
+   *
+   * @return The OpenAL source ID
+   */
+  int getSourceId() {
+    if (closed) {
+      throw new IllegalStateException("AudioSource has been closed");
+    }
+    return sourceId;
+  }
+
   @Override
   public void close() {
     if (!closed) {
       alDeleteSources(sourceId);
+      releaseBuffer();
       closed = true;
     }
   }
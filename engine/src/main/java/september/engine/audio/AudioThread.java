@@ -0,0 +1,163 @@
+package september.engine.audio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A dedicated thread that performs all OpenAL playback work at a fixed rate, independent of the
+ * frame rate.
+ * <p>
+ * Other threads hand work to it through {@link #execute(Runnable)}, which appends to a lock-free
+ * queue and never blocks. Every period the thread runs the queued commands in order, then
+ * services each attached {@link Voice}: it refills music streams, ramps volumes and publishes
+ * the playback state the game thread reads. A frame hitch therefore delays commands but never
+ * starves a stream of samples.
+ */
+public final class AudioThread implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(AudioThread.class);
+
+  /** The default service period: 5 ms, well inside the ring of a {@link MusicStream}. */
+  public static final long DEFAULT_PERIOD_NANOS = 5_000_000L;
+
+  private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+  // Only touched by the audio thread.
+  private final List<Voice> voices = new ArrayList<>();
+  private final long periodNanos;
+  private final Thread thread;
+  private volatile boolean running;
+  private volatile boolean closed;
+
+  public AudioThread() {
+    this(DEFAULT_PERIOD_NANOS);
+  }
+
+  /**
+   * Creates an audio thread with a specific service period, allowing tests to run it faster.
+   */
+  AudioThread(long periodNanos) {
+    this.periodNanos = periodNanos;
+    this.thread = Thread.ofPlatform().name("audio").daemon().unstarted(this::run);
+    thread.setPriority(Thread.MAX_PRIORITY);
+  }
+
+  /**
+   * Starts servicing commands and voices.
+   */
+  public void start() {
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Queues work to run on the audio thread. Commands run in the order they were queued.
+   * May be called from any thread. Commands queued after {@link #close()} are dropped, which is
+   * harmless for closing a voice because closing the thread has already released it.
+   *
+   * @param command The work to run.
+   */
+  public void execute(Runnable command) {
+    if (closed) {
+      log.debug("Audio thread is closed; dropping command");
+      return;
+    }
+    commands.add(command);
+  }
+
+  /**
+   * Checks whether the calling thread is the audio thread.
+   *
+   * @return true on the audio thread
+   */
+  public boolean isAudioThread() {
+    return Thread.currentThread() == thread;
+  }
+
+  /** Called on the audio thread once a voice's source exists. */
+  void attach(Voice voice) {
+    voices.add(voice);
+  }
+
+  /** Called on the audio thread when a voice is closed. */
+  void detach(Voice voice) {
+    voices.remove(voice);
+  }
+
+  private void run() {
+    long last = System.nanoTime();
+    long next = last;
+    while (running) {
+      runCommands();
+      long now = System.nanoTime();
+      float deltaTime = (now - last) / 1_000_000_000.0f;
+      last = now;
+      for (int i = 0; i < voices.size(); i++) {
+        Voice voice = voices.get(i);
+        try {
+          voice.service(deltaTime);
+        } catch (RuntimeException e) {
+          log.error("Audio voice failed; closing it", e);
+          voice.release();
+          voices.remove(i--);
+        }
+      }
+
+      next += periodNanos;
+      if (next < now) {
+        // Fell behind, for example after the process was suspended; don't try to catch up.
+        next = now + periodNanos;
+      }
+      LockSupport.parkNanos(next - System.nanoTime());
+    }
+    // Let queued closes release their sources before the context goes away.
+    runCommands();
+  }
+
+  private void runCommands() {
+    Runnable command;
+    while ((command = commands.poll()) != null) {
+      try {
+        command.run();
+      } catch (RuntimeException e) {
+        log.error("Audio command failed", e);
+      }
+    }
+  }
+
+  /**
+   * Runs the remaining queued commands, stops the thread and releases every voice that is still
+   * attached, so voices closed later have nothing left to free. Must be called before the
+   * OpenAL context is destroyed.
+   */
+  @Override
+  public void close() {
+    if (!running) {
+      return;
+    }
+    closed = true;
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      log.warn("Audio thread did not stop; {} voices were not released", voices.size());
+      return;
+    }
+    // The thread has finished, so its state is safe to touch here. Pick up commands that were
+    // queued while it ran its last pass.
+    runCommands();
+    for (Voice voice : voices) {
+      voice.release();
+    }
+    voices.clear();
+  }
+}
@@ -0,0 +1,69 @@
+package september.engine.audio;
+
+import lombok.Getter;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import september.engine.assets.AssetLoader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
+
+/**
+ * 16-bit PCM samples decoded from an audio file, ready to be uploaded to an {@link AudioBuffer}.
+ * <p>
+ * Decoding touches no OpenAL state, so it can run on any thread. The samples live in native
+ * memory that is freed by {@link #close()}.
+ */
+public final class DecodedAudio implements AutoCloseable {
+
+  @Getter
+  private final ShortBuffer samples;
+  @Getter
+  private final int channels;
+  @Getter
+  private final int sampleRate;
+  private boolean closed;
+
+  private DecodedAudio(ShortBuffer samples, int channels, int sampleRate) {
+    this.samples = samples;
+    this.channels = channels;
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * Decodes an OGG Vorbis file on the classpath.
+   *
+   * @param resourcePath The classpath path to the OGG file.
+   * @return The decoded audio, which must be closed to free its samples.
+   */
+  public static DecodedAudio decodeOggResource(String resourcePath) {
+    ByteBuffer oggData;
+    try {
+      oggData = AssetLoader.readResourceToByteBuffer(resourcePath);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load audio resource: " + resourcePath, e);
+    }
+    try (MemoryStack stack = MemoryStack.stackPush()) {
+      IntBuffer channelsBuffer = stack.mallocInt(1);
+      IntBuffer sampleRateBuffer = stack.mallocInt(1);
+
+      ShortBuffer samples = stb_vorbis_decode_memory(oggData, channelsBuffer, sampleRateBuffer);
+      if (samples == null) {
+        throw new RuntimeException("Failed to decode OGG file: " + resourcePath);
+      }
+      return new DecodedAudio(samples, channelsBuffer.get(0), sampleRateBuffer.get(0));
+    }
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      MemoryUtil.memFree(samples);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package september.engine.audio;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.openal.AL10.AL_BUFFER;
+import static org.lwjgl.openal.AL10.AL_BUFFERS_PROCESSED;
+import static org.lwjgl.openal.AL10.AL_BUFFERS_QUEUED;
+import static org.lwjgl.openal.AL10.AL_FALSE;
+import static org.lwjgl.openal.AL10.AL_FORMAT_MONO16;
+import static org.lwjgl.openal.AL10.AL_FORMAT_STEREO16;
+import static org.lwjgl.openal.AL10.AL_LOOPING;
+import static org.lwjgl.openal.AL10.AL_SOURCE_STATE;
+import static org.lwjgl.openal.AL10.AL_STOPPED;
+import static org.lwjgl.openal.AL10.alBufferData;
+import static org.lwjgl.openal.AL10.alDeleteBuffers;
+import static org.lwjgl.openal.AL10.alGenBuffers;
+import static org.lwjgl.openal.AL10.alGetSourcei;
+import static org.lwjgl.openal.AL10.alSourcePlay;
+import static org.lwjgl.openal.AL10.alSourceQueueBuffers;
+import static org.lwjgl.openal.AL10.alSourceStop;
+import static org.lwjgl.openal.AL10.alSourceUnqueueBuffers;
+import static org.lwjgl.openal.AL10.alSourcei;
+
+/**
+ * Plays a long OGG Vorbis track through an {@link AudioSource} without decoding it up front.
+ * <p>
+ * The track is decoded by a {@link VorbisStream} into a small ring of OpenAL buffers queued on
+ * the source. {@link #update()} must be called regularly, typically once per frame: it unqueues
+ * the buffers the source has finished, refills them with the next samples and queues them again.
+ * The ring holds about three quarters of a second of audio, so only a few hundred kilobytes of
+ * PCM are in memory however long the track is.
+ * <p>
+ * Looping is handled by the stream rather than by OpenAL, which would only repeat the queued
+ * buffers. If a long hitch lets the queue run dry, the source is restarted on the next update.
+ */
+public final class MusicStream implements AutoCloseable {
+
+  /** The number of buffers in the ring. */
+  static final int BUFFER_COUNT = 4;
+  /** The number of samples per channel in each buffer. */
+  static final int BUFFER_FRAMES = 8192;
+
+  private final VorbisStream stream;
+  private final int[] buffers = new int[BUFFER_COUNT];
+  private final ShortBuffer pcm;
+  private final int format;
+  private AudioSource source;
+  private boolean looping;
+  private boolean playing;
+  private boolean ended;
+  private boolean closed;
+
+  private MusicStream(VorbisStream stream, boolean looping) {
+    this.stream = stream;
+    this.looping = looping;
+    this.format = stream.getChannels() == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16;
+    this.pcm = MemoryUtil.memAllocShort(BUFFER_FRAMES * stream.getChannels());
+    for (int i = 0; i < BUFFER_COUNT; i++) {
+      buffers[i] = alGenBuffers();
+    }
+  }
+
+  /**
+   * Opens an OGG Vorbis file on the classpath for streaming.
+   *
+   * @param resourcePath The classpath path to the OGG file.
+   * @param looping      Whether the track restarts when it ends.
+   * @return The stream, which must be closed to free its decoder and buffers.
+   */
+  public static MusicStream open(String resourcePath, boolean looping) {
+    return new MusicStream(VorbisStream.open(resourcePath), looping);
+  }
+
+  /**
+   * Starts playing the track from the beginning on a source. The source is used exclusively by
+   * this stream until it is closed.
+   *
+   * @param source The source to play through.
+   */
+  public void play(AudioSource source) {
+    if (closed) {
+      throw new IllegalStateException("MusicStream has been closed");
+    }
+    stopSource();
+    this.source = source;
+    int sourceId = source.getSourceId();
+    // A static buffer or OpenAL looping would conflict with the queue.
+    source.detachBuffer();
+    alSourcei(sourceId, AL_LOOPING, AL_FALSE);
+
+    stream.rewind();
+    ended = false;
+    for (int buffer : buffers) {
+      if (!fill(buffer)) {
+        break;
+      }
+      alSourceQueueBuffers(sourceId, buffer);
+    }
+    alSourcePlay(sourceId);
+    playing = true;
+  }
+
+  /**
+   * Refills and requeues the buffers the source has finished playing.
+   */
+  public void update() {
+    if (!playing || closed) {
+      return;
+    }
+    int sourceId = source.getSourceId();
+    int processed = alGetSourcei(sourceId, AL_BUFFERS_PROCESSED);
+    for (int i = 0; i < processed; i++) {
+      int buffer = alSourceUnqueueBuffers(sourceId);
+      if (!ended && fill(buffer)) {
+        alSourceQueueBuffers(sourceId, buffer);
+      }
+    }
+
+    int queued = alGetSourcei(sourceId, AL_BUFFERS_QUEUED);
+    if (queued == 0) {
+      // The last buffer of a non-looping track has played.
+      playing = false;
+    } else if (alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_STOPPED) {
+      // The queue ran dry during a hitch; carry on from the buffers that were refilled.
+      alSourcePlay(sourceId);
+    }
+  }
+
+  /**
+   * Sets whether the track restarts when it ends. Takes effect the next time a buffer is filled.
+   *
+   * @param looping true to loop, false to play once
+   */
+  public void setLooping(boolean looping) {
+    this.looping = looping;
+  }
+
+  /**
+   * Stops playback. The track starts from the beginning if it is played again.
+   */
+  public void stop() {
+    stopSource();
+  }
+
+  /**
+   * Checks whether the stream is playing or paused, as opposed to stopped or finished.
+   *
+   * @return true until the track ends or is stopped
+   */
+  public boolean isPlaying() {
+    return playing;
+  }
+
+  private void stopSource() {
+    if (source == null || source.isClosed()) {
+      playing = false;
+      return;
+    }
+    int sourceId = source.getSourceId();
+    alSourceStop(sourceId);
+    // Stopping marks every queued buffer as processed; detaching them frees the ring for reuse.
+    alSourcei(sourceId, AL_BUFFER, 0);
+    playing = false;
+  }
+
+  /**
+   * Decodes the next samples into a buffer.
+   *
+   * @return false if the track has ended and the buffer was left empty.
+   */
+  private boolean fill(int buffer) {
+    pcm.clear();
+    int frames = stream.read(pcm, looping);
+    if (frames == 0) {
+      ended = true;
+      return false;
+    }
+    pcm.flip();
+    alBufferData(buffer, format, pcm, stream.getSampleRate());
+    return true;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    stopSource();
+    closed = true;
+    alDeleteBuffers(buffers);
+    stream.close();
+    MemoryUtil.memFree(pcm);
+  }
+}
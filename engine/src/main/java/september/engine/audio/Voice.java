@@ -0,0 +1,323 @@
+package september.engine.audio;
+
+import org.joml.Vector3f;
+
+import static org.lwjgl.openal.AL10.AL_INITIAL;
+import static org.lwjgl.openal.AL10.AL_PAUSED;
+import static org.lwjgl.openal.AL10.AL_PLAYING;
+import static org.lwjgl.openal.AL10.AL_STOPPED;
+
+/**
+ * A handle to an {@link AudioSource} that lives on the {@link AudioThread}.
+ * <p>
+ * Every method is called from the game thread and only queues a command; nothing here waits
+ * for OpenAL. Setters skip the command when the value has not changed, so calling them every
+ * frame is cheap. The playback state is published by the audio thread after each service pass.
+ * Until the audio thread has caught up with the last play, pause, resume or stop, the voice
+ * reports the state that command will produce, so a sound that was just started never looks
+ * finished.
+ * <p>
+ * Volume changes are ramped on the audio thread rather than applied in one step, which smooths
+ * out fades driven at the frame rate and avoids clicks when a frame takes long.
+ */
+public final class Voice implements AutoCloseable {
+
+  /** How quickly the gain of a playing voice may change, in full-scale steps per second. */
+  static final float GAIN_SLEW_PER_SECOND = 20.0f;
+
+  private final AudioThread audioThread;
+
+  // Game thread state.
+  private float volume = 1.0f;
+  private float pitch = 1.0f;
+  private boolean looping;
+  private final Vector3f position = new Vector3f();
+  private int expectedState = AL_INITIAL;
+  private long sequence;
+  private long stateSequence;
+  private boolean closed;
+
+  // Published by the audio thread.
+  private volatile int publishedState = AL_INITIAL;
+  private volatile long acknowledged;
+
+  // Audio thread state.
+  private AudioSource source;
+  private MusicStream stream;
+  private long processed;
+  private float gain = 1.0f;
+  private float targetGain = 1.0f;
+
+  Voice(AudioThread audioThread) {
+    this.audioThread = audioThread;
+    audioThread.execute(() -> {
+      source = new AudioSource();
+      audioThread.attach(this);
+    });
+  }
+
+  /**
+   * Plays a fully decoded buffer from the beginning, replacing whatever the voice was playing.
+   *
+   * @param buffer The audio buffer to play
+   */
+  public void play(AudioBuffer buffer) {
+    checkOpen();
+    // Hold the buffer while the play is queued, so its owner cannot close it before it is attached.
+    buffer.attach();
+    post(AL_PLAYING, () -> {
+      try {
+        closeStream();
+        source.play(buffer);
+      } finally {
+        buffer.detach();
+      }
+    });
+  }
+
+  /**
+   * Streams an OGG Vorbis file from the beginning, replacing whatever the voice was playing.
+   * The file is opened on the calling thread so the audio thread never waits on I/O.
+   *
+   * @param resourcePath The classpath path to the OGG file
+   * @param looping      Whether the track restarts when it ends
+   */
+  public void stream(String resourcePath, boolean looping) {
+    checkOpen();
+    MusicStream opened = MusicStream.open(resourcePath, looping);
+    this.looping = looping;
+    post(AL_PLAYING, () -> {
+      closeStream();
+      stream = opened;
+      stream.play(source);
+    });
+  }
+
+  /**
+   * Pauses playback. Can be resumed with {@link #resume()}.
+   */
+  public void pause() {
+    post(AL_PAUSED, () -> source.pause());
+  }
+
+  /**
+   * Resumes paused playback.
+   */
+  public void resume() {
+    post(AL_PLAYING, () -> source.resume());
+  }
+
+  /**
+   * Stops playback. A streamed track starts from the beginning if it is streamed again.
+   */
+  public void stop() {
+    post(AL_STOPPED, () -> {
+      if (stream != null) {
+        stream.stop();
+      } else {
+        source.stop();
+      }
+    });
+  }
+
+  /**
+   * Sets the volume. While the voice is playing, the audio thread ramps towards it.
+   *
+   * @param volume Volume level (0.0f = silent, 1.0f = full volume)
+   */
+  public void setVolume(float volume) {
+    if (volume != this.volume) {
+      this.volume = volume;
+      post(() -> targetGain = Math.max(0.0f, volume));
+    }
+  }
+
+  /**
+   * Sets the pitch.
+   *
+   * @param pitch Pitch multiplier (1.0f = normal, 2.0f = double speed/higher pitch)
+   */
+  public void setPitch(float pitch) {
+    if (pitch != this.pitch) {
+      this.pitch = pitch;
+      post(() -> source.setPitch(pitch));
+    }
+  }
+
+  /**
+   * Sets whether playback restarts when it reaches the end.
+   *
+   * @param looping true to enable looping, false to play once
+   */
+  public void setLooping(boolean looping) {
+    if (looping != this.looping) {
+      this.looping = looping;
+      post(() -> {
+        // A streamed track loops by decoding, not through OpenAL.
+        if (stream != null) {
+          stream.setLooping(looping);
+        } else {
+          source.setLooping(looping);
+        }
+      });
+    }
+  }
+
+  /**
+   * Sets the 3D position.
+   *
+   * @param position Position vector
+   */
+  public void setPosition(Vector3f position) {
+    if (!position.equals(this.position)) {
+      this.position.set(position);
+      float x = position.x;
+      float y = position.y;
+      float z = position.z;
+      post(() -> source.setPosition(x, y, z));
+    }
+  }
+
+  /**
+   * Gets the last volume set on this voice.
+   *
+   * @return The volume level
+   */
+  public float getVolume() {
+    return volume;
+  }
+
+  /**
+   * Gets the playback state, as of the audio thread's last service pass or the last state
+   * change requested on this voice, whichever is newer.
+   *
+   * @return The OpenAL source state (AL_INITIAL, AL_PLAYING, AL_PAUSED or AL_STOPPED)
+   */
+  public int getState() {
+    return acknowledged >= stateSequence ? publishedState : expectedState;
+  }
+
+  /**
+   * Checks if this voice is playing.
+   *
+   * @return true if playing, false otherwise
+   */
+  public boolean isPlaying() {
+    return getState() == AL_PLAYING;
+  }
+
+  /**
+   * Checks if this voice is paused.
+   *
+   * @return true if paused, false otherwise
+   */
+  public boolean isPaused() {
+    return getState() == AL_PAUSED;
+  }
+
+  /**
+   * Checks if this voice is stopped.
+   *
+   * @return true if stopped, false otherwise
+   */
+  public boolean isStopped() {
+    return getState() == AL_STOPPED;
+  }
+
+  /**
+   * Runs on the audio thread after the queued commands: ramps the gain, refills the stream and
+   * publishes the playback state.
+   */
+  void service(float deltaTime) {
+    if (stream != null) {
+      stream.update();
+    }
+    if (gain != targetGain) {
+      // Only ramp audible changes; a voice that has just been started takes its volume at once.
+      if (publishedState == AL_PLAYING) {
+        float step = GAIN_SLEW_PER_SECOND * deltaTime;
+        gain = Math.clamp(targetGain, gain - step, gain + step);
+      } else {
+        gain = targetGain;
+      }
+      source.setVolume(gain);
+    }
+    publishedState = source.getState();
+    acknowledged = processed;
+  }
+
+  /**
+   * Gets the gain currently applied to the source. Audio thread only.
+   */
+  float getGain() {
+    return gain;
+  }
+
+  /**
+   * Frees the stream and the source. Runs on the audio thread, or on the closing thread once
+   * the audio thread has stopped.
+   */
+  void release() {
+    closeStream();
+    if (source != null) {
+      source.close();
+      source = null;
+    }
+  }
+
+  private void closeStream() {
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  private void post(int state, Runnable command) {
+    post(command);
+    expectedState = state;
+    stateSequence = sequence;
+  }
+
+  private void post(Runnable command) {
+    checkOpen();
+    long commandSequence = ++sequence;
+    audioThread.execute(() -> {
+      try {
+        command.run();
+      } finally {
+        // A failed command must not hold back the published state.
+        processed = commandSequence;
+      }
+    });
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Voice has been closed");
+    }
+  }
+
+  /**
+   * Stops the voice and frees its OpenAL resources on the audio thread. A voice closed after the
+   * audio thread has stopped was already freed by {@link AudioThread#close()}.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      audioThread.execute(() -> {
+        audioThread.detach(this);
+        release();
+      });
+    }
+  }
+
+  /**
+   * Checks if this voice has been closed.
+   *
+   * @return true if closed, false otherwise
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+}
@@ -0,0 +1,117 @@
+package september.engine.audio;
+
+import lombok.Getter;
+import org.lwjgl.stb.STBVorbisInfo;
+import org.lwjgl.system.MemoryStack;
+import september.engine.assets.AssetLoader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_close;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_get_info;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_get_samples_short_interleaved;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_open_memory;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_seek_start;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Decodes an OGG Vorbis file incrementally into 16-bit PCM samples.
+ * <p>
+ * Unlike {@link DecodedAudio}, which decodes a whole file at once, a stream only holds the
+ * encoded file and the decoder's state, and produces samples on demand. It touches no OpenAL
+ * state, so it can run on any thread, but a single stream must not be used by several threads.
+ */
+public final class VorbisStream implements AutoCloseable {
+
+  @Getter
+  private final int channels;
+  @Getter
+  private final int sampleRate;
+  // stb_vorbis reads from this buffer for as long as the decoder is open.
+  private final ByteBuffer encoded;
+  private final long decoder;
+  private boolean closed;
+
+  private VorbisStream(ByteBuffer encoded, long decoder, int channels, int sampleRate) {
+    this.encoded = encoded;
+    this.decoder = decoder;
+    this.channels = channels;
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * Opens an OGG Vorbis file on the classpath for streaming.
+   *
+   * @param resourcePath The classpath path to the OGG file.
+   * @return The stream, which must be closed to free the decoder.
+   */
+  public static VorbisStream open(String resourcePath) {
+    ByteBuffer oggData;
+    try {
+      oggData = AssetLoader.readResourceToByteBuffer(resourcePath);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load audio resource: " + resourcePath, e);
+    }
+    try (MemoryStack stack = MemoryStack.stackPush()) {
+      IntBuffer error = stack.mallocInt(1);
+      long decoder = stb_vorbis_open_memory(oggData, error, null);
+      if (decoder == NULL) {
+        throw new RuntimeException("Failed to open OGG file: " + resourcePath + " (error " + error.get(0) + ")");
+      }
+      STBVorbisInfo info = STBVorbisInfo.malloc(stack);
+      stb_vorbis_get_info(decoder, info);
+      return new VorbisStream(oggData, decoder, info.channels(), info.sample_rate());
+    }
+  }
+
+  /**
+   * Decodes the next samples into a buffer, filling it from its position up to its limit or
+   * until the file ends. When looping, decoding wraps around to the start of the file, so the
+   * buffer is always filled.
+   *
+   * @param pcm     Receives interleaved samples; its position is advanced past them.
+   * @param looping Whether to continue from the start of the file when it ends.
+   * @return The number of samples per channel written, 0 once a non-looping stream has ended.
+   */
+  public int read(ShortBuffer pcm, boolean looping) {
+    if (closed) {
+      throw new IllegalStateException("VorbisStream has been closed");
+    }
+    int total = 0;
+    boolean rewound = false;
+    while (pcm.remaining() >= channels) {
+      int frames = stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+      if (frames == 0) {
+        // A file that yields nothing right after a rewind is empty; stop instead of spinning.
+        if (!looping || rewound) {
+          break;
+        }
+        stb_vorbis_seek_start(decoder);
+        rewound = true;
+        continue;
+      }
+      rewound = false;
+      pcm.position(pcm.position() + frames * channels);
+      total += frames;
+    }
+    return total;
+  }
+
+  /**
+   * Restarts decoding from the beginning of the file.
+   */
+  public void rewind() {
+    stb_vorbis_seek_start(decoder);
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      stb_vorbis_close(decoder);
+    }
+  }
+}
@@ -3,6 +3,9 @@ package september.engine.core;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import september.engine.assets.AssetLoader;
+import september.engine.assets.AssetPack;
+import september.engine.assets.AssetWatcher;
 import september.engine.assets.ResourceManager;
 import september.engine.audio.AudioManager;
 import september.engine.core.input.GamepadService;
@@ -13,16 +16,34 @@ import september.engine.ecs.IWorld;
 import september.engine.ecs.SystemManager;
 import september.engine.events.EventBus;
 import september.engine.rendering.Camera;
+import september.engine.rendering.DecodedImageCache;
 import september.engine.rendering.Renderer;
+import september.engine.rendering.gl.CameraUniformBuffer;
+import september.engine.rendering.gl.GLStateCache;
+import september.engine.rendering.gl.GpuProfiler;
 import september.engine.rendering.gl.OpenGLRenderer;
+import september.engine.rendering.gl.ProgramBinaryCache;
 import september.engine.scene.SceneManager;
 import september.engine.state.GameState;
 import september.engine.state.GameStateManager;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
 public final class Engine implements Runnable {
   private static final Logger log = LoggerFactory.getLogger(Engine.class);
   private static final int INITIAL_WIDTH = 800;
   private static final int INITIAL_HEIGHT = 600;
+  private static final String SHADER_CACHE_PROPERTY = "september.shaderCache";
+  private static final String TEXTURE_CACHE_PROPERTY = "september.textureCache";
+  /** An asset pack to read assets from ahead of the classpath. Unset, only the classpath is used. */
+  private static final String ASSET_PACK_PROPERTY = "september.assetPack";
+  /** Asset source directories to read from and watch for changes, separated by the path separator. */
+  private static final String HOT_RELOAD_PROPERTY = "september.hotReload";
 
   private final Game game;
   private final ApplicationLoopPolicy loopPolicy;
@@ -33,6 +54,9 @@ public final class Engine implements Runnable {
   private TimeService timeService;
   @Getter private ResourceManager resourceManager;
   @Getter private Camera camera;
+  // Shared by every renderer: one for the world camera, one for screen-space UI and text
+  @Getter private CameraUniformBuffer worldCameraBuffer;
+  @Getter private CameraUniformBuffer screenCameraBuffer;
   private GlfwInputService inputService;
   private GamepadService gamepadService;
   @Getter private AudioManager audioManager;
@@ -45,6 +69,7 @@ public final class Engine implements Runnable {
   private EngineServices services;
   private SceneManager sceneManager;
   private EventBus eventBus;
+  private AssetWatcher assetWatcher;
 
   public Engine(Game game, ApplicationLoopPolicy loopPolicy) {
     this.game = game;
@@ -59,6 +84,9 @@ public final class Engine implements Runnable {
       gameStateManager = new GameStateManager();
       eventBus = new EventBus();
       timeService = new SystemTimer();
+      mountAssetPack();
+      startHotReload();
+      DecodedImageCache.install(new DecodedImageCache(cacheDirectory(TEXTURE_CACHE_PROPERTY, "texture-cache")));
       resourceManager = new ResourceManager();
       inputService = new GlfwInputService();
       gamepadService = new GlfwGamepadService();
@@ -67,7 +95,11 @@ public final class Engine implements Runnable {
       preferencesService = new PreferencesService("september-engine");
       glfwContext = new GlfwContext();
       window = new WindowContext(INITIAL_WIDTH, INITIAL_HEIGHT, "September Engine");
-      renderer = new OpenGLRenderer();
+      ProgramBinaryCache.forCurrentContext(cacheDirectory(SHADER_CACHE_PROPERTY, "shader-cache")).ifPresent(ProgramBinaryCache::install);
+      worldCameraBuffer = new CameraUniformBuffer();
+      screenCameraBuffer = new CameraUniformBuffer();
+      screenCameraBuffer.updateScreen(INITIAL_WIDTH, INITIAL_HEIGHT);
+      renderer = new OpenGLRenderer(worldCameraBuffer);
       camera = new Camera(INITIAL_WIDTH, INITIAL_HEIGHT);
       camera.setPerspective(45.0f, (float) INITIAL_WIDTH / INITIAL_HEIGHT, 0.1f, 100.0f);
 
@@ -86,6 +118,8 @@ public final class Engine implements Runnable {
               .audioManager(audioManager)
               .preferencesService(preferencesService)
               .camera(camera)
+              .worldCameraBuffer(worldCameraBuffer)
+              .screenCameraBuffer(screenCameraBuffer)
               .renderer(renderer)
               .window(window)
               .build();
@@ -95,6 +129,7 @@ public final class Engine implements Runnable {
           (width, height) -> {
             camera.resize(width, height);
             camera.setPerspective(45.0f, (float) width / height, 0.1f, 100.0f);
+            screenCameraBuffer.updateScreen(width, height);
           });
 
       inputService.installCallbacks(window);
@@ -116,15 +151,84 @@ public final class Engine implements Runnable {
     int frames = 0;
     while (loopPolicy.continueRunning(frames, window.handle()) && !gameStateManager.isEmpty()) {
       window.pollEvents();
+      applyChangedAssets();
+      resourceManager.processUploads();
       timeService.update();
       float dt = timeService.getDeltaTime();
       gameStateManager.update(services, dt);
       systemManager.updateAll(dt);
       window.swapBuffers();
+      GLStateCache.endFrame();
+      GpuProfiler.endFrame();
       frames++;
     }
   }
 
+  private static void mountAssetPack() {
+    String packProperty = System.getProperty(ASSET_PACK_PROPERTY);
+    if (packProperty == null) {
+      log.info("Reading assets from the classpath");
+      return;
+    }
+    Path pack = Path.of(packProperty);
+    if (!Files.isRegularFile(pack)) {
+      log.warn("Asset pack {} does not exist; reading assets from the classpath", pack);
+      return;
+    }
+    try {
+      AssetPack assetPack = AssetPack.open(pack);
+      AssetLoader.mount(assetPack);
+      log.info("Mounted asset pack {} with {} assets", pack, assetPack.size());
+    } catch (IOException e) {
+      log.warn("Could not open asset pack {}; reading assets from the classpath", pack, e);
+    }
+  }
+
+  /**
+   * Mounts the asset source directories named by {@value #HOT_RELOAD_PROPERTY} ahead of the pack
+   * and the classpath, and watches them for edits. Hot reload is off unless the property is set.
+   */
+  private void startHotReload() {
+    String configured = System.getProperty(HOT_RELOAD_PROPERTY);
+    if (configured == null || configured.isBlank()) {
+      return;
+    }
+    List<Path> roots = Arrays.stream(configured.split(File.pathSeparator)).map(Path::of).toList();
+    try {
+      assetWatcher = new AssetWatcher(roots);
+      AssetLoader.mountDirectories(roots);
+      log.info("Hot reloading assets from {}", roots);
+    } catch (IOException e) {
+      log.warn("Could not watch asset directories {}; hot reload is disabled", roots, e);
+    }
+  }
+
+  private void applyChangedAssets() {
+    if (assetWatcher == null) {
+      return;
+    }
+    for (String path : assetWatcher.poll()) {
+      try {
+        int reloaded = resourceManager.reload(path);
+        boolean scene = sceneManager.reload(path, world);
+        if (reloaded > 0 || scene) {
+          log.info("Reloaded {}", path);
+        }
+      } catch (RuntimeException e) {
+        // A half-saved or broken file; the next save triggers another attempt.
+        log.warn("Failed to reload {}", path, e);
+      }
+    }
+  }
+
+  private static Path cacheDirectory(String property, String defaultName) {
+    String configured = System.getProperty(property);
+    if (configured != null) {
+      return Path.of(configured);
+    }
+    return Path.of(System.getProperty("user.home"), ".september", defaultName);
+  }
+
   public void shutdown() {
     // Game shutdown is now handled by the states' onExit methods.
     // We just need to clean up engine resources.
@@ -132,15 +236,30 @@ public final class Engine implements Runnable {
     if (audioManager != null) {
       audioManager.close();
     }
+    if (resourceManager != null) {
+      // Textures, meshes, shaders and the upload ring belong to the window's context
+      resourceManager.close();
+    }
     if (window != null) {
+      // Query objects and uniform buffers belong to the window's context, so they go before it does
+      GpuProfiler.release();
+      if (worldCameraBuffer != null) {
+        worldCameraBuffer.close();
+        screenCameraBuffer.close();
+      }
+      ProgramBinaryCache.install(null);
       window.close();
     }
     if (glfwContext != null) {
       glfwContext.close();
     }
-    if (resourceManager != null) {
-      resourceManager.close();
+    if (assetWatcher != null) {
+      assetWatcher.close();
+      assetWatcher = null;
     }
+    AssetLoader.mount(null);
+    AssetLoader.mountDirectories(List.of());
+    DecodedImageCache.install(null);
     if (preferencesService != null) {
       try {
         preferencesService.close();
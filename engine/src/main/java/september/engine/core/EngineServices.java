@@ -11,6 +11,7 @@ import september.engine.ecs.SystemManager;
 import september.engine.events.EventBus;
 import september.engine.rendering.Camera;
 import september.engine.rendering.Renderer;
+import september.engine.rendering.gl.CameraUniformBuffer;
 import september.engine.scene.SceneManager;
 import september.engine.state.GameStateManager;
 
@@ -28,6 +29,8 @@ public record EngineServices(
   AudioManager audioManager,
   PreferencesService preferencesService,
   Camera camera,
+  CameraUniformBuffer worldCameraBuffer,
+  CameraUniformBuffer screenCameraBuffer,
   Renderer renderer,
   WindowContext window
 ) {
@@ -0,0 +1,77 @@
+package september.engine.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * An executor whose tasks run on the thread that owns the GL and AL contexts.
+ * <p>
+ * Any thread may submit work, for example the upload stage of an asset decoded in the background.
+ * The main loop runs queued tasks once per frame through {@link #drain(long)}, which stops as soon
+ * as the frame's time budget is spent, so a burst of uploads is spread over several frames instead
+ * of stalling one.
+ */
+public final class MainThreadExecutor implements Executor {
+
+  private static final Logger log = LoggerFactory.getLogger(MainThreadExecutor.class);
+
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final LongSupplier clock;
+
+  public MainThreadExecutor() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Creates an executor with a custom time source, allowing tests to control the budget.
+   */
+  MainThreadExecutor(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    tasks.add(Objects.requireNonNull(task, "task must not be null"));
+  }
+
+  /**
+   * Runs queued tasks in submission order until the queue is empty or the budget is spent.
+   * At least one task is run if any is queued, so progress is made even with a zero budget.
+   * Must be called from the main thread.
+   *
+   * @param budgetNanos The time that may be spent running tasks, in nanoseconds.
+   * @return The number of tasks that were run.
+   */
+  public int drain(long budgetNanos) {
+    long start = clock.getAsLong();
+    int ran = 0;
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        log.error("Main-thread task failed", e);
+      }
+      ran++;
+      if (clock.getAsLong() - start >= budgetNanos) {
+        break;
+      }
+    }
+    return ran;
+  }
+
+  /**
+   * Gets the number of tasks waiting to run.
+   *
+   * @return The queued task count.
+   */
+  public int getPendingCount() {
+    return tasks.size();
+  }
+}
@@ -1,6 +1,7 @@
 package september.engine.core;
 
 import java.nio.IntBuffer;
+import org.lwjgl.glfw.Callbacks;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL11;
@@ -8,6 +9,8 @@ import org.lwjgl.opengl.GL30;
 import org.lwjgl.system.MemoryStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import september.engine.rendering.gl.GLStateCache;
+import september.engine.rendering.gl.GpuProfiler;
 
 /** GLFW window wrapper that creates an OpenGL 4.6 core profile context. */
 public final class WindowContext implements AutoCloseable {
@@ -15,6 +18,9 @@ public final class WindowContext implements AutoCloseable {
 
   private boolean created = false;
   private long handle = 0L;
+  // Window size in screen coordinates, kept current by the window size callback
+  private int width;
+  private int height;
 
   public WindowContext(int width, int height, String title) {
     // Single attempt: request OpenGL 4.6 core profile
@@ -35,10 +41,12 @@ public final class WindowContext implements AutoCloseable {
 
     this.handle = window;
     this.created = true;
+    trackWindowSize(window);
 
     // Make context current
     GLFW.glfwMakeContextCurrent(window);
     if (GLFW.glfwGetCurrentContext() != window) {
+      Callbacks.glfwFreeCallbacks(window);
       GLFW.glfwDestroyWindow(window);
       this.handle = 0L;
       this.created = false;
@@ -47,6 +55,9 @@ public final class WindowContext implements AutoCloseable {
 
     try {
       GL.createCapabilities();
+      // A fresh context starts with default bindings, whatever was shadowed for a previous one
+      GLStateCache.invalidate();
+      GpuProfiler.reset();
       // Set initial state
       GLFW.glfwSwapInterval(1); // Enable v-sync
       GL30.glViewport(0, 0, width, height); // Set initial viewport
@@ -62,6 +73,7 @@ public final class WindowContext implements AutoCloseable {
         log.warn("Failed to query OpenGL version information", t);
       }
     } catch (IllegalStateException ise) {
+      Callbacks.glfwFreeCallbacks(window);
       GLFW.glfwDestroyWindow(window);
       this.handle = 0L;
       this.created = false;
@@ -76,22 +88,39 @@ public final class WindowContext implements AutoCloseable {
     return handle;
   }
 
+  /**
+   * Gets the window width in screen coordinates. The value is cached and refreshed by GLFW's window
+   * size callback, so calling this every frame costs no native call.
+   *
+   * @return The window width.
+   */
   public int getWidth() {
-    try (MemoryStack stack = MemoryStack.stackPush()) {
-      IntBuffer pWidth = stack.mallocInt(1);
-      IntBuffer pHeight = stack.mallocInt(1);
-      GLFW.glfwGetWindowSize(handle, pWidth, pHeight);
-      return pWidth.get(0);
-    }
+    return width;
   }
 
+  /**
+   * Gets the window height in screen coordinates. See {@link #getWidth()}.
+   *
+   * @return The window height.
+   */
   public int getHeight() {
+    return height;
+  }
+
+  private void trackWindowSize(long window) {
     try (MemoryStack stack = MemoryStack.stackPush()) {
       IntBuffer pWidth = stack.mallocInt(1);
       IntBuffer pHeight = stack.mallocInt(1);
-      GLFW.glfwGetWindowSize(handle, pWidth, pHeight);
-      return pHeight.get(0);
+      GLFW.glfwGetWindowSize(window, pWidth, pHeight);
+      this.width = pWidth.get(0);
+      this.height = pHeight.get(0);
     }
+    GLFW.glfwSetWindowSizeCallback(
+        window,
+        (win, w, h) -> {
+          this.width = w;
+          this.height = h;
+        });
   }
 
   public void swapBuffers() {
@@ -131,6 +160,7 @@ public final class WindowContext implements AutoCloseable {
     }
     if (handle != 0L) {
       log.info("Destroying GLFW window: handle={}", handle);
+      Callbacks.glfwFreeCallbacks(handle);
       GLFW.glfwDestroyWindow(handle);
       handle = 0L;
     }
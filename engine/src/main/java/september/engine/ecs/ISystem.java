@@ -14,7 +14,9 @@ public interface ISystem {
     public static final int PHYSICS = 300;
     public static final int UI_LOGIC = 900;
     public static final int RENDER = 1000;
+    public static final int PARTICLE_RENDER = 1050;
     public static final int UI_RENDER = 1100;
+    public static final int TEXT_RENDER = 1150;
   }
 
   /**
@@ -29,7 +29,19 @@ public class SystemManager {
     }
   }
 
+  /**
+   * Removes all systems, closing any that hold resources of their own.
+   */
   public void clear() {
+    for (ISystem system : systems) {
+      if (system instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          throw new IllegalStateException("Failed to close system " + system.getClass().getSimpleName(), e);
+        }
+      }
+    }
     systems.clear();
   }
 }
@@ -0,0 +1,85 @@
+package september.engine.ecs.components;
+
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import september.engine.ecs.Component;
+
+/**
+ * Emits textured particles from the entity's TransformComponent position.
+ * <p>
+ * Particles are not entities. Each emitter owns a fixed-capacity pool managed by the
+ * ParticleSystem, which spawns {@link #emissionRate} particles per second plus any requested
+ * {@link #burst(int) bursts}. Size and color are interpolated from their start to end values over
+ * each particle's lifetime. All emitters sharing a texture and blend mode are drawn together in a
+ * single instanced call.
+ */
+public class ParticleEmitterComponent implements Component {
+
+  /** The handle of the particle texture. */
+  public String textureHandle;
+
+  /** The maximum number of live particles; new particles are dropped while the pool is full. */
+  public int maxParticles = 1000;
+
+  /** Particles spawned per second while {@link #emitting}. */
+  public float emissionRate = 50.0f;
+
+  /** Whether the emitter spawns particles continuously. Bursts are emitted either way. */
+  public boolean emitting = true;
+
+  /** The lifetime range of a particle, in seconds. */
+  public float minLifetime = 0.5f;
+  public float maxLifetime = 1.0f;
+
+  /** The initial speed range of a particle, in world units per second. */
+  public float minSpeed = 1.0f;
+  public float maxSpeed = 2.0f;
+
+  /** The centre of the emission cone, in degrees counter-clockwise from +x. */
+  public float direction = 90.0f;
+
+  /** The full width of the emission cone, in degrees. 360 emits in every direction. */
+  public float spread = 360.0f;
+
+  /** A constant acceleration applied to every particle, in world units per second squared. */
+  public final Vector2f gravity = new Vector2f();
+
+  /** The particle size in world units at birth and at death. */
+  public float startSize = 0.25f;
+  public float endSize = 0.0f;
+
+  /** The particle color at birth and at death. */
+  public final Vector4f startColor = new Vector4f(1.0f, 1.0f, 1.0f, 1.0f);
+  public final Vector4f endColor = new Vector4f(1.0f, 1.0f, 1.0f, 0.0f);
+
+  /** If true, particles are blended additively, which suits fire, sparks and magic. */
+  public boolean additive = false;
+
+  /**
+   * Particles requested through {@link #burst(int)} and not yet spawned.
+   * This is managed by the ParticleSystem and should not be modified directly.
+   */
+  public transient int pendingBurst;
+
+  /**
+   * The fractional particle count carried between frames by continuous emission.
+   * This is managed by the ParticleSystem and should not be modified directly.
+   */
+  public transient float emissionAccumulator;
+
+  public ParticleEmitterComponent() {
+  }
+
+  public ParticleEmitterComponent(String textureHandle) {
+    this.textureHandle = textureHandle;
+  }
+
+  /**
+   * Requests a number of particles to be spawned at once on the next update.
+   *
+   * @param count The number of particles.
+   */
+  public void burst(int count) {
+    pendingBurst += count;
+  }
+}
@@ -0,0 +1,78 @@
+package september.engine.ecs.components;
+
+import september.engine.ecs.Component;
+import september.engine.rendering.AnimationClip;
+import september.engine.rendering.SpriteSheet;
+
+/**
+ * Animates an entity's sprite by playing a clip from a shared {@link SpriteSheet}.
+ * <p>
+ * The entity's SpriteComponent names the sheet's texture. The SpriteAnimationSystem advances the
+ * clip and records the sheet frame to show, and the RenderSystem draws only that frame's region
+ * of the texture. Since every frame of a sheet lives in one texture, any number of entities
+ * animating from the same sheet still draw in a single instanced batch.
+ */
+public class SpriteAnimationComponent implements Component {
+
+  /**
+   * The handle of the sprite sheet registered with the ResourceManager. It is resolved once, and
+   * again only if it changes, which restarts the clip from its first frame.
+   */
+  public String sheetHandle;
+
+  /** The name of the clip to play. Changing it restarts playback from the clip's first frame. */
+  public String clip;
+
+  /** A multiplier on the clip's frame rate. */
+  public float speed = 1.0f;
+
+  /** Whether the animation advances. A paused animation keeps showing its current frame. */
+  public boolean playing = true;
+
+  /**
+   * The sheet frame to draw.
+   * This is managed by the SpriteAnimationSystem and should not be modified directly.
+   */
+  public transient int frame;
+
+  /**
+   * The position within the clip's frame list and the time spent on it.
+   * These are managed by the SpriteAnimationSystem and should not be modified directly.
+   */
+  public transient int clipFrame;
+  public transient float frameTime;
+
+  /**
+   * Whether a non-looping clip has reached its last frame.
+   * This is managed by the SpriteAnimationSystem and should not be modified directly.
+   */
+  public transient boolean finished;
+
+  /**
+   * The sheet and clip resolved from the handles above, cached so that playback does not look
+   * them up every frame, and the sheet handle they were resolved from. These are managed by the
+   * SpriteAnimationSystem.
+   */
+  public transient SpriteSheet resolvedSheet;
+  public transient String resolvedSheetHandle;
+  public transient AnimationClip resolvedClip;
+
+  public SpriteAnimationComponent() {
+  }
+
+  public SpriteAnimationComponent(String sheetHandle, String clip) {
+    this.sheetHandle = sheetHandle;
+    this.clip = clip;
+  }
+
+  /**
+   * Switches to another clip and plays it from the start. Requesting the clip that is already
+   * playing does nothing, so this can be called every frame from game logic.
+   *
+   * @param clipName The name of the clip in the sheet.
+   */
+  public void play(String clipName) {
+    clip = clipName;
+    playing = true;
+  }
+}
@@ -1,5 +1,6 @@
 package september.engine.ecs.components;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.joml.Vector4f;
 import september.engine.ecs.Component;
 
@@ -9,8 +10,12 @@ import java.util.Objects;
  * A component that defines the visual appearance of a 2D sprite.
  * It holds a handle to the texture to be rendered and an optional color tint.
  * This is a record, which is an immutable data carrier.
+ * <p>
+ * The texture ID is the handle interned by the ResourceManager, which lets the RenderSystem
+ * resolve the texture without hashing the handle every frame. It is assigned when a scene is
+ * loaded; 0 means it has not been assigned, and the handle is used instead.
  */
-public record SpriteComponent(String textureHandle, Vector4f color) implements Component {
+public record SpriteComponent(String textureHandle, Vector4f color, @JsonIgnore int textureId) implements Component {
 
   /**
    * A compact constructor for the record.
@@ -24,4 +29,24 @@ public record SpriteComponent(String textureHandle, Vector4f color) implements C
       color = new Vector4f(1.0f, 1.0f, 1.0f, 1.0f);
     }
   }
+
+  /**
+   * Creates a sprite whose texture ID is not assigned yet.
+   *
+   * @param textureHandle The handle of the texture to draw.
+   * @param color         The color tint, or null for white.
+   */
+  public SpriteComponent(String textureHandle, Vector4f color) {
+    this(textureHandle, color, 0);
+  }
+
+  /**
+   * Returns a copy of this sprite with its texture ID assigned.
+   *
+   * @param id The ID interned for {@link #textureHandle()}.
+   * @return The new component.
+   */
+  public SpriteComponent withTextureId(int id) {
+    return new SpriteComponent(textureHandle, color, id);
+  }
 }
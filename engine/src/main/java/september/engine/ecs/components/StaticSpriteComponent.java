@@ -0,0 +1,19 @@
+package september.engine.ecs.components;
+
+import september.engine.ecs.Component;
+
+/**
+ * A component that marks a sprite entity as static scenery, such as floors, walls and props.
+ * <p>
+ * The RenderSystem bakes the transforms of static sprites into GPU instance buffers once and
+ * redraws them every frame without rebuilding matrices or re-uploading instance data. Adding or
+ * removing a static entity is picked up automatically. If a static entity's transform or sprite
+ * is changed after it has been baked, set {@link #dirty} so its chunk is rebuilt.
+ */
+public class StaticSpriteComponent implements Component {
+
+  /**
+   * Set by game code after changing a baked entity; cleared by the RenderSystem once rebaked.
+   */
+  public transient boolean dirty = false;
+}
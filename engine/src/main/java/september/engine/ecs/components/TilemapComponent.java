@@ -0,0 +1,119 @@
+package september.engine.ecs.components;
+
+import september.engine.ecs.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A component that describes a grid of tiles drawn from a single tileset texture.
+ * <p>
+ * Tile indices are stored row-major in a compact {@code short[]}, with row 0 at the top of the map.
+ * An index refers to a cell of the tileset counted left to right, top to bottom, and
+ * {@link #EMPTY} leaves a cell blank. The map's top-left corner sits at the entity's
+ * TransformComponent position and each tile spans {@link #tileSize} world units.
+ * <p>
+ * The map is rendered in square chunks of {@link #CHUNK_SIZE} tiles. Edits made through
+ * {@link #setTile} record which chunk changed, so only that chunk's mesh is rebuilt.
+ */
+public class TilemapComponent implements Component {
+
+  /** The tile index of a blank cell. */
+  public static final short EMPTY = -1;
+  /** The width and height of a render chunk, in tiles. */
+  public static final int CHUNK_SIZE = 32;
+
+  /** The handle of the tileset texture. */
+  public String tilesetHandle;
+
+  /** The width and height of one tile in the tileset image, in pixels. */
+  public int tilePixelSize = 16;
+
+  /** The width and height of one tile in the world, in world units. */
+  public float tileSize = 1.0f;
+
+  /** The map width, in tiles. */
+  public int width;
+
+  /** The map height, in tiles. */
+  public int height;
+
+  /** The tile indices, row-major with {@code width * height} entries. Allocated blank if omitted. */
+  public short[] tiles;
+
+  /**
+   * The chunks edited since the renderer last rebuilt them.
+   * This is managed by the tilemap renderer and should not be modified directly.
+   */
+  public final transient BitSet dirtyChunks = new BitSet();
+
+  public TilemapComponent() {
+  }
+
+  /**
+   * Creates a blank tilemap.
+   *
+   * @param tilesetHandle The handle of the tileset texture.
+   * @param width         The map width, in tiles.
+   * @param height        The map height, in tiles.
+   */
+  public TilemapComponent(String tilesetHandle, int width, int height) {
+    this.tilesetHandle = tilesetHandle;
+    this.width = width;
+    this.height = height;
+    ensureTiles();
+  }
+
+  /**
+   * Gets the tile index at the given cell.
+   *
+   * @return The tile index, or {@link #EMPTY} if the cell is blank or outside the map.
+   */
+  public short getTile(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return EMPTY;
+    }
+    ensureTiles();
+    return tiles[y * width + x];
+  }
+
+  /**
+   * Sets the tile index at the given cell and marks its chunk for rebuild.
+   */
+  public void setTile(int x, int y, int tile) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      throw new IndexOutOfBoundsException("Tile (" + x + ", " + y + ") is outside a " + width + "x" + height + " map");
+    }
+    ensureTiles();
+    tiles[y * width + x] = (short) tile;
+    dirtyChunks.set((y / CHUNK_SIZE) * getChunkColumns() + x / CHUNK_SIZE);
+  }
+
+  /**
+   * Gets the number of chunk columns needed to cover the map.
+   *
+   * @return The chunk column count.
+   */
+  public int getChunkColumns() {
+    return (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  /**
+   * Gets the number of chunk rows needed to cover the map.
+   *
+   * @return The chunk row count.
+   */
+  public int getChunkRows() {
+    return (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  private void ensureTiles() {
+    if (tiles == null) {
+      tiles = new short[width * height];
+      Arrays.fill(tiles, EMPTY);
+    } else if (tiles.length != width * height) {
+      throw new IllegalStateException(
+        "Tilemap has " + tiles.length + " tiles but is " + width + "x" + height);
+    }
+  }
+}
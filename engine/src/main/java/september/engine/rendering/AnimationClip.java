@@ -0,0 +1,45 @@
+package september.engine.rendering;
+
+import java.util.Objects;
+
+/**
+ * A named sequence of frames in a {@link SpriteSheet}, played at a fixed rate.
+ *
+ * @param name          The clip name, unique within its sheet.
+ * @param frames        Indices into the sheet's frame table, in playback order.
+ * @param frameDuration The time each frame is shown, in seconds.
+ * @param loop          If true, playback wraps to the first frame; otherwise it holds the last.
+ */
+public record AnimationClip(String name, int[] frames, float frameDuration, boolean loop) {
+
+  public AnimationClip {
+    Objects.requireNonNull(name, "name must not be null");
+    Objects.requireNonNull(frames, "frames must not be null");
+    if (frames.length == 0) {
+      throw new IllegalArgumentException("Clip '" + name + "' must have at least one frame");
+    }
+    if (frameDuration <= 0.0f) {
+      throw new IllegalArgumentException("Clip '" + name + "' must have a positive frame duration");
+    }
+  }
+
+  /**
+   * Creates a clip from a frame rate instead of a frame duration.
+   *
+   * @param name   The clip name.
+   * @param frames The sheet frame indices, in playback order.
+   * @param fps    The playback rate in frames per second.
+   * @param loop   Whether playback wraps.
+   * @return The clip.
+   */
+  public static AnimationClip ofFps(String name, int[] frames, float fps, boolean loop) {
+    if (fps <= 0.0f) {
+      throw new IllegalArgumentException("Clip '" + name + "' must have a positive frame rate");
+    }
+    return new AnimationClip(name, frames, 1.0f / fps, loop);
+  }
+
+  public int frameCount() {
+    return frames.length;
+  }
+}
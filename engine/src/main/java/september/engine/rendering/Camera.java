@@ -3,6 +3,7 @@ package september.engine.rendering;
 import lombok.Getter;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
+import org.joml.Vector4f;
 
 /**
  * Represents a camera in the game world, responsible for the view and projection matrices.
@@ -29,6 +30,11 @@ public class Camera {
 
   private boolean viewDirty = true;
 
+  // Scratch state for visibility queries, reused to avoid per-frame garbage
+  private final Matrix4f inverseViewProjection = new Matrix4f();
+  private final Vector3f nearCorner = new Vector3f();
+  private final Vector3f farCorner = new Vector3f();
+
   /**
    * Creates a new camera with a default 2D orthographic projection (16 units wide, 9 units tall).
    */
@@ -71,6 +77,42 @@ public class Camera {
     this.viewDirty = true;
   }
 
+  /**
+   * Computes the axis-aligned region of the z = 0 world plane that is visible through this camera.
+   * Sprites live on this plane, so the result is the region used for visibility culling.
+   * Works for both projection modes: each corner ray of the view frustum is intersected with the
+   * plane, and rays that never reach it are clamped to the near or far clip plane.
+   *
+   * @param dest The vector that receives the bounds as (minX, minY, maxX, maxY).
+   * @return {@code dest}, for chaining.
+   */
+  public Vector4f getVisibleBounds(Vector4f dest) {
+    projectionMatrix.mul(getViewMatrix(), inverseViewProjection).invert();
+
+    float minX = Float.POSITIVE_INFINITY;
+    float minY = Float.POSITIVE_INFINITY;
+    float maxX = Float.NEGATIVE_INFINITY;
+    float maxY = Float.NEGATIVE_INFINITY;
+
+    for (int corner = 0; corner < 4; corner++) {
+      float ndcX = (corner & 1) == 0 ? -1.0f : 1.0f;
+      float ndcY = (corner & 2) == 0 ? -1.0f : 1.0f;
+      inverseViewProjection.transformProject(ndcX, ndcY, -1.0f, nearCorner);
+      inverseViewProjection.transformProject(ndcX, ndcY, 1.0f, farCorner);
+
+      float dz = farCorner.z - nearCorner.z;
+      float t = dz == 0.0f ? 0.0f : Math.clamp(-nearCorner.z / dz, 0.0f, 1.0f);
+      float x = nearCorner.x + (farCorner.x - nearCorner.x) * t;
+      float y = nearCorner.y + (farCorner.y - nearCorner.y) * t;
+
+      minX = Math.min(minX, x);
+      minY = Math.min(minY, y);
+      maxX = Math.max(maxX, x);
+      maxY = Math.max(maxY, y);
+    }
+    return dest.set(minX, minY, maxX, maxY);
+  }
+
   /**
    * Configures the camera for 2D rendering with an orthographic projection.
    * The view will be centered at the origin.
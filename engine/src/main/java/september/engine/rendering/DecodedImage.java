@@ -0,0 +1,111 @@
+package september.engine.rendering;
+
+import lombok.Getter;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Optional;
+
+import static org.lwjgl.stb.STBImage.stbi_failure_reason;
+import static org.lwjgl.stb.STBImage.stbi_image_free;
+import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
+import static org.lwjgl.stb.STBImage.stbi_set_flip_vertically_on_load;
+
+/**
+ * RGBA8 pixels decoded from an image file, ready to be uploaded to a {@link Texture}.
+ * <p>
+ * Rows are stored bottom-up to match OpenGL's texture coordinate system. Images produced by
+ * {@link #decode(ByteBuffer)} own native memory that is freed by {@link #close()}.
+ */
+public final class DecodedImage implements AutoCloseable {
+
+  /** The number of bytes per pixel. */
+  public static final int BYTES_PER_PIXEL = 4;
+
+  @Getter
+  private final int width;
+  @Getter
+  private final int height;
+  @Getter
+  private final ByteBuffer pixels;
+  private final boolean stbOwned;
+  private boolean closed;
+
+  /**
+   * Wraps pixels owned by the caller. Closing the image does not free them.
+   *
+   * @param width  The image width in pixels.
+   * @param height The image height in pixels.
+   * @param pixels Tightly packed RGBA8 rows, bottom row first.
+   */
+  public DecodedImage(int width, int height, ByteBuffer pixels) {
+    this(width, height, pixels, false);
+  }
+
+  private DecodedImage(int width, int height, ByteBuffer pixels, boolean stbOwned) {
+    this.width = width;
+    this.height = height;
+    this.pixels = pixels;
+    this.stbOwned = stbOwned;
+  }
+
+  /**
+   * Decodes an in-memory image file into RGBA8 pixels.
+   * If a {@link DecodedImageCache} is installed, a previously decoded copy of the same file is
+   * mapped from disk instead, and fresh decodes are added to the cache.
+   *
+   * @param imageBuffer A ByteBuffer containing the raw image file data (e.g., a PNG or JPG).
+   * @return The decoded image, which must be closed to free its pixels.
+   */
+  public static DecodedImage decode(ByteBuffer imageBuffer) {
+    DecodedImageCache cache = DecodedImageCache.installed();
+    if (cache == null) {
+      return decodeWithStb(imageBuffer);
+    }
+    String key = cache.key(imageBuffer);
+    Optional<DecodedImage> cached = cache.load(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    DecodedImage image = decodeWithStb(imageBuffer);
+    cache.store(key, image);
+    return image;
+  }
+
+  private static DecodedImage decodeWithStb(ByteBuffer imageBuffer) {
+    try (MemoryStack stack = MemoryStack.stackPush()) {
+      IntBuffer w = stack.mallocInt(1);
+      IntBuffer h = stack.mallocInt(1);
+      IntBuffer channels = stack.mallocInt(1);
+
+      // Tell STB to flip the image vertically on load, which is necessary for OpenGL's coordinate system.
+      stbi_set_flip_vertically_on_load(true);
+      ByteBuffer decoded = stbi_load_from_memory(imageBuffer, w, h, channels, BYTES_PER_PIXEL);
+      if (decoded == null) {
+        throw new RuntimeException("Failed to load a texture from memory! Reason: " + stbi_failure_reason());
+      }
+      return new DecodedImage(w.get(0), h.get(0), decoded, true);
+    }
+  }
+
+  /**
+   * Gets the size of one row of pixels.
+   *
+   * @return The row size in bytes.
+   */
+  public int getRowBytes() {
+    return width * BYTES_PER_PIXEL;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (stbOwned) {
+      stbi_image_free(pixels);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package september.engine.rendering;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Stores decoded RGBA8 images on disk so later runs can skip decoding PNG and JPG files.
+ * <p>
+ * Each entry is keyed by a hash of the encoded file together with the decode settings, so an
+ * edited image or a change to how images are decoded simply misses the cache. Entries are
+ * memory-mapped on load, so a hit costs no decode and no copy before the GL upload. The cache is
+ * best effort: I/O failures are logged and treated as misses.
+ * <p>
+ * The directory is bounded: after each store, the least recently used entries are deleted until
+ * the cache fits within its size limit, {@link #DEFAULT_MAX_BYTES} unless configured otherwise.
+ * A hit refreshes an entry's modification time, which serves as its last use.
+ * <p>
+ * {@link DecodedImage#decode(ByteBuffer)} consults the cache set with
+ * {@link #install(DecodedImageCache)}. No cache is installed by default.
+ */
+public final class DecodedImageCache {
+
+  private static final Logger log = LoggerFactory.getLogger(DecodedImageCache.class);
+  private static final String FILE_SUFFIX = ".rgba";
+  private static final int MAGIC = 0x58495053; // "SPIX"
+  private static final int HEADER_BYTES = 16;
+
+  /** Identifies how images are decoded; part of every key. */
+  private static final String DECODE_SETTINGS = "rgba8;flip-y;v1";
+
+  /** The default limit on the size of the cache directory: 512 MiB. */
+  public static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+
+  private static volatile DecodedImageCache installed;
+
+  private final Path directory;
+  private final long maxBytes;
+
+  /**
+   * Creates a cache in the given directory, limited to {@link #DEFAULT_MAX_BYTES}.
+   *
+   * @param directory The directory holding the decoded images; created on first store.
+   */
+  public DecodedImageCache(Path directory) {
+    this(directory, DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * Creates a cache in the given directory with a size limit.
+   *
+   * @param directory The directory holding the decoded images; created on first store.
+   * @param maxBytes  The size the entries may reach before the least recently used are deleted.
+   */
+  public DecodedImageCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Sets the cache consulted by every image decoded afterwards.
+   *
+   * @param cache The cache to use, or null to always decode.
+   */
+  public static void install(DecodedImageCache cache) {
+    installed = cache;
+  }
+
+  /**
+   * Gets the cache consulted when decoding images.
+   *
+   * @return The installed cache, or null if none is installed.
+   */
+  public static DecodedImageCache installed() {
+    return installed;
+  }
+
+  /**
+   * Computes the cache key for an encoded image.
+   *
+   * @param encoded The image file data, from its position to its limit. The position is not moved.
+   * @return A hex-encoded SHA-256 hash of the data and the decode settings.
+   */
+  public String key(ByteBuffer encoded) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(DECODE_SETTINGS.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(encoded.duplicate());
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Maps a stored image.
+   *
+   * @param key The cache key.
+   * @return The image backed by the mapped file, or empty if there is no valid entry for the key.
+   *     Closing the image does not unmap it; the mapping is released once it is unreachable.
+   */
+  public Optional<DecodedImage> load(String key) {
+    Path file = directory.resolve(key + FILE_SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        log.warn("Ignoring decoded image with invalid size: {}", file);
+        return Optional.empty();
+      }
+      ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+      int width = mapped.getInt(4);
+      int height = mapped.getInt(8);
+      if (mapped.getInt(0) != MAGIC || width <= 0 || height <= 0
+        || (long) width * height * DecodedImage.BYTES_PER_PIXEL != size - HEADER_BYTES) {
+        log.warn("Ignoring decoded image with unknown header: {}", file);
+        return Optional.empty();
+      }
+      ByteBuffer pixels = mapped.slice(HEADER_BYTES, (int) size - HEADER_BYTES).asReadOnlyBuffer();
+      touch(file);
+      return Optional.of(new DecodedImage(width, height, pixels));
+    } catch (IOException e) {
+      log.warn("Failed to read decoded image {}", file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes a decoded image, replacing any existing entry for the key.
+   *
+   * @param key   The cache key.
+   * @param image The image to store. Its pixels are not consumed.
+   */
+  public void store(String key, DecodedImage image) {
+    Path file = directory.resolve(key + FILE_SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(image.getWidth()).putInt(image.getHeight()).putInt(0).flip();
+      ByteBuffer pixels = image.getPixels().duplicate();
+
+      // Write beside the target and move it into place so readers never see a partial file.
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (header.hasRemaining() || pixels.hasRemaining()) {
+          out.write(new ByteBuffer[] {header, pixels});
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Failed to write decoded image {}", file, e);
+      return;
+    }
+    trim(file);
+  }
+
+  private static void touch(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      log.debug("Failed to refresh decoded image {}", file, e);
+    }
+  }
+
+  /**
+   * Deletes the least recently used entries until the cache fits its limit. The entry just
+   * stored is kept even if it alone exceeds the limit.
+   */
+  private void trim(Path stored) {
+    List<Entry> entries = new ArrayList<>();
+    long total = 0;
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        if (file.getFileName().toString().endsWith(FILE_SUFFIX)) {
+          BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+          entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+          total += attributes.size();
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Failed to list decoded image cache {}", directory, e);
+      return;
+    }
+    if (total <= maxBytes) {
+      return;
+    }
+    entries.sort(Comparator.comparingLong(Entry::lastUsed));
+    for (Entry entry : entries) {
+      if (total <= maxBytes) {
+        break;
+      }
+      if (entry.file().equals(stored)) {
+        continue;
+      }
+      try {
+        Files.deleteIfExists(entry.file());
+        total -= entry.size();
+      } catch (IOException e) {
+        // Mapped files cannot be deleted on some platforms; try again after the next store.
+        log.debug("Failed to delete decoded image {}", entry.file(), e);
+      }
+    }
+  }
+
+  private record Entry(Path file, long size, long lastUsed) {
+  }
+}
@@ -0,0 +1,209 @@
+package september.engine.rendering;
+
+import lombok.Getter;
+import org.lwjgl.stb.STBTTBakedChar;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.stb.STBTruetype.stbtt_BakeFontBitmap;
+import static org.lwjgl.stb.STBTruetype.stbtt_GetFontVMetrics;
+import static org.lwjgl.stb.STBTruetype.stbtt_InitFont;
+import static org.lwjgl.stb.STBTruetype.stbtt_ScaleForPixelHeight;
+
+/**
+ * A TrueType font rasterized at one pixel height into a single texture, with the metrics needed
+ * to lay out text.
+ * <p>
+ * Glyphs for a contiguous range of codepoints are baked with stb_truetype when the font is
+ * loaded. Each glyph's quad, relative to the pen position on the baseline, and its texture region
+ * are precomputed, so laying out a string is a table lookup per character. All text in one font
+ * samples the same texture and can be drawn in a single call.
+ */
+public final class FontAtlas implements AutoCloseable {
+
+  /** The first codepoint baked by default: the space character. */
+  public static final int DEFAULT_FIRST_CODEPOINT = 32;
+  /** The number of codepoints baked by default: printable ASCII. */
+  public static final int DEFAULT_CODEPOINT_COUNT = 95;
+
+  // Per-glyph table layout: advance, quad (x0, y0, x1, y1) and texture region (u0, v0, u1, v1)
+  public static final int GLYPH_FLOATS = 9;
+  public static final int ADVANCE = 0;
+  public static final int QUAD_X0 = 1;
+  public static final int QUAD_Y0 = 2;
+  public static final int QUAD_X1 = 3;
+  public static final int QUAD_Y1 = 4;
+  public static final int U0 = 5;
+  public static final int V0 = 6;
+  public static final int U1 = 7;
+  public static final int V1 = 8;
+
+  private static final int INITIAL_ATLAS_SIZE = 256;
+  private static final int MAX_ATLAS_SIZE = 4096;
+
+  @Getter
+  private final Texture texture;
+  /** The pixel height the glyphs were rasterized at. */
+  @Getter
+  private final float pixelHeight;
+  /** The distance from the baseline to the top of the tallest glyphs, in pixels. */
+  @Getter
+  private final float ascent;
+  /** The distance between consecutive baselines, in pixels. */
+  @Getter
+  private final float lineHeight;
+  private final int firstCodepoint;
+  private final int glyphCount;
+  private final float[] glyphs;
+  private final int fallbackGlyph;
+
+  /**
+   * Creates an atlas from an already rasterized texture and its glyph table, such as a bitmap font.
+   *
+   * @param texture        The texture holding every glyph.
+   * @param pixelHeight    The pixel height the glyphs were rasterized at.
+   * @param ascent         The ascent in pixels.
+   * @param lineHeight     The baseline-to-baseline distance in pixels.
+   * @param firstCodepoint The codepoint of the first glyph in the table.
+   * @param glyphs         {@link #GLYPH_FLOATS} floats per glyph, with quads y-up from the baseline.
+   */
+  public FontAtlas(Texture texture, float pixelHeight, float ascent, float lineHeight, int firstCodepoint, float[] glyphs) {
+    this.texture = texture;
+    this.pixelHeight = pixelHeight;
+    this.ascent = ascent;
+    this.lineHeight = lineHeight;
+    this.firstCodepoint = firstCodepoint;
+    this.glyphCount = glyphs.length / GLYPH_FLOATS;
+    this.glyphs = glyphs;
+    int question = '?' - firstCodepoint;
+    this.fallbackGlyph = question >= 0 && question < glyphCount ? question : -1;
+  }
+
+  /**
+   * Rasterizes printable ASCII from a TrueType font into a new atlas texture.
+   *
+   * @param ttf         The font file contents. The buffer must stay valid during the call only.
+   * @param pixelHeight The glyph height in pixels.
+   * @return The font atlas, which owns its texture.
+   */
+  public static FontAtlas bake(ByteBuffer ttf, float pixelHeight) {
+    return bake(ttf, pixelHeight, DEFAULT_FIRST_CODEPOINT, DEFAULT_CODEPOINT_COUNT);
+  }
+
+  /**
+   * Rasterizes a range of codepoints from a TrueType font into a new atlas texture. The atlas
+   * starts small and doubles in size until every glyph fits.
+   *
+   * @param ttf            The font file contents.
+   * @param pixelHeight    The glyph height in pixels.
+   * @param firstCodepoint The first codepoint to bake.
+   * @param codepointCount The number of consecutive codepoints to bake.
+   * @return The font atlas, which owns its texture.
+   */
+  public static FontAtlas bake(ByteBuffer ttf, float pixelHeight, int firstCodepoint, int codepointCount) {
+    float ascent;
+    float lineHeight;
+    try (MemoryStack stack = MemoryStack.stackPush();
+         STBTTFontinfo info = STBTTFontinfo.malloc()) {
+      if (!stbtt_InitFont(info, ttf)) {
+        throw new RuntimeException("Failed to initialize a TrueType font from memory!");
+      }
+      IntBuffer ascentBuffer = stack.mallocInt(1);
+      IntBuffer descentBuffer = stack.mallocInt(1);
+      IntBuffer lineGapBuffer = stack.mallocInt(1);
+      stbtt_GetFontVMetrics(info, ascentBuffer, descentBuffer, lineGapBuffer);
+      float scale = stbtt_ScaleForPixelHeight(info, pixelHeight);
+      ascent = ascentBuffer.get(0) * scale;
+      lineHeight = (ascentBuffer.get(0) - descentBuffer.get(0) + lineGapBuffer.get(0)) * scale;
+    }
+
+    try (STBTTBakedChar.Buffer bakedChars = STBTTBakedChar.malloc(codepointCount)) {
+      int size = INITIAL_ATLAS_SIZE;
+      ByteBuffer coverage = MemoryUtil.memAlloc(size * size);
+      try {
+        // A negative result means only some glyphs fit
+        while (stbtt_BakeFontBitmap(ttf, pixelHeight, coverage, size, size, firstCodepoint, bakedChars) <= 0) {
+          if (size == MAX_ATLAS_SIZE) {
+            throw new RuntimeException("Glyphs do not fit in a " + MAX_ATLAS_SIZE + " pixel font atlas");
+          }
+          size *= 2;
+          coverage = MemoryUtil.memRealloc(coverage, size * size);
+        }
+
+        float[] glyphs = new float[codepointCount * GLYPH_FLOATS];
+        for (int i = 0; i < codepointCount; i++) {
+          STBTTBakedChar baked = bakedChars.get(i);
+          int g = i * GLYPH_FLOATS;
+          float width = baked.x1() - baked.x0();
+          float height = baked.y1() - baked.y0();
+          glyphs[g + ADVANCE] = baked.xadvance();
+          // stb measures y downwards from the baseline; the UI is y-up
+          glyphs[g + QUAD_X0] = baked.xoff();
+          glyphs[g + QUAD_Y0] = -baked.yoff() - height;
+          glyphs[g + QUAD_X1] = baked.xoff() + width;
+          glyphs[g + QUAD_Y1] = -baked.yoff();
+          // The bitmap is flipped on upload, so atlas row y maps to v = 1 - y / size
+          glyphs[g + U0] = (float) baked.x0() / size;
+          glyphs[g + V0] = 1.0f - (float) baked.y1() / size;
+          glyphs[g + U1] = (float) baked.x1() / size;
+          glyphs[g + V1] = 1.0f - (float) baked.y0() / size;
+        }
+
+        Texture texture = createTexture(coverage, size);
+        return new FontAtlas(texture, pixelHeight, ascent, lineHeight, firstCodepoint, glyphs);
+      } finally {
+        MemoryUtil.memFree(coverage);
+      }
+    }
+  }
+
+  /** Expands single-channel glyph coverage into white RGBA pixels, bottom row first. */
+  private static Texture createTexture(ByteBuffer coverage, int size) {
+    ByteBuffer pixels = MemoryUtil.memAlloc(size * size * DecodedImage.BYTES_PER_PIXEL);
+    try {
+      for (int row = size - 1; row >= 0; row--) {
+        int rowStart = row * size;
+        for (int x = 0; x < size; x++) {
+          pixels.put((byte) 0xFF).put((byte) 0xFF).put((byte) 0xFF).put(coverage.get(rowStart + x));
+        }
+      }
+      pixels.flip();
+      try (DecodedImage image = new DecodedImage(size, size, pixels)) {
+        return new Texture(image);
+      }
+    } finally {
+      MemoryUtil.memFree(pixels);
+    }
+  }
+
+  /**
+   * Finds the glyph for a codepoint.
+   *
+   * @param codepoint The character to look up.
+   * @return The glyph index, the index of '?' if the codepoint was not baked, or -1 if neither exists.
+   */
+  public int glyphIndex(int codepoint) {
+    int index = codepoint - firstCodepoint;
+    return index >= 0 && index < glyphCount ? index : fallbackGlyph;
+  }
+
+  /**
+   * Reads one value of a glyph's table entry.
+   *
+   * @param glyph The glyph index.
+   * @param field One of the table offsets, such as {@link #ADVANCE}.
+   * @return The value.
+   */
+  public float glyph(int glyph, int field) {
+    return glyphs[glyph * GLYPH_FLOATS + field];
+  }
+
+  @Override
+  public void close() {
+    texture.close();
+  }
+}
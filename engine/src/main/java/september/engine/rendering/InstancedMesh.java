@@ -1,12 +1,11 @@
 package september.engine.rendering;
 
 import lombok.Getter;
-import org.joml.Matrix4f;
 import org.lwjgl.system.MemoryUtil;
+import september.engine.rendering.gl.GLStateCache;
 
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.List;
 
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
@@ -18,14 +17,11 @@ import static org.lwjgl.opengl.GL15.GL_UNSIGNED_INT;
 import static org.lwjgl.opengl.GL15.GL_WRITE_ONLY;
 import static org.lwjgl.opengl.GL15.glBindBuffer;
 import static org.lwjgl.opengl.GL15.glBufferData;
-import static org.lwjgl.opengl.GL15.glDeleteBuffers;
 import static org.lwjgl.opengl.GL15.glGenBuffers;
 import static org.lwjgl.opengl.GL15.glMapBuffer;
 import static org.lwjgl.opengl.GL15.glUnmapBuffer;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
-import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
 import static org.lwjgl.opengl.GL30.glGenVertexArrays;
 import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
 import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
@@ -35,8 +31,9 @@ import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
  * <p>
  * This mesh can render multiple instances of the same geometry with different
  * transformation matrices in a single draw call using glDrawElementsInstanced.
- * Instance data (transformation matrices) are stored in a separate VBO and
- * updated each frame with the current instance transforms.
+ * Instance data is stored in a separate VBO and updated each frame with the current instance
+ * transforms. Each instance also carries the region of the texture it samples, so frames of a
+ * sprite sheet can be drawn together with whole-texture sprites in the same call.
  */
 public class InstancedMesh implements AutoCloseable {
   @Getter
@@ -46,10 +43,19 @@ public class InstancedMesh implements AutoCloseable {
   private final int instanceVboId;
   @Getter
   private final int vertexCount;
+  private final int maxInstances;
+  private final boolean ownsGeometry;
 
-  private static final int MAX_INSTANCES = 1000; // Maximum instances per batch
+  /** The GPU memory held by the vertex, index and instance buffers, in bytes. Shared geometry is not counted. */
+  @Getter
+  private final long sizeBytes;
+
+  private static final int DEFAULT_MAX_INSTANCES = 1000; // Maximum instances per batch
   private static final int MATRIX_SIZE_FLOATS = 16; // 4x4 matrix = 16 floats
 
+  /** The floats per instance: a 4x4 transform followed by a texture region (u0, v0, u1, v1). */
+  public static final int INSTANCE_SIZE_FLOATS = MATRIX_SIZE_FLOATS + 4;
+
   /**
    * Creates a new instanced mesh with interleaved vertex data.
    *
@@ -57,103 +63,183 @@ public class InstancedMesh implements AutoCloseable {
    * @param indices  The indices for the EBO.
    */
   public InstancedMesh(float[] vertices, int[] indices) {
-    this.vertexCount = indices.length;
-    FloatBuffer vertexBuffer = null;
-    IntBuffer indicesBuffer = null;
+    this(vertices, indices, DEFAULT_MAX_INSTANCES);
+  }
 
-    try {
-      // --- Allocate and buffer static vertex data ---
-      vertexBuffer = MemoryUtil.memAllocFloat(vertices.length);
-      vertexBuffer.put(vertices).flip();
-
-      indicesBuffer = MemoryUtil.memAllocInt(indices.length);
-      indicesBuffer.put(indices).flip();
-
-      // --- Create and bind OpenGL objects ---
-      vaoId = glGenVertexArrays();
-      glBindVertexArray(vaoId);
-
-      // Static vertex data (positions, UVs)
-      vboId = glGenBuffers();
-      glBindBuffer(GL_ARRAY_BUFFER, vboId);
-      glBufferData(GL_ARRAY_BUFFER, vertexBuffer, GL_STATIC_DRAW);
-
-      eboId = glGenBuffers();
-      glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
-      glBufferData(GL_ELEMENT_ARRAY_BUFFER, indicesBuffer, GL_STATIC_DRAW);
-
-      // --- Define Vertex Attribute Pointers for static data ---
-      final int VERTEX_SIZE_BYTES = 5 * Float.BYTES; // 3 floats for pos, 2 for UV
-
-      // Attribute 0: Vertex Position (3 floats)
-      glVertexAttribPointer(0, 3, GL_FLOAT, false, VERTEX_SIZE_BYTES, 0);
-      glEnableVertexAttribArray(0);
-
-      // Attribute 1: Texture Coordinates (2 floats)
-      long texCoordOffset = 3 * Float.BYTES;
-      glVertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE_BYTES, texCoordOffset);
-      glEnableVertexAttribArray(1);
-
-      // --- Create instance data VBO ---
-      instanceVboId = glGenBuffers();
-      glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
-      // Allocate space for MAX_INSTANCES matrices (will be updated dynamically)
-      glBufferData(GL_ARRAY_BUFFER, MAX_INSTANCES * MATRIX_SIZE_FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
-
-      // --- Instance matrix attributes (locations 2-5 for mat4) ---
-      // A mat4 takes up 4 attribute locations, so we need to set up 4 vec4 attributes
-      int matrixSizeBytes = MATRIX_SIZE_FLOATS * Float.BYTES;
-      int vec4SizeBytes = 4 * Float.BYTES;
-
-      for (int i = 0; i < 4; i++) {
-        int location = 2 + i; // Attributes 2, 3, 4, 5
-        glVertexAttribPointer(location, 4, GL_FLOAT, false, matrixSizeBytes, i * vec4SizeBytes);
-        glEnableVertexAttribArray(location);
-        glVertexAttribDivisor(location, 1); // Instance data (update per instance, not per vertex)
-      }
+  /**
+   * Creates a new instanced mesh whose streaming instance buffer holds the given number of instances.
+   *
+   * @param vertices     The interleaved vertex data. Expected layout: [posX, posY, posZ, texU, texV, ...]
+   * @param indices      The indices for the EBO.
+   * @param maxInstances The number of instances that can be streamed per draw call.
+   */
+  public InstancedMesh(float[] vertices, int[] indices, int maxInstances) {
+    this(createStaticBuffer(vertices), createStaticBuffer(indices), indices.length, maxInstances, true,
+      (long) (vertices.length + indices.length) * Float.BYTES);
+  }
+
+  /**
+   * Creates an instanced mesh that draws the vertices and indices of another mesh with its own
+   * instance buffer. Many small baked batches of the same shape can share one copy of the geometry
+   * this way. The geometry stays owned by the other mesh, which must be closed after this one.
+   *
+   * @param geometry     The mesh whose vertex and index buffers are drawn.
+   * @param maxInstances The number of instances that can be streamed per draw call.
+   */
+  public InstancedMesh(InstancedMesh geometry, int maxInstances) {
+    this(geometry.vboId, geometry.eboId, geometry.vertexCount, maxInstances, false, 0L);
+  }
 
-      // --- Unbind VAO ---
-      glBindVertexArray(0);
+  private InstancedMesh(int vboId, int eboId, int vertexCount, int maxInstances, boolean ownsGeometry,
+                        long geometryBytes) {
+    this.vboId = vboId;
+    this.eboId = eboId;
+    this.vertexCount = vertexCount;
+    this.maxInstances = maxInstances;
+    this.ownsGeometry = ownsGeometry;
+    this.sizeBytes = geometryBytes + (long) maxInstances * INSTANCE_SIZE_FLOATS * Float.BYTES;
 
-    } finally {
-      // --- Free native memory ---
-      if (vertexBuffer != null) {
-        MemoryUtil.memFree(vertexBuffer);
-      }
-      if (indicesBuffer != null) {
-        MemoryUtil.memFree(indicesBuffer);
-      }
+    // --- Create and bind OpenGL objects ---
+    vaoId = glGenVertexArrays();
+    GLStateCache.bindVertexArray(vaoId);
+
+    // Static vertex data (positions, UVs)
+    GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vboId);
+    glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+
+    // --- Define Vertex Attribute Pointers for static data ---
+    final int VERTEX_SIZE_BYTES = 5 * Float.BYTES; // 3 floats for pos, 2 for UV
+
+    // Attribute 0: Vertex Position (3 floats)
+    glVertexAttribPointer(0, 3, GL_FLOAT, false, VERTEX_SIZE_BYTES, 0);
+    glEnableVertexAttribArray(0);
+
+    // Attribute 1: Texture Coordinates (2 floats)
+    long texCoordOffset = 3 * Float.BYTES;
+    glVertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE_BYTES, texCoordOffset);
+    glEnableVertexAttribArray(1);
+
+    // --- Create instance data VBO ---
+    instanceVboId = glGenBuffers();
+    GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    // Allocate space for maxInstances instances (will be updated dynamically)
+    glBufferData(GL_ARRAY_BUFFER, (long) maxInstances * INSTANCE_SIZE_FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
+
+    // --- Instance matrix attributes (locations 2-5 for mat4) ---
+    // A mat4 takes up 4 attribute locations, so we need to set up 4 vec4 attributes
+    int instanceSizeBytes = INSTANCE_SIZE_FLOATS * Float.BYTES;
+    int vec4SizeBytes = 4 * Float.BYTES;
+
+    for (int i = 0; i < 4; i++) {
+      int location = 2 + i; // Attributes 2, 3, 4, 5
+      glVertexAttribPointer(location, 4, GL_FLOAT, false, instanceSizeBytes, i * vec4SizeBytes);
+      glEnableVertexAttribArray(location);
+      glVertexAttribDivisor(location, 1); // Instance data (update per instance, not per vertex)
     }
+
+    // Attribute 6: Texture region (u0, v0, u1, v1) following the matrix
+    glVertexAttribPointer(6, 4, GL_FLOAT, false, instanceSizeBytes, (long) MATRIX_SIZE_FLOATS * Float.BYTES);
+    glEnableVertexAttribArray(6);
+    glVertexAttribDivisor(6, 1);
+
+    // --- Unbind VAO ---
+    GLStateCache.bindVertexArray(0);
   }
 
   /**
-   * Updates the instance data with transformation matrices and renders all instances.
-   *
-   * @param transforms The transformation matrices for each instance.
+   * Creates a buffer holding static data. It is filled through the array buffer target, so the
+   * element buffer of whichever vertex array is bound is left alone.
    */
-  public void renderInstanced(List<Matrix4f> transforms) {
-    if (transforms.isEmpty()) {
-      return;
+  private static int createStaticBuffer(float[] data) {
+    FloatBuffer buffer = MemoryUtil.memAllocFloat(data.length);
+    try {
+      buffer.put(data).flip();
+      int bufferId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, bufferId);
+      glBufferData(GL_ARRAY_BUFFER, buffer, GL_STATIC_DRAW);
+      return bufferId;
+    } finally {
+      MemoryUtil.memFree(buffer);
+    }
+  }
+
+  private static int createStaticBuffer(int[] data) {
+    IntBuffer buffer = MemoryUtil.memAllocInt(data.length);
+    try {
+      buffer.put(data).flip();
+      int bufferId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, bufferId);
+      glBufferData(GL_ARRAY_BUFFER, buffer, GL_STATIC_DRAW);
+      return bufferId;
+    } finally {
+      MemoryUtil.memFree(buffer);
     }
+  }
 
-    int instanceCount = Math.min(transforms.size(), MAX_INSTANCES);
+  /**
+   * Uploads the transforms and texture regions of a contiguous run of queue entries and renders
+   * them as instances.
+   * Runs longer than {@link #getMaxInstances()} are split across several draw calls.
+   *
+   * @param queue The sorted render queue holding the instance transforms.
+   * @param from  The first draw position of the run (inclusive).
+   * @param to    The last draw position of the run (exclusive).
+   */
+  public void renderInstanced(RenderQueue queue, int from, int to) {
+    GLStateCache.bindVertexArray(vaoId);
+    GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
 
-    // Update instance buffer with transformation matrices
-    glBindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    for (int start = from; start < to; start += maxInstances) {
+      int instanceCount = Math.min(to - start, maxInstances);
 
-    // Map buffer for efficient updates
-    FloatBuffer instanceBuffer = glMapBuffer(GL_ARRAY_BUFFER, GL_WRITE_ONLY).asFloatBuffer();
+      // Orphan the previous storage so mapping never waits on a draw that is still in flight
+      glBufferData(GL_ARRAY_BUFFER, (long) maxInstances * INSTANCE_SIZE_FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
+      FloatBuffer instanceBuffer = glMapBuffer(GL_ARRAY_BUFFER, GL_WRITE_ONLY).asFloatBuffer();
+      for (int i = 0; i < instanceCount; i++) {
+        queue.putInstance(start + i, instanceBuffer);
+      }
+      glUnmapBuffer(GL_ARRAY_BUFFER);
 
-    for (int i = 0; i < instanceCount; i++) {
-      transforms.get(i).get(instanceBuffer);
+      glDrawElementsInstanced(GL_TRIANGLES, vertexCount, GL_UNSIGNED_INT, 0, instanceCount);
     }
+  }
 
-    glUnmapBuffer(GL_ARRAY_BUFFER);
+  /**
+   * Replaces the instance buffer with baked transforms that are then drawn repeatedly via
+   * {@link #drawInstances(int)} without any further uploads. The buffer is reallocated to fit
+   * exactly, so a mesh holding baked data should not also be used for streamed rendering.
+   * Baked instances sample their whole texture.
+   *
+   * @param matrices      Column-major 4x4 matrices, 16 floats per instance.
+   * @param instanceCount The number of instances to upload from the start of the array.
+   */
+  public void uploadStaticInstances(float[] matrices, int instanceCount) {
+    FloatBuffer instanceBuffer = MemoryUtil.memAllocFloat(Math.max(instanceCount, 1) * INSTANCE_SIZE_FLOATS);
+    try {
+      for (int i = 0; i < instanceCount; i++) {
+        instanceBuffer.put(matrices, i * MATRIX_SIZE_FLOATS, MATRIX_SIZE_FLOATS);
+        putFullTextureRegion(instanceBuffer);
+      }
+      instanceBuffer.flip();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+      glBufferData(GL_ARRAY_BUFFER, instanceBuffer, GL_STATIC_DRAW);
+    } finally {
+      MemoryUtil.memFree(instanceBuffer);
+    }
+  }
 
-    // Bind VAO and render all instances
-    glBindVertexArray(vaoId);
+  /**
+   * Draws instances whose transforms are already resident in the instance buffer.
+   *
+   * @param instanceCount The number of instances to draw.
+   */
+  public void drawInstances(int instanceCount) {
+    GLStateCache.bindVertexArray(vaoId);
     glDrawElementsInstanced(GL_TRIANGLES, vertexCount, GL_UNSIGNED_INT, 0, instanceCount);
-    glBindVertexArray(0);
+  }
+
+  private static void putFullTextureRegion(FloatBuffer buffer) {
+    buffer.put(0.0f).put(0.0f).put(1.0f).put(1.0f);
   }
 
   /**
@@ -162,14 +248,16 @@ public class InstancedMesh implements AutoCloseable {
    * @return The maximum instance count.
    */
   public int getMaxInstances() {
-    return MAX_INSTANCES;
+    return maxInstances;
   }
 
   @Override
   public void close() {
-    glDeleteBuffers(vboId);
-    glDeleteBuffers(eboId);
-    glDeleteBuffers(instanceVboId);
-    glDeleteVertexArrays(vaoId);
+    if (ownsGeometry) {
+      GLStateCache.deleteBuffer(vboId);
+      GLStateCache.deleteBuffer(eboId);
+    }
+    GLStateCache.deleteBuffer(instanceVboId);
+    GLStateCache.deleteVertexArray(vaoId);
   }
 }
@@ -1,5 +1,6 @@
 package september.engine.rendering;
 
+import september.engine.rendering.gl.GLStateCache;
 import lombok.Getter;
 import org.lwjgl.system.MemoryUtil;
 
@@ -11,10 +12,7 @@ import static org.lwjgl.opengl.GL30.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL30.GL_FLOAT;
 import static org.lwjgl.opengl.GL30.GL_STATIC_DRAW;
 import static org.lwjgl.opengl.GL30.glBindBuffer;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
 import static org.lwjgl.opengl.GL30.glBufferData;
-import static org.lwjgl.opengl.GL30.glDeleteBuffers;
-import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
 import static org.lwjgl.opengl.GL30.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL30.glGenBuffers;
 import static org.lwjgl.opengl.GL30.glGenVertexArrays;
@@ -34,6 +32,14 @@ public class Mesh implements AutoCloseable {
   @Getter
   private final int vertexCount;
 
+  /** The GPU memory held by the vertex and index buffers, in bytes. */
+  @Getter
+  private final long sizeBytes;
+
+  /** Set once {@link #close()} has deleted the mesh's buffers. */
+  @Getter
+  private boolean closed;
+
   /**
    * Creates a new mesh with interleaved vertex data (position and texture coordinates).
    *
@@ -42,6 +48,7 @@ public class Mesh implements AutoCloseable {
    */
   public Mesh(float[] vertices, int[] indices) {
     this.vertexCount = indices.length;
+    this.sizeBytes = (long) (vertices.length + indices.length) * Float.BYTES;
     FloatBuffer vertexBuffer = null;
     IntBuffer indicesBuffer = null;
 
@@ -55,10 +62,10 @@ public class Mesh implements AutoCloseable {
 
       // --- Create and bind OpenGL objects ---
       vaoId = glGenVertexArrays();
-      glBindVertexArray(vaoId);
+      GLStateCache.bindVertexArray(vaoId);
 
       vboId = glGenBuffers();
-      glBindBuffer(GL_ARRAY_BUFFER, vboId);
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vboId);
       glBufferData(GL_ARRAY_BUFFER, vertexBuffer, GL_STATIC_DRAW);
 
       eboId = glGenBuffers();
@@ -78,7 +85,7 @@ public class Mesh implements AutoCloseable {
       glEnableVertexAttribArray(1);
 
       // --- Unbind VAO ---
-      glBindVertexArray(0);
+      GLStateCache.bindVertexArray(0);
 
     } finally {
       // --- Free native memory ---
@@ -93,8 +100,9 @@ public class Mesh implements AutoCloseable {
 
   @Override
   public void close() {
-    glDeleteBuffers(vboId);
-    glDeleteBuffers(eboId);
-    glDeleteVertexArrays(vaoId);
+    closed = true;
+    GLStateCache.deleteBuffer(vboId);
+    GLStateCache.deleteBuffer(eboId);
+    GLStateCache.deleteVertexArray(vaoId);
   }
 }
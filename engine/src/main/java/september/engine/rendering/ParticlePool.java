@@ -0,0 +1,188 @@
+package september.engine.rendering;
+
+import org.joml.Vector4fc;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A fixed-capacity pool of particles stored as parallel arrays (structure of arrays).
+ * <p>
+ * Live particles always occupy indices {@code 0..size()}; a particle that dies is replaced by the
+ * last live one, so simulation and upload walk dense arrays without gaps. Visual parameters are
+ * copied in with {@link #configure} so that {@link #simulate(float)} reads nothing but the pool
+ * and can safely run on a worker thread while the owning emitter is edited elsewhere.
+ */
+public final class ParticlePool {
+
+  /** The floats written per particle: position (x, y, z), size, then color (r, g, b, a). */
+  public static final int INSTANCE_FLOATS = 8;
+
+  private final float[] x;
+  private final float[] y;
+  private final float[] z;
+  private final float[] vx;
+  private final float[] vy;
+  private final float[] age;
+  private final float[] life;
+  private final float[] size;
+  private final float[] r;
+  private final float[] g;
+  private final float[] b;
+  private final float[] a;
+  private int count;
+
+  // Simulation parameters, copied from the emitter by configure()
+  private float gravityX;
+  private float gravityY;
+  private float startSize;
+  private float endSize;
+  private final float[] startColor = new float[4];
+  private final float[] endColor = new float[4];
+
+  public ParticlePool(int capacity) {
+    x = new float[capacity];
+    y = new float[capacity];
+    z = new float[capacity];
+    vx = new float[capacity];
+    vy = new float[capacity];
+    age = new float[capacity];
+    life = new float[capacity];
+    size = new float[capacity];
+    r = new float[capacity];
+    g = new float[capacity];
+    b = new float[capacity];
+    a = new float[capacity];
+  }
+
+  /**
+   * Sets the parameters used by the next simulation steps.
+   */
+  public void configure(float gravityX, float gravityY, float startSize, float endSize,
+                        Vector4fc startColor, Vector4fc endColor) {
+    this.gravityX = gravityX;
+    this.gravityY = gravityY;
+    this.startSize = startSize;
+    this.endSize = endSize;
+    this.startColor[0] = startColor.x();
+    this.startColor[1] = startColor.y();
+    this.startColor[2] = startColor.z();
+    this.startColor[3] = startColor.w();
+    this.endColor[0] = endColor.x();
+    this.endColor[1] = endColor.y();
+    this.endColor[2] = endColor.z();
+    this.endColor[3] = endColor.w();
+  }
+
+  /**
+   * Adds a particle with the configured start size and color.
+   *
+   * @return False if the pool is full and the particle was dropped.
+   */
+  public boolean spawn(float px, float py, float pz, float velocityX, float velocityY, float lifetime) {
+    if (count == x.length || lifetime <= 0.0f) {
+      return false;
+    }
+    int i = count++;
+    x[i] = px;
+    y[i] = py;
+    z[i] = pz;
+    vx[i] = velocityX;
+    vy[i] = velocityY;
+    age[i] = 0.0f;
+    life[i] = lifetime;
+    size[i] = startSize;
+    r[i] = startColor[0];
+    g[i] = startColor[1];
+    b[i] = startColor[2];
+    a[i] = startColor[3];
+    return true;
+  }
+
+  /**
+   * Advances every particle by a time step, removing those that reached the end of their life.
+   *
+   * @param deltaTime The time step in seconds.
+   */
+  public void simulate(float deltaTime) {
+    int i = 0;
+    while (i < count) {
+      float t = age[i] + deltaTime;
+      if (t >= life[i]) {
+        moveLastInto(i);
+        continue;
+      }
+      age[i] = t;
+      vx[i] += gravityX * deltaTime;
+      vy[i] += gravityY * deltaTime;
+      x[i] += vx[i] * deltaTime;
+      y[i] += vy[i] * deltaTime;
+
+      float f = t / life[i];
+      size[i] = startSize + (endSize - startSize) * f;
+      r[i] = startColor[0] + (endColor[0] - startColor[0]) * f;
+      g[i] = startColor[1] + (endColor[1] - startColor[1]) * f;
+      b[i] = startColor[2] + (endColor[2] - startColor[2]) * f;
+      a[i] = startColor[3] + (endColor[3] - startColor[3]) * f;
+      i++;
+    }
+  }
+
+  /**
+   * Writes the instance data of every live particle, {@link #INSTANCE_FLOATS} floats each,
+   * advancing the buffer's position.
+   *
+   * @param dest The destination buffer, with room for {@code size() * INSTANCE_FLOATS} floats.
+   */
+  public void writeInstances(FloatBuffer dest) {
+    for (int i = 0; i < count; i++) {
+      dest.put(x[i]).put(y[i]).put(z[i]).put(size[i]).put(r[i]).put(g[i]).put(b[i]).put(a[i]);
+    }
+  }
+
+  public int size() {
+    return count;
+  }
+
+  public int capacity() {
+    return x.length;
+  }
+
+  public float getX(int index) {
+    return x[index];
+  }
+
+  public float getY(int index) {
+    return y[index];
+  }
+
+  public float getSize(int index) {
+    return size[index];
+  }
+
+  public float getAlpha(int index) {
+    return a[index];
+  }
+
+  /**
+   * Removes every particle.
+   */
+  public void clear() {
+    count = 0;
+  }
+
+  private void moveLastInto(int i) {
+    int last = --count;
+    x[i] = x[last];
+    y[i] = y[last];
+    z[i] = z[last];
+    vx[i] = vx[last];
+    vy[i] = vy[last];
+    age[i] = age[last];
+    life[i] = life[last];
+    size[i] = size[last];
+    r[i] = r[last];
+    g[i] = g[last];
+    b[i] = b[last];
+    a[i] = a[last];
+  }
+}
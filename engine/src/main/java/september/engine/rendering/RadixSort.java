@@ -0,0 +1,91 @@
+package september.engine.rendering;
+
+import java.util.Arrays;
+
+/**
+ * An allocation-free least-significant-digit radix sort for 64-bit keys with int payloads.
+ * <p>
+ * Keys are ordered as unsigned integers, eight bits per pass. The sort is stable, so entries
+ * with equal keys keep their original relative order. Passes over bytes that are identical for
+ * every key are skipped, which makes sparse keys (e.g. a single layer) considerably cheaper.
+ */
+public final class RadixSort {
+
+  private static final int RADIX = 256;
+  private static final int PASSES = Long.BYTES;
+
+  // Private constructor to prevent instantiation of this utility class.
+  private RadixSort() {
+  }
+
+  /**
+   * Sorts {@code keys[0..count)} and applies the same permutation to {@code values}.
+   * The scratch arrays must hold at least {@code count} elements and {@code histogram} at least
+   * {@code 8 * 256}; callers keep them around between frames so sorting never allocates.
+   *
+   * @param keys          The keys to sort in place.
+   * @param values        The payloads that travel with the keys.
+   * @param count         The number of entries to sort.
+   * @param scratchKeys   Temporary storage for keys.
+   * @param scratchValues Temporary storage for values.
+   * @param histogram     Temporary storage for the per-pass digit counts.
+   */
+  public static void sort(long[] keys, int[] values, int count,
+                          long[] scratchKeys, int[] scratchValues, int[] histogram) {
+    if (count < 2) {
+      return;
+    }
+
+    // Build the histograms for every pass in a single sweep over the keys.
+    Arrays.fill(histogram, 0, PASSES * RADIX, 0);
+    for (int i = 0; i < count; i++) {
+      long key = keys[i];
+      for (int pass = 0; pass < PASSES; pass++) {
+        histogram[pass * RADIX + (int) ((key >>> (pass * 8)) & 0xFF)]++;
+      }
+    }
+
+    long[] srcKeys = keys;
+    int[] srcValues = values;
+    long[] dstKeys = scratchKeys;
+    int[] dstValues = scratchValues;
+
+    for (int pass = 0; pass < PASSES; pass++) {
+      int base = pass * RADIX;
+      int shift = pass * 8;
+
+      // Every key has the same digit here, so this pass would not move anything.
+      if (histogram[base + (int) ((srcKeys[0] >>> shift) & 0xFF)] == count) {
+        continue;
+      }
+
+      // Turn the counts into starting offsets.
+      int offset = 0;
+      for (int digit = 0; digit < RADIX; digit++) {
+        int digitCount = histogram[base + digit];
+        histogram[base + digit] = offset;
+        offset += digitCount;
+      }
+
+      for (int i = 0; i < count; i++) {
+        long key = srcKeys[i];
+        int target = histogram[base + (int) ((key >>> shift) & 0xFF)]++;
+        dstKeys[target] = key;
+        dstValues[target] = srcValues[i];
+      }
+
+      long[] swapKeys = srcKeys;
+      srcKeys = dstKeys;
+      dstKeys = swapKeys;
+      int[] swapValues = srcValues;
+      srcValues = dstValues;
+      dstValues = swapValues;
+    }
+
+    // An odd number of executed passes leaves the result in the scratch arrays.
+    if (srcKeys != keys) {
+      System.arraycopy(srcKeys, 0, keys, 0, count);
+      System.arraycopy(srcValues, 0, values, 0, count);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package september.engine.rendering;
+
+import org.joml.Matrix4f;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects draw submissions for a frame and orders them by their 64-bit {@link SortKey}.
+ * <p>
+ * All storage is held in primitive and reference arrays that grow on demand and are reused
+ * across frames, so steady-state submission and sorting allocate nothing. Transforms are copied
+ * on submission, which lets callers pass matrices they mutate again immediately afterwards.
+ * <p>
+ * Usage pattern:
+ * 1. Clear the queue at the start of the frame
+ * 2. Add submissions throughout the frame
+ * 3. Sort, then walk entries {@code 0..size()} in draw order
+ */
+public class RenderQueue {
+
+  private static final int MATRIX_SIZE_FLOATS = 16;
+  private static final int UV_RECT_FLOATS = 4;
+  private static final int INITIAL_CAPACITY = 256;
+
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private int[] order = new int[INITIAL_CAPACITY];
+  private long[] scratchKeys = new long[INITIAL_CAPACITY];
+  private int[] scratchOrder = new int[INITIAL_CAPACITY];
+  private final int[] histogram = new int[Long.BYTES * 256];
+
+  private Mesh[] meshes = new Mesh[INITIAL_CAPACITY];
+  private InstancedMesh[] batches = new InstancedMesh[INITIAL_CAPACITY];
+  private int[] batchCounts = new int[INITIAL_CAPACITY];
+  private Texture[] textures = new Texture[INITIAL_CAPACITY];
+  private float[] transforms = new float[INITIAL_CAPACITY * MATRIX_SIZE_FLOATS];
+  private float[] uvRects = new float[INITIAL_CAPACITY * UV_RECT_FLOATS];
+
+  private int size;
+
+  /**
+   * Adds a submission to the queue.
+   *
+   * @param sortKey   The key that determines draw order.
+   * @param mesh      The mesh to draw.
+   * @param texture   The texture to apply to the mesh.
+   * @param transform The model matrix; its current value is copied.
+   * @return The entry's slot, which stays valid across sorts until the queue is cleared.
+   */
+  public int add(long sortKey, Mesh mesh, Texture texture, Matrix4f transform) {
+    return add(sortKey, mesh, texture, transform, 0.0f, 0.0f, 1.0f, 1.0f);
+  }
+
+  /**
+   * Adds a submission that draws only a region of its texture, such as one frame of a sprite
+   * sheet.
+   *
+   * @param sortKey   The key that determines draw order.
+   * @param mesh      The mesh to draw.
+   * @param texture   The texture to apply to the mesh.
+   * @param transform The model matrix; its current value is copied.
+   * @param u0        The left edge of the texture region.
+   * @param v0        The bottom edge of the texture region.
+   * @param u1        The right edge of the texture region.
+   * @param v1        The top edge of the texture region.
+   * @return The entry's slot, which stays valid across sorts until the queue is cleared.
+   */
+  public int add(long sortKey, Mesh mesh, Texture texture, Matrix4f transform,
+                 float u0, float v0, float u1, float v1) {
+    if (size == keys.length) {
+      grow();
+    }
+    keys[size] = sortKey;
+    order[size] = size;
+    meshes[size] = mesh;
+    batches[size] = null;
+    textures[size] = texture;
+    transform.get(transforms, size * MATRIX_SIZE_FLOATS);
+    setUvRect(size, u0, v0, u1, v1);
+    return size++;
+  }
+
+  /**
+   * Adds a prebuilt instance batch whose transforms already live on the GPU.
+   *
+   * @param sortKey       The key that determines draw order.
+   * @param batch         The instanced mesh holding the baked instance data.
+   * @param instanceCount The number of instances to draw from the batch.
+   * @param texture       The texture to apply to every instance.
+   */
+  public void addBatch(long sortKey, InstancedMesh batch, int instanceCount, Texture texture) {
+    if (size == keys.length) {
+      grow();
+    }
+    keys[size] = sortKey;
+    order[size] = size;
+    meshes[size] = null;
+    batches[size] = batch;
+    batchCounts[size] = instanceCount;
+    textures[size] = texture;
+    size++;
+  }
+
+  /**
+   * Orders the queued submissions by ascending key. Submissions with equal keys keep the order
+   * in which they were added.
+   */
+  public void sort() {
+    RadixSort.sort(keys, order, size, scratchKeys, scratchOrder, histogram);
+  }
+
+  /**
+   * Gets the sort key of the entry at the given draw position.
+   *
+   * @param index The position in draw order.
+   * @return The entry's sort key.
+   */
+  public long getKey(int index) {
+    return keys[index];
+  }
+
+  public Mesh getMesh(int index) {
+    return meshes[order[index]];
+  }
+
+  public Texture getTexture(int index) {
+    return textures[order[index]];
+  }
+
+  /**
+   * Gets the prebuilt batch of the entry at the given draw position.
+   *
+   * @param index The position in draw order.
+   * @return The batch, or {@code null} if the entry is a single mesh submission.
+   */
+  public InstancedMesh getBatch(int index) {
+    return batches[order[index]];
+  }
+
+  public int getBatchInstanceCount(int index) {
+    return batchCounts[order[index]];
+  }
+
+  /**
+   * Copies the transform of the entry at the given draw position into {@code dest}.
+   *
+   * @param index The position in draw order.
+   * @param dest  The matrix that receives the transform.
+   * @return {@code dest}, for chaining.
+   */
+  public Matrix4f getTransform(int index, Matrix4f dest) {
+    return dest.set(transforms, order[index] * MATRIX_SIZE_FLOATS);
+  }
+
+  /**
+   * Writes the transform of the entry at the given draw position into a buffer, in the
+   * column-major layout expected by OpenGL, advancing the buffer's position.
+   *
+   * @param index  The position in draw order.
+   * @param buffer The destination buffer.
+   */
+  public void putTransform(int index, FloatBuffer buffer) {
+    buffer.put(transforms, order[index] * MATRIX_SIZE_FLOATS, MATRIX_SIZE_FLOATS);
+  }
+
+  /**
+   * Writes the per-instance data of the entry at the given draw position into a buffer: the
+   * column-major transform followed by the texture region (u0, v0, u1, v1). The buffer's position
+   * is advanced by {@link InstancedMesh#INSTANCE_SIZE_FLOATS}.
+   *
+   * @param index  The position in draw order.
+   * @param buffer The destination buffer.
+   */
+  public void putInstance(int index, FloatBuffer buffer) {
+    int slot = order[index];
+    buffer.put(transforms, slot * MATRIX_SIZE_FLOATS, MATRIX_SIZE_FLOATS);
+    buffer.put(uvRects, slot * UV_RECT_FLOATS, UV_RECT_FLOATS);
+  }
+
+  /**
+   * Gets one component of the texture region of the entry at the given draw position.
+   *
+   * @param index     The position in draw order.
+   * @param component 0 to 3 for u0, v0, u1 and v1.
+   * @return The region component.
+   */
+  public float getUvRect(int index, int component) {
+    return uvRects[order[index] * UV_RECT_FLOATS + component];
+  }
+
+  /**
+   * Replaces the texture region of an entry in place, without changing the draw order.
+   *
+   * @param slot The slot returned by {@link #add}.
+   * @param u0   The left edge of the texture region.
+   * @param v0   The bottom edge of the texture region.
+   * @param u1   The right edge of the texture region.
+   * @param v1   The top edge of the texture region.
+   */
+  public void setUvRect(int slot, float u0, float v0, float u1, float v1) {
+    int offset = slot * UV_RECT_FLOATS;
+    uvRects[offset] = u0;
+    uvRects[offset + 1] = v0;
+    uvRects[offset + 2] = u1;
+    uvRects[offset + 3] = v1;
+  }
+
+  /**
+   * Replaces the transform of an entry in place, without changing the draw order. This lets a
+   * queue be kept across frames and patched instead of rebuilt.
+   *
+   * @param slot      The slot returned by {@link #add}.
+   * @param transform The new model matrix; its current value is copied.
+   */
+  public void setTransform(int slot, Matrix4f transform) {
+    transform.get(transforms, slot * MATRIX_SIZE_FLOATS);
+  }
+
+  /**
+   * Replaces the texture of an entry in place, without changing the draw order. The entry keeps
+   * its original sort key until the queue is rebuilt.
+   *
+   * @param slot    The slot returned by {@link #add}.
+   * @param texture The new texture.
+   */
+  public void setTexture(int slot, Texture texture) {
+    textures[slot] = texture;
+  }
+
+  /**
+   * Gets the number of submissions in the queue.
+   *
+   * @return The submission count.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Clears all submissions, preparing for a new frame. Capacity is retained.
+   */
+  public void clear() {
+    // Drop resource references so the queue does not keep closed GPU objects reachable.
+    Arrays.fill(meshes, 0, size, null);
+    Arrays.fill(batches, 0, size, null);
+    Arrays.fill(textures, 0, size, null);
+    size = 0;
+  }
+
+  private void grow() {
+    int capacity = keys.length * 2;
+    keys = Arrays.copyOf(keys, capacity);
+    order = Arrays.copyOf(order, capacity);
+    scratchKeys = new long[capacity];
+    scratchOrder = new int[capacity];
+    meshes = Arrays.copyOf(meshes, capacity);
+    batches = Arrays.copyOf(batches, capacity);
+    batchCounts = Arrays.copyOf(batchCounts, capacity);
+    textures = Arrays.copyOf(textures, capacity);
+    transforms = Arrays.copyOf(transforms, capacity * MATRIX_SIZE_FLOATS);
+    uvRects = Arrays.copyOf(uvRects, capacity * UV_RECT_FLOATS);
+  }
+}
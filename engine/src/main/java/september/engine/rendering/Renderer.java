@@ -16,17 +16,61 @@ public interface Renderer {
   void beginScene(Camera camera);
 
   /**
-   * Submits a textured mesh to be rendered this frame.
+   * Submits a textured mesh to be rendered this frame with an explicit sort key.
+   * Submissions are drawn at {@link #endScene()} in ascending key order, with equal keys drawn in
+   * submission order. The transform is copied, so callers may reuse the matrix afterwards.
    *
    * @param mesh      The mesh to draw (e.g., a quad for a sprite).
    * @param texture   The texture to apply to the mesh.
    * @param transform The model transformation matrix (position, rotation, scale).
+   * @param sortKey   The draw-order key, usually built with {@link SortKey#of}.
    */
-  void submit(Mesh mesh, Texture texture, Matrix4f transform);
+  void submit(Mesh mesh, Texture texture, Matrix4f transform, long sortKey);
 
   /**
-   * Executes any final rendering commands for the frame. This is typically called
-   * once at the end of the RenderSystem's update method.
+   * Submits a textured mesh that samples only a region of its texture, such as one frame of a
+   * sprite sheet. The region's corners map onto the mesh's [0, 1] texture coordinates. Otherwise
+   * this behaves exactly like {@link #submit(Mesh, Texture, Matrix4f, long)}, so regions of the
+   * same texture are batched together.
+   *
+   * @param mesh      The mesh to draw.
+   * @param texture   The texture to sample.
+   * @param transform The model transformation matrix (position, rotation, scale).
+   * @param u0        The left edge of the texture region.
+   * @param v0        The bottom edge of the texture region.
+   * @param u1        The right edge of the texture region.
+   * @param v1        The top edge of the texture region.
+   * @param sortKey   The draw-order key, usually built with {@link SortKey#of}.
+   */
+  void submit(Mesh mesh, Texture texture, Matrix4f transform, float u0, float v0, float u1, float v1, long sortKey);
+
+  /**
+   * Submits a textured mesh to be rendered this frame on the default layer at depth zero,
+   * grouped by texture.
+   *
+   * @param mesh      The mesh to draw (e.g., a quad for a sprite).
+   * @param texture   The texture to apply to the mesh.
+   * @param transform The model transformation matrix (position, rotation, scale).
+   */
+  default void submit(Mesh mesh, Texture texture, Matrix4f transform) {
+    submit(mesh, texture, transform, SortKey.of(0, 0.0f, 0, texture.getTextureId()));
+  }
+
+  /**
+   * Submits a prebuilt instance batch, such as a baked static layer, to be rendered this frame.
+   * The batch's per-instance transforms are already resident on the GPU, so no instance data is
+   * uploaded. It is ordered against other submissions by its sort key like any other entry.
+   *
+   * @param batch         The instanced mesh holding the baked instance transforms.
+   * @param instanceCount The number of instances to draw.
+   * @param texture       The texture to apply to every instance.
+   * @param sortKey       The draw-order key, usually built with {@link SortKey#of}.
+   */
+  void submitBatch(InstancedMesh batch, int instanceCount, Texture texture, long sortKey);
+
+  /**
+   * Sorts and draws everything submitted since {@link #beginScene(Camera)}. This is typically
+   * called once at the end of the RenderSystem's update method.
    */
   void endScene();
 }
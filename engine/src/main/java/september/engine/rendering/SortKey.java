@@ -0,0 +1,71 @@
+package september.engine.rendering;
+
+/**
+ * Builds the 64-bit sort keys that order submissions in a {@link RenderQueue}.
+ * <p>
+ * Keys compare as unsigned integers, most significant field first:
+ * <pre>
+ *  63      56 55                    32 31     24 23                     0
+ * +----------+------------------------+---------+------------------------+
+ * |  layer   |         depth          | shader  |        texture         |
+ * +----------+------------------------+---------+------------------------+
+ * </pre>
+ * Layers give coarse, explicit ordering (world, overlays, UI). Within a layer, depth orders
+ * submissions back-to-front for correct alpha blending. Shader and texture come last so that
+ * submissions at the same depth are grouped, which minimises program and texture switches.
+ */
+public final class SortKey {
+
+  public static final int MAX_LAYER = 0xFF;
+  public static final int MAX_SHADER = 0xFF;
+  public static final int MAX_TEXTURE = 0xFFFFFF;
+
+  private static final int LAYER_SHIFT = 56;
+  private static final int DEPTH_SHIFT = 32;
+  private static final int SHADER_SHIFT = 24;
+  private static final long DEPTH_MASK = 0xFFFFFFL;
+
+  // Private constructor to prevent instantiation of this utility class.
+  private SortKey() {
+  }
+
+  /**
+   * Packs the given fields into a sort key. Out-of-range layer, shader and texture values are
+   * truncated to their field width.
+   *
+   * @param layer   The render layer (0-255). Lower layers are drawn first.
+   * @param depth   The depth within the layer. Lower values are drawn first (i.e. further away).
+   * @param shader  An identifier for the shader program (0-255).
+   * @param texture An identifier for the texture, typically its OpenGL name.
+   * @return The packed key.
+   */
+  public static long of(int layer, float depth, int shader, int texture) {
+    return ((long) (layer & MAX_LAYER) << LAYER_SHIFT)
+      | (depthBits(depth) << DEPTH_SHIFT)
+      | ((long) (shader & MAX_SHADER) << SHADER_SHIFT)
+      | (texture & MAX_TEXTURE);
+  }
+
+  public static int layer(long key) {
+    return (int) (key >>> LAYER_SHIFT) & MAX_LAYER;
+  }
+
+  public static int shader(long key) {
+    return (int) (key >>> SHADER_SHIFT) & MAX_SHADER;
+  }
+
+  public static int texture(long key) {
+    return (int) key & MAX_TEXTURE;
+  }
+
+  /**
+   * Maps a float onto 24 bits whose unsigned order matches the float's numeric order.
+   * Flipping the sign bit of positives and all bits of negatives makes the IEEE-754 bit pattern
+   * sortable; the lowest mantissa bits are then dropped to fit the field.
+   */
+  private static long depthBits(float depth) {
+    int bits = Float.floatToIntBits(depth);
+    bits ^= (bits >> 31) | 0x80000000;
+    return (bits >>> 8) & DEPTH_MASK;
+  }
+}
@@ -0,0 +1,302 @@
+package september.engine.rendering;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid over the XY plane that indexes entity bounds for visibility queries.
+ * <p>
+ * Each entity is registered in every cell its bounds overlap. Updating an entity only touches the
+ * grid when its bounds actually change, so a mostly-static world costs almost nothing to keep
+ * indexed, and a query only visits the cells beneath the requested region. Entity IDs are used
+ * directly as array indices, which suits the dense IDs handed out by the {@code World}.
+ * <p>
+ * Usage pattern:
+ * 1. Call {@link #update} for every live entity (unchanged bounds are a cheap no-op)
+ * 2. Call {@link #sweep()} to drop entities that were not updated since the previous sweep
+ * 3. Call {@link #query} with the visible region
+ */
+public class SpatialGrid {
+
+  /**
+   * Entities covering more cells than this are kept in a separate list that every query tests
+   * directly, so a single huge background sprite cannot flood thousands of cells.
+   */
+  private static final int MAX_CELLS_PER_ENTITY = 64;
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final float cellSize;
+  private final Map<Long, Cell> cells = new HashMap<>();
+  private final Cell oversized = new Cell();
+
+  // Per-entity state, indexed by entity ID
+  private float[] bounds = new float[INITIAL_CAPACITY * 4];
+  private int[] cellRange = new int[INITIAL_CAPACITY * 4];
+  private boolean[] present = new boolean[INITIAL_CAPACITY];
+  private int[] queryStamp = new int[INITIAL_CAPACITY];
+  private int[] sweepStamp = new int[INITIAL_CAPACITY];
+
+  // Dense list of indexed entities so a sweep does not scan the whole ID range
+  private int[] tracked = new int[INITIAL_CAPACITY];
+  private int[] trackedSlot = new int[INITIAL_CAPACITY];
+  private int trackedCount;
+
+  private int currentQuery;
+  private int currentSweep = 1;
+
+  /**
+   * Creates a new grid.
+   *
+   * @param cellSize The width and height of a single grid cell, in world units.
+   */
+  public SpatialGrid(float cellSize) {
+    if (cellSize <= 0.0f) {
+      throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+  }
+
+  /**
+   * Inserts an entity or moves it to new bounds. If the bounds are unchanged since the last
+   * update, the grid is left untouched and the entity is only marked as alive for {@link #sweep()}.
+   */
+  public void update(int entityId, float minX, float minY, float maxX, float maxY) {
+    ensureCapacity(entityId);
+    sweepStamp[entityId] = currentSweep;
+
+    int b = entityId * 4;
+    if (present[entityId]
+        && bounds[b] == minX
+        && bounds[b + 1] == minY
+        && bounds[b + 2] == maxX
+        && bounds[b + 3] == maxY) {
+      return;
+    }
+
+    int minCx = cellCoord(minX);
+    int minCy = cellCoord(minY);
+    int maxCx = cellCoord(maxX);
+    int maxCy = cellCoord(maxY);
+
+    if (present[entityId]
+        && cellRange[b] == minCx
+        && cellRange[b + 1] == minCy
+        && cellRange[b + 2] == maxCx
+        && cellRange[b + 3] == maxCy) {
+      // Moved within the same cells, so only the exact bounds need refreshing.
+      setBounds(entityId, minX, minY, maxX, maxY);
+      return;
+    }
+
+    if (present[entityId]) {
+      unlink(entityId);
+    } else {
+      present[entityId] = true;
+      track(entityId);
+    }
+
+    setBounds(entityId, minX, minY, maxX, maxY);
+    cellRange[b] = minCx;
+    cellRange[b + 1] = minCy;
+    cellRange[b + 2] = maxCx;
+    cellRange[b + 3] = maxCy;
+    link(entityId);
+  }
+
+  /**
+   * Removes an entity from the grid. Does nothing if the entity is not indexed.
+   */
+  public void remove(int entityId) {
+    if (!contains(entityId)) {
+      return;
+    }
+    unlink(entityId);
+    untrack(entityId);
+    present[entityId] = false;
+  }
+
+  /**
+   * Removes every entity that has not been passed to {@link #update} since the previous sweep.
+   */
+  public void sweep() {
+    for (int i = trackedCount - 1; i >= 0; i--) {
+      int entityId = tracked[i];
+      if (sweepStamp[entityId] != currentSweep) {
+        remove(entityId);
+      }
+    }
+    currentSweep++;
+  }
+
+  /**
+   * Visits every indexed entity whose bounds overlap the given region. Each entity is reported at
+   * most once per query, in no particular order.
+   */
+  public void query(float minX, float minY, float maxX, float maxY, IntConsumer visitor) {
+    currentQuery++;
+    int minCx = cellCoord(minX);
+    int minCy = cellCoord(minY);
+    int maxCx = cellCoord(maxX);
+    int maxCy = cellCoord(maxY);
+
+    for (int cy = minCy; cy <= maxCy; cy++) {
+      for (int cx = minCx; cx <= maxCx; cx++) {
+        Cell cell = cells.get(cellKey(cx, cy));
+        if (cell != null) {
+          visitCell(cell, minX, minY, maxX, maxY, visitor);
+        }
+      }
+    }
+    visitCell(oversized, minX, minY, maxX, maxY, visitor);
+  }
+
+  public boolean contains(int entityId) {
+    return entityId >= 0 && entityId < present.length && present[entityId];
+  }
+
+  /**
+   * Gets the number of entities currently indexed.
+   *
+   * @return The entity count.
+   */
+  public int size() {
+    return trackedCount;
+  }
+
+  /**
+   * Removes all entities from the grid.
+   */
+  public void clear() {
+    cells.clear();
+    oversized.size = 0;
+    for (int i = 0; i < trackedCount; i++) {
+      present[tracked[i]] = false;
+    }
+    trackedCount = 0;
+  }
+
+  private void visitCell(Cell cell, float minX, float minY, float maxX, float maxY, IntConsumer visitor) {
+    for (int i = 0; i < cell.size; i++) {
+      int entityId = cell.entities[i];
+      if (queryStamp[entityId] == currentQuery) {
+        continue;
+      }
+      queryStamp[entityId] = currentQuery;
+
+      int b = entityId * 4;
+      if (bounds[b] <= maxX && bounds[b + 2] >= minX && bounds[b + 1] <= maxY && bounds[b + 3] >= minY) {
+        visitor.accept(entityId);
+      }
+    }
+  }
+
+  private void link(int entityId) {
+    int b = entityId * 4;
+    if (isOversized(b)) {
+      oversized.add(entityId);
+      return;
+    }
+    for (int cy = cellRange[b + 1]; cy <= cellRange[b + 3]; cy++) {
+      for (int cx = cellRange[b]; cx <= cellRange[b + 2]; cx++) {
+        cells.computeIfAbsent(cellKey(cx, cy), k -> new Cell()).add(entityId);
+      }
+    }
+  }
+
+  private void unlink(int entityId) {
+    int b = entityId * 4;
+    if (isOversized(b)) {
+      oversized.remove(entityId);
+      return;
+    }
+    for (int cy = cellRange[b + 1]; cy <= cellRange[b + 3]; cy++) {
+      for (int cx = cellRange[b]; cx <= cellRange[b + 2]; cx++) {
+        long key = cellKey(cx, cy);
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(entityId) && cell.size == 0) {
+          cells.remove(key);
+        }
+      }
+    }
+  }
+
+  private boolean isOversized(int b) {
+    long spanX = (long) cellRange[b + 2] - cellRange[b] + 1;
+    long spanY = (long) cellRange[b + 3] - cellRange[b + 1] + 1;
+    return spanX * spanY > MAX_CELLS_PER_ENTITY;
+  }
+
+  private void setBounds(int entityId, float minX, float minY, float maxX, float maxY) {
+    int b = entityId * 4;
+    bounds[b] = minX;
+    bounds[b + 1] = minY;
+    bounds[b + 2] = maxX;
+    bounds[b + 3] = maxY;
+  }
+
+  private void track(int entityId) {
+    if (trackedCount == tracked.length) {
+      tracked = Arrays.copyOf(tracked, trackedCount * 2);
+    }
+    trackedSlot[entityId] = trackedCount;
+    tracked[trackedCount++] = entityId;
+  }
+
+  private void untrack(int entityId) {
+    int slot = trackedSlot[entityId];
+    int last = tracked[--trackedCount];
+    tracked[slot] = last;
+    trackedSlot[last] = slot;
+  }
+
+  private int cellCoord(float value) {
+    return (int) Math.floor(value / cellSize);
+  }
+
+  private static long cellKey(int cx, int cy) {
+    return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+  }
+
+  private void ensureCapacity(int entityId) {
+    if (entityId < 0) {
+      throw new IllegalArgumentException("entityId must not be negative: " + entityId);
+    }
+    if (entityId < present.length) {
+      return;
+    }
+    int capacity = Math.max(present.length * 2, entityId + 1);
+    bounds = Arrays.copyOf(bounds, capacity * 4);
+    cellRange = Arrays.copyOf(cellRange, capacity * 4);
+    present = Arrays.copyOf(present, capacity);
+    queryStamp = Arrays.copyOf(queryStamp, capacity);
+    sweepStamp = Arrays.copyOf(sweepStamp, capacity);
+    trackedSlot = Arrays.copyOf(trackedSlot, capacity);
+  }
+
+  /**
+   * An unordered bag of entity IDs occupying one grid cell.
+   */
+  private static final class Cell {
+    private int[] entities = new int[8];
+    private int size;
+
+    void add(int entityId) {
+      if (size == entities.length) {
+        entities = Arrays.copyOf(entities, size * 2);
+      }
+      entities[size++] = entityId;
+    }
+
+    boolean remove(int entityId) {
+      for (int i = 0; i < size; i++) {
+        if (entities[i] == entityId) {
+          entities[i] = entities[--size];
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package september.engine.rendering;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A texture divided into a grid of equally sized frames, together with the animation clips
+ * that play them.
+ * <p>
+ * The UV rectangle of every frame is computed once when the sheet is created and stored in a
+ * flat table, four floats per frame. A sheet is registered once with the ResourceManager and
+ * shared by every entity that animates with it, so advancing an animation is an index change
+ * and drawing a frame is a table lookup.
+ * <p>
+ * Frames are numbered row by row from the top-left cell of the image.
+ */
+public final class SpriteSheet {
+
+  /** The floats stored per frame: u0, v0, u1, v1. */
+  public static final int UV_RECT_FLOATS = 4;
+
+  private final int columns;
+  private final int rows;
+  private final float[] uvRects;
+  private final Map<String, AnimationClip> clips = new HashMap<>();
+
+  /**
+   * Creates a sheet over a texture laid out as a grid of frames.
+   *
+   * @param columns The number of frames per row.
+   * @param rows    The number of rows.
+   */
+  public SpriteSheet(int columns, int rows) {
+    if (columns <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("A sprite sheet needs at least one column and one row");
+    }
+    this.columns = columns;
+    this.rows = rows;
+    this.uvRects = new float[columns * rows * UV_RECT_FLOATS];
+
+    // Textures are uploaded flipped, so v = 1 is the top edge of the image.
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        int offset = (row * columns + column) * UV_RECT_FLOATS;
+        uvRects[offset] = (float) column / columns;
+        uvRects[offset + 1] = 1.0f - (float) (row + 1) / rows;
+        uvRects[offset + 2] = (float) (column + 1) / columns;
+        uvRects[offset + 3] = 1.0f - (float) row / rows;
+      }
+    }
+  }
+
+  /**
+   * Adds a clip to the sheet, replacing any clip with the same name.
+   *
+   * @param clip The clip to add; all of its frames must exist in this sheet.
+   * @return This sheet, for chaining.
+   */
+  public SpriteSheet addClip(AnimationClip clip) {
+    for (int frame : clip.frames()) {
+      if (frame < 0 || frame >= getFrameCount()) {
+        throw new IllegalArgumentException(
+          "Clip '" + clip.name() + "' references frame " + frame + " outside a sheet of " + getFrameCount());
+      }
+    }
+    clips.put(clip.name(), clip);
+    return this;
+  }
+
+  /**
+   * Gets a clip by name.
+   *
+   * @param name The clip name.
+   * @return The clip, or {@code null} if the sheet has no clip with that name.
+   */
+  public AnimationClip getClip(String name) {
+    return clips.get(name);
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getFrameCount() {
+    return columns * rows;
+  }
+
+  public float getU0(int frame) {
+    return uvRects[frame * UV_RECT_FLOATS];
+  }
+
+  public float getV0(int frame) {
+    return uvRects[frame * UV_RECT_FLOATS + 1];
+  }
+
+  public float getU1(int frame) {
+    return uvRects[frame * UV_RECT_FLOATS + 2];
+  }
+
+  public float getV1(int frame) {
+    return uvRects[frame * UV_RECT_FLOATS + 3];
+  }
+}
@@ -0,0 +1,486 @@
+package september.engine.rendering;
+
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * A cache of baked instance buffers for sprites that never move.
+ * <p>
+ * Static sprites are bucketed into square chunks by their position. Each chunk groups its sprites
+ * by depth and texture and uploads one instance buffer per group. Every group draws the same unit
+ * quad, which is uploaded once for the whole layer. Once baked, a chunk is drawn
+ * every frame by submitting its buffers as prebuilt batches, so no matrices are rebuilt and no
+ * instance data crosses the bus. A chunk is only re-uploaded when one of its sprites is added,
+ * removed or changed, and chunks outside the visible region are skipped entirely.
+ * <p>
+ * Sprites are baked with interned texture IDs rather than textures, and each batch resolves its
+ * texture at submit time. A texture evicted while its chunk was out of view is therefore reloaded
+ * when the chunk comes back, instead of a deleted texture being drawn.
+ * <p>
+ * Usage pattern:
+ * 1. Call {@link #put} for new or changed sprites and {@link #touch} for unchanged ones
+ * 2. Call {@link #sweep()} to drop sprites that were neither put nor touched
+ * 3. Call {@link #rebuild()} to re-upload the chunks that changed
+ * 4. Call {@link #submitVisible} with the visible region
+ */
+public class StaticSpriteLayer implements AutoCloseable {
+
+  private static final int MATRIX_SIZE_FLOATS = 16;
+  private static final int INITIAL_CAPACITY = 256;
+
+  // Unit quad matching the "quad" mesh used by dynamic sprites: [posX, posY, posZ, texU, texV]
+  private static final float[] QUAD_VERTICES = {
+    0.5f, 0.5f, 0.0f, 1.0f, 1.0f,
+    0.5f, -0.5f, 0.0f, 1.0f, 0.0f,
+    -0.5f, -0.5f, 0.0f, 0.0f, 0.0f,
+    -0.5f, 0.5f, 0.0f, 0.0f, 1.0f
+  };
+  private static final int[] QUAD_INDICES = {0, 1, 3, 1, 2, 3};
+
+  private final float chunkSize;
+  private final Supplier<InstancedMesh> batchFactory;
+  // The quad every default batch draws; null when batches come from a custom factory
+  private final SharedQuad sharedQuad;
+  private final Map<Long, Chunk> chunkLookup = new HashMap<>();
+  private final List<Chunk> chunks = new ArrayList<>();
+  private final List<Chunk> dirtyChunks = new ArrayList<>();
+
+  // Per-entity state, indexed by entity ID
+  private boolean[] present = new boolean[INITIAL_CAPACITY];
+  private int[] sweepStamp = new int[INITIAL_CAPACITY];
+  private Chunk[] chunkOf = new Chunk[INITIAL_CAPACITY];
+  private int[] textureIds = new int[INITIAL_CAPACITY];
+  private float[] transforms = new float[INITIAL_CAPACITY * MATRIX_SIZE_FLOATS];
+
+  // Dense list of baked entities so a sweep does not scan the whole ID range
+  private int[] tracked = new int[INITIAL_CAPACITY];
+  private int[] trackedSlot = new int[INITIAL_CAPACITY];
+  private int trackedCount;
+  private int currentSweep = 1;
+
+  // Reusable storage for grouping a chunk's sprites while it is rebuilt
+  private long[] groupKeys = new long[INITIAL_CAPACITY];
+  private int[] groupEntities = new int[INITIAL_CAPACITY];
+  private long[] scratchKeys = new long[INITIAL_CAPACITY];
+  private int[] scratchEntities = new int[INITIAL_CAPACITY];
+  private final int[] histogram = new int[Long.BYTES * 256];
+  private float[] staging = new float[INITIAL_CAPACITY * MATRIX_SIZE_FLOATS];
+
+  /**
+   * Creates a new layer that bakes sprites into instanced unit quads.
+   *
+   * @param chunkSize The width and height of a chunk, in world units.
+   */
+  public StaticSpriteLayer(float chunkSize) {
+    this(chunkSize, new SharedQuad());
+  }
+
+  private StaticSpriteLayer(float chunkSize, SharedQuad sharedQuad) {
+    this(chunkSize, sharedQuad, sharedQuad);
+  }
+
+  /**
+   * Creates a new layer with a custom source of instance buffers. GPU resources are only requested
+   * from the factory when a chunk is first rebuilt.
+   *
+   * @param chunkSize    The width and height of a chunk, in world units.
+   * @param batchFactory Creates an empty instanced mesh for each baked group.
+   */
+  public StaticSpriteLayer(float chunkSize, Supplier<InstancedMesh> batchFactory) {
+    this(chunkSize, batchFactory, null);
+  }
+
+  private StaticSpriteLayer(float chunkSize, Supplier<InstancedMesh> batchFactory, SharedQuad sharedQuad) {
+    if (chunkSize <= 0.0f) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    this.batchFactory = batchFactory;
+    this.sharedQuad = sharedQuad;
+  }
+
+  /**
+   * Adds a sprite or replaces its baked data, marking the affected chunks for rebuild. This also
+   * marks the sprite as alive for {@link #sweep()}.
+   *
+   * @param textureId The sprite's texture ID, as interned by the resource manager.
+   */
+  public void put(int entityId, int textureId, Matrix4f transform) {
+    ensureCapacity(entityId);
+    sweepStamp[entityId] = currentSweep;
+    textureIds[entityId] = textureId;
+    transform.get(transforms, entityId * MATRIX_SIZE_FLOATS);
+
+    Chunk target = chunkAt(transform.m30(), transform.m31());
+    Chunk current = chunkOf[entityId];
+    if (current == target) {
+      markDirty(target);
+      return;
+    }
+    if (current != null) {
+      current.remove(entityId);
+      markDirty(current);
+    } else {
+      present[entityId] = true;
+      track(entityId);
+    }
+    target.add(entityId);
+    chunkOf[entityId] = target;
+    markDirty(target);
+  }
+
+  /**
+   * Marks an already baked sprite as alive for {@link #sweep()} without touching its data.
+   */
+  public void touch(int entityId) {
+    if (contains(entityId)) {
+      sweepStamp[entityId] = currentSweep;
+    }
+  }
+
+  /**
+   * Removes a sprite and marks its chunk for rebuild. Does nothing if the sprite is not baked.
+   */
+  public void remove(int entityId) {
+    if (!contains(entityId)) {
+      return;
+    }
+    Chunk chunk = chunkOf[entityId];
+    chunk.remove(entityId);
+    markDirty(chunk);
+    chunkOf[entityId] = null;
+    textureIds[entityId] = 0;
+    present[entityId] = false;
+    untrack(entityId);
+  }
+
+  /**
+   * Removes every sprite that has not been put or touched since the previous sweep.
+   */
+  public void sweep() {
+    for (int i = trackedCount - 1; i >= 0; i--) {
+      int entityId = tracked[i];
+      if (sweepStamp[entityId] != currentSweep) {
+        remove(entityId);
+      }
+    }
+    currentSweep++;
+  }
+
+  /**
+   * Re-uploads the instance buffers of every chunk that changed since the last rebuild. Chunks
+   * that became empty release their buffers.
+   *
+   * @return The number of chunks that were rebuilt.
+   */
+  public int rebuild() {
+    int rebuilt = dirtyChunks.size();
+    for (Chunk chunk : dirtyChunks) {
+      chunk.dirty = false;
+      if (chunk.size == 0) {
+        chunk.release(0);
+        removeChunk(chunk);
+      } else {
+        bake(chunk);
+      }
+    }
+    dirtyChunks.clear();
+    return rebuilt;
+  }
+
+  /**
+   * Submits the baked batches of every chunk overlapping the given region.
+   *
+   * @param renderer The renderer to submit to.
+   * @param textures Resolves a texture ID to its current texture, reloading it if it was evicted.
+   * @param shader   The shader ID to encode in each batch's sort key.
+   * @return The number of sprites submitted.
+   */
+  public int submitVisible(Renderer renderer, IntFunction<Texture> textures,
+                           float minX, float minY, float maxX, float maxY, int shader) {
+    int submitted = 0;
+    for (int c = 0; c < chunks.size(); c++) {
+      Chunk chunk = chunks.get(c);
+      if (chunk.minX > maxX || chunk.maxX < minX || chunk.minY > maxY || chunk.maxY < minY) {
+        continue;
+      }
+      for (int b = 0; b < chunk.batchCount; b++) {
+        Batch batch = chunk.batches.get(b);
+        Texture texture = textures.apply(batch.textureId);
+        long sortKey = SortKey.of(0, batch.depth, shader, texture.getTextureId());
+        renderer.submitBatch(batch.mesh, batch.count, texture, sortKey);
+        submitted += batch.count;
+      }
+    }
+    return submitted;
+  }
+
+  public boolean contains(int entityId) {
+    return entityId >= 0 && entityId < present.length && present[entityId];
+  }
+
+  /**
+   * Gets the number of sprites currently baked.
+   *
+   * @return The sprite count.
+   */
+  public int size() {
+    return trackedCount;
+  }
+
+  /**
+   * Gets the number of non-empty chunks.
+   *
+   * @return The chunk count.
+   */
+  public int getChunkCount() {
+    return chunks.size();
+  }
+
+  /**
+   * Releases every baked buffer and forgets all sprites.
+   */
+  @Override
+  public void close() {
+    for (Chunk chunk : chunks) {
+      chunk.release(0);
+    }
+    chunks.clear();
+    chunkLookup.clear();
+    dirtyChunks.clear();
+    for (int i = 0; i < trackedCount; i++) {
+      int entityId = tracked[i];
+      present[entityId] = false;
+      chunkOf[entityId] = null;
+      textureIds[entityId] = 0;
+    }
+    trackedCount = 0;
+    if (sharedQuad != null) {
+      sharedQuad.close();
+    }
+  }
+
+  private void bake(Chunk chunk) {
+    int count = chunk.size;
+    if (groupKeys.length < count) {
+      int capacity = Math.max(groupKeys.length * 2, count);
+      groupKeys = new long[capacity];
+      groupEntities = new int[capacity];
+      scratchKeys = new long[capacity];
+      scratchEntities = new int[capacity];
+    }
+
+    // Group sprites by depth and texture; the radix sort leaves equal groups adjacent.
+    chunk.minX = Float.POSITIVE_INFINITY;
+    chunk.minY = Float.POSITIVE_INFINITY;
+    chunk.maxX = Float.NEGATIVE_INFINITY;
+    chunk.maxY = Float.NEGATIVE_INFINITY;
+    for (int i = 0; i < count; i++) {
+      int entityId = chunk.entities[i];
+      int t = entityId * MATRIX_SIZE_FLOATS;
+      groupKeys[i] = SortKey.of(0, transforms[t + 14], 0, textureIds[entityId]);
+      groupEntities[i] = entityId;
+      includeBounds(chunk, t);
+    }
+    RadixSort.sort(groupKeys, groupEntities, count, scratchKeys, scratchEntities, histogram);
+
+    int batchIndex = 0;
+    int start = 0;
+    while (start < count) {
+      int end = start + 1;
+      while (end < count && groupKeys[end] == groupKeys[start]) {
+        end++;
+      }
+      uploadGroup(chunk, batchIndex++, start, end);
+      start = end;
+    }
+    chunk.release(batchIndex);
+  }
+
+  private void uploadGroup(Chunk chunk, int batchIndex, int from, int to) {
+    int instanceCount = to - from;
+    if (staging.length < instanceCount * MATRIX_SIZE_FLOATS) {
+      staging = new float[Math.max(staging.length * 2, instanceCount * MATRIX_SIZE_FLOATS)];
+    }
+    for (int i = from; i < to; i++) {
+      System.arraycopy(transforms, groupEntities[i] * MATRIX_SIZE_FLOATS,
+        staging, (i - from) * MATRIX_SIZE_FLOATS, MATRIX_SIZE_FLOATS);
+    }
+
+    if (batchIndex == chunk.batches.size()) {
+      chunk.batches.add(new Batch(batchFactory.get()));
+    }
+    Batch batch = chunk.batches.get(batchIndex);
+    int first = groupEntities[from];
+    batch.textureId = textureIds[first];
+    batch.depth = transforms[first * MATRIX_SIZE_FLOATS + 14];
+    batch.count = instanceCount;
+    batch.mesh.uploadStaticInstances(staging, instanceCount);
+    chunk.batchCount = batchIndex + 1;
+  }
+
+  private void includeBounds(Chunk chunk, int t) {
+    // Axis-aligned bounds of the transformed unit quad: centre +/- half the projected axes.
+    float halfWidth = 0.5f * (Math.abs(transforms[t]) + Math.abs(transforms[t + 4]));
+    float halfHeight = 0.5f * (Math.abs(transforms[t + 1]) + Math.abs(transforms[t + 5]));
+    float x = transforms[t + 12];
+    float y = transforms[t + 13];
+    chunk.minX = Math.min(chunk.minX, x - halfWidth);
+    chunk.minY = Math.min(chunk.minY, y - halfHeight);
+    chunk.maxX = Math.max(chunk.maxX, x + halfWidth);
+    chunk.maxY = Math.max(chunk.maxY, y + halfHeight);
+  }
+
+  private Chunk chunkAt(float x, float y) {
+    int cx = (int) Math.floor(x / chunkSize);
+    int cy = (int) Math.floor(y / chunkSize);
+    long key = ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    Chunk chunk = chunkLookup.get(key);
+    if (chunk == null) {
+      chunk = new Chunk(key);
+      chunkLookup.put(key, chunk);
+      chunk.index = chunks.size();
+      chunks.add(chunk);
+    }
+    return chunk;
+  }
+
+  private void removeChunk(Chunk chunk) {
+    chunkLookup.remove(chunk.key);
+    Chunk last = chunks.remove(chunks.size() - 1);
+    if (last != chunk) {
+      chunks.set(chunk.index, last);
+      last.index = chunk.index;
+    }
+  }
+
+  private void markDirty(Chunk chunk) {
+    if (!chunk.dirty) {
+      chunk.dirty = true;
+      dirtyChunks.add(chunk);
+    }
+  }
+
+  private void track(int entityId) {
+    if (trackedCount == tracked.length) {
+      tracked = Arrays.copyOf(tracked, trackedCount * 2);
+    }
+    trackedSlot[entityId] = trackedCount;
+    tracked[trackedCount++] = entityId;
+  }
+
+  private void untrack(int entityId) {
+    int slot = trackedSlot[entityId];
+    int last = tracked[--trackedCount];
+    tracked[slot] = last;
+    trackedSlot[last] = slot;
+  }
+
+  private void ensureCapacity(int entityId) {
+    if (entityId < 0) {
+      throw new IllegalArgumentException("entityId must not be negative: " + entityId);
+    }
+    if (entityId < present.length) {
+      return;
+    }
+    int capacity = Math.max(present.length * 2, entityId + 1);
+    present = Arrays.copyOf(present, capacity);
+    sweepStamp = Arrays.copyOf(sweepStamp, capacity);
+    chunkOf = Arrays.copyOf(chunkOf, capacity);
+    textureIds = Arrays.copyOf(textureIds, capacity);
+    transforms = Arrays.copyOf(transforms, capacity * MATRIX_SIZE_FLOATS);
+    trackedSlot = Arrays.copyOf(trackedSlot, capacity);
+  }
+
+  /**
+   * Creates batches that each own only an instance buffer and draw one shared copy of the unit
+   * quad. The quad is uploaded with the first batch and freed when the layer is closed.
+   */
+  private static final class SharedQuad implements Supplier<InstancedMesh>, AutoCloseable {
+    private InstancedMesh geometry;
+
+    @Override
+    public InstancedMesh get() {
+      if (geometry == null) {
+        geometry = new InstancedMesh(QUAD_VERTICES, QUAD_INDICES, 1);
+      }
+      return new InstancedMesh(geometry, 1);
+    }
+
+    @Override
+    public void close() {
+      if (geometry != null) {
+        geometry.close();
+        geometry = null;
+      }
+    }
+  }
+
+  /**
+   * One baked instance buffer: every sprite in a chunk that shares a depth and texture.
+   */
+  private static final class Batch {
+    private final InstancedMesh mesh;
+    private int textureId;
+    private float depth;
+    private int count;
+
+    Batch(InstancedMesh mesh) {
+      this.mesh = mesh;
+    }
+  }
+
+  /**
+   * The sprites in one square region and the batches baked from them.
+   */
+  private static final class Chunk {
+    private final long key;
+    private final List<Batch> batches = new ArrayList<>();
+    private int[] entities = new int[16];
+    private int size;
+    private int batchCount;
+    private int index;
+    private boolean dirty;
+    private float minX;
+    private float minY;
+    private float maxX;
+    private float maxY;
+
+    Chunk(long key) {
+      this.key = key;
+    }
+
+    void add(int entityId) {
+      if (size == entities.length) {
+        entities = Arrays.copyOf(entities, size * 2);
+      }
+      entities[size++] = entityId;
+    }
+
+    void remove(int entityId) {
+      for (int i = 0; i < size; i++) {
+        if (entities[i] == entityId) {
+          entities[i] = entities[--size];
+          return;
+        }
+      }
+    }
+
+    /**
+     * Frees the buffers of every batch from {@code keep} onwards.
+     */
+    void release(int keep) {
+      for (int i = batches.size() - 1; i >= keep; i--) {
+        batches.remove(i).mesh.close();
+      }
+      batchCount = keep;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package september.engine.rendering;
+
+import org.joml.Vector4fc;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * The positioned glyph quads of one string in one font, retained until the string changes.
+ * <p>
+ * {@link #update} compares the requested text with the text that was last laid out and only
+ * rebuilds the quads when it differs, so static labels are laid out once and a changing counter
+ * is laid out only on the frames it changes. Quad storage grows on demand and is reused, so
+ * neither checking nor rebuilding allocates in the steady state.
+ * <p>
+ * Quads are relative to the top-left corner of the text, with y pointing up. Lines are broken at
+ * {@code '\n'}.
+ */
+public final class TextLayout {
+
+  /** The floats written per glyph instance: rect (x, y, w, h), region (u0, v0, u1, v1), color (r, g, b, a). */
+  public static final int INSTANCE_FLOATS = 12;
+
+  private static final int QUAD_FLOATS = 8;
+
+  private final StringBuilder text = new StringBuilder();
+  private FontAtlas font;
+  private float scale;
+  private float[] quads = new float[16 * QUAD_FLOATS];
+  private int glyphCount;
+  private float width;
+  private float height;
+  private boolean laidOut;
+
+  /**
+   * Lays the text out if it, the font or the scale changed since the last call.
+   *
+   * @param font  The font to lay out with.
+   * @param text  The text; its current contents are copied.
+   * @param scale The size relative to the font's pixel height.
+   * @return True if the quads were rebuilt.
+   */
+  public boolean update(FontAtlas font, CharSequence text, float scale) {
+    if (laidOut && font == this.font && scale == this.scale && contentEquals(text)) {
+      return false;
+    }
+    this.font = font;
+    this.scale = scale;
+    this.text.setLength(0);
+    this.text.append(text);
+    layout();
+    laidOut = true;
+    return true;
+  }
+
+  /**
+   * Writes one glyph instance per visible glyph, advancing the buffer's position by
+   * {@link #INSTANCE_FLOATS} floats per glyph.
+   *
+   * @param dest    The destination buffer, with room for {@code getGlyphCount() * INSTANCE_FLOATS} floats.
+   * @param originX The x coordinate of the text's left edge.
+   * @param originY The y coordinate of the text's top edge.
+   * @param color   The text color.
+   */
+  public void writeInstances(FloatBuffer dest, float originX, float originY, Vector4fc color) {
+    float r = color.x();
+    float g = color.y();
+    float b = color.z();
+    float a = color.w();
+    for (int i = 0; i < glyphCount; i++) {
+      int q = i * QUAD_FLOATS;
+      dest.put(originX + quads[q]).put(originY + quads[q + 1])
+        .put(quads[q + 2] - quads[q]).put(quads[q + 3] - quads[q + 1])
+        .put(quads[q + 4]).put(quads[q + 5]).put(quads[q + 6]).put(quads[q + 7])
+        .put(r).put(g).put(b).put(a);
+    }
+  }
+
+  /**
+   * Gets the number of glyphs that produce a quad. Whitespace is not counted.
+   *
+   * @return The glyph count.
+   */
+  public int getGlyphCount() {
+    return glyphCount;
+  }
+
+  /**
+   * Gets the width of the widest line.
+   *
+   * @return The width in pixels.
+   */
+  public float getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of all lines.
+   *
+   * @return The height in pixels.
+   */
+  public float getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets one edge of a laid-out glyph quad, for tests and hit testing.
+   *
+   * @param glyph The glyph position among the visible glyphs.
+   * @param edge  0 to 3 for x0, y0, x1 and y1.
+   * @return The coordinate relative to the top-left corner of the text.
+   */
+  public float getQuad(int glyph, int edge) {
+    return quads[glyph * QUAD_FLOATS + edge];
+  }
+
+  private boolean contentEquals(CharSequence other) {
+    int length = text.length();
+    if (other.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (text.charAt(i) != other.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void layout() {
+    float lineHeight = font.getLineHeight() * scale;
+    float penX = 0.0f;
+    float baseline = -font.getAscent() * scale;
+    int lines = 1;
+    width = 0.0f;
+    glyphCount = 0;
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\n') {
+        width = Math.max(width, penX);
+        penX = 0.0f;
+        baseline -= lineHeight;
+        lines++;
+        continue;
+      }
+      int glyph = font.glyphIndex(c);
+      if (glyph < 0) {
+        continue;
+      }
+      float x0 = font.glyph(glyph, FontAtlas.QUAD_X0);
+      float x1 = font.glyph(glyph, FontAtlas.QUAD_X1);
+      float y0 = font.glyph(glyph, FontAtlas.QUAD_Y0);
+      float y1 = font.glyph(glyph, FontAtlas.QUAD_Y1);
+      if (x1 > x0 && y1 > y0) {
+        if ((glyphCount + 1) * QUAD_FLOATS > quads.length) {
+          quads = Arrays.copyOf(quads, quads.length * 2);
+        }
+        int q = glyphCount * QUAD_FLOATS;
+        // Snap the pen to whole pixels so glyphs sample the atlas texel for texel at scale 1
+        float x = (float) Math.floor(penX);
+        quads[q] = x + x0 * scale;
+        quads[q + 1] = baseline + y0 * scale;
+        quads[q + 2] = x + x1 * scale;
+        quads[q + 3] = baseline + y1 * scale;
+        quads[q + 4] = font.glyph(glyph, FontAtlas.U0);
+        quads[q + 5] = font.glyph(glyph, FontAtlas.V0);
+        quads[q + 6] = font.glyph(glyph, FontAtlas.U1);
+        quads[q + 7] = font.glyph(glyph, FontAtlas.V1);
+        glyphCount++;
+      }
+      penX += font.glyph(glyph, FontAtlas.ADVANCE) * scale;
+    }
+    width = Math.max(width, penX);
+    height = lines * lineHeight;
+  }
+}
@@ -1,9 +1,9 @@
 package september.engine.rendering;
 
-import org.lwjgl.system.MemoryStack;
+import lombok.Getter;
+import september.engine.rendering.gl.GLStateCache;
 
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 
 import static org.lwjgl.opengl.GL11.GL_NEAREST;
 import static org.lwjgl.opengl.GL11.GL_REPEAT;
@@ -14,30 +14,40 @@ import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_S;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_T;
 import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
-import static org.lwjgl.opengl.GL11.glBindTexture;
-import static org.lwjgl.opengl.GL11.glDeleteTextures;
 import static org.lwjgl.opengl.GL11.glGenTextures;
 import static org.lwjgl.opengl.GL11.glTexImage2D;
 import static org.lwjgl.opengl.GL11.glTexParameteri;
-import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
-import static org.lwjgl.opengl.GL13.glActiveTexture;
-import static org.lwjgl.opengl.GL30.glGenerateMipmap;
-import static org.lwjgl.stb.STBImage.stbi_failure_reason;
-import static org.lwjgl.stb.STBImage.stbi_image_free;
-import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
-import static org.lwjgl.stb.STBImage.stbi_set_flip_vertically_on_load;
+import static org.lwjgl.opengl.GL44.glClearTexImage;
 
 /**
  * Represents a 2D texture stored on the GPU.
  * <p>
  * This class encapsulates an OpenGL texture ID and handles loading image data
  * from a file using STB. It is an AutoCloseable resource that must be managed
- * by a ResourceManager.
+ * by a ResourceManager. Textures can also be created empty and filled over several
+ * frames by a {@link TextureUploader}; their ID is valid from the start.
+ * <p>
+ * Sprites are sampled with nearest filtering at their base level, so no mipmap chain is built.
  */
 public class Texture implements AutoCloseable {
+  @Getter
   private final int textureId;
-  private final int width;
-  private final int height;
+  @Getter
+  private int width;
+  @Getter
+  private int height;
+
+  /**
+   * Set once the texture holds its real image. Textures streamed by a {@link TextureUploader}
+   * show placeholder content until then.
+   */
+  @Getter
+  private boolean resident;
+  private boolean closed;
+
+  /** The frame in which the texture was last bound or resolved, for least-recently-used eviction. */
+  @Getter
+  private long lastUsedFrame = GLStateCache.getFrameNumber();
 
   /**
    * Loads a texture from an in-memory image buffer.
@@ -45,25 +55,58 @@ public class Texture implements AutoCloseable {
    * @param imageBuffer A ByteBuffer containing the raw image file data (e.g., a PNG or JPG).
    */
   public Texture(ByteBuffer imageBuffer) {
-    ByteBuffer decodedImage;
-    try (MemoryStack stack = MemoryStack.stackPush()) {
-      IntBuffer w = stack.mallocInt(1);
-      IntBuffer h = stack.mallocInt(1);
-      IntBuffer channels = stack.mallocInt(1);
-
-      // Tell STB to flip the image vertically on load, which is necessary for OpenGL's coordinate system.
-      stbi_set_flip_vertically_on_load(true);
-      decodedImage = stbi_load_from_memory(imageBuffer, w, h, channels, 4); // Request 4 channels (RGBA)
-      if (decodedImage == null) {
-        throw new RuntimeException("Failed to load a texture from memory! Reason: " + stbi_failure_reason());
+    this(DecodedImage.decode(imageBuffer), true);
+  }
+
+  /**
+   * Creates a texture from already decoded pixels, uploading them immediately.
+   *
+   * @param image The decoded image. The caller keeps ownership of it.
+   */
+  public Texture(DecodedImage image) {
+    this(image, false);
+  }
+
+  /**
+   * Creates a texture with storage for an image of the given size, cleared to transparent black.
+   * Its contents are streamed in later by a {@link TextureUploader}.
+   *
+   * @param width  The width in pixels.
+   * @param height The height in pixels.
+   */
+  Texture(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.textureId = createStorage(width, height, null);
+    glClearTexImage(textureId, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+    GLStateCache.bindTexture(0, 0);
+  }
+
+  private Texture(DecodedImage image, boolean ownsImage) {
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    try {
+      // --- Upload texture to GPU ---
+      this.textureId = createStorage(width, height, image.getPixels());
+    } finally {
+      // Free the image memory now that it's on the GPU
+      if (ownsImage) {
+        image.close();
       }
-      this.width = w.get(0);
-      this.height = h.get(0);
     }
 
-    // --- Upload texture to GPU ---
-    this.textureId = glGenTextures();
-    glBindTexture(GL_TEXTURE_2D, this.textureId);
+    this.resident = true;
+
+    // Unbind the texture
+    GLStateCache.bindTexture(0, 0);
+  }
+
+  /**
+   * Creates the texture object, leaving it bound to unit 0.
+   */
+  private static int createStorage(int width, int height, ByteBuffer pixels) {
+    int id = glGenTextures();
+    GLStateCache.bindTexture(0, id);
 
     // Set texture parameters for wrapping and filtering
     glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
@@ -73,38 +116,78 @@ public class Texture implements AutoCloseable {
     glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
 
     // Upload the image data to the texture
-    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, this.width, this.height, 0,
-      GL_RGBA, GL_UNSIGNED_BYTE, decodedImage);
-
-    // Generate mipmaps for better quality at smaller scales (optional but good practice)
-    glGenerateMipmap(GL_TEXTURE_2D);
+    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+    return id;
+  }
 
-    // Free the image memory now that it's on the GPU
-    stbi_image_free(decodedImage);
+  /**
+   * Called by the {@link TextureUploader} once the last rows have been uploaded.
+   */
+  void markResident() {
+    this.resident = true;
+  }
 
-    // Unbind the texture
-    glBindTexture(GL_TEXTURE_2D, 0);
+  /**
+   * Replaces the texture's image, for example after its file was edited. The texture keeps its ID,
+   * so draw lists and sort keys referring to it pick up the new pixels without being rebuilt.
+   *
+   * @param image The new image. The caller keeps ownership of it.
+   */
+  public void replaceImage(DecodedImage image) {
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    GLStateCache.bindTexture(0, textureId);
+    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, image.getPixels());
+    this.resident = true;
+    GLStateCache.bindTexture(0, 0);
   }
 
   /**
-   * Binds the texture to the specified texture unit.
+   * Binds the texture to the specified texture unit. Binding a texture that is already bound to
+   * the unit is skipped by the {@link GLStateCache}.
    *
    * @param textureUnit The texture unit to activate (e.g., 0 for GL_TEXTURE0).
    */
   public void bind(int textureUnit) {
-    glActiveTexture(GL_TEXTURE0 + textureUnit);
-    glBindTexture(GL_TEXTURE_2D, textureId);
+    lastUsedFrame = GLStateCache.getFrameNumber();
+    GLStateCache.bindTexture(textureUnit, textureId);
+  }
+
+  /**
+   * Records that the texture is in use this frame without binding it.
+   */
+  public void markUsed() {
+    lastUsedFrame = GLStateCache.getFrameNumber();
+  }
+
+  /**
+   * Gets the approximate GPU memory held by the texture's single level.
+   *
+   * @return The size in bytes.
+   */
+  public long getSizeBytes() {
+    return (long) width * height * DecodedImage.BYTES_PER_PIXEL;
   }
 
   /**
    * Unbinds the texture from the currently active texture unit.
    */
   public void unbind() {
-    glBindTexture(GL_TEXTURE_2D, 0);
+    GLStateCache.unbindActiveTexture();
+  }
+
+  /**
+   * Checks whether the texture has been deleted.
+   *
+   * @return True once {@link #close()} has been called.
+   */
+  public boolean isClosed() {
+    return closed;
   }
 
   @Override
   public void close() {
-    glDeleteTextures(textureId);
+    closed = true;
+    GLStateCache.deleteTexture(textureId);
   }
 }
@@ -0,0 +1,217 @@
+package september.engine.rendering;
+
+import september.engine.rendering.gl.GLStateCache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.glTexSubImage2D;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL15.glUnmapBuffer;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_UNPACK_BUFFER;
+import static org.lwjgl.opengl.GL30.GL_MAP_INVALIDATE_BUFFER_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_UNSYNCHRONIZED_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
+import static org.lwjgl.opengl.GL30.glMapBufferRange;
+import static org.lwjgl.opengl.GL32.GL_SYNC_GPU_COMMANDS_COMPLETE;
+import static org.lwjgl.opengl.GL32.GL_TIMEOUT_EXPIRED;
+import static org.lwjgl.opengl.GL32.glClientWaitSync;
+import static org.lwjgl.opengl.GL32.glDeleteSync;
+import static org.lwjgl.opengl.GL32.glFenceSync;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+
+/**
+ * Streams decoded images into textures over several frames through a ring of pixel buffer objects.
+ * <p>
+ * {@link #upload(DecodedImage)} returns a texture immediately. Its storage is allocated and cleared
+ * to transparent black, so it can be bound and drawn right away while its pixels arrive. Each call
+ * to {@link #update()} copies bands of rows into the next free PBO and issues
+ * {@code glTexSubImage2D} from it. A fence guards every PBO, and a PBO whose previous transfer
+ * has not finished ends the frame's work instead of waiting. This keeps the per-frame cost bounded
+ * by the ring size times the buffer size. When the last band is issued, the texture becomes
+ * {@linkplain Texture#isResident() resident}.
+ * <p>
+ * Buffers are created on first use, so an uploader can be constructed before a GL context exists.
+ */
+public final class TextureUploader implements AutoCloseable {
+
+  /** The number of pixel buffer objects in the ring. */
+  public static final int DEFAULT_RING_SIZE = 3;
+  /** The size of each pixel buffer object, in bytes. */
+  public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+  private final int bufferBytes;
+  private final int[] buffers;
+  private final int[] capacities;
+  private final long[] fences;
+  private final Deque<Job> queue = new ArrayDeque<>();
+  private int nextSlot;
+
+  public TextureUploader() {
+    this(DEFAULT_RING_SIZE, DEFAULT_BUFFER_BYTES);
+  }
+
+  /**
+   * Creates an uploader with a custom ring.
+   *
+   * @param ringSize    The number of pixel buffer objects; at most this many bands are sent per frame.
+   * @param bufferBytes The preferred size of each band. A band always holds at least one row.
+   */
+  public TextureUploader(int ringSize, int bufferBytes) {
+    if (ringSize <= 0 || bufferBytes <= 0) {
+      throw new IllegalArgumentException("Ring size and buffer size must be positive");
+    }
+    this.bufferBytes = bufferBytes;
+    this.buffers = new int[ringSize];
+    this.capacities = new int[ringSize];
+    this.fences = new long[ringSize];
+  }
+
+  /**
+   * Creates a placeholder texture for an image and queues its pixels for streaming.
+   *
+   * @param image The decoded image. The uploader takes ownership and closes it when done.
+   * @return The texture, which becomes resident after enough calls to {@link #update()}.
+   */
+  public Texture upload(DecodedImage image) {
+    Texture texture;
+    try {
+      texture = new Texture(image.getWidth(), image.getHeight());
+    } catch (RuntimeException e) {
+      image.close();
+      throw e;
+    }
+    queue.add(new Job(texture, image));
+    return texture;
+  }
+
+  /**
+   * Streams the next bands of queued images. Call once per frame on the render thread.
+   *
+   * @return The number of textures that became resident during this call.
+   */
+  public int update() {
+    if (queue.isEmpty()) {
+      return 0;
+    }
+    int completed = 0;
+    for (int i = 0; i < buffers.length && !queue.isEmpty(); i++) {
+      int slot = nextSlot;
+      if (fences[slot] != 0) {
+        // The GPU may still be reading this buffer; try again next frame rather than stall.
+        if (glClientWaitSync(fences[slot], 0, 0) == GL_TIMEOUT_EXPIRED) {
+          break;
+        }
+        glDeleteSync(fences[slot]);
+        fences[slot] = 0;
+      }
+
+      Job job = queue.peek();
+      if (job.texture.isClosed()) {
+        queue.poll().image.close();
+        continue;
+      }
+      DecodedImage image = job.image;
+      int rows = rowsPerBand(image.getRowBytes(), image.getHeight() - job.nextRow, bufferBytes);
+      int bytes = rows * image.getRowBytes();
+
+      if (buffers[slot] == 0) {
+        buffers[slot] = glGenBuffers();
+      }
+      GLStateCache.bindBuffer(GL_PIXEL_UNPACK_BUFFER, buffers[slot]);
+      if (capacities[slot] < bytes) {
+        glBufferData(GL_PIXEL_UNPACK_BUFFER, Math.max(bytes, bufferBytes), GL_STREAM_DRAW);
+        capacities[slot] = Math.max(bytes, bufferBytes);
+      }
+      // The fence guarantees the GPU is done with this buffer, so no implicit sync is needed.
+      ByteBuffer mapped = glMapBufferRange(GL_PIXEL_UNPACK_BUFFER, 0, bytes,
+        GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT | GL_MAP_UNSYNCHRONIZED_BIT);
+      if (mapped == null) {
+        GLStateCache.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+        throw new IllegalStateException("Failed to map pixel unpack buffer");
+      }
+      memCopy(memAddress(image.getPixels()) + (long) job.nextRow * image.getRowBytes(), memAddress(mapped), bytes);
+      glUnmapBuffer(GL_PIXEL_UNPACK_BUFFER);
+
+      job.texture.bind(0);
+      glTexSubImage2D(GL_TEXTURE_2D, 0, 0, job.nextRow, image.getWidth(), rows, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+      fences[slot] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+      nextSlot = (slot + 1) % buffers.length;
+
+      job.nextRow += rows;
+      if (job.nextRow >= image.getHeight()) {
+        queue.poll();
+        image.close();
+        job.texture.markResident();
+        completed++;
+      }
+    }
+    // Leave the unpack target clear so ordinary client-memory uploads are not redirected.
+    GLStateCache.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+    return completed;
+  }
+
+  /**
+   * Gets the number of textures still waiting for pixels.
+   *
+   * @return The pending upload count.
+   */
+  public int getPendingCount() {
+    return queue.size();
+  }
+
+  /**
+   * Computes how many rows of an image fit in one band.
+   *
+   * @param rowBytes      The size of one row.
+   * @param remainingRows The rows not yet uploaded.
+   * @param bufferBytes   The preferred band size.
+   * @return The number of rows to send, at least one while rows remain.
+   */
+  static int rowsPerBand(int rowBytes, int remainingRows, int bufferBytes) {
+    return Math.min(remainingRows, Math.max(1, bufferBytes / rowBytes));
+  }
+
+  /**
+   * Deletes the ring and drops pending uploads, leaving their textures with placeholder contents.
+   */
+  @Override
+  public void close() {
+    for (Job job : queue) {
+      job.image.close();
+    }
+    queue.clear();
+    for (int i = 0; i < buffers.length; i++) {
+      if (fences[i] != 0) {
+        glDeleteSync(fences[i]);
+        fences[i] = 0;
+      }
+      if (buffers[i] != 0) {
+        GLStateCache.deleteBuffer(buffers[i]);
+        buffers[i] = 0;
+        capacities[i] = 0;
+      }
+    }
+  }
+
+  /**
+   * An image being streamed into its texture.
+   */
+  private static final class Job {
+    private final Texture texture;
+    private final DecodedImage image;
+    private int nextRow;
+
+    Job(Texture texture, DecodedImage image) {
+      this.texture = texture;
+      this.image = image;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package september.engine.rendering.gl;
+
+import org.joml.Matrix4f;
+import org.lwjgl.system.MemoryUtil;
+import september.engine.rendering.Camera;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * A std140 uniform buffer holding the camera matrices read by every shader program.
+ * <p>
+ * Shaders declare {@link #GLSL_BLOCK}, which is bound to {@link #BINDING} by the layout qualifier,
+ * so no program needs its camera uniforms set individually. A pass calls {@link #bind()} to make
+ * its buffer current and {@link #update} once per frame; the upload is skipped entirely when the
+ * matrices have not changed since the previous frame.
+ * <p>
+ * The engine owns two of these and shares them with every renderer: one for the world camera and
+ * one for {@linkplain #updateScreen(float, float) screen space}, which the UI and text passes read.
+ */
+public final class CameraUniformBuffer implements AutoCloseable {
+
+  /** The uniform block binding point reserved for camera data. */
+  public static final int BINDING = 0;
+
+  /** The GLSL declaration of the camera block, to be included in vertex shaders. */
+  public static final String GLSL_BLOCK =
+    "layout (std140, binding = 0) uniform CameraBlock {\n" +
+      "    mat4 uProjection;\n" +
+      "    mat4 uView;\n" +
+      "};\n";
+
+  private static final int MATRIX_SIZE_FLOATS = 16;
+  // std140 lays out two mat4s back to back with no padding
+  private static final int BLOCK_SIZE_FLOATS = 2 * MATRIX_SIZE_FLOATS;
+
+  private final int uboId;
+  private final FloatBuffer staging;
+  private final Matrix4f lastProjection = new Matrix4f().zero();
+  private final Matrix4f lastView = new Matrix4f().zero();
+  private final Matrix4f screenProjection = new Matrix4f();
+  private final Matrix4f screenView = new Matrix4f();
+
+  public CameraUniformBuffer() {
+    this.staging = MemoryUtil.memAllocFloat(BLOCK_SIZE_FLOATS);
+    this.uboId = glGenBuffers();
+    GLStateCache.bindBuffer(GL_UNIFORM_BUFFER, uboId);
+    glBufferData(GL_UNIFORM_BUFFER, (long) BLOCK_SIZE_FLOATS * Float.BYTES, GL_DYNAMIC_DRAW);
+  }
+
+  /**
+   * Attaches this buffer to the camera binding point so subsequent draws read its matrices.
+   */
+  public void bind() {
+    GLStateCache.bindUniformBufferBase(BINDING, uboId);
+  }
+
+  /**
+   * Uploads the camera's matrices if they differ from the last upload.
+   *
+   * @param camera The camera to read from.
+   */
+  public void update(Camera camera) {
+    update(camera.getProjectionMatrix(), camera.getViewMatrix());
+  }
+
+  /**
+   * Uploads the given matrices if they differ from the last upload.
+   *
+   * @param projection The projection matrix.
+   * @param view       The view matrix.
+   */
+  public void update(Matrix4f projection, Matrix4f view) {
+    if (projection.equals(lastProjection) && view.equals(lastView)) {
+      return;
+    }
+    lastProjection.set(projection);
+    lastView.set(view);
+
+    projection.get(0, staging);
+    view.get(MATRIX_SIZE_FLOATS, staging);
+    GLStateCache.bindBuffer(GL_UNIFORM_BUFFER, uboId);
+    glBufferSubData(GL_UNIFORM_BUFFER, 0, staging);
+  }
+
+  /**
+   * Uploads a screen-space camera: one unit per pixel, with the origin at the bottom-left corner.
+   *
+   * @param width  The screen width in pixels.
+   * @param height The screen height in pixels.
+   */
+  public void updateScreen(float width, float height) {
+    update(screenProjection.identity().ortho(0.0f, width, 0.0f, height, -1.0f, 1.0f), screenView);
+  }
+
+  @Override
+  public void close() {
+    GLStateCache.deleteBuffer(uboId);
+    MemoryUtil.memFree(staging);
+  }
+}
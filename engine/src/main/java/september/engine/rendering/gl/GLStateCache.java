@@ -0,0 +1,325 @@
+package september.engine.rendering.gl;
+
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glBlendFunc;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glDisable;
+import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glDeleteBuffers;
+import static org.lwjgl.opengl.GL20.glDeleteProgram;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_PACK_BUFFER;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_UNPACK_BUFFER;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * Shadows the OpenGL binding state so that binds which would not change anything are skipped.
+ * <p>
+ * Every engine bind of a program, vertex array, buffer, texture or blend state goes through this
+ * class. It remembers what is currently bound and only forwards calls that change something,
+ * counting both issued and avoided calls so the driver-call reduction can be inspected per frame.
+ * Objects must be deleted through the {@code delete*} methods so that a recycled name is never
+ * mistaken for one that is still bound.
+ * <p>
+ * The cache assumes a single GL context used from the render thread. Code that changes state
+ * behind its back must call {@link #invalidate()} afterwards.
+ */
+public final class GLStateCache {
+
+  /** The number of texture units tracked; binds to higher units always reach the driver. */
+  private static final int MAX_TEXTURE_UNITS = 32;
+  /** The number of indexed uniform buffer binding points tracked. */
+  private static final int MAX_UNIFORM_BINDINGS = 16;
+  /** Marks shadowed state as unknown, so the next call is always issued. */
+  private static final int UNKNOWN = -1;
+
+  // Slots for the non-VAO buffer targets. GL_ELEMENT_ARRAY_BUFFER is vertex array state and is
+  // deliberately not cached.
+  private static final int ARRAY_SLOT = 0;
+  private static final int UNIFORM_SLOT = 1;
+  private static final int PIXEL_PACK_SLOT = 2;
+  private static final int PIXEL_UNPACK_SLOT = 3;
+
+  private static int program = UNKNOWN;
+  private static int vertexArray = UNKNOWN;
+  private static final int[] buffers = new int[4];
+  private static final int[] uniformBindings = new int[MAX_UNIFORM_BINDINGS];
+  private static int activeTextureUnit = UNKNOWN;
+  private static final int[] textures = new int[MAX_TEXTURE_UNITS];
+  private static int blendEnabled = UNKNOWN;
+  private static int blendSource = UNKNOWN;
+  private static int blendDestination = UNKNOWN;
+
+  private static long issuedCalls;
+  private static long avoidedCalls;
+  private static long lastFrameIssuedCalls;
+  private static long lastFrameAvoidedCalls;
+  private static long frameNumber;
+
+  static {
+    invalidate();
+  }
+
+  // Private constructor to prevent instantiation of this utility class.
+  private GLStateCache() {
+  }
+
+  /**
+   * Forgets all shadowed state, forcing the next call of every kind to reach the driver.
+   * Must be called after a new context is made current.
+   */
+  public static void invalidate() {
+    program = UNKNOWN;
+    vertexArray = UNKNOWN;
+    Arrays.fill(buffers, UNKNOWN);
+    Arrays.fill(uniformBindings, UNKNOWN);
+    activeTextureUnit = UNKNOWN;
+    Arrays.fill(textures, UNKNOWN);
+    blendEnabled = UNKNOWN;
+    blendSource = UNKNOWN;
+    blendDestination = UNKNOWN;
+  }
+
+  public static void useProgram(int programId) {
+    if (program == programId) {
+      avoidedCalls++;
+      return;
+    }
+    glUseProgram(programId);
+    program = programId;
+    issuedCalls++;
+  }
+
+  public static void bindVertexArray(int vaoId) {
+    if (vertexArray == vaoId) {
+      avoidedCalls++;
+      return;
+    }
+    glBindVertexArray(vaoId);
+    vertexArray = vaoId;
+    issuedCalls++;
+  }
+
+  /**
+   * Binds a buffer to a target. Targets that are part of vertex array state are always issued.
+   *
+   * @param target   The buffer target, e.g. {@code GL_ARRAY_BUFFER}.
+   * @param bufferId The buffer to bind, or 0 to unbind.
+   */
+  public static void bindBuffer(int target, int bufferId) {
+    int slot = bufferSlot(target);
+    if (slot != UNKNOWN && buffers[slot] == bufferId) {
+      avoidedCalls++;
+      return;
+    }
+    glBindBuffer(target, bufferId);
+    if (slot != UNKNOWN) {
+      buffers[slot] = bufferId;
+    }
+    issuedCalls++;
+  }
+
+  /**
+   * Binds a uniform buffer to an indexed binding point. Like the GL call, this also replaces the
+   * generic {@code GL_UNIFORM_BUFFER} binding.
+   *
+   * @param index    The binding point.
+   * @param bufferId The buffer to bind.
+   */
+  public static void bindUniformBufferBase(int index, int bufferId) {
+    boolean tracked = index < MAX_UNIFORM_BINDINGS;
+    if (tracked && uniformBindings[index] == bufferId && buffers[UNIFORM_SLOT] == bufferId) {
+      avoidedCalls++;
+      return;
+    }
+    glBindBufferBase(GL_UNIFORM_BUFFER, index, bufferId);
+    if (tracked) {
+      uniformBindings[index] = bufferId;
+    }
+    buffers[UNIFORM_SLOT] = bufferId;
+    issuedCalls++;
+  }
+
+  /**
+   * Binds a 2D texture to a texture unit, activating the unit only if it is not already active.
+   *
+   * @param unit      The texture unit index (0 for {@code GL_TEXTURE0}).
+   * @param textureId The texture to bind, or 0 to unbind.
+   */
+  public static void bindTexture(int unit, int textureId) {
+    boolean tracked = unit < MAX_TEXTURE_UNITS;
+    if (tracked && textures[unit] == textureId) {
+      avoidedCalls++;
+      return;
+    }
+    if (activeTextureUnit != unit) {
+      glActiveTexture(GL_TEXTURE0 + unit);
+      activeTextureUnit = unit;
+      issuedCalls++;
+    } else {
+      avoidedCalls++;
+    }
+    glBindTexture(GL_TEXTURE_2D, textureId);
+    if (tracked) {
+      textures[unit] = textureId;
+    }
+    issuedCalls++;
+  }
+
+  /**
+   * Unbinds whatever 2D texture is bound to the active texture unit, or unit 0 if no unit has been
+   * activated through the cache yet.
+   */
+  public static void unbindActiveTexture() {
+    bindTexture(activeTextureUnit == UNKNOWN ? 0 : activeTextureUnit, 0);
+  }
+
+  public static void setBlendEnabled(boolean enabled) {
+    int state = enabled ? 1 : 0;
+    if (blendEnabled == state) {
+      avoidedCalls++;
+      return;
+    }
+    if (enabled) {
+      glEnable(GL_BLEND);
+    } else {
+      glDisable(GL_BLEND);
+    }
+    blendEnabled = state;
+    issuedCalls++;
+  }
+
+  public static void blendFunc(int source, int destination) {
+    if (blendSource == source && blendDestination == destination) {
+      avoidedCalls++;
+      return;
+    }
+    glBlendFunc(source, destination);
+    blendSource = source;
+    blendDestination = destination;
+    issuedCalls++;
+  }
+
+  /**
+   * Deletes a program, forgetting it if it is the current program.
+   */
+  public static void deleteProgram(int programId) {
+    glDeleteProgram(programId);
+    if (program == programId) {
+      program = UNKNOWN;
+    }
+  }
+
+  /**
+   * Deletes a vertex array, forgetting it if it is currently bound.
+   */
+  public static void deleteVertexArray(int vaoId) {
+    glDeleteVertexArrays(vaoId);
+    if (vertexArray == vaoId) {
+      vertexArray = UNKNOWN;
+    }
+  }
+
+  /**
+   * Deletes a buffer, forgetting every binding that refers to it.
+   */
+  public static void deleteBuffer(int bufferId) {
+    glDeleteBuffers(bufferId);
+    forget(buffers, bufferId);
+    forget(uniformBindings, bufferId);
+  }
+
+  /**
+   * Deletes a texture, forgetting every unit it is bound to.
+   */
+  public static void deleteTexture(int textureId) {
+    glDeleteTextures(textureId);
+    forget(textures, textureId);
+  }
+
+  /**
+   * Closes the current frame's counters and starts counting the next frame.
+   * The engine calls this once per frame after swapping buffers.
+   */
+  public static void endFrame() {
+    lastFrameIssuedCalls = issuedCalls;
+    lastFrameAvoidedCalls = avoidedCalls;
+    issuedCalls = 0;
+    avoidedCalls = 0;
+    frameNumber++;
+  }
+
+  /**
+   * Gets the number of frames completed so far, which identifies the current frame.
+   *
+   * @return The current frame number.
+   */
+  public static long getFrameNumber() {
+    return frameNumber;
+  }
+
+  /**
+   * Gets the number of state calls forwarded to the driver during the last completed frame.
+   *
+   * @return The issued call count.
+   */
+  public static long getLastFrameIssuedCalls() {
+    return lastFrameIssuedCalls;
+  }
+
+  /**
+   * Gets the number of redundant state calls skipped during the last completed frame.
+   *
+   * @return The avoided call count.
+   */
+  public static long getLastFrameAvoidedCalls() {
+    return lastFrameAvoidedCalls;
+  }
+
+  /**
+   * Gets the number of state calls forwarded to the driver so far in the current frame.
+   *
+   * @return The issued call count.
+   */
+  public static long getIssuedCalls() {
+    return issuedCalls;
+  }
+
+  /**
+   * Gets the number of redundant state calls skipped so far in the current frame.
+   *
+   * @return The avoided call count.
+   */
+  public static long getAvoidedCalls() {
+    return avoidedCalls;
+  }
+
+  private static int bufferSlot(int target) {
+    return switch (target) {
+      case GL_ARRAY_BUFFER -> ARRAY_SLOT;
+      case GL_UNIFORM_BUFFER -> UNIFORM_SLOT;
+      case GL_PIXEL_PACK_BUFFER -> PIXEL_PACK_SLOT;
+      case GL_PIXEL_UNPACK_BUFFER -> PIXEL_UNPACK_SLOT;
+      default -> UNKNOWN;
+    };
+  }
+
+  private static void forget(int[] bindings, int id) {
+    for (int i = 0; i < bindings.length; i++) {
+      if (bindings[i] == id) {
+        bindings[i] = UNKNOWN;
+      }
+    }
+  }
+}
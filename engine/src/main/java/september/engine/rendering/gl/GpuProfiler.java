@@ -0,0 +1,236 @@
+package september.engine.rendering.gl;
+
+import static org.lwjgl.opengl.GL15.GL_QUERY_RESULT;
+import static org.lwjgl.opengl.GL15.GL_QUERY_RESULT_AVAILABLE;
+import static org.lwjgl.opengl.GL15.glBeginQuery;
+import static org.lwjgl.opengl.GL15.glDeleteQueries;
+import static org.lwjgl.opengl.GL15.glEndQuery;
+import static org.lwjgl.opengl.GL15.glGenQueries;
+import static org.lwjgl.opengl.GL15.glGetQueryObjecti;
+import static org.lwjgl.opengl.GL33.GL_TIME_ELAPSED;
+import static org.lwjgl.opengl.GL33.glGetQueryObjecti64;
+
+/**
+ * Measures the CPU and GPU time spent in each render pass.
+ * <p>
+ * Renderers bracket their work with {@link #begin(Pass)} and {@link #end(Pass)}. CPU time is the
+ * wall-clock time between the two calls, which is the cost of building and submitting the pass.
+ * GPU time comes from {@code GL_TIME_ELAPSED} queries. Each pass owns a small ring of query
+ * objects and results are collected in {@link #endFrame()} only once the driver reports them
+ * available, so reading them never stalls the pipeline; GPU figures therefore lag a few frames
+ * behind. If every query in the ring is still in flight, that frame's GPU sample is skipped.
+ * <p>
+ * GPU timing is off by default and can be switched on with {@link #setEnabled(boolean)} or the
+ * {@code september.gpuProfiler} system property. CPU timings are always recorded.
+ */
+public final class GpuProfiler {
+
+  /**
+   * The render passes that can be timed. Only one pass may be open at a time.
+   */
+  public enum Pass {
+    /** The world pass drawn by the scene renderer. */
+    SCENE,
+    /** The screen-space UI pass. */
+    UI,
+    /** Full-screen post-processing. */
+    POST
+  }
+
+  /** Queries per pass; results are read back at most this many frames late. */
+  private static final int RING_SIZE = 4;
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private static final PassTimer[] timers = new PassTimer[Pass.values().length];
+  private static boolean enabled = Boolean.getBoolean("september.gpuProfiler");
+  private static Pass openPass;
+  private static long frameIndex;
+
+  static {
+    for (int i = 0; i < timers.length; i++) {
+      timers[i] = new PassTimer();
+    }
+  }
+
+  // Private constructor to prevent instantiation of this utility class.
+  private GpuProfiler() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns GPU timer queries on or off. CPU timings are recorded either way.
+   *
+   * @param enabled Whether GPU timing should be performed.
+   */
+  public static void setEnabled(boolean enabled) {
+    GpuProfiler.enabled = enabled;
+  }
+
+  /**
+   * Marks the start of a render pass.
+   *
+   * @param pass The pass that is starting.
+   */
+  public static void begin(Pass pass) {
+    PassTimer timer = timers[pass.ordinal()];
+    timer.cpuStart = System.nanoTime();
+    // Time-elapsed queries cannot nest, so a pass opened inside another only gets CPU timing.
+    if (!enabled || openPass != null) {
+      return;
+    }
+    openPass = pass;
+    timer.beginQuery((int) (frameIndex % RING_SIZE), frameIndex);
+  }
+
+  /**
+   * Marks the end of a render pass.
+   *
+   * @param pass The pass that is ending.
+   */
+  public static void end(Pass pass) {
+    PassTimer timer = timers[pass.ordinal()];
+    timer.cpuMillis = (System.nanoTime() - timer.cpuStart) / NANOS_PER_MILLI;
+    if (openPass == pass) {
+      timer.endQuery();
+      openPass = null;
+    }
+  }
+
+  /**
+   * Collects every query result that has become available and advances the ring.
+   * The engine calls this once per frame after swapping buffers.
+   */
+  public static void endFrame() {
+    if (enabled) {
+      for (PassTimer timer : timers) {
+        timer.collect();
+      }
+    }
+    frameIndex++;
+  }
+
+  /**
+   * Gets the CPU time of the most recent occurrence of a pass.
+   *
+   * @param pass The pass to query.
+   * @return The CPU time in milliseconds, or 0 if the pass has never run.
+   */
+  public static double getCpuMillis(Pass pass) {
+    return timers[pass.ordinal()].cpuMillis;
+  }
+
+  /**
+   * Gets the GPU time of the most recent pass whose query result has been read back.
+   *
+   * @param pass The pass to query.
+   * @return The GPU time in milliseconds, or {@code NaN} if no result is available yet.
+   */
+  public static double getGpuMillis(Pass pass) {
+    return timers[pass.ordinal()].gpuMillis;
+  }
+
+  /**
+   * Gets the number of GPU samples skipped because every query in the pass's ring was in flight.
+   *
+   * @param pass The pass to query.
+   * @return The number of dropped samples.
+   */
+  public static long getDroppedSamples(Pass pass) {
+    return timers[pass.ordinal()].dropped;
+  }
+
+  /**
+   * Deletes all query objects. Must be called while the context that created them is current.
+   */
+  public static void release() {
+    for (PassTimer timer : timers) {
+      timer.release();
+    }
+    openPass = null;
+  }
+
+  /**
+   * Forgets all query objects and results without deleting them, for use after the context that
+   * owned them has been replaced.
+   */
+  public static void reset() {
+    for (int i = 0; i < timers.length; i++) {
+      timers[i] = new PassTimer();
+    }
+    openPass = null;
+  }
+
+  /**
+   * The query ring and latest results for one pass.
+   */
+  private static final class PassTimer {
+    private final int[] queries = new int[RING_SIZE];
+    private final long[] issuedFrame = new long[RING_SIZE];
+    private final boolean[] pending = new boolean[RING_SIZE];
+    private int activeSlot = -1;
+    private long latestFrame = -1;
+    private long cpuStart;
+    private double cpuMillis;
+    private double gpuMillis = Double.NaN;
+    private long dropped;
+
+    void beginQuery(int slot, long frame) {
+      if (pending[slot] && !tryRead(slot)) {
+        dropped++;
+        return;
+      }
+      if (queries[slot] == 0) {
+        queries[slot] = glGenQueries();
+      }
+      glBeginQuery(GL_TIME_ELAPSED, queries[slot]);
+      issuedFrame[slot] = frame;
+      activeSlot = slot;
+    }
+
+    void endQuery() {
+      if (activeSlot < 0) {
+        return;
+      }
+      glEndQuery(GL_TIME_ELAPSED);
+      pending[activeSlot] = true;
+      activeSlot = -1;
+    }
+
+    void collect() {
+      for (int slot = 0; slot < RING_SIZE; slot++) {
+        if (pending[slot]) {
+          tryRead(slot);
+        }
+      }
+    }
+
+    private boolean tryRead(int slot) {
+      int query = queries[slot];
+      if (glGetQueryObjecti(query, GL_QUERY_RESULT_AVAILABLE) == 0) {
+        return false;
+      }
+      long nanos = glGetQueryObjecti64(query, GL_QUERY_RESULT);
+      pending[slot] = false;
+      // Results may be read out of order; only a newer frame replaces the reported value.
+      if (issuedFrame[slot] > latestFrame) {
+        latestFrame = issuedFrame[slot];
+        gpuMillis = nanos / NANOS_PER_MILLI;
+      }
+      return true;
+    }
+
+    void release() {
+      for (int slot = 0; slot < RING_SIZE; slot++) {
+        if (queries[slot] != 0) {
+          glDeleteQueries(queries[slot]);
+          queries[slot] = 0;
+        }
+        pending[slot] = false;
+      }
+      activeSlot = -1;
+    }
+  }
+}
@@ -4,8 +4,8 @@ import org.joml.Matrix4f;
 import september.engine.rendering.Camera;
 import september.engine.rendering.InstancedMesh;
 import september.engine.rendering.Mesh;
+import september.engine.rendering.RenderQueue;
 import september.engine.rendering.Renderer;
-import september.engine.rendering.SpriteBatch;
 import september.engine.rendering.Texture;
 
 import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
@@ -16,23 +16,34 @@ import static org.lwjgl.opengl.GL11.glClearColor;
 /**
  * An OpenGL renderer that uses instanced rendering for improved performance.
  * <p>
- * This renderer batches sprites by texture and renders them using OpenGL instancing,
- * reducing the number of draw calls from one-per-sprite to one-per-texture.
+ * Submissions are ordered by their sort key, and each run of consecutive submissions that share
+ * a texture is drawn with a single instanced call. Draw order is therefore deterministic and
+ * respects layers and depth, while the texture bits of the key keep runs as long as possible.
+ * Prebuilt batches are drawn from their own resident instance buffers and end the current run.
  * It works alongside the existing OpenGLRenderer and uses the same interface.
  */
 public final class InstancedOpenGLRenderer implements Renderer {
 
   private final Shader instancedShader;
-  private final SpriteBatch spriteBatch;
+  private final RenderQueue renderQueue;
+  private final CameraUniformBuffer cameraBuffer;
   private InstancedMesh quadMesh;
+  private int lastBatchCount;
+  private int lastSpriteCount;
 
-  public InstancedOpenGLRenderer() {
+  /**
+   * Creates the renderer and its instanced shader program.
+   *
+   * @param cameraBuffer The world camera's uniform buffer, owned by the caller.
+   */
+  public InstancedOpenGLRenderer(CameraUniformBuffer cameraBuffer) {
     // Create the instanced shader program
     this.instancedShader = new Shader(
       InstancedShaderSources.INSTANCED_VERTEX_SHADER,
       InstancedShaderSources.INSTANCED_FRAGMENT_SHADER
     );
-    this.spriteBatch = new SpriteBatch();
+    this.renderQueue = new RenderQueue();
+    this.cameraBuffer = cameraBuffer;
   }
 
   /**
@@ -47,23 +58,36 @@ public final class InstancedOpenGLRenderer implements Renderer {
 
   @Override
   public void beginScene(Camera camera) {
+    GpuProfiler.begin(GpuProfiler.Pass.SCENE);
+
     // Clear the screen
     glClearColor(0.1f, 0.1f, 0.1f, 1.0f);
     glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
-    // Clear the sprite batch for this frame
-    spriteBatch.clear();
+    // Clear the render queue for this frame
+    renderQueue.clear();
 
-    // Prepare the shader for the scene
+    // Prepare the shader for the scene; camera matrices come from the shared uniform buffer
+    cameraBuffer.bind();
+    cameraBuffer.update(camera);
     instancedShader.bind();
-    instancedShader.setUniform("uProjection", camera.getProjectionMatrix());
-    instancedShader.setUniform("uView", camera.getViewMatrix());
   }
 
   @Override
-  public void submit(Mesh mesh, Texture texture, Matrix4f transform) {
-    // Add sprite to batch instead of rendering immediately
-    spriteBatch.addSprite(texture, new Matrix4f(transform));
+  public void submit(Mesh mesh, Texture texture, Matrix4f transform, long sortKey) {
+    // Queue the sprite instead of rendering immediately
+    renderQueue.add(sortKey, mesh, texture, transform);
+  }
+
+  @Override
+  public void submit(Mesh mesh, Texture texture, Matrix4f transform, float u0, float v0, float u1, float v1,
+                     long sortKey) {
+    renderQueue.add(sortKey, mesh, texture, transform, u0, v0, u1, v1);
+  }
+
+  @Override
+  public void submitBatch(InstancedMesh batch, int instanceCount, Texture texture, long sortKey) {
+    renderQueue.addBatch(sortKey, batch, instanceCount, texture);
   }
 
   @Override
@@ -72,22 +96,42 @@ public final class InstancedOpenGLRenderer implements Renderer {
       throw new IllegalStateException("QuadMesh must be set before rendering. Call setQuadMesh() during initialization.");
     }
 
-    // Render all batches
-    for (Texture texture : spriteBatch.getTextures()) {
-      var transforms = spriteBatch.getSpritesForTexture(texture);
-
-      if (!transforms.isEmpty()) {
-        // Bind texture
-        texture.bind(0);
-        instancedShader.setUniform("uTextureSampler", 0);
+    renderQueue.sort();
+    instancedShader.setUniform("uTextureSampler", 0);
+
+    // Walk the sorted queue and draw each run of same-texture sprites as one instanced call
+    int batchCount = 0;
+    int spriteCount = 0;
+    int runStart = 0;
+    int size = renderQueue.size();
+    while (runStart < size) {
+      Texture texture = renderQueue.getTexture(runStart);
+      texture.bind(0);
+
+      InstancedMesh batch = renderQueue.getBatch(runStart);
+      if (batch != null) {
+        batch.drawInstances(renderQueue.getBatchInstanceCount(runStart));
+        spriteCount += renderQueue.getBatchInstanceCount(runStart);
+        batchCount++;
+        runStart++;
+        continue;
+      }
 
-        // Render all instances for this texture
-        quadMesh.renderInstanced(transforms);
+      int runEnd = runStart + 1;
+      while (runEnd < size
+        && renderQueue.getTexture(runEnd) == texture
+        && renderQueue.getBatch(runEnd) == null) {
+        runEnd++;
       }
-    }
 
-    // Unbind shader
-    instancedShader.unbind();
+      quadMesh.renderInstanced(renderQueue, runStart, runEnd);
+      spriteCount += runEnd - runStart;
+      batchCount++;
+      runStart = runEnd;
+    }
+    lastBatchCount = batchCount;
+    lastSpriteCount = spriteCount;
+    GpuProfiler.end(GpuProfiler.Pass.SCENE);
   }
 
   /**
@@ -96,20 +140,17 @@ public final class InstancedOpenGLRenderer implements Renderer {
    * @return A statistics object with batch and sprite counts.
    */
   public RenderStats getLastFrameStats() {
-    return new RenderStats(
-      spriteBatch.getBatchCount(),
-      spriteBatch.getTotalSpriteCount()
-    );
+    return new RenderStats(lastBatchCount, lastSpriteCount);
   }
 
   /**
-   * Gets the sprite batch used by this renderer.
+   * Gets the render queue used by this renderer.
    * Useful for debugging or advanced batching scenarios.
    *
-   * @return The current sprite batch.
+   * @return The current render queue.
    */
-  public SpriteBatch getSpriteBatch() {
-    return spriteBatch;
+  public RenderQueue getRenderQueue() {
+    return renderQueue;
   }
 
   /**
@@ -10,7 +10,7 @@ public final class InstancedShaderSources {
 
   /**
    * Vertex shader for instanced sprite rendering.
-   * Uses instance attributes for per-instance transformation matrices.
+   * Uses instance attributes for per-instance transformation matrices and texture regions.
    */
   public static final String INSTANCED_VERTEX_SHADER =
     "#version 460 core\n" +
@@ -24,13 +24,14 @@ public final class InstancedShaderSources {
       "layout (location = 3) in vec4 aInstanceMatrix1;\n" +
       "layout (location = 4) in vec4 aInstanceMatrix2;\n" +
       "layout (location = 5) in vec4 aInstanceMatrix3;\n" +
+      "// Per-instance texture region (u0, v0, u1, v1)\n" +
+      "layout (location = 6) in vec4 aInstanceUvRect;\n" +
       "\n" +
       "// Outputs to fragment shader\n" +
       "out vec2 vTexCoord;\n" +
       "\n" +
-      "// Scene uniforms\n" +
-      "uniform mat4 uProjection;\n" +
-      "uniform mat4 uView;\n" +
+      "// Camera matrices, shared by every program through a uniform buffer\n" +
+      CameraUniformBuffer.GLSL_BLOCK +
       "\n" +
       "void main()\n" +
       "{\n" +
@@ -45,8 +46,8 @@ public final class InstancedShaderSources {
       "    // Transform vertex position using instance matrix\n" +
       "    gl_Position = uProjection * uView * instanceMatrix * vec4(aPos, 1.0);\n" +
       "    \n" +
-      "    // Pass through texture coordinates unchanged\n" +
-      "    vTexCoord = aTexCoord;\n" +
+      "    // Map the quad's [0, 1] texture coordinates into the instance's texture region\n" +
+      "    vTexCoord = mix(aInstanceUvRect.xy, aInstanceUvRect.zw, aTexCoord);\n" +
       "}";
 
   /**
@@ -2,7 +2,9 @@ package september.engine.rendering.gl;
 
 import org.joml.Matrix4f;
 import september.engine.rendering.Camera;
+import september.engine.rendering.InstancedMesh;
 import september.engine.rendering.Mesh;
+import september.engine.rendering.RenderQueue;
 import september.engine.rendering.Renderer;
 import september.engine.rendering.Texture;
 
@@ -13,11 +15,15 @@ import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glClearColor;
 import static org.lwjgl.opengl.GL11.glDrawElements;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
 
 /**
  * A concrete implementation of the Renderer interface using OpenGL.
  * This implementation includes a default shader for rendering 2D textured sprites.
+ * <p>
+ * Submissions are queued and drawn in sort-key order at the end of the scene. Because the key
+ * groups equal textures and meshes together, the {@link GLStateCache} only forwards texture and
+ * vertex array binds when they actually change between consecutive draws. Prebuilt instance
+ * batches are drawn with a second, instanced program.
  */
 public final class OpenGLRenderer implements Renderer {
 
@@ -26,13 +32,13 @@ public final class OpenGLRenderer implements Renderer {
       "layout (location = 0) in vec3 aPos;\n" +
       "layout (location = 1) in vec2 aTexCoord;\n" +
       "out vec2 vTexCoord;\n" +
-      "uniform mat4 uProjection;\n" +
-      "uniform mat4 uView;\n" +
+      CameraUniformBuffer.GLSL_BLOCK +
       "uniform mat4 uModel;\n" +
+      "uniform vec4 uUvRect;\n" +
       "void main()\n" +
       "{\n" +
       "    gl_Position = uProjection * uView * uModel * vec4(aPos, 1.0);\n" +
-      "    vTexCoord = aTexCoord;\n" +
+      "    vTexCoord = mix(uUvRect.xy, uUvRect.zw, aTexCoord);\n" +
       "}";
 
   private static final String DEFAULT_FRAGMENT_SHADER_SOURCE =
@@ -46,47 +52,88 @@ public final class OpenGLRenderer implements Renderer {
       "}";
 
   private final Shader defaultShader;
+  private final Shader batchShader;
+  private final CameraUniformBuffer cameraBuffer;
+  private final RenderQueue renderQueue = new RenderQueue();
+  private final Matrix4f modelMatrix = new Matrix4f();
 
-  public OpenGLRenderer() {
+  /**
+   * Creates the renderer and its shader programs.
+   *
+   * @param cameraBuffer The world camera's uniform buffer, owned by the caller.
+   */
+  public OpenGLRenderer(CameraUniformBuffer cameraBuffer) {
     // Create the default shader program for sprite rendering.
     // In a more advanced engine, this would be loaded from files by the ResourceManager.
     this.defaultShader = new Shader(DEFAULT_VERTEX_SHADER_SOURCE, DEFAULT_FRAGMENT_SHADER_SOURCE);
+    this.batchShader = new Shader(
+      InstancedShaderSources.INSTANCED_VERTEX_SHADER,
+      InstancedShaderSources.INSTANCED_FRAGMENT_SHADER
+    );
+    this.cameraBuffer = cameraBuffer;
   }
 
   @Override
   public void beginScene(Camera camera) {
+    GpuProfiler.begin(GpuProfiler.Pass.SCENE);
+
     // Clear the screen to a dark grey color
     glClearColor(0.1f, 0.1f, 0.1f, 1.0f);
     glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
-    // Prepare the shader for the scene by binding it and setting the camera matrices
+    renderQueue.clear();
+
+    // Both shaders read the camera matrices from the shared uniform buffer
+    cameraBuffer.bind();
+    cameraBuffer.update(camera);
+    batchShader.bind();
+    batchShader.setUniform("uTextureSampler", 0);
     defaultShader.bind();
-    defaultShader.setUniform("uProjection", camera.getProjectionMatrix());
-    defaultShader.setUniform("uView", camera.getViewMatrix());
   }
 
   @Override
-  public void submit(Mesh mesh, Texture texture, Matrix4f transform) {
-    // Bind the specific texture for this sprite to texture unit 0
-    texture.bind(0);
-    defaultShader.setUniform("uTextureSampler", 0); // Tell the shader to use texture unit 0
-
-    // Set the model matrix for this specific object
-    defaultShader.setUniform("uModel", transform);
-
-    // Bind the mesh's VAO
-    glBindVertexArray(mesh.getVaoId());
+  public void submit(Mesh mesh, Texture texture, Matrix4f transform, long sortKey) {
+    renderQueue.add(sortKey, mesh, texture, transform);
+  }
 
-    // Draw the object using its index buffer
-    glDrawElements(GL_TRIANGLES, mesh.getVertexCount(), GL_UNSIGNED_INT, 0);
+  @Override
+  public void submit(Mesh mesh, Texture texture, Matrix4f transform, float u0, float v0, float u1, float v1,
+                     long sortKey) {
+    renderQueue.add(sortKey, mesh, texture, transform, u0, v0, u1, v1);
+  }
 
-    // Unbind the VAO for good practice
-    glBindVertexArray(0);
+  @Override
+  public void submitBatch(InstancedMesh batch, int instanceCount, Texture texture, long sortKey) {
+    renderQueue.addBatch(sortKey, batch, instanceCount, texture);
   }
 
   @Override
   public void endScene() {
-    // Unbind the shader program
-    defaultShader.unbind();
+    renderQueue.sort();
+    defaultShader.setUniform("uTextureSampler", 0); // Tell the shader to use texture unit 0
+
+    // Consecutive entries usually share a texture, mesh and program. The GLStateCache drops those
+    // repeated binds, so each entry simply binds what it needs.
+    for (int i = 0; i < renderQueue.size(); i++) {
+      renderQueue.getTexture(i).bind(0);
+
+      InstancedMesh batch = renderQueue.getBatch(i);
+      if (batch != null) {
+        batchShader.bind();
+        batch.drawInstances(renderQueue.getBatchInstanceCount(i));
+        continue;
+      }
+
+      Mesh mesh = renderQueue.getMesh(i);
+      defaultShader.bind();
+      GLStateCache.bindVertexArray(mesh.getVaoId());
+
+      // Set the model matrix for this specific object and draw it using its index buffer
+      defaultShader.setUniform("uModel", renderQueue.getTransform(i, modelMatrix));
+      defaultShader.setUniform("uUvRect", renderQueue.getUvRect(i, 0), renderQueue.getUvRect(i, 1),
+        renderQueue.getUvRect(i, 2), renderQueue.getUvRect(i, 3));
+      glDrawElements(GL_TRIANGLES, mesh.getVertexCount(), GL_UNSIGNED_INT, 0);
+    }
+    GpuProfiler.end(GpuProfiler.Pass.SCENE);
   }
 }
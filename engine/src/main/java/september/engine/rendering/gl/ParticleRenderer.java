@@ -0,0 +1,172 @@
+package september.engine.rendering.gl;
+
+import org.lwjgl.system.MemoryUtil;
+import september.engine.rendering.Camera;
+import september.engine.rendering.ParticlePool;
+import september.engine.rendering.Texture;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_ONE;
+import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_FLOAT;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL15.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glGenVertexArrays;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+/**
+ * Draws particles as camera-facing textured quads, one instanced call per texture group.
+ * <p>
+ * Each instance is the {@link ParticlePool#INSTANCE_FLOATS} floats written by a pool: a centre,
+ * a size and a color that tints the texture. The instance buffer is orphaned before every upload,
+ * so streaming a new frame's particles never waits on the previous draw.
+ */
+public final class ParticleRenderer implements AutoCloseable {
+
+  private static final String VERTEX_SHADER =
+    "#version 460 core\n" +
+      "layout (location = 0) in vec2 aCorner;\n" +
+      "layout (location = 1) in vec4 aCentreSize;\n" +
+      "layout (location = 2) in vec4 aColor;\n" +
+      "out vec2 vTexCoord;\n" +
+      "out vec4 vColor;\n" +
+      CameraUniformBuffer.GLSL_BLOCK +
+      "void main()\n" +
+      "{\n" +
+      "    vec3 position = vec3(aCentreSize.xy + aCorner * aCentreSize.w, aCentreSize.z);\n" +
+      "    gl_Position = uProjection * uView * vec4(position, 1.0);\n" +
+      "    vTexCoord = aCorner + 0.5;\n" +
+      "    vColor = aColor;\n" +
+      "}";
+
+  private static final String FRAGMENT_SHADER =
+    "#version 460 core\n" +
+      "in vec2 vTexCoord;\n" +
+      "in vec4 vColor;\n" +
+      "out vec4 FragColor;\n" +
+      "uniform sampler2D uTextureSampler;\n" +
+      "void main()\n" +
+      "{\n" +
+      "    FragColor = texture(uTextureSampler, vTexCoord) * vColor;\n" +
+      "}";
+
+  private static final int INSTANCE_STRIDE_BYTES = ParticlePool.INSTANCE_FLOATS * Float.BYTES;
+  private static final int INDEX_COUNT = 6;
+
+  private final Shader shader;
+  private final CameraUniformBuffer cameraBuffer;
+  private final int vaoId;
+  private final int cornerVboId;
+  private final int eboId;
+  private final int instanceVboId;
+
+  /**
+   * Creates the particle program and quad geometry.
+   *
+   * @param cameraBuffer The world camera's uniform buffer, owned by the caller.
+   */
+  public ParticleRenderer(CameraUniformBuffer cameraBuffer) {
+    this.shader = new Shader(VERTEX_SHADER, FRAGMENT_SHADER);
+    this.cameraBuffer = cameraBuffer;
+
+    float[] corners = {0.5f, 0.5f, 0.5f, -0.5f, -0.5f, -0.5f, -0.5f, 0.5f};
+    int[] indices = {0, 1, 3, 1, 2, 3};
+    FloatBuffer cornerBuffer = MemoryUtil.memAllocFloat(corners.length);
+    IntBuffer indexBuffer = MemoryUtil.memAllocInt(indices.length);
+    try {
+      cornerBuffer.put(corners).flip();
+      indexBuffer.put(indices).flip();
+
+      vaoId = glGenVertexArrays();
+      GLStateCache.bindVertexArray(vaoId);
+
+      cornerVboId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, cornerVboId);
+      glBufferData(GL_ARRAY_BUFFER, cornerBuffer, GL_STATIC_DRAW);
+      glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0);
+      glEnableVertexAttribArray(0);
+
+      eboId = glGenBuffers();
+      glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+      glBufferData(GL_ELEMENT_ARRAY_BUFFER, indexBuffer, GL_STATIC_DRAW);
+
+      instanceVboId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+      glVertexAttribPointer(1, 4, GL_FLOAT, false, INSTANCE_STRIDE_BYTES, 0);
+      glEnableVertexAttribArray(1);
+      glVertexAttribDivisor(1, 1);
+      glVertexAttribPointer(2, 4, GL_FLOAT, false, INSTANCE_STRIDE_BYTES, 4 * Float.BYTES);
+      glEnableVertexAttribArray(2);
+      glVertexAttribDivisor(2, 1);
+
+      GLStateCache.bindVertexArray(0);
+    } finally {
+      MemoryUtil.memFree(cornerBuffer);
+      MemoryUtil.memFree(indexBuffer);
+    }
+  }
+
+  /**
+   * Prepares the particle pass for the given camera.
+   *
+   * @param camera The world camera.
+   */
+  public void begin(Camera camera) {
+    cameraBuffer.bind();
+    cameraBuffer.update(camera);
+    shader.bind();
+    shader.setUniform("uTextureSampler", 0);
+    GLStateCache.setBlendEnabled(true);
+  }
+
+  /**
+   * Uploads and draws a group of particles sharing a texture and blend mode.
+   *
+   * @param texture   The particle texture.
+   * @param additive  True for additive blending, false for regular alpha blending.
+   * @param instances Instance data from the buffer's position to its limit.
+   * @param count     The number of particles in the buffer.
+   */
+  public void draw(Texture texture, boolean additive, FloatBuffer instances, int count) {
+    if (count == 0) {
+      return;
+    }
+    GLStateCache.blendFunc(GL_SRC_ALPHA, additive ? GL_ONE : GL_ONE_MINUS_SRC_ALPHA);
+    texture.bind(0);
+    GLStateCache.bindVertexArray(vaoId);
+    GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    glBufferData(GL_ARRAY_BUFFER, (long) count * INSTANCE_STRIDE_BYTES, GL_STREAM_DRAW);
+    glBufferSubData(GL_ARRAY_BUFFER, 0, instances);
+    glDrawElementsInstanced(GL_TRIANGLES, INDEX_COUNT, GL_UNSIGNED_INT, 0, count);
+  }
+
+  /**
+   * Ends the particle pass.
+   */
+  public void end() {
+    GLStateCache.setBlendEnabled(false);
+  }
+
+  @Override
+  public void close() {
+    GLStateCache.deleteBuffer(cornerVboId);
+    GLStateCache.deleteBuffer(eboId);
+    GLStateCache.deleteBuffer(instanceVboId);
+    GLStateCache.deleteVertexArray(vaoId);
+    shader.close();
+  }
+}
@@ -0,0 +1,193 @@
+package september.engine.rendering.gl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.lwjgl.opengl.GL11.GL_RENDERER;
+import static org.lwjgl.opengl.GL11.GL_VENDOR;
+import static org.lwjgl.opengl.GL11.GL_VERSION;
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL11.glGetString;
+import static org.lwjgl.opengl.GL41.GL_NUM_PROGRAM_BINARY_FORMATS;
+
+/**
+ * Stores linked shader program binaries on disk so later runs can skip compiling and linking.
+ * <p>
+ * Each entry is keyed by a hash of the final shader sources together with the driver's vendor,
+ * renderer and version strings, so a driver update or a source change simply misses the cache.
+ * Drivers may still reject a stored binary; {@link Shader} then evicts it, falls back to
+ * compiling from source and stores a fresh entry. A reloaded shader evicts the entry for its
+ * previous sources. The cache is best effort: I/O failures are logged and treated
+ * as misses.
+ * <p>
+ * Shaders consult the cache set with {@link #install(ProgramBinaryCache)}. No cache is installed
+ * by default.
+ */
+public final class ProgramBinaryCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ProgramBinaryCache.class);
+  private static final String FILE_SUFFIX = ".bin";
+  private static final int MAGIC = 0x53505247; // "SPRG"
+
+  private static ProgramBinaryCache installed;
+
+  private final Path directory;
+  private final String driverFingerprint;
+
+  /**
+   * Creates a cache in the given directory for a specific driver.
+   *
+   * @param directory         The directory holding the binaries; created on first store.
+   * @param driverFingerprint Identifies the driver that produced the binaries.
+   */
+  public ProgramBinaryCache(Path directory, String driverFingerprint) {
+    this.directory = directory;
+    this.driverFingerprint = driverFingerprint;
+  }
+
+  /**
+   * Creates a cache for the driver behind the current OpenGL context.
+   *
+   * @param directory The directory holding the binaries.
+   * @return The cache, or empty if the driver supports no program binary formats.
+   */
+  public static Optional<ProgramBinaryCache> forCurrentContext(Path directory) {
+    if (glGetInteger(GL_NUM_PROGRAM_BINARY_FORMATS) == 0) {
+      log.info("Driver offers no program binary formats; shader binary cache disabled");
+      return Optional.empty();
+    }
+    String fingerprint = glGetString(GL_VENDOR) + '\n' + glGetString(GL_RENDERER) + '\n' + glGetString(GL_VERSION);
+    return Optional.of(new ProgramBinaryCache(directory, fingerprint));
+  }
+
+  /**
+   * Sets the cache consulted by every shader created afterwards.
+   *
+   * @param cache The cache to use, or null to compile every shader from source.
+   */
+  public static void install(ProgramBinaryCache cache) {
+    installed = cache;
+  }
+
+  /**
+   * Gets the cache consulted by newly created shaders.
+   *
+   * @return The installed cache, or null if none is installed.
+   */
+  public static ProgramBinaryCache installed() {
+    return installed;
+  }
+
+  /**
+   * Computes the cache key for a pair of shader sources.
+   *
+   * @param vertexSource   The final vertex shader source.
+   * @param fragmentSource The final fragment shader source.
+   * @return A hex-encoded SHA-256 hash of the sources and the driver fingerprint.
+   */
+  public String key(String vertexSource, String fragmentSource) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(driverFingerprint.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(vertexSource.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(fragmentSource.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Reads a stored program binary.
+   *
+   * @param key The cache key.
+   * @return The binary, or empty if there is no readable entry for the key.
+   */
+  public Optional<Binary> load(String key) {
+    Path file = directory.resolve(key + FILE_SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (InputStream in = Files.newInputStream(file); DataInputStream data = new DataInputStream(in)) {
+      if (data.readInt() != MAGIC) {
+        log.warn("Ignoring shader binary with unknown header: {}", file);
+        return Optional.empty();
+      }
+      int format = data.readInt();
+      int length = data.readInt();
+      if (length <= 0) {
+        return Optional.empty();
+      }
+      byte[] bytes = new byte[length];
+      data.readFully(bytes);
+      return Optional.of(new Binary(format, bytes));
+    } catch (IOException e) {
+      log.warn("Failed to read shader binary {}", file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes a program binary, replacing any existing entry for the key.
+   *
+   * @param key    The cache key.
+   * @param binary The binary to store.
+   */
+  public void store(String key, Binary binary) {
+    Path file = directory.resolve(key + FILE_SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(binary.data().length + 12);
+      try (DataOutputStream data = new DataOutputStream(bytes)) {
+        data.writeInt(MAGIC);
+        data.writeInt(binary.format());
+        data.writeInt(binary.data().length);
+        data.write(binary.data());
+      }
+      // Write beside the target and move it into place so readers never see a partial file.
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      Files.write(temp, bytes.toByteArray());
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Failed to write shader binary {}", file, e);
+    }
+  }
+
+  /**
+   * Removes an entry, typically after the driver rejected it or its sources changed.
+   *
+   * @param key The cache key.
+   */
+  public void evict(String key) {
+    try {
+      Files.deleteIfExists(directory.resolve(key + FILE_SUFFIX));
+    } catch (IOException e) {
+      log.warn("Failed to delete shader binary {}", key, e);
+    }
+  }
+
+  /**
+   * A driver-specific program binary.
+   *
+   * @param format The binary format reported by {@code glGetProgramBinary}.
+   * @param data   The binary contents.
+   */
+  public record Binary(int format, byte[] data) {
+  }
+}
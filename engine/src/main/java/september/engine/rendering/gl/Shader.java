@@ -2,51 +2,150 @@ package september.engine.rendering.gl;
 
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
+import org.lwjgl.BufferUtils;
 import org.lwjgl.system.MemoryStack;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_LENGTH;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_RETRIEVABLE_HINT;
+import static org.lwjgl.opengl.GL41.glGetProgramBinary;
+import static org.lwjgl.opengl.GL41.glProgramBinary;
+import static org.lwjgl.opengl.GL41.glProgramParameteri;
 
 /**
  * Manages an OpenGL shader program, including compiling, linking, and setting uniforms.
+ * <p>
+ * When a {@link ProgramBinaryCache} is installed, the linked program is loaded from its stored
+ * binary if the driver accepts it, and compiled from source otherwise. Entries the driver rejects,
+ * and the entry for a shader's sources before a reload, are evicted.
  */
 public class Shader implements AutoCloseable {
-  private final int programId;
+  private int programId;
   // Individual shader IDs are no longer needed as fields after linking
   private final Map<String, Integer> uniforms = new HashMap<>();
+  // The binary cache key of the current sources, or null when no cache was installed
+  private String cacheKey;
 
   public Shader(String vertexSource, String fragmentSource) {
+    programId = createProgram(vertexSource, fragmentSource);
+  }
+
+  /**
+   * Rebuilds the program from new sources, for example after a shader file was edited. If the
+   * new sources fail to compile or link, the exception is thrown and the current program is kept.
+   *
+   * @param vertexSource   The new vertex shader source.
+   * @param fragmentSource The new fragment shader source.
+   */
+  public void reload(String vertexSource, String fragmentSource) {
+    String previousKey = cacheKey;
+    int program = createProgram(vertexSource, fragmentSource);
+    ProgramBinaryCache cache = ProgramBinaryCache.installed();
+    if (cache != null && previousKey != null && !previousKey.equals(cacheKey)) {
+      // The old sources are gone from disk, so their binary would never be hit again.
+      cache.evict(previousKey);
+    }
+    GLStateCache.deleteProgram(programId);
+    programId = program;
+    // Locations belong to the old program.
+    uniforms.clear();
+  }
+
+  private int createProgram(String vertexSource, String fragmentSource) {
+    ProgramBinaryCache cache = ProgramBinaryCache.installed();
+    if (cache == null) {
+      int program = compileAndLink(vertexSource, fragmentSource, false);
+      cacheKey = null;
+      return program;
+    }
+
+    String key = cache.key(vertexSource, fragmentSource);
+    Optional<ProgramBinaryCache.Binary> binary = cache.load(key);
+    int cached = binary.map(Shader::createFromBinary).orElse(0);
+    if (cached != 0) {
+      cacheKey = key;
+      return cached;
+    }
+    if (binary.isPresent()) {
+      // Rejected by the driver; drop it so a failed compile below does not leave it behind.
+      cache.evict(key);
+    }
+    int program = compileAndLink(vertexSource, fragmentSource, true);
+    cache.store(key, readBinary(program));
+    cacheKey = key;
+    return program;
+  }
+
+  private int compileAndLink(String vertexSource, String fragmentSource, boolean retrievable) {
     int vertexShaderId = createShader(vertexSource, GL_VERTEX_SHADER);
     int fragmentShaderId = createShader(fragmentSource, GL_FRAGMENT_SHADER);
 
-    programId = glCreateProgram();
-    glAttachShader(programId, vertexShaderId);
-    glAttachShader(programId, fragmentShaderId);
-    glLinkProgram(programId);
+    int program = glCreateProgram();
+    glAttachShader(program, vertexShaderId);
+    glAttachShader(program, fragmentShaderId);
+    if (retrievable) {
+      glProgramParameteri(program, GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+    }
+    glLinkProgram(program);
 
-    if (glGetProgrami(programId, GL_LINK_STATUS) == 0) {
-      throw new RuntimeException("Error linking shader code: " + glGetProgramInfoLog(programId, 1024));
+    if (glGetProgrami(program, GL_LINK_STATUS) == 0) {
+      throw new RuntimeException("Error linking shader code: " + glGetProgramInfoLog(program, 1024));
     }
     // Validate program (useful during development)
-    glValidateProgram(programId); // added for test expectations
+    glValidateProgram(program); // added for test expectations
 
     // Best Practice: Detach and delete the individual shaders after a successful link
     // as they are no longer needed.
-    glDetachShader(programId, vertexShaderId);
-    glDetachShader(programId, fragmentShaderId);
+    glDetachShader(program, vertexShaderId);
+    glDetachShader(program, fragmentShaderId);
     glDeleteShader(vertexShaderId);
     glDeleteShader(fragmentShaderId);
+    return program;
+  }
+
+  /**
+   * Creates a program from a stored binary.
+   *
+   * @return The program, or 0 if the driver rejected the binary.
+   */
+  private static int createFromBinary(ProgramBinaryCache.Binary binary) {
+    int program = glCreateProgram();
+    ByteBuffer data = BufferUtils.createByteBuffer(binary.data().length);
+    data.put(binary.data()).flip();
+    glProgramBinary(program, binary.format(), data);
+    if (glGetProgrami(program, GL_LINK_STATUS) == 0) {
+      glDeleteProgram(program);
+      return 0;
+    }
+    return program;
+  }
+
+  private static ProgramBinaryCache.Binary readBinary(int program) {
+    int length = glGetProgrami(program, GL_PROGRAM_BINARY_LENGTH);
+    ByteBuffer data = BufferUtils.createByteBuffer(length);
+    try (MemoryStack stack = MemoryStack.stackPush()) {
+      IntBuffer written = stack.mallocInt(1);
+      IntBuffer format = stack.mallocInt(1);
+      glGetProgramBinary(program, written, format, data);
+      byte[] bytes = new byte[written.get(0)];
+      data.get(bytes);
+      return new ProgramBinaryCache.Binary(format.get(0), bytes);
+    }
   }
 
   public void bind() {
-    glUseProgram(programId);
+    GLStateCache.useProgram(programId);
   }
 
   public void unbind() {
-    glUseProgram(0);
+    GLStateCache.useProgram(0);
   }
 
   /**
@@ -70,6 +169,16 @@ public class Shader implements AutoCloseable {
     glUniform3f(location, value.x, value.y, value.z);
   }
 
+  /**
+   * Caches and sets a vec4 uniform from its components.
+   *
+   * @param name The name of the uniform in the shader code.
+   */
+  public void setUniform(String name, float x, float y, float z, float w) {
+    int location = getUniformLocation(name);
+    glUniform4f(location, x, y, z, w);
+  }
+
   /**
    * Caches and sets an integer uniform. This is essential for setting texture samplers.
    *
@@ -104,7 +213,7 @@ public class Shader implements AutoCloseable {
   public void close() {
     unbind();
     if (programId != 0) {
-      glDeleteProgram(programId);
+      GLStateCache.deleteProgram(programId);
     }
   }
 }
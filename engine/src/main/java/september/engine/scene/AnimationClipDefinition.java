@@ -0,0 +1,12 @@
+package september.engine.scene;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record AnimationClipDefinition(
+  @JsonProperty("name") String name,
+  @JsonProperty("frames") int[] frames,
+  @JsonProperty("fps") float fps,
+  @JsonProperty("loop") boolean loop
+) {
+
+}
@@ -6,8 +6,10 @@ import java.util.List;
 
 public record AssetManifest(
   @JsonProperty("textures") List<TextureDefinition> textures,
-  @JsonProperty("meshes") List<MeshDefinition> meshes
+  @JsonProperty("meshes") List<MeshDefinition> meshes,
+  @JsonProperty("spriteSheets") List<SpriteSheetDefinition> spriteSheets,
+  @JsonProperty("fonts") List<FontDefinition> fonts,
+  @JsonProperty("music") List<MusicDefinition> music
 ) {
 
 }
-
@@ -0,0 +1,11 @@
+package september.engine.scene;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record FontDefinition(
+  @JsonProperty("handle") String handle,
+  @JsonProperty("path") String path,
+  @JsonProperty("pixelHeight") float pixelHeight
+) {
+
+}
@@ -0,0 +1,13 @@
+package september.engine.scene;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A music track that is streamed from its file while it plays instead of being decoded up front.
+ */
+public record MusicDefinition(
+  @JsonProperty("handle") String handle,
+  @JsonProperty("path") String path
+) {
+
+}
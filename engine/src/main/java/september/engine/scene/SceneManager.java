@@ -2,14 +2,26 @@ package september.engine.scene;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import september.engine.assets.AssetLoader;
+import september.engine.assets.AssetType;
 import september.engine.assets.ResourceManager;
 import september.engine.ecs.Component;
 import september.engine.ecs.IWorld;
+import september.engine.ecs.components.SpriteComponent;
+import september.engine.rendering.AnimationClip;
+import september.engine.rendering.SpriteSheet;
 import september.engine.scene.json.CustomJomlModule;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class SceneManager {
@@ -17,6 +29,11 @@ public class SceneManager {
 
   private final Map<String, Class<? extends Component>> componentRegistry;
   private final ResourceManager resourceManager;
+  private String activeScene;
+  // Bumped by every load and unload, so an async load can tell it was superseded.
+  private int loadGeneration;
+  // The entity created for each named template of the active scene, for incremental reloads.
+  private final Map<String, SceneEntity> sceneEntities = new HashMap<>();
 
   public SceneManager(Map<String, Class<? extends Component>> componentRegistry, ResourceManager resourceManager) {
     this.componentRegistry = componentRegistry;
@@ -25,50 +42,270 @@ public class SceneManager {
 
   public void load(String path, IWorld world) {
     log.info("Loading scene: {}", path);
+    loadGeneration++;
     world.getEntitiesWith().forEach(world::destroyEntity);
+    sceneEntities.clear();
 
-    try (InputStream sceneStream = SceneManager.class.getResourceAsStream(path)) {
-      if (sceneStream == null) {
-        throw new IOException("Scene file not found: " + path);
-      }
-      Scene scene = MAPPER.readValue(sceneStream, Scene.class);
-      log.info("Successfully parsed scene: {}", scene.name());
+    try {
+      Scene scene = parse(path);
 
       // Step 1: Load all assets from the manifest
+      retainAssets(path, scene.manifest());
       loadAssets(scene.manifest());
 
       // Step 2: Create all entities from the templates
+      createEntities(scene, world);
+    } catch (Exception e) {
+      log.error("Failed to load scene {}", path, e);
+    }
+  }
+
+  /**
+   * Loads a scene without blocking the main loop. The previous scene's entities are destroyed
+   * immediately; textures are then decoded in the background and uploaded by
+   * {@link ResourceManager#processUploads()}, and the scene's entities are created on the main
+   * thread once every texture in the manifest can be resolved. If the scene is unloaded or another
+   * scene is loaded first, its entities are never created.
+   *
+   * @param path  The classpath path to the scene file.
+   * @param world The world to populate.
+   * @return A future completed on the main thread once the scene's entities exist.
+   */
+  public CompletableFuture<Void> loadAsync(String path, IWorld world) {
+    log.info("Loading scene asynchronously: {}", path);
+    int generation = ++loadGeneration;
+    world.getEntitiesWith().forEach(world::destroyEntity);
+    sceneEntities.clear();
+
+    Scene scene;
+    try {
+      scene = parse(path);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to load scene {}", path, e);
+      return CompletableFuture.failedFuture(e);
+    }
+
+    AssetManifest manifest = scene.manifest();
+    retainAssets(path, manifest);
+    List<CompletableFuture<?>> pending = new ArrayList<>();
+    if (manifest != null && manifest.textures() != null) {
+      for (TextureDefinition textureDef : manifest.textures()) {
+        pending.add(resourceManager.loadTextureAsync(textureDef.handle(), textureDef.path()));
+      }
+    }
+    // Meshes, sprite sheets and fonts are small and are still created synchronously.
+    loadAssets(manifest, false);
+
+    return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+      .thenRunAsync(() -> {
+        if (generation != loadGeneration) {
+          // Unloaded or replaced while the textures were uploading; its assets are already released.
+          log.info("Skipping entities of superseded scene {}", path);
+          return;
+        }
+        createEntities(scene, world);
+      }, resourceManager.getMainThreadExecutor())
+      .whenComplete((ignored, error) -> {
+        if (error != null) {
+          log.error("Failed to load scene {}", path, error);
+        }
+      });
+  }
+
+  /**
+   * Starts decoding the textures of a scene that is likely to be loaded next, so that loading it
+   * later does not wait for image decoding. Only the scene file is read on the calling thread;
+   * the images are decoded in the background at low priority and nothing is uploaded to the GPU
+   * or added to the world.
+   *
+   * @param path The classpath path to the scene file.
+   * @see ResourceManager#prefetchTexture(String)
+   */
+  public void prefetch(String path) {
+    try {
+      AssetManifest manifest = parse(path).manifest();
+      if (manifest != null && manifest.textures() != null) {
+        manifest.textures().forEach(textureDef -> resourceManager.prefetchTexture(textureDef.path()));
+      }
+    } catch (IOException | RuntimeException e) {
+      // Prefetching is only a hint; the real load reports the problem.
+      log.warn("Failed to prefetch scene {}", path, e);
+    }
+  }
+
+  /**
+   * Destroys every entity and releases the assets of the active scene. Assets no other scene
+   * holds are freed at the start of the next frame.
+   *
+   * @param world The world to clear.
+   */
+  public void unload(IWorld world) {
+    loadGeneration++;
+    world.getEntitiesWith().forEach(world::destroyEntity);
+    sceneEntities.clear();
+    if (activeScene != null) {
+      resourceManager.releaseScope(activeScene);
+      activeScene = null;
+    }
+  }
+
+  /**
+   * Re-applies the active scene after its file changed, without restarting it. Entities are
+   * matched to templates by name: components whose JSON changed are replaced, components no
+   * longer listed are removed, new templates create entities and removed templates destroy theirs.
+   * Entities and components the file did not change keep their runtime state, and assets newly
+   * listed in the manifest are loaded. Does nothing if the path is not the active scene.
+   *
+   * @param path  The classpath path to the changed scene file.
+   * @param world The world holding the active scene's entities.
+   * @return True if the path was the active scene and was re-applied.
+   */
+  public boolean reload(String path, IWorld world) {
+    if (activeScene == null || !AssetLoader.normalize(activeScene).equals(AssetLoader.normalize(path))) {
+      return false;
+    }
+    log.info("Reloading scene: {}", activeScene);
+    try {
+      Scene scene = parse(activeScene);
+      retainAssets(activeScene, scene.manifest());
+      loadAssets(scene.manifest());
+
+      Set<String> names = new HashSet<>();
       for (EntityTemplate template : scene.entities()) {
-        int entity = world.createEntity();
-        log.info("creating entity {} with id {}", template.name(), entity);
-
-        for (Map.Entry<String, Object> componentEntity : template.components().entrySet()) {
-          String componentName = componentEntity.getKey();
-          Class<? extends Component> componentClass = componentRegistry.get(componentName);
-
-          if (componentClass != null) {
-            Component component = MAPPER.convertValue(componentEntity.getValue(), componentClass);
-            world.addComponent(entity, component);
-          } else {
-            log.warn("Unknown component type '{}' for entity '{}'", componentName, template.name());
-          }
+        names.add(template.name());
+        SceneEntity existing = sceneEntities.get(template.name());
+        if (existing == null || !world.getEntitiesWith().contains(existing.entityId())) {
+          createEntity(template, world);
+        } else {
+          updateEntity(existing, template, world);
         }
       }
+      sceneEntities.entrySet().removeIf(entry -> {
+        if (names.contains(entry.getKey())) {
+          return false;
+        }
+        world.destroyEntity(entry.getValue().entityId());
+        return true;
+      });
+      return true;
     } catch (Exception e) {
-      log.error("Failed to load scene {}", path, e);
+      log.error("Failed to reload scene {}", activeScene, e);
+      return false;
+    }
+  }
+
+  /**
+   * Makes a scene the owner of its manifest's assets, releasing those of the previous scene.
+   * Assets listed by both scenes are acquired before they could be freed, so they stay loaded.
+   */
+  private void retainAssets(String path, AssetManifest manifest) {
+    if (activeScene != null) {
+      resourceManager.releaseScope(activeScene);
+    }
+    activeScene = path;
+    if (manifest == null) {
+      return;
+    }
+    if (manifest.textures() != null) {
+      manifest.textures().forEach(def -> resourceManager.acquire(path, AssetType.TEXTURE, def.handle()));
+    }
+    if (manifest.meshes() != null) {
+      manifest.meshes().forEach(def -> resourceManager.acquire(path, AssetType.MESH, def.handle()));
+    }
+    if (manifest.spriteSheets() != null) {
+      manifest.spriteSheets().forEach(def -> resourceManager.acquire(path, AssetType.SPRITE_SHEET, def.handle()));
+    }
+    if (manifest.fonts() != null) {
+      manifest.fonts().forEach(def -> resourceManager.acquire(path, AssetType.FONT, def.handle()));
+    }
+    if (manifest.music() != null) {
+      manifest.music().forEach(def -> resourceManager.acquire(path, AssetType.MUSIC, def.handle()));
+    }
+  }
+
+  private Scene parse(String path) throws IOException {
+    // Read through the AssetLoader so packed scenes and edited source files are picked up.
+    Scene scene = MAPPER.readValue(AssetLoader.readResourceToString(path), Scene.class);
+    log.info("Successfully parsed scene: {}", scene.name());
+    return scene;
+  }
+
+  private void createEntities(Scene scene, IWorld world) {
+    for (EntityTemplate template : scene.entities()) {
+      createEntity(template, world);
+    }
+  }
+
+  private void createEntity(EntityTemplate template, IWorld world) {
+    int entity = world.createEntity();
+    log.info("creating entity {} with id {}", template.name(), entity);
+
+    for (Map.Entry<String, Object> componentEntity : template.components().entrySet()) {
+      addComponent(entity, template.name(), componentEntity.getKey(), componentEntity.getValue(), world);
+    }
+    sceneEntities.put(template.name(), new SceneEntity(entity, template.components()));
+  }
+
+  private void updateEntity(SceneEntity existing, EntityTemplate template, IWorld world) {
+    int entity = existing.entityId();
+    Map<String, Object> previous = existing.components();
+    for (Map.Entry<String, Object> componentEntity : template.components().entrySet()) {
+      if (!Objects.equals(previous.get(componentEntity.getKey()), componentEntity.getValue())) {
+        addComponent(entity, template.name(), componentEntity.getKey(), componentEntity.getValue(), world);
+      }
+    }
+    for (String componentName : previous.keySet()) {
+      Class<? extends Component> componentClass = componentRegistry.get(componentName);
+      if (componentClass != null && !template.components().containsKey(componentName)) {
+        world.removeComponent(entity, componentClass);
+      }
+    }
+    sceneEntities.put(template.name(), new SceneEntity(entity, template.components()));
+  }
+
+  private void addComponent(int entity, String templateName, String componentName, Object json, IWorld world) {
+    Class<? extends Component> componentClass = componentRegistry.get(componentName);
+
+    if (componentClass != null) {
+      Component component = MAPPER.convertValue(json, componentClass);
+      world.addComponent(entity, internHandles(component));
+    } else {
+      log.warn("Unknown component type '{}' for entity '{}'", componentName, templateName);
+    }
+  }
+
+  /**
+   * Replaces the string handles a component is drawn with by interned IDs, so render systems can
+   * resolve them without hashing.
+   */
+  private Component internHandles(Component component) {
+    if (component instanceof SpriteComponent sprite) {
+      return sprite.withTextureId(resourceManager.textureId(sprite.textureHandle()));
     }
+    return component;
+  }
+
+  /** The entity created from a template and the component JSON it was last built from. */
+  private record SceneEntity(int entityId, Map<String, Object> components) {
   }
 
   private void loadAssets(AssetManifest manifest) {
+    loadAssets(manifest, true);
+  }
+
+  private void loadAssets(AssetManifest manifest, boolean includeTextures) {
     if (manifest == null) {
       return;
     }
 
     log.info("Loading assets from scene manifest...");
-    if (manifest.textures() != null) {
+    if (includeTextures && manifest.textures() != null) {
+      // Decoded concurrently and uploaded as each decode completes.
+      Map<String, String> texturePaths = new LinkedHashMap<>();
       for (TextureDefinition textureDef : manifest.textures()) {
-        resourceManager.loadTexture(textureDef.handle(), textureDef.path());
+        texturePaths.put(textureDef.handle(), textureDef.path());
       }
+      resourceManager.loadTextures(texturePaths);
     }
 
     if (manifest.meshes() != null) {
@@ -76,5 +313,29 @@ public class SceneManager {
         resourceManager.loadProceduralMesh(meshDef.handle(), meshDef.vertices(), meshDef.indices());
       }
     }
+
+    if (manifest.spriteSheets() != null) {
+      for (SpriteSheetDefinition sheetDef : manifest.spriteSheets()) {
+        SpriteSheet sheet = new SpriteSheet(sheetDef.columns(), sheetDef.rows());
+        if (sheetDef.clips() != null) {
+          for (AnimationClipDefinition clipDef : sheetDef.clips()) {
+            sheet.addClip(AnimationClip.ofFps(clipDef.name(), clipDef.frames(), clipDef.fps(), clipDef.loop()));
+          }
+        }
+        resourceManager.registerSpriteSheet(sheetDef.handle(), sheet);
+      }
+    }
+
+    if (manifest.fonts() != null) {
+      for (FontDefinition fontDef : manifest.fonts()) {
+        resourceManager.loadFont(fontDef.handle(), fontDef.path(), fontDef.pixelHeight());
+      }
+    }
+
+    if (manifest.music() != null) {
+      for (MusicDefinition musicDef : manifest.music()) {
+        resourceManager.registerMusic(musicDef.handle(), musicDef.path());
+      }
+    }
   }
 }
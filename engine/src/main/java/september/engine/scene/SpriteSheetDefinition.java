@@ -0,0 +1,14 @@
+package september.engine.scene;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record SpriteSheetDefinition(
+  @JsonProperty("handle") String handle,
+  @JsonProperty("columns") int columns,
+  @JsonProperty("rows") int rows,
+  @JsonProperty("clips") List<AnimationClipDefinition> clips
+) {
+
+}
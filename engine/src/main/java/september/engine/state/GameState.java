@@ -2,6 +2,8 @@ package september.engine.state;
 
 import september.engine.core.EngineServices;
 
+import java.util.List;
+
 /**
  * Represents a distinct state of the game, such as a main menu, playing, or paused.
  * Each state is responsible for its own logic and rendering.
@@ -29,6 +31,17 @@ public interface GameState {
    */
   void onExit(EngineServices services);
 
+  /**
+   * Names the scenes this state is likely to lead to. Their textures are prefetched in the
+   * background once the state has been entered, so switching to them does not wait for decoding.
+   * Images no load has taken are freed when the state exits, once the next state has entered.
+   *
+   * @return The classpath paths of the scene files, empty by default.
+   */
+  default List<String> getPrefetchScenes() {
+    return List.of();
+  }
+
   // Future methods to be added for a stack-based FSM:
   // void onSuspend();
   // void onResume();
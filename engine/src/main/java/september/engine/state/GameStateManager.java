@@ -30,7 +30,7 @@ public class GameStateManager {
    */
   public void pushState(GameState state, EngineServices services) {
     stateStack.push(state);
-    state.onEnter(services);
+    enter(state, services, null);
   }
 
   /**
@@ -38,7 +38,9 @@ public class GameStateManager {
    */
   public void popState(EngineServices services) {
     if (!stateStack.isEmpty()) {
-      stateStack.pop().onExit(services);
+      GameState exited = stateStack.pop();
+      exited.onExit(services);
+      discardPrefetches(exited, services);
     }
   }
 
@@ -49,11 +51,34 @@ public class GameStateManager {
    * @param services The engine services context.
    */
   public void changeState(GameState state, EngineServices services) {
+    GameState exited = null;
     if (!stateStack.isEmpty()) {
-      stateStack.pop().onExit(services);
+      exited = stateStack.pop();
+      exited.onExit(services);
     }
     stateStack.push(state);
+    enter(state, services, exited);
+  }
+
+  private static void enter(GameState state, EngineServices services, GameState exited) {
     state.onEnter(services);
+    // The new state has loaded, or started loading, whatever it needed. Async loads claim their
+    // prefetched images when they start, so the rest was prefetched for nothing.
+    if (exited != null) {
+      discardPrefetches(exited, services);
+    }
+    for (String scene : state.getPrefetchScenes()) {
+      services.sceneManager().prefetch(scene);
+    }
+  }
+
+  /**
+   * Frees the images an exited state prefetched that no load has taken.
+   */
+  private static void discardPrefetches(GameState exited, EngineServices services) {
+    if (!exited.getPrefetchScenes().isEmpty()) {
+      services.resourceManager().discardPrefetched();
+    }
   }
 
   /**
@@ -3,7 +3,9 @@ package september.engine.systems;
 import september.engine.assets.ResourceManager;
 import september.engine.audio.AudioBuffer;
 import september.engine.audio.AudioManager;
-import september.engine.audio.AudioSource;
+import september.engine.audio.AudioThread;
+import september.engine.audio.MusicStream;
+import september.engine.audio.Voice;
 import september.engine.ecs.ISystem;
 import september.engine.ecs.IWorld;
 import september.engine.ecs.components.AudioSourceComponent;
@@ -24,8 +26,14 @@ import java.util.Map;
  * - Background music with fading effects (MusicComponent)
  * - One-shot sound effects (SoundEffectComponent)
  * <p>
- * The system creates and manages OpenAL audio sources for each audio component,
- * applies volume and fade effects, and cleans up finished audio automatically.
+ * The system creates a {@link Voice} for each audio component, applies volume and fade effects,
+ * and cleans up finished audio automatically. Voices only queue commands for the
+ * {@link AudioThread}, so an update never waits for OpenAL, and the playing state it reads back
+ * may lag the mixer by one audio period.
+ * <p>
+ * Music whose handle was registered with {@link ResourceManager#registerMusic(String, String)}
+ * is streamed from its file through a {@link MusicStream}, which the audio thread refills at its
+ * own rate. Other music handles are played from a fully decoded audio buffer.
  */
 public class AudioSystem implements ISystem {
 
@@ -33,10 +41,10 @@ public class AudioSystem implements ISystem {
   private final AudioManager audioManager;
   private final ResourceManager resourceManager;
 
-  // Maps entity IDs to their associated AudioSource instances
-  private final Map<Integer, AudioSource> audioSourceMap = new HashMap<>();
-  private final Map<Integer, AudioSource> musicSourceMap = new HashMap<>();
-  private final Map<Integer, AudioSource> soundEffectSourceMap = new HashMap<>();
+  // Maps entity IDs to their associated Voice instances
+  private final Map<Integer, Voice> audioSourceMap = new HashMap<>();
+  private final Map<Integer, Voice> musicSourceMap = new HashMap<>();
+  private final Map<Integer, Voice> soundEffectSourceMap = new HashMap<>();
 
   public AudioSystem(IWorld world, AudioManager audioManager, ResourceManager resourceManager) {
     this.world = world;
@@ -59,11 +67,11 @@ public class AudioSystem implements ISystem {
 
     for (int entityId : entities) {
       AudioSourceComponent audioComp = world.getComponent(entityId, AudioSourceComponent.class);
-      AudioSource audioSource = audioSourceMap.get(entityId);
+      Voice audioSource = audioSourceMap.get(entityId);
 
       // Create audio source if it doesn't exist
       if (audioSource == null) {
-        audioSource = audioManager.createSource();
+        audioSource = audioManager.createVoice();
         audioSourceMap.put(entityId, audioSource);
 
         // Set initial properties
@@ -111,21 +119,26 @@ public class AudioSystem implements ISystem {
 
     for (int entityId : entities) {
       MusicComponent musicComp = world.getComponent(entityId, MusicComponent.class);
-      AudioSource musicSource = musicSourceMap.get(entityId);
+      Voice musicSource = musicSourceMap.get(entityId);
 
       // Create music source if it doesn't exist
       if (musicSource == null) {
-        musicSource = audioManager.createSource();
+        musicSource = audioManager.createVoice();
         musicSourceMap.put(entityId, musicSource);
 
-        // Music sources are not positioned in 3D space
-        musicSource.setPosition(0.0f, 0.0f, 0.0f);
+        // Music voices stay at the origin, where they are created
+        musicSource.setVolume(musicComp.currentVolume);
         musicSource.setLooping(musicComp.looping);
 
         // Start playing if auto-play is enabled
         if (musicComp.autoPlay && !musicComp.isPlaying) {
-          AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(musicComp.musicBufferHandle);
-          musicSource.play(buffer);
+          String streamPath = resourceManager.resolveMusicPath(musicComp.musicBufferHandle);
+          if (streamPath != null) {
+            musicSource.stream(streamPath, musicComp.looping);
+          } else {
+            AudioBuffer buffer = resourceManager.resolveAudioBufferHandle(musicComp.musicBufferHandle);
+            musicSource.play(buffer);
+          }
           musicComp.isPlaying = true;
 
           // Start with fade-in if not already fading
@@ -135,7 +148,7 @@ public class AudioSystem implements ISystem {
         }
       }
 
-      // Handle fade effects
+      // Handle fade effects; the audio thread ramps between the volumes set each update
       updateMusicFades(musicComp, musicSource, deltaTime);
 
       // Update music source properties
@@ -159,7 +172,7 @@ public class AudioSystem implements ISystem {
   /**
    * Updates fade effects for a music component.
    */
-  private void updateMusicFades(MusicComponent musicComp, AudioSource musicSource, float deltaTime) {
+  private void updateMusicFades(MusicComponent musicComp, Voice musicSource, float deltaTime) {
     if (musicComp.fadingIn) {
       musicComp.fadeTimer += deltaTime;
       float fadeProgress = Math.min(musicComp.fadeTimer / musicComp.fadeDuration, 1.0f);
@@ -194,10 +207,10 @@ public class AudioSystem implements ISystem {
 
     for (int entityId : entities) {
       SoundEffectComponent soundComp = world.getComponent(entityId, SoundEffectComponent.class);
-      AudioSource soundSource = soundEffectSourceMap.get(entityId);
+      Voice soundSource = soundEffectSourceMap.get(entityId);
 
       if (soundSource == null && !soundComp.hasBeenTriggered) {
-        soundSource = audioManager.createSource();
+        soundSource = audioManager.createVoice();
         soundEffectSourceMap.put(entityId, soundSource);
 
         soundSource.setVolume(soundComp.volume);
@@ -220,7 +233,7 @@ public class AudioSystem implements ISystem {
 
     // Perform cleanup after iteration to avoid concurrent modification issues
     for (int entityId : entitiesToCleanup) {
-      AudioSource soundSource = soundEffectSourceMap.remove(entityId);
+      Voice soundSource = soundEffectSourceMap.remove(entityId);
       if (soundSource != null) {
         soundSource.close();
       }
@@ -235,7 +248,7 @@ public class AudioSystem implements ISystem {
   /**
    * Cleans up audio sources for entities that no longer have the corresponding audio component.
    */
-  private void cleanupAudioSources(List<Integer> currentEntities, Map<Integer, AudioSource> sourceMap) {
+  private void cleanupAudioSources(List<Integer> currentEntities, Map<Integer, Voice> sourceMap) {
     var currentEntitySet = new java.util.HashSet<>(currentEntities);
     sourceMap.entrySet().removeIf(entry -> {
       if (!currentEntitySet.contains(entry.getKey())) {
@@ -276,7 +289,7 @@ public class AudioSystem implements ISystem {
    * Pauses all music components.
    */
   public void pauseAllMusic() {
-    for (AudioSource musicSource : musicSourceMap.values()) {
+    for (Voice musicSource : musicSourceMap.values()) {
       if (musicSource.isPlaying()) {
         musicSource.pause();
       }
@@ -287,7 +300,7 @@ public class AudioSystem implements ISystem {
    * Resumes all paused music components.
    */
   public void resumeAllMusic() {
-    for (AudioSource musicSource : musicSourceMap.values()) {
+    for (Voice musicSource : musicSourceMap.values()) {
       if (musicSource.isPaused()) {
         musicSource.resume();
       }
@@ -298,13 +311,13 @@ public class AudioSystem implements ISystem {
    * Stops all audio playback and cleans up resources.
    */
   public void stopAll() {
-    audioSourceMap.values().forEach(AudioSource::close);
+    audioSourceMap.values().forEach(Voice::close);
     audioSourceMap.clear();
 
-    musicSourceMap.values().forEach(AudioSource::close);
+    musicSourceMap.values().forEach(Voice::close);
     musicSourceMap.clear();
 
-    soundEffectSourceMap.values().forEach(AudioSource::close);
+    soundEffectSourceMap.values().forEach(Voice::close);
     soundEffectSourceMap.clear();
   }
 }
@@ -0,0 +1,298 @@
+package september.engine.systems;
+
+import org.lwjgl.system.MemoryUtil;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.ISystem;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.components.ParticleEmitterComponent;
+import september.engine.ecs.components.TransformComponent;
+import september.engine.rendering.Camera;
+import september.engine.rendering.ParticlePool;
+import september.engine.rendering.Texture;
+import september.engine.rendering.gl.CameraUniformBuffer;
+import september.engine.rendering.gl.ParticleRenderer;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Spawns, simulates and draws the particles of every {@link ParticleEmitterComponent}.
+ * <p>
+ * Each emitter owns a {@link ParticlePool}; particles never touch the World. Simulation runs on a
+ * worker thread and overlaps the rest of the frame: an update first waits for the step started in
+ * the previous frame, then spawns new particles and draws the pools on the render thread, and
+ * finally hands the pools to the worker to advance by this frame's delta time. What is drawn is
+ * therefore one step behind the emitters, which is invisible at interactive frame rates.
+ * <p>
+ * Pools are grouped by texture and blend mode, and each group is drawn with one instanced call.
+ */
+public class ParticleSystem implements ISystem, AutoCloseable {
+
+  private static final Comparator<EmitterState> DRAW_ORDER =
+    Comparator.<EmitterState>comparingInt(state -> state.additive ? 1 : 0)
+      .thenComparingInt(state -> state.texture.getTextureId());
+
+  private final IWorld world;
+  private final ResourceManager resourceManager;
+  private final Camera camera;
+  private final ParticleRenderer renderer;
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final Random random;
+  private final Map<Integer, EmitterState> states = new HashMap<>();
+  private final List<EmitterState> drawList = new ArrayList<>();
+  private ParticlePool[] simulationBatch = new ParticlePool[0];
+  private CompletableFuture<Void> pendingStep;
+  private FloatBuffer instanceBuffer;
+  private int currentSweep;
+  private int lastDrawCallCount;
+  private boolean closed;
+
+  /**
+   * Creates a particle system that draws with the given camera.
+   *
+   * @param world           The world whose emitters are simulated.
+   * @param resourceManager The resource manager that resolves particle textures.
+   * @param camera          The world camera.
+   * @param cameraBuffer    The world camera's uniform buffer, shared with the other world passes.
+   */
+  public ParticleSystem(IWorld world, ResourceManager resourceManager, Camera camera,
+                        CameraUniformBuffer cameraBuffer) {
+    this(world, resourceManager, camera, new ParticleRenderer(cameraBuffer), createWorker(), new Random());
+  }
+
+  /**
+   * Creates a particle system with explicit collaborators, allowing tests to run without a GL
+   * context and to simulate synchronously.
+   */
+  ParticleSystem(IWorld world, ResourceManager resourceManager, Camera camera, ParticleRenderer renderer,
+                 Executor executor, Random random) {
+    this.world = world;
+    this.resourceManager = resourceManager;
+    this.camera = camera;
+    this.renderer = renderer;
+    this.executor = executor;
+    this.ownedExecutor = executor instanceof ExecutorService service ? service : null;
+    this.random = random;
+  }
+
+  private static ExecutorService createWorker() {
+    return Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "particle-simulation");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public int getPriority() {
+    return Priority.PARTICLE_RENDER;
+  }
+
+  @Override
+  public void update(float deltaTime) {
+    if (closed) {
+      return;
+    }
+    // The worker owns the pools until its step completes.
+    awaitPendingStep();
+
+    currentSweep++;
+    for (int entityId : world.getEntitiesWith(ParticleEmitterComponent.class, TransformComponent.class)) {
+      ParticleEmitterComponent emitter = world.getComponent(entityId, ParticleEmitterComponent.class);
+      EmitterState state = states.get(entityId);
+      if (state == null || state.emitter != emitter || state.pool.capacity() != emitter.maxParticles) {
+        state = new EmitterState(emitter);
+        states.put(entityId, state);
+      }
+      state.sweepStamp = currentSweep;
+      state.configure(resourceManager.resolveTextureHandle(emitter.textureHandle));
+      spawn(state, world.getComponent(entityId, TransformComponent.class), deltaTime);
+    }
+    states.values().removeIf(state -> state.sweepStamp != currentSweep);
+
+    draw();
+    startStep(deltaTime);
+  }
+
+  /**
+   * Gets the total number of live particles across all emitters.
+   *
+   * @return The live particle count.
+   */
+  public int getLiveParticleCount() {
+    awaitPendingStep();
+    int total = 0;
+    for (EmitterState state : states.values()) {
+      total += state.pool.size();
+    }
+    return total;
+  }
+
+  /**
+   * Gets the number of instanced draw calls issued by the last update.
+   *
+   * @return The draw call count.
+   */
+  public int getLastDrawCallCount() {
+    return lastDrawCallCount;
+  }
+
+  private void spawn(EmitterState state, TransformComponent transform, float deltaTime) {
+    ParticleEmitterComponent emitter = state.emitter;
+    int count = emitter.pendingBurst;
+    emitter.pendingBurst = 0;
+    if (emitter.emitting) {
+      emitter.emissionAccumulator += emitter.emissionRate * deltaTime;
+      int continuous = (int) emitter.emissionAccumulator;
+      emitter.emissionAccumulator -= continuous;
+      count += continuous;
+    }
+
+    float baseAngle = (float) Math.toRadians(emitter.direction);
+    float spread = (float) Math.toRadians(emitter.spread);
+    float px = transform.position.x;
+    float py = transform.position.y;
+    float pz = transform.position.z;
+    for (int i = 0; i < count; i++) {
+      float angle = baseAngle + (random.nextFloat() - 0.5f) * spread;
+      float speed = lerp(emitter.minSpeed, emitter.maxSpeed, random.nextFloat());
+      float lifetime = lerp(emitter.minLifetime, emitter.maxLifetime, random.nextFloat());
+      if (!state.pool.spawn(px, py, pz, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed, lifetime)) {
+        break;
+      }
+    }
+  }
+
+  private void draw() {
+    drawList.clear();
+    int total = 0;
+    for (EmitterState state : states.values()) {
+      if (state.pool.size() > 0) {
+        drawList.add(state);
+        total += state.pool.size();
+      }
+    }
+    lastDrawCallCount = 0;
+    if (drawList.isEmpty()) {
+      return;
+    }
+    drawList.sort(DRAW_ORDER);
+    ensureInstanceCapacity(total * ParticlePool.INSTANCE_FLOATS);
+
+    renderer.begin(camera);
+    int runStart = 0;
+    while (runStart < drawList.size()) {
+      EmitterState first = drawList.get(runStart);
+      instanceBuffer.clear();
+      int count = 0;
+      int runEnd = runStart;
+      while (runEnd < drawList.size()
+        && drawList.get(runEnd).texture == first.texture
+        && drawList.get(runEnd).additive == first.additive) {
+        ParticlePool pool = drawList.get(runEnd).pool;
+        pool.writeInstances(instanceBuffer);
+        count += pool.size();
+        runEnd++;
+      }
+      instanceBuffer.flip();
+      renderer.draw(first.texture, first.additive, instanceBuffer, count);
+      lastDrawCallCount++;
+      runStart = runEnd;
+    }
+    renderer.end();
+  }
+
+  private void startStep(float deltaTime) {
+    int count = states.size();
+    if (simulationBatch.length < count) {
+      simulationBatch = new ParticlePool[count];
+    }
+    int n = 0;
+    for (EmitterState state : states.values()) {
+      simulationBatch[n++] = state.pool;
+    }
+    ParticlePool[] batch = simulationBatch;
+    int batchSize = n;
+    pendingStep = CompletableFuture.runAsync(() -> {
+      for (int i = 0; i < batchSize; i++) {
+        batch[i].simulate(deltaTime);
+      }
+    }, executor);
+  }
+
+  private void awaitPendingStep() {
+    if (pendingStep != null) {
+      pendingStep.join();
+      pendingStep = null;
+    }
+  }
+
+  private void ensureInstanceCapacity(int floats) {
+    if (instanceBuffer == null || instanceBuffer.capacity() < floats) {
+      if (instanceBuffer != null) {
+        MemoryUtil.memFree(instanceBuffer);
+      }
+      // Grow geometrically so a rising particle count does not reallocate every frame
+      int capacity = Math.max(floats, instanceBuffer == null ? floats : instanceBuffer.capacity() * 2);
+      instanceBuffer = MemoryUtil.memAllocFloat(capacity);
+    }
+  }
+
+  private static float lerp(float from, float to, float t) {
+    return from + (to - from) * t;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      awaitPendingStep();
+    } finally {
+      if (ownedExecutor != null) {
+        ownedExecutor.shutdownNow();
+      }
+      if (instanceBuffer != null) {
+        MemoryUtil.memFree(instanceBuffer);
+        instanceBuffer = null;
+      }
+      renderer.close();
+      states.clear();
+    }
+  }
+
+  /**
+   * The pool and resolved render state of one emitter.
+   */
+  private static final class EmitterState {
+    private final ParticleEmitterComponent emitter;
+    private final ParticlePool pool;
+    private Texture texture;
+    private boolean additive;
+    private int sweepStamp;
+
+    EmitterState(ParticleEmitterComponent emitter) {
+      this.emitter = emitter;
+      this.pool = new ParticlePool(emitter.maxParticles);
+    }
+
+    void configure(Texture texture) {
+      this.texture = texture;
+      this.additive = emitter.additive;
+      pool.configure(emitter.gravity.x, emitter.gravity.y, emitter.startSize, emitter.endSize,
+        emitter.startColor, emitter.endColor);
+    }
+  }
+}
@@ -1,58 +1,248 @@
 package september.engine.systems;
 
+import org.joml.Vector4f;
 import september.engine.assets.ResourceManager;
 import september.engine.ecs.ISystem;
 import september.engine.ecs.IWorld;
+import september.engine.ecs.components.SpriteAnimationComponent;
 import september.engine.ecs.components.SpriteComponent;
+import september.engine.ecs.components.StaticSpriteComponent;
+import september.engine.ecs.components.TilemapComponent;
 import september.engine.ecs.components.TransformComponent;
 import september.engine.rendering.Camera;
 import september.engine.rendering.Mesh;
 import september.engine.rendering.Renderer;
+import september.engine.rendering.SortKey;
+import september.engine.rendering.SpatialGrid;
+import september.engine.rendering.SpriteSheet;
+import september.engine.rendering.StaticSpriteLayer;
 import september.engine.rendering.Texture;
 
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
 /**
  * The system responsible for rendering all sprite entities.
  * <p>
  * This system acts as the bridge between the ECS and the rendering engine.
  * It queries the world for entities with a Transform and a Sprite, resolves their
  * texture and mesh resources, and submits them to the Renderer to be drawn.
+ * <p>
+ * Sprite bounds are kept in a {@link SpatialGrid} that is only modified when a transform changes.
+ * Each frame the grid is queried with the camera's visible bounds, so only on-screen sprites are
+ * resolved, have their matrices built and are submitted to the renderer.
+ * <p>
+ * Entities tagged with a {@link StaticSpriteComponent} bypass the grid and are baked into a
+ * {@link StaticSpriteLayer} instead. Their instance data is uploaded once and only re-uploaded
+ * when a static sprite is added, removed or flagged dirty, so large static scenes cost one
+ * prebuilt batch per visible chunk and texture.
+ * <p>
+ * Entities with a {@link TilemapComponent} are drawn as one static mesh per visible tile chunk.
+ * <p>
+ * Sprites with a {@link SpriteAnimationComponent} draw the region of their texture given by the
+ * current frame of their sprite sheet. They keep the sort key of their texture, so animated
+ * entities sharing a sheet are still batched together regardless of the frame each one shows.
  */
-public class RenderSystem implements ISystem {
+public class RenderSystem implements ISystem, AutoCloseable {
+
+  /** Edge length of a culling cell in world units; a handful of cells covers a typical view. */
+  private static final float CULLING_CELL_SIZE = 8.0f;
+  /** Edge length of a static chunk; larger than a culling cell to keep the batch count low. */
+  private static final float STATIC_CHUNK_SIZE = 16.0f;
+  /**
+   * Shader IDs encoded in sort keys. Baked batches sort ahead of dynamic sprites at the same depth,
+   * so scenery such as floors never covers the characters standing on it.
+   */
+  private static final int STATIC_BATCH_SHADER = 0;
+  private static final int SPRITE_SHADER = 1;
+  private static final String QUAD_MESH = "quad";
 
   private final IWorld world;
   private final Renderer renderer;
   private final ResourceManager resourceManager;
   private final Camera camera;
+  private final SpatialGrid spatialGrid = new SpatialGrid(CULLING_CELL_SIZE);
+  private final StaticSpriteLayer staticLayer;
+  private final TilemapRenderer tilemapRenderer;
+  private final Vector4f visibleBounds = new Vector4f();
+  private final IntConsumer submitVisible = this::submitSprite;
+  private final IntFunction<Texture> resolveStaticTexture;
+  private Mesh quadMesh;
+  private int quadMeshId;
+  private int visibleCount;
+  private int visibleStaticCount;
+  private int visibleTileChunkCount;
+  private boolean closed;
 
   public RenderSystem(IWorld world, Renderer renderer, ResourceManager resourceManager, Camera camera) {
+    this(world, renderer, resourceManager, camera, new StaticSpriteLayer(STATIC_CHUNK_SIZE), new TilemapRenderer());
+  }
+
+  /**
+   * Creates a render system with specific static and tilemap layers, allowing tests to supply ones
+   * whose batches do not require a GL context.
+   */
+  RenderSystem(IWorld world, Renderer renderer, ResourceManager resourceManager, Camera camera,
+               StaticSpriteLayer staticLayer, TilemapRenderer tilemapRenderer) {
     this.world = world;
     this.renderer = renderer;
     this.resourceManager = resourceManager;
     this.camera = camera;
+    this.staticLayer = staticLayer;
+    this.tilemapRenderer = tilemapRenderer;
+    this.resolveStaticTexture = resourceManager::resolveTexture;
   }
 
   @Override
   public void update(float deltaTime) {
+    // A state change earlier in this frame may already have released this system.
+    if (closed) {
+      return;
+    }
     renderer.beginScene(camera);
 
-    // Get all entities that have the components required for sprite rendering
+    // Bring the spatial index and the static layer up to date. Unchanged entities are a no-op,
+    // and entities that lost their components or were destroyed are swept out.
     var renderableEntities = world.getEntitiesWith(TransformComponent.class, SpriteComponent.class);
+    for (int entityId : renderableEntities) {
+      StaticSpriteComponent staticSprite = world.getComponent(entityId, StaticSpriteComponent.class);
+      if (staticSprite != null) {
+        bakeStaticSprite(entityId, staticSprite);
+      } else {
+        indexSprite(entityId, world.getComponent(entityId, TransformComponent.class));
+      }
+    }
+    spatialGrid.sweep();
+    staticLayer.sweep();
+    staticLayer.rebuild();
 
     // For a 2D sprite game, all sprites will use the same underlying quad mesh.
     // We can resolve this once outside the loop for efficiency.
-    Mesh quadMesh = resourceManager.resolveMeshHandle("quad");
+    if (quadMeshId == 0) {
+      quadMeshId = resourceManager.meshId(QUAD_MESH);
+    }
+    quadMesh = resourceManager.resolveMesh(quadMeshId);
 
-    for (int entityId : renderableEntities) {
+    visibleCount = 0;
+    camera.getVisibleBounds(visibleBounds);
+    spatialGrid.query(visibleBounds.x, visibleBounds.y, visibleBounds.z, visibleBounds.w, submitVisible);
+    visibleStaticCount = staticLayer.submitVisible(
+      renderer, resolveStaticTexture, visibleBounds.x, visibleBounds.y, visibleBounds.z, visibleBounds.w, STATIC_BATCH_SHADER);
+    submitTilemaps();
+
+    renderer.endScene();
+  }
+
+  /**
+   * Gets the number of sprites that survived culling and were submitted in the last update.
+   *
+   * @return The visible sprite count.
+   */
+  public int getVisibleCount() {
+    return visibleCount;
+  }
+
+  /**
+   * Gets the number of baked static sprites in chunks that were submitted in the last update.
+   *
+   * @return The visible static sprite count.
+   */
+  public int getVisibleStaticCount() {
+    return visibleStaticCount;
+  }
+
+  /**
+   * Gets the number of tilemap chunks that were submitted in the last update.
+   *
+   * @return The visible tile chunk count.
+   */
+  public int getVisibleTileChunkCount() {
+    return visibleTileChunkCount;
+  }
+
+  /**
+   * Releases the baked static layer's and tilemaps' GPU buffers.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    staticLayer.close();
+    tilemapRenderer.close();
+  }
+
+  private void submitTilemaps() {
+    visibleTileChunkCount = 0;
+    var tilemapEntities = world.getEntitiesWith(TransformComponent.class, TilemapComponent.class);
+    for (int entityId : tilemapEntities) {
+      TilemapComponent tilemap = world.getComponent(entityId, TilemapComponent.class);
       TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
-      SpriteComponent sprite = world.getComponent(entityId, SpriteComponent.class);
+      Texture tileset = resourceManager.resolveTextureHandle(tilemap.tilesetHandle);
+      visibleTileChunkCount += tilemapRenderer.submit(
+        entityId, tilemap, tileset, transform.getTransformMatrix(), renderer,
+        visibleBounds.x, visibleBounds.y, visibleBounds.z, visibleBounds.w, STATIC_BATCH_SHADER);
+    }
+    tilemapRenderer.sweep();
+  }
 
-      // Use the handle from the SpriteComponent to get the actual Texture resource
-      Texture texture = resourceManager.resolveTextureHandle(sprite.textureHandle());
+  private void bakeStaticSprite(int entityId, StaticSpriteComponent staticSprite) {
+    if (staticLayer.contains(entityId) && !staticSprite.dirty) {
+      staticLayer.touch(entityId);
+      return;
+    }
+    TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
+    SpriteComponent sprite = world.getComponent(entityId, SpriteComponent.class);
+    // Bake the ID rather than the texture, so an evicted texture is reloaded when next drawn.
+    int textureId = sprite.textureId() != 0 ? sprite.textureId() : resourceManager.textureId(sprite.textureHandle());
+    staticLayer.put(entityId, textureId, transform.getTransformMatrix());
+    staticSprite.dirty = false;
+  }
 
-      // Submit the quad mesh, the specific texture, and the transform to the renderer.
-      renderer.submit(quadMesh, texture, transform.getTransformMatrix());
+  private void indexSprite(int entityId, TransformComponent transform) {
+    // The sprite quad spans [-0.5, 0.5] in model space. A rotated quad is bounded by the circle
+    // through its corners, which keeps the bounds cheap without building the matrix.
+    float halfWidth = Math.abs(transform.scale.x) * 0.5f;
+    float halfHeight = Math.abs(transform.scale.y) * 0.5f;
+    var rotation = transform.rotation;
+    if (rotation.x != 0.0f || rotation.y != 0.0f || rotation.z != 0.0f) {
+      float radius = (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+      halfWidth = radius;
+      halfHeight = radius;
     }
 
-    renderer.endScene();
+    var position = transform.position;
+    spatialGrid.update(
+      entityId,
+      position.x - halfWidth,
+      position.y - halfHeight,
+      position.x + halfWidth,
+      position.y + halfHeight);
+  }
+
+  private void submitSprite(int entityId) {
+    TransformComponent transform = world.getComponent(entityId, TransformComponent.class);
+    SpriteComponent sprite = world.getComponent(entityId, SpriteComponent.class);
+
+    // Use the handle from the SpriteComponent to get the actual Texture resource
+    Texture texture = resolveTexture(sprite);
+
+    // Submit the quad mesh, the specific texture, and the transform to the renderer,
+    // ordered back-to-front by depth and grouped by texture within a depth.
+    long sortKey = SortKey.of(0, transform.position.z, SPRITE_SHADER, texture.getTextureId());
+    SpriteAnimationComponent animation = world.getComponent(entityId, SpriteAnimationComponent.class);
+    SpriteSheet sheet = animation != null ? animation.resolvedSheet : null;
+    if (sheet != null) {
+      int frame = animation.frame;
+      renderer.submit(quadMesh, texture, transform.getTransformMatrix(),
+        sheet.getU0(frame), sheet.getV0(frame), sheet.getU1(frame), sheet.getV1(frame), sortKey);
+    } else {
+      renderer.submit(quadMesh, texture, transform.getTransformMatrix(), sortKey);
+    }
+    visibleCount++;
+  }
+
+  private Texture resolveTexture(SpriteComponent sprite) {
+    // Sprites from a scene carry an interned ID; ones created at runtime may only have a handle.
+    int id = sprite.textureId();
+    return id != 0 ? resourceManager.resolveTexture(id) : resourceManager.resolveTextureHandle(sprite.textureHandle());
   }
 }
@@ -0,0 +1,101 @@
+package september.engine.systems;
+
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.ISystem;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.components.SpriteAnimationComponent;
+import september.engine.rendering.AnimationClip;
+import september.engine.rendering.SpriteSheet;
+
+/**
+ * Advances every {@link SpriteAnimationComponent} through the frames of its clip.
+ * <p>
+ * Sheets and clips are resolved once and cached on the component, and are only looked up again
+ * when the component switches to another sheet or clip. Steady-state playback therefore reduces
+ * to advancing a timer and an index, without any lookups or allocation.
+ */
+public class SpriteAnimationSystem implements ISystem {
+
+  private final IWorld world;
+  private final ResourceManager resourceManager;
+
+  public SpriteAnimationSystem(IWorld world, ResourceManager resourceManager) {
+    this.world = world;
+    this.resourceManager = resourceManager;
+  }
+
+  @Override
+  public void update(float deltaTime) {
+    for (int entityId : world.getEntitiesWith(SpriteAnimationComponent.class)) {
+      SpriteAnimationComponent animation = world.getComponent(entityId, SpriteAnimationComponent.class);
+      if (!resolve(animation)) {
+        continue;
+      }
+      if (animation.playing && !animation.finished) {
+        advance(animation, deltaTime * animation.speed);
+      }
+    }
+  }
+
+  /**
+   * Ensures the component's cached sheet and clip match its handles, restarting playback if the
+   * sheet or clip changed.
+   *
+   * @return False if the component names no sheet or clip, in which case the entity is not animated.
+   * @throws NullPointerException     if the sheet handle is not registered.
+   * @throws IllegalArgumentException if the sheet has no clip with the component's clip name.
+   */
+  private boolean resolve(SpriteAnimationComponent animation) {
+    if (animation.sheetHandle == null || animation.clip == null) {
+      return false;
+    }
+    boolean sheetChanged = !animation.sheetHandle.equals(animation.resolvedSheetHandle);
+    AnimationClip clip = animation.resolvedClip;
+    if (!sheetChanged && clip != null && clip.name().equals(animation.clip)) {
+      return true;
+    }
+
+    SpriteSheet sheet = animation.resolvedSheet;
+    if (sheet == null || sheetChanged) {
+      sheet = resourceManager.resolveSpriteSheetHandle(animation.sheetHandle);
+      animation.resolvedSheet = sheet;
+      animation.resolvedSheetHandle = animation.sheetHandle;
+    }
+    clip = sheet.getClip(animation.clip);
+    if (clip == null) {
+      throw new IllegalArgumentException(
+        "Clip '" + animation.clip + "' not found in sprite sheet '" + animation.sheetHandle + "'");
+    }
+    animation.resolvedClip = clip;
+    animation.clipFrame = 0;
+    animation.frameTime = 0.0f;
+    animation.finished = false;
+    animation.frame = clip.frames()[0];
+    return true;
+  }
+
+  private static void advance(SpriteAnimationComponent animation, float deltaTime) {
+    AnimationClip clip = animation.resolvedClip;
+    float frameDuration = clip.frameDuration();
+    animation.frameTime += deltaTime;
+    if (animation.frameTime < frameDuration) {
+      return;
+    }
+
+    int steps = (int) (animation.frameTime / frameDuration);
+    animation.frameTime -= steps * frameDuration;
+    int next = animation.clipFrame + steps;
+    int frameCount = clip.frameCount();
+    if (next >= frameCount) {
+      if (clip.loop()) {
+        next %= frameCount;
+      } else {
+        next = frameCount - 1;
+        animation.frameTime = 0.0f;
+        animation.finished = true;
+      }
+    }
+    animation.clipFrame = next;
+    animation.frame = clip.frames()[next];
+  }
+}
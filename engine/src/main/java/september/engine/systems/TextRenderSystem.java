@@ -0,0 +1,165 @@
+package september.engine.systems;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.lwjgl.system.MemoryUtil;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.ISystem;
+import september.engine.ecs.IWorld;
+import september.engine.rendering.FontAtlas;
+import september.engine.rendering.TextLayout;
+import september.engine.rendering.gl.CameraUniformBuffer;
+import september.engine.ui.components.UITextComponent;
+import september.engine.ui.components.UITransformComponent;
+import september.engine.ui.rendering.TextRenderer;
+
+/**
+ * The system responsible for drawing all UI text, on top of the UI images.
+ *
+ * <p>Each text element keeps its glyph layout between frames and only lays its string out again
+ * when the string, font or size changes. The glyphs of every element sharing a font are written
+ * into one instance buffer and drawn with a single call, so a screen full of labels and counters
+ * costs one draw per font.
+ */
+public class TextRenderSystem implements ISystem, AutoCloseable {
+
+  private static final Comparator<UITextComponent> BY_FONT =
+      Comparator.comparingInt(text -> text.layoutFont.getTexture().getTextureId());
+
+  private final IWorld world;
+  private final ResourceManager resourceManager;
+  private final TextRenderer renderer;
+  private final List<UITextComponent> drawList = new ArrayList<>();
+  private FloatBuffer instanceBuffer;
+  private int lastLayoutCount;
+  private int lastDrawCallCount;
+  private int lastGlyphCount;
+
+  /**
+   * Creates a text render system drawing in screen space. The engine keeps the screen camera's
+   * buffer in step with the window size.
+   *
+   * @param world           The world whose text elements are drawn.
+   * @param resourceManager The resource manager that resolves fonts.
+   * @param cameraBuffer    The screen-space camera's uniform buffer.
+   */
+  public TextRenderSystem(IWorld world, ResourceManager resourceManager, CameraUniformBuffer cameraBuffer) {
+    this(world, resourceManager, new TextRenderer(cameraBuffer));
+  }
+
+  /**
+   * Creates a text render system around an existing renderer, allowing tests to run without a GL
+   * context.
+   */
+  TextRenderSystem(IWorld world, ResourceManager resourceManager, TextRenderer renderer) {
+    this.world = world;
+    this.resourceManager = resourceManager;
+    this.renderer = renderer;
+  }
+
+  @Override
+  public int getPriority() {
+    return Priority.TEXT_RENDER;
+  }
+
+  @Override
+  public void update(float deltaTime) {
+    drawList.clear();
+    lastLayoutCount = 0;
+    int glyphs = 0;
+    for (int entityId : world.getEntitiesWith(UITransformComponent.class, UITextComponent.class)) {
+      UITextComponent text = world.getComponent(entityId, UITextComponent.class);
+      if (text.text == null || text.fontHandle == null) {
+        continue;
+      }
+      FontAtlas font = resourceManager.resolveFontHandle(text.fontHandle);
+      float scale = text.size > 0.0f ? text.size / font.getPixelHeight() : 1.0f;
+      if (text.layout.update(font, text.text, scale)) {
+        lastLayoutCount++;
+      }
+      text.layoutFont = font;
+      text.layoutTransform = world.getComponent(entityId, UITransformComponent.class);
+      if (text.layout.getGlyphCount() > 0) {
+        drawList.add(text);
+        glyphs += text.layout.getGlyphCount();
+      }
+    }
+
+    lastGlyphCount = glyphs;
+    lastDrawCallCount = 0;
+    if (drawList.isEmpty()) {
+      return;
+    }
+    drawList.sort(BY_FONT);
+    ensureInstanceCapacity(glyphs * TextLayout.INSTANCE_FLOATS);
+
+    renderer.begin();
+    int runStart = 0;
+    while (runStart < drawList.size()) {
+      FontAtlas font = drawList.get(runStart).layoutFont;
+      instanceBuffer.clear();
+      int count = 0;
+      int runEnd = runStart;
+      while (runEnd < drawList.size() && drawList.get(runEnd).layoutFont == font) {
+        UITextComponent text = drawList.get(runEnd);
+        float[] bounds = text.layoutTransform.screenBounds;
+        text.layout.writeInstances(instanceBuffer, bounds[0], bounds[3], text.color);
+        count += text.layout.getGlyphCount();
+        runEnd++;
+      }
+      instanceBuffer.flip();
+      renderer.draw(font.getTexture(), instanceBuffer, count);
+      lastDrawCallCount++;
+      runStart = runEnd;
+    }
+    renderer.end();
+  }
+
+  /**
+   * Gets the number of text elements whose layout was rebuilt by the last update.
+   *
+   * @return The layout count.
+   */
+  public int getLastLayoutCount() {
+    return lastLayoutCount;
+  }
+
+  /**
+   * Gets the number of instanced draw calls issued by the last update.
+   *
+   * @return The draw call count.
+   */
+  public int getLastDrawCallCount() {
+    return lastDrawCallCount;
+  }
+
+  /**
+   * Gets the number of glyphs drawn by the last update.
+   *
+   * @return The glyph count.
+   */
+  public int getLastGlyphCount() {
+    return lastGlyphCount;
+  }
+
+  private void ensureInstanceCapacity(int floats) {
+    if (instanceBuffer == null || instanceBuffer.capacity() < floats) {
+      int capacity = Math.max(floats, instanceBuffer == null ? floats : instanceBuffer.capacity() * 2);
+      if (instanceBuffer != null) {
+        MemoryUtil.memFree(instanceBuffer);
+      }
+      instanceBuffer = MemoryUtil.memAllocFloat(capacity);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (instanceBuffer != null) {
+      MemoryUtil.memFree(instanceBuffer);
+      instanceBuffer = null;
+    }
+    renderer.close();
+  }
+}
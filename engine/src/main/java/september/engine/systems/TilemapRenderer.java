@@ -0,0 +1,229 @@
+package september.engine.systems;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import september.engine.ecs.components.TilemapComponent;
+import september.engine.rendering.InstancedMesh;
+import september.engine.rendering.Renderer;
+import september.engine.rendering.SortKey;
+import september.engine.rendering.Texture;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Builds and draws chunk meshes for tilemap entities on behalf of the RenderSystem.
+ * <p>
+ * Each {@link TilemapComponent#CHUNK_SIZE}-square chunk of a map is turned into one static mesh
+ * holding a quad per non-empty tile, with texture coordinates picked from the tileset. The mesh is
+ * uploaded once and submitted as a single-instance batch whose instance matrix is the entity's
+ * transform, so a moving map only re-uploads one matrix per chunk. Chunks are rebuilt only when
+ * the component reports them dirty, and chunks outside the visible region are never submitted.
+ */
+final class TilemapRenderer implements AutoCloseable {
+
+  private static final int FLOATS_PER_VERTEX = 5;
+  private static final int VERTICES_PER_TILE = 4;
+  private static final int INDICES_PER_TILE = 6;
+  private static final int MATRIX_SIZE_FLOATS = 16;
+
+  private final BiFunction<float[], int[], InstancedMesh> meshFactory;
+  private final Map<Integer, MapCache> caches = new HashMap<>();
+  private final Vector3f chunkMin = new Vector3f();
+  private final Vector3f chunkMax = new Vector3f();
+  private int currentSweep = 1;
+
+  // Reusable geometry storage, sized for a full chunk
+  private final float[] vertices;
+  private final int[] indices;
+
+  TilemapRenderer() {
+    this((vertices, indices) -> new InstancedMesh(vertices, indices, 1));
+  }
+
+  /**
+   * Creates a tilemap renderer with a custom source of chunk meshes, allowing tests to run
+   * without a GL context.
+   *
+   * @param meshFactory Creates a chunk mesh from interleaved vertices and indices.
+   */
+  TilemapRenderer(BiFunction<float[], int[], InstancedMesh> meshFactory) {
+    this.meshFactory = meshFactory;
+    int tilesPerChunk = TilemapComponent.CHUNK_SIZE * TilemapComponent.CHUNK_SIZE;
+    this.vertices = new float[tilesPerChunk * VERTICES_PER_TILE * FLOATS_PER_VERTEX];
+    this.indices = new int[tilesPerChunk * INDICES_PER_TILE];
+  }
+
+  /**
+   * Brings a tilemap's chunk meshes up to date and submits the ones overlapping the given region.
+   *
+   * @return The number of chunks submitted.
+   */
+  int submit(int entityId, TilemapComponent tilemap, Texture tileset, Matrix4f transform, Renderer renderer,
+             float minX, float minY, float maxX, float maxY, int shader) {
+    MapCache cache = caches.get(entityId);
+    if (cache == null || cache.tilemap != tilemap || cache.tileset != tileset) {
+      if (cache != null) {
+        cache.close();
+      }
+      cache = new MapCache(tilemap, tileset);
+      caches.put(entityId, cache);
+    }
+    cache.sweepStamp = currentSweep;
+
+    boolean moved = !transform.equals(cache.transform);
+    if (moved) {
+      cache.transform.set(transform);
+      transform.get(cache.instanceMatrix);
+    }
+
+    long sortKey = SortKey.of(0, transform.m32(), shader, tileset.getTextureId());
+    float chunkExtent = TilemapComponent.CHUNK_SIZE * tilemap.tileSize;
+    int columns = tilemap.getChunkColumns();
+    int submitted = 0;
+    for (int i = 0; i < cache.chunks.length; i++) {
+      if (!cache.built[i] || tilemap.dirtyChunks.get(i)) {
+        rebuildChunk(cache, i, columns);
+        tilemap.dirtyChunks.clear(i);
+        if (cache.chunks[i] != null) {
+          cache.chunks[i].uploadStaticInstances(cache.instanceMatrix, 1);
+        }
+      } else if (moved && cache.chunks[i] != null) {
+        cache.chunks[i].uploadStaticInstances(cache.instanceMatrix, 1);
+      }
+      if (cache.chunks[i] == null) {
+        continue;
+      }
+
+      // Chunk bounds in map space: columns run along +x and rows run down along -y.
+      float left = (i % columns) * chunkExtent;
+      float top = -(i / columns) * chunkExtent;
+      transform.transformAab(left, top - chunkExtent, 0.0f, left + chunkExtent, top, 0.0f, chunkMin, chunkMax);
+      if (chunkMin.x > maxX || chunkMax.x < minX || chunkMin.y > maxY || chunkMax.y < minY) {
+        continue;
+      }
+      renderer.submitBatch(cache.chunks[i], 1, tileset, sortKey);
+      submitted++;
+    }
+    return submitted;
+  }
+
+  /**
+   * Releases the meshes of every tilemap that was not submitted since the previous sweep.
+   */
+  void sweep() {
+    Iterator<MapCache> it = caches.values().iterator();
+    while (it.hasNext()) {
+      MapCache cache = it.next();
+      if (cache.sweepStamp != currentSweep) {
+        cache.close();
+        it.remove();
+      }
+    }
+    currentSweep++;
+  }
+
+  @Override
+  public void close() {
+    for (MapCache cache : caches.values()) {
+      cache.close();
+    }
+    caches.clear();
+  }
+
+  private void rebuildChunk(MapCache cache, int chunkIndex, int columns) {
+    TilemapComponent tilemap = cache.tilemap;
+    int tilesetColumns = Math.max(1, cache.tileset.getWidth() / tilemap.tilePixelSize);
+    float tileU = (float) tilemap.tilePixelSize / cache.tileset.getWidth();
+    float tileV = (float) tilemap.tilePixelSize / cache.tileset.getHeight();
+    float size = tilemap.tileSize;
+
+    int startX = (chunkIndex % columns) * TilemapComponent.CHUNK_SIZE;
+    int startY = (chunkIndex / columns) * TilemapComponent.CHUNK_SIZE;
+    int endX = Math.min(startX + TilemapComponent.CHUNK_SIZE, tilemap.width);
+    int endY = Math.min(startY + TilemapComponent.CHUNK_SIZE, tilemap.height);
+
+    int tileCount = 0;
+    for (int y = startY; y < endY; y++) {
+      for (int x = startX; x < endX; x++) {
+        short tile = tilemap.getTile(x, y);
+        if (tile == TilemapComponent.EMPTY) {
+          continue;
+        }
+        // Textures are flipped on load, so image row 0 sits at v = 1.
+        float u0 = (tile % tilesetColumns) * tileU;
+        float v1 = 1.0f - (tile / tilesetColumns) * tileV;
+        float left = x * size;
+        float top = -y * size;
+        int v = tileCount * VERTICES_PER_TILE * FLOATS_PER_VERTEX;
+        putVertex(v, left + size, top, u0 + tileU, v1);
+        putVertex(v + 5, left + size, top - size, u0 + tileU, v1 - tileV);
+        putVertex(v + 10, left, top - size, u0, v1 - tileV);
+        putVertex(v + 15, left, top, u0, v1);
+
+        int base = tileCount * VERTICES_PER_TILE;
+        int n = tileCount * INDICES_PER_TILE;
+        indices[n] = base;
+        indices[n + 1] = base + 1;
+        indices[n + 2] = base + 3;
+        indices[n + 3] = base + 1;
+        indices[n + 4] = base + 2;
+        indices[n + 5] = base + 3;
+        tileCount++;
+      }
+    }
+
+    if (cache.chunks[chunkIndex] != null) {
+      cache.chunks[chunkIndex].close();
+      cache.chunks[chunkIndex] = null;
+    }
+    if (tileCount > 0) {
+      float[] chunkVertices = Arrays.copyOf(vertices, tileCount * VERTICES_PER_TILE * FLOATS_PER_VERTEX);
+      int[] chunkIndices = Arrays.copyOf(indices, tileCount * INDICES_PER_TILE);
+      cache.chunks[chunkIndex] = meshFactory.apply(chunkVertices, chunkIndices);
+    }
+    cache.built[chunkIndex] = true;
+  }
+
+  private void putVertex(int offset, float x, float y, float u, float v) {
+    vertices[offset] = x;
+    vertices[offset + 1] = y;
+    vertices[offset + 2] = 0.0f;
+    vertices[offset + 3] = u;
+    vertices[offset + 4] = v;
+  }
+
+  /**
+   * The chunk meshes built for one tilemap entity.
+   */
+  private static final class MapCache implements AutoCloseable {
+    private final TilemapComponent tilemap;
+    private final Texture tileset;
+    private final InstancedMesh[] chunks;
+    private final boolean[] built;
+    private final Matrix4f transform = new Matrix4f().zero();
+    // Packed per map, so a chunk rebuilt later is never uploaded with another map's transform
+    private final float[] instanceMatrix = new float[MATRIX_SIZE_FLOATS];
+    private int sweepStamp;
+
+    MapCache(TilemapComponent tilemap, Texture tileset) {
+      this.tilemap = tilemap;
+      this.tileset = tileset;
+      int chunkCount = tilemap.getChunkColumns() * tilemap.getChunkRows();
+      this.chunks = new InstancedMesh[chunkCount];
+      this.built = new boolean[chunkCount];
+    }
+
+    @Override
+    public void close() {
+      for (InstancedMesh chunk : chunks) {
+        if (chunk != null) {
+          chunk.close();
+        }
+      }
+    }
+  }
+}
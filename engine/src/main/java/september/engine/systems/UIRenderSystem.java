@@ -1,42 +1,60 @@
 package september.engine.systems;
 
-import java.nio.IntBuffer;
-import java.util.ArrayList;
-import java.util.Comparator;
-import org.lwjgl.glfw.GLFW;
-import org.lwjgl.system.MemoryStack;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.joml.Matrix4f;
 import september.engine.assets.ResourceManager;
-import september.engine.core.WindowContext;
 import september.engine.ecs.ISystem;
 import september.engine.ecs.IWorld;
+import september.engine.rendering.RenderQueue;
+import september.engine.rendering.Texture;
+import september.engine.rendering.gl.CameraUniformBuffer;
 import september.engine.ui.components.UIImageComponent;
 import september.engine.ui.components.UITransformComponent;
 import september.engine.ui.rendering.UIRenderer;
 
-/** The system responsible for rendering all UI elements. */
+/**
+ * The system responsible for rendering all UI elements.
+ *
+ * <p>The sorted draw list is retained between frames. A changed texture or layout is patched into
+ * the existing entry in place; only elements that appear, disappear or change depth cause the list
+ * to be rebuilt and re-sorted. An unchanged UI is drawn straight from the retained list.
+ */
 public class UIRenderSystem implements ISystem {
 
   private final IWorld world;
+  private final ResourceManager resourceManager;
   private final UIRenderer renderer;
+  private final Map<Integer, Entry> entries = new HashMap<>();
+  private final RenderQueue drawList = new RenderQueue();
+  private final Matrix4f modelMatrix = new Matrix4f();
+  private boolean rebuildNeeded = true;
+  private int currentSweep;
+  private int rebuildCount;
 
-  private record Renderable(UITransformComponent transform, UIImageComponent image) {}
+  /**
+   * Creates a UI render system drawing in screen space. The engine keeps the screen camera's
+   * buffer in step with the window size.
+   *
+   * @param world           The world whose UI elements are drawn.
+   * @param resourceManager The resource manager that resolves element textures.
+   * @param cameraBuffer    The screen-space camera's uniform buffer.
+   */
+  public UIRenderSystem(IWorld world, ResourceManager resourceManager, CameraUniformBuffer cameraBuffer) {
+    this(world, resourceManager, new UIRenderer(resourceManager, cameraBuffer));
+  }
 
-  public UIRenderSystem(IWorld world, ResourceManager resourceManager, WindowContext window) {
+  /**
+   * Creates a UI render system around an existing renderer, allowing tests to run without a GL
+   * context.
+   */
+  UIRenderSystem(IWorld world, ResourceManager resourceManager, UIRenderer renderer) {
     this.world = world;
-
-    int width, height;
-    try (MemoryStack stack = MemoryStack.stackPush()) {
-      IntBuffer pWidth = stack.mallocInt(1);
-      IntBuffer pHeight = stack.mallocInt(1);
-      GLFW.glfwGetWindowSize(window.handle(), pWidth, pHeight);
-      width = pWidth.get(0);
-      height = pHeight.get(0);
-    }
-
-    this.renderer = new UIRenderer(resourceManager, width, height);
-
-    // Ensure the renderer's projection is updated when the window is resized.
-    window.setResizeListener((w, h) -> this.renderer.resize(w, h));
+    this.resourceManager = resourceManager;
+    this.renderer = renderer;
   }
 
   @Override
@@ -46,22 +64,115 @@ public class UIRenderSystem implements ISystem {
 
   @Override
   public void update(float deltaTime) {
-    var entities = world.getEntitiesWith(UITransformComponent.class, UIImageComponent.class);
-    var renderables = new ArrayList<Renderable>();
+    List<Integer> entities = world.getEntitiesWith(UITransformComponent.class, UIImageComponent.class);
+    currentSweep++;
+
     for (int entityId : entities) {
-      renderables.add(
-          new Renderable(
-              world.getComponent(entityId, UITransformComponent.class),
-              world.getComponent(entityId, UIImageComponent.class)));
+      var transform = world.getComponent(entityId, UITransformComponent.class);
+      var image = world.getComponent(entityId, UIImageComponent.class);
+      Entry entry = entries.get(entityId);
+      if (entry == null || entry.transform != transform || entry.image != image) {
+        entry = new Entry(transform, image);
+        entries.put(entityId, entry);
+        rebuildNeeded = true;
+      }
+      entry.sweepStamp = currentSweep;
+      if (!rebuildNeeded) {
+        patch(entry);
+      }
+    }
+
+    if (entries.size() != entities.size()) {
+      removeStaleEntries();
+    }
+    if (rebuildNeeded) {
+      rebuild(entities);
     }
+    renderer.draw(drawList);
+  }
+
+  /**
+   * Gets the number of times the draw list has been rebuilt, for diagnostics and tests.
+   *
+   * @return The rebuild count.
+   */
+  int getRebuildCount() {
+    return rebuildCount;
+  }
+
+  RenderQueue getDrawList() {
+    return drawList;
+  }
+
+  /** Applies in-place changes to a retained entry, or flags a rebuild if its order may change. */
+  private void patch(Entry entry) {
+    UITransformComponent transform = entry.transform;
+    String handle = entry.image.textureHandle;
+    if (transform.offset.z != entry.depth || (handle == null) != (entry.textureHandle == null)) {
+      rebuildNeeded = true;
+      return;
+    }
+    if (handle == null) {
+      return;
+    }
+    if (!Objects.equals(handle, entry.textureHandle)) {
+      entry.textureHandle = handle;
+      drawList.setTexture(entry.slot, resourceManager.resolveTextureHandle(handle));
+    }
+    if (transform.layoutVersion != entry.layoutVersion) {
+      entry.layoutVersion = transform.layoutVersion;
+      drawList.setTransform(entry.slot, UIRenderer.modelMatrix(transform, modelMatrix));
+    }
+  }
+
+  private void removeStaleEntries() {
+    Iterator<Entry> it = entries.values().iterator();
+    while (it.hasNext()) {
+      if (it.next().sweepStamp != currentSweep) {
+        it.remove();
+        rebuildNeeded = true;
+      }
+    }
+  }
+
+  private void rebuild(List<Integer> entities) {
+    drawList.clear();
+    for (int entityId : entities) {
+      Entry entry = entries.get(entityId);
+      UITransformComponent transform = entry.transform;
+      entry.textureHandle = entry.image.textureHandle;
+      entry.depth = transform.offset.z;
+      entry.layoutVersion = transform.layoutVersion;
+      if (entry.textureHandle == null) {
+        entry.slot = -1;
+        continue;
+      }
+      Texture texture = resourceManager.resolveTextureHandle(entry.textureHandle);
+      entry.slot = drawList.add(
+          UIRenderer.sortKey(transform, texture),
+          null,
+          texture,
+          UIRenderer.modelMatrix(transform, modelMatrix));
+    }
+    // Order back-to-front for correct alpha blending; the sort is stable for equal keys.
+    drawList.sort();
+    rebuildNeeded = false;
+    rebuildCount++;
+  }
 
-    // Sort back-to-front for correct alpha blending
-    renderables.sort(Comparator.comparingDouble(r -> r.transform.offset.z));
+  /** The retained state of one UI element and its slot in the draw list. */
+  private static final class Entry {
+    private final UITransformComponent transform;
+    private final UIImageComponent image;
+    private String textureHandle;
+    private float depth;
+    private int layoutVersion;
+    private int slot = -1;
+    private int sweepStamp;
 
-    renderer.begin();
-    for (var renderable : renderables) {
-      renderer.submit(renderable.transform, renderable.image);
+    Entry(UITransformComponent transform, UIImageComponent image) {
+      this.transform = transform;
+      this.image = image;
     }
-    renderer.end();
   }
 }
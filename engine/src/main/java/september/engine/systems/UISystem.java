@@ -1,6 +1,5 @@
 package september.engine.systems;
 
-import org.joml.Vector2f;
 import org.lwjgl.glfw.GLFW;
 import september.engine.core.WindowContext;
 import september.engine.core.input.GlfwInputService;
@@ -12,13 +11,21 @@ import september.engine.ui.components.UIButtonComponent;
 import september.engine.ui.components.UIImageComponent;
 import september.engine.ui.components.UITransformComponent;
 
-/** Manages the layout, interaction, and event handling for all UI entities. */
+/**
+ * Manages the layout, interaction, and event handling for all UI entities.
+ *
+ * <p>Layout is retained: an element's screen bounds are recalculated only when its own layout
+ * inputs changed or the window was resized, so a static menu costs one comparison per element.
+ */
 public class UISystem implements ISystem {
 
   private final IWorld world;
   private final WindowContext window;
   private final GlfwInputService inputService;
   private final EventBus eventBus;
+  private int laidOutWidth = -1;
+  private int laidOutHeight = -1;
+  private int lastLayoutCount;
 
   public UISystem(
       IWorld world, WindowContext window, GlfwInputService inputService, EventBus eventBus) {
@@ -44,23 +51,41 @@ public class UISystem implements ISystem {
     handleButtonInteractions(uiEntities, height);
   }
 
+  /**
+   * Gets the number of elements whose layout was recalculated by the last update.
+   *
+   * @return The relayout count.
+   */
+  public int getLastLayoutCount() {
+    return lastLayoutCount;
+  }
+
   private void calculateLayout(Iterable<Integer> entities, int windowWidth, int windowHeight) {
-    Vector2f parentSize = new Vector2f(windowWidth, windowHeight);
+    // Every element is anchored to the window, so a resize invalidates all of them.
+    boolean resized = windowWidth != laidOutWidth || windowHeight != laidOutHeight;
+    laidOutWidth = windowWidth;
+    laidOutHeight = windowHeight;
+    float parentWidth = windowWidth;
+    float parentHeight = windowHeight;
+    int count = 0;
 
     for (int entityId : entities) {
       var transform = world.getComponent(entityId, UITransformComponent.class);
+      if (!resized && !transform.isLayoutStale()) {
+        continue;
+      }
 
       float actualWidth, actualHeight;
       if (transform.relativeSize) {
-        actualWidth = parentSize.x * transform.size.x;
-        actualHeight = parentSize.y * transform.size.y;
+        actualWidth = parentWidth * transform.size.x;
+        actualHeight = parentHeight * transform.size.y;
       } else {
         actualWidth = transform.size.x;
         actualHeight = transform.size.y;
       }
 
-      float anchorPosX = parentSize.x * transform.anchor.x;
-      float anchorPosY = parentSize.y * transform.anchor.y;
+      float anchorPosX = parentWidth * transform.anchor.x;
+      float anchorPosY = parentHeight * transform.anchor.y;
       float pivotPosX = actualWidth * transform.pivot.x;
       float pivotPosY = actualHeight * transform.pivot.y;
 
@@ -73,7 +98,10 @@ public class UISystem implements ISystem {
       transform.screenBounds[1] = minY;
       transform.screenBounds[2] = maxX;
       transform.screenBounds[3] = maxY;
+      transform.markLaidOut();
+      count++;
     }
+    lastLayoutCount = count;
   }
 
   private void handleButtonInteractions(Iterable<Integer> entities, int windowHeight) {
@@ -1,6 +1,7 @@
 package september.engine.ui.components;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.joml.Vector4f;
 import september.engine.ecs.Component;
@@ -44,6 +45,17 @@ public final class UIButtonComponent implements Component {
    */
   public transient ButtonState currentState = ButtonState.NORMAL;
 
+  /**
+   * The IDs the ResourceManager interned for the state textures, or 0 until the UI renderer first
+   * draws the state. They let the textures be resolved without hashing their handles.
+   */
+  @JsonIgnore
+  public transient int normalTextureId;
+  @JsonIgnore
+  public transient int hoveredTextureId;
+  @JsonIgnore
+  public transient int pressedTextureId;
+
   @JsonCreator
   public UIButtonComponent(
     @JsonProperty("actionEvent") String actionEvent,
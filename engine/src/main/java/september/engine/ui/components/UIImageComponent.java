@@ -1,6 +1,7 @@
 package september.engine.ui.components;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.joml.Vector4f;
 import september.engine.ecs.Component;
@@ -21,6 +22,17 @@ public class UIImageComponent implements Component { // Removed final
    */
   public final Vector4f color;
 
+  /**
+   * The ID the ResourceManager interned for {@link #internedHandle}, so the texture can be
+   * resolved without hashing its handle. Managed by the UI renderer; re-interned whenever
+   * {@link #textureHandle} is replaced.
+   */
+  @JsonIgnore
+  public transient int textureId;
+
+  @JsonIgnore
+  public transient String internedHandle;
+
   @JsonCreator
   public UIImageComponent(
     @JsonProperty("textureHandle") String textureHandle,
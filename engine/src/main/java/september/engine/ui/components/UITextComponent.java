@@ -0,0 +1,60 @@
+package september.engine.ui.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.joml.Vector4f;
+import september.engine.ecs.Component;
+import september.engine.rendering.FontAtlas;
+import september.engine.rendering.TextLayout;
+
+/**
+ * Draws a string in the UI, starting at the top-left corner of the entity's UITransformComponent
+ * bounds.
+ * <p>
+ * The string's glyph layout is cached and only rebuilt when {@link #text}, the font or the size
+ * changes, so updating a counter every frame costs nothing on the frames its value stays the same.
+ */
+public class UITextComponent implements Component {
+
+  /** The text to draw. Lines are broken at '\n'. */
+  public String text;
+
+  /** The handle of the font registered with the ResourceManager. */
+  public String fontHandle;
+
+  /** The text height in pixels, or 0 to use the font's rasterized height. */
+  public float size;
+
+  /** The text color. */
+  public final Vector4f color;
+
+  /**
+   * The cached glyph layout of {@link #text}.
+   * This is managed by the TextRenderSystem and should not be modified directly.
+   */
+  @JsonIgnore
+  public final transient TextLayout layout = new TextLayout();
+
+  /**
+   * The font and transform the layout was drawn with in the current frame.
+   * These are managed by the TextRenderSystem and should not be modified directly.
+   */
+  @JsonIgnore
+  public transient FontAtlas layoutFont;
+  @JsonIgnore
+  public transient UITransformComponent layoutTransform;
+
+  @JsonCreator
+  public UITextComponent(
+    @JsonProperty("text") String text,
+    @JsonProperty("fontHandle") String fontHandle,
+    @JsonProperty("size") float size,
+    @JsonProperty("color") Vector4f color
+  ) {
+    this.text = text;
+    this.fontHandle = fontHandle;
+    this.size = size;
+    this.color = color != null ? color : new Vector4f(1.0f, 1.0f, 1.0f, 1.0f);
+  }
+}
@@ -13,6 +13,8 @@ import september.engine.ecs.Component;
  */
 public class UITransformComponent implements Component {
 
+  private static final int LAYOUT_INPUTS = 10;
+
   // --- Layout Properties ---
 
   /** The point on the parent element that this element will attach to (0,0 to 1,1). */
@@ -40,6 +42,16 @@ public class UITransformComponent implements Component {
    */
   @JsonIgnore public final float[] screenBounds = new float[4];
 
+  /**
+   * Incremented each time {@link #screenBounds} is recalculated, so consumers can tell when to
+   * refresh anything derived from it. Managed by the UISystem.
+   */
+  @JsonIgnore public transient int layoutVersion;
+
+  // The layout inputs that produced the current screenBounds.
+  private final transient float[] laidOutInputs = new float[LAYOUT_INPUTS];
+  private transient boolean laidOut;
+
   public UITransformComponent() {
     this.anchor = new Vector2f(0.5f, 0.5f);
     this.pivot = new Vector2f(0.5f, 0.5f);
@@ -58,4 +70,43 @@ public class UITransformComponent implements Component {
     this.size = size != null ? size : new Vector2f(100, 30);
     this.offset = offset != null ? offset : new Vector3f(0, 0, 0);
   }
+
+  /**
+   * Checks whether the layout inputs (anchor, pivot, size, offset or relative sizing) have changed
+   * since {@link #markLaidOut()} was last called.
+   *
+   * @return True if the element has never been laid out or any input differs.
+   */
+  @JsonIgnore
+  public boolean isLayoutStale() {
+    if (!laidOut) {
+      return true;
+    }
+    float[] in = laidOutInputs;
+    return in[0] != anchor.x || in[1] != anchor.y
+        || in[2] != pivot.x || in[3] != pivot.y
+        || in[4] != size.x || in[5] != size.y
+        || in[6] != offset.x || in[7] != offset.y || in[8] != offset.z
+        || in[9] != (relativeSize ? 1.0f : 0.0f);
+  }
+
+  /**
+   * Records the current layout inputs as the ones {@link #screenBounds} was calculated from and
+   * bumps {@link #layoutVersion}. Called by the UISystem after a layout pass.
+   */
+  public void markLaidOut() {
+    float[] in = laidOutInputs;
+    in[0] = anchor.x;
+    in[1] = anchor.y;
+    in[2] = pivot.x;
+    in[3] = pivot.y;
+    in[4] = size.x;
+    in[5] = size.y;
+    in[6] = offset.x;
+    in[7] = offset.y;
+    in[8] = offset.z;
+    in[9] = relativeSize ? 1.0f : 0.0f;
+    laidOut = true;
+    layoutVersion++;
+  }
 }
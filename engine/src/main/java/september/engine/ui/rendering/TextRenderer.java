@@ -0,0 +1,164 @@
+package september.engine.ui.rendering;
+
+import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_FLOAT;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL15.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glGenVertexArrays;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import org.lwjgl.system.MemoryUtil;
+import september.engine.rendering.TextLayout;
+import september.engine.rendering.Texture;
+import september.engine.rendering.gl.CameraUniformBuffer;
+import september.engine.rendering.gl.GLStateCache;
+import september.engine.rendering.gl.Shader;
+
+/**
+ * Draws text in screen space as instanced glyph quads.
+ *
+ * <p>Each instance is the {@link TextLayout#INSTANCE_FLOATS} floats written by a layout: a screen
+ * rectangle, an atlas region and a color. All text in one font is uploaded into the orphaned
+ * instance buffer and drawn with a single call.
+ */
+public class TextRenderer implements AutoCloseable {
+
+  private static final String VERTEX_SHADER =
+    "#version 460 core\n" +
+      "layout (location = 0) in vec2 aCorner;\n" +
+      "layout (location = 1) in vec4 aRect;\n" +
+      "layout (location = 2) in vec4 aUvRect;\n" +
+      "layout (location = 3) in vec4 aColor;\n" +
+      "out vec2 vTexCoord;\n" +
+      "out vec4 vColor;\n" +
+      CameraUniformBuffer.GLSL_BLOCK +
+      "void main()\n" +
+      "{\n" +
+      "    gl_Position = uProjection * uView * vec4(aRect.xy + aCorner * aRect.zw, 0.0, 1.0);\n" +
+      "    vTexCoord = mix(aUvRect.xy, aUvRect.zw, aCorner);\n" +
+      "    vColor = aColor;\n" +
+      "}";
+
+  private static final String FRAGMENT_SHADER =
+    "#version 460 core\n" +
+      "in vec2 vTexCoord;\n" +
+      "in vec4 vColor;\n" +
+      "out vec4 FragColor;\n" +
+      "uniform sampler2D uTextureSampler;\n" +
+      "void main()\n" +
+      "{\n" +
+      "    FragColor = vec4(vColor.rgb, vColor.a * texture(uTextureSampler, vTexCoord).a);\n" +
+      "}";
+
+  private static final int INSTANCE_STRIDE_BYTES = TextLayout.INSTANCE_FLOATS * Float.BYTES;
+  private static final int INDEX_COUNT = 6;
+
+  private final Shader shader;
+  private final CameraUniformBuffer cameraBuffer;
+  private final int vaoId;
+  private final int cornerVboId;
+  private final int eboId;
+  private final int instanceVboId;
+
+  /**
+   * Creates the glyph program and quad geometry.
+   *
+   * @param cameraBuffer The screen-space camera's uniform buffer, owned by the caller.
+   */
+  public TextRenderer(CameraUniformBuffer cameraBuffer) {
+    this.shader = new Shader(VERTEX_SHADER, FRAGMENT_SHADER);
+    this.cameraBuffer = cameraBuffer;
+
+    float[] corners = {1.0f, 1.0f, 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f};
+    int[] indices = {0, 1, 3, 1, 2, 3};
+    FloatBuffer cornerBuffer = MemoryUtil.memAllocFloat(corners.length);
+    IntBuffer indexBuffer = MemoryUtil.memAllocInt(indices.length);
+    try {
+      cornerBuffer.put(corners).flip();
+      indexBuffer.put(indices).flip();
+
+      vaoId = glGenVertexArrays();
+      GLStateCache.bindVertexArray(vaoId);
+
+      cornerVboId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, cornerVboId);
+      glBufferData(GL_ARRAY_BUFFER, cornerBuffer, GL_STATIC_DRAW);
+      glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0);
+      glEnableVertexAttribArray(0);
+
+      eboId = glGenBuffers();
+      glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+      glBufferData(GL_ELEMENT_ARRAY_BUFFER, indexBuffer, GL_STATIC_DRAW);
+
+      instanceVboId = glGenBuffers();
+      GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+      for (int i = 0; i < 3; i++) {
+        int location = 1 + i; // rect, uv rect, color
+        glVertexAttribPointer(location, 4, GL_FLOAT, false, INSTANCE_STRIDE_BYTES, (long) i * 4 * Float.BYTES);
+        glEnableVertexAttribArray(location);
+        glVertexAttribDivisor(location, 1);
+      }
+
+      GLStateCache.bindVertexArray(0);
+    } finally {
+      MemoryUtil.memFree(cornerBuffer);
+      MemoryUtil.memFree(indexBuffer);
+    }
+  }
+
+  /** Prepares the text pass. */
+  public void begin() {
+    GLStateCache.setBlendEnabled(true);
+    GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+    cameraBuffer.bind();
+    shader.bind();
+    shader.setUniform("uTextureSampler", 0);
+  }
+
+  /**
+   * Uploads and draws all glyphs that use one font atlas.
+   *
+   * @param atlas The font's atlas texture.
+   * @param instances Instance data from the buffer's position to its limit.
+   * @param count The number of glyphs in the buffer.
+   */
+  public void draw(Texture atlas, FloatBuffer instances, int count) {
+    if (count == 0) {
+      return;
+    }
+    atlas.bind(0);
+    GLStateCache.bindVertexArray(vaoId);
+    GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceVboId);
+    glBufferData(GL_ARRAY_BUFFER, (long) count * INSTANCE_STRIDE_BYTES, GL_STREAM_DRAW);
+    glBufferSubData(GL_ARRAY_BUFFER, 0, instances);
+    glDrawElementsInstanced(GL_TRIANGLES, INDEX_COUNT, GL_UNSIGNED_INT, 0, count);
+  }
+
+  /** Ends the text pass. */
+  public void end() {
+    GLStateCache.setBlendEnabled(false);
+  }
+
+  @Override
+  public void close() {
+    GLStateCache.deleteBuffer(cornerVboId);
+    GLStateCache.deleteBuffer(eboId);
+    GLStateCache.deleteBuffer(instanceVboId);
+    GLStateCache.deleteVertexArray(vaoId);
+    shader.close();
+  }
+}
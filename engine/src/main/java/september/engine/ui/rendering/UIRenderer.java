@@ -1,47 +1,59 @@
 package september.engine.ui.rendering;
 
-import static org.lwjgl.opengl.GL11.GL_BLEND;
 import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
 import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
-import static org.lwjgl.opengl.GL11.glBlendFunc;
-import static org.lwjgl.opengl.GL11.glDisable;
-import static org.lwjgl.opengl.GL11.glEnable;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.joml.Matrix4f;
 import september.engine.assets.ResourceManager;
-import september.engine.rendering.Camera;
 import september.engine.rendering.InstancedMesh;
+import september.engine.rendering.RenderQueue;
+import september.engine.rendering.SortKey;
 import september.engine.rendering.Texture;
+import september.engine.rendering.gl.CameraUniformBuffer;
+import september.engine.rendering.gl.GLStateCache;
+import september.engine.rendering.gl.GpuProfiler;
 import september.engine.rendering.gl.InstancedShaderSources;
 import september.engine.rendering.gl.Shader;
 import september.engine.ui.components.UIButtonComponent;
 import september.engine.ui.components.UIImageComponent;
 import september.engine.ui.components.UITransformComponent;
 
+/**
+ * Draws UI images in screen space.
+ *
+ * <p>Elements are queued by depth ({@code offset.z}) and texture, then radix-sorted when the frame
+ * ends, so callers may submit in any order and still get correct back-to-front blending.
+ *
+ * <p>After sorting, each run of elements sharing a texture is drawn with one instanced call, so a
+ * screen built from a few atlases costs a handful of draws regardless of its element count.
+ *
+ * <p>The orthographic camera lives in the engine's screen-space camera uniform buffer, which only
+ * changes on resize, so beginning a UI pass costs a single buffer bind.
+ */
 public class UIRenderer {
 
-  private record Sprite(Texture texture, Matrix4f transform) {}
-
-  private final Camera uiCamera;
   private final Shader uiShader;
   private final ResourceManager resourceManager;
   private final InstancedMesh quadMesh;
-  private final List<Sprite> spriteList;
+  private final RenderQueue renderQueue;
+  private final Matrix4f modelMatrix = new Matrix4f();
+  private final CameraUniformBuffer cameraBuffer;
+  private int lastDrawCallCount;
 
-  public UIRenderer(ResourceManager resourceManager, float screenWidth, float screenHeight) {
+  /**
+   * Creates the UI renderer.
+   *
+   * @param resourceManager The resource manager that resolves element textures.
+   * @param cameraBuffer    The screen-space camera's uniform buffer, owned by the caller.
+   */
+  public UIRenderer(ResourceManager resourceManager, CameraUniformBuffer cameraBuffer) {
     this.resourceManager = resourceManager;
-    this.uiCamera = new Camera();
-    this.uiCamera
-        .getProjectionMatrix()
-        .identity()
-        .ortho(0.0f, screenWidth, 0.0f, screenHeight, -1.0f, 1.0f);
     this.uiShader =
         new Shader(
             InstancedShaderSources.INSTANCED_VERTEX_SHADER,
             InstancedShaderSources.INSTANCED_FRAGMENT_SHADER);
-    this.spriteList = new ArrayList<>();
+    this.renderQueue = new RenderQueue();
+    this.cameraBuffer = cameraBuffer;
 
     float[] vertices = {
       0.5f, 0.5f, 0.0f, 1.0f, 1.0f, 0.5f, -0.5f, 0.0f, 1.0f, 0.0f, -0.5f, -0.5f, 0.0f, 0.0f, 0.0f,
@@ -52,59 +64,137 @@ public class UIRenderer {
   }
 
   public void begin() {
-    glEnable(GL_BLEND);
-    glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-    spriteList.clear();
-    uiShader.bind();
-    uiShader.setUniform("uProjection", uiCamera.getProjectionMatrix());
-    uiShader.setUniform("uView", new Matrix4f().identity());
+    beginPass();
+    renderQueue.clear();
   }
 
   public void submit(UITransformComponent transform, UIImageComponent image) {
     if (image.textureHandle == null) {
       return;
     }
-    Texture texture = resourceManager.resolveTextureHandle(image.textureHandle);
-    Matrix4f modelMatrix = calculateModelMatrix(transform);
-    spriteList.add(new Sprite(texture, modelMatrix));
+    // Intern the handle only when it is replaced; a reference check is enough to notice.
+    if (image.internedHandle != image.textureHandle) {
+      image.textureId = resourceManager.textureId(image.textureHandle);
+      image.internedHandle = image.textureHandle;
+    }
+    enqueue(transform, resourceManager.resolveTexture(image.textureId));
   }
 
   public void submit(UITransformComponent transform, UIButtonComponent button) {
-    String textureHandle =
+    int textureId =
         switch (button.currentState) {
-          case HOVERED -> button.hoveredTexture;
-          case PRESSED -> button.pressedTexture;
-          default -> button.normalTexture;
+          case HOVERED -> button.hoveredTextureId =
+              internIfNeeded(button.hoveredTextureId, button.hoveredTexture);
+          case PRESSED -> button.pressedTextureId =
+              internIfNeeded(button.pressedTextureId, button.pressedTexture);
+          default -> button.normalTextureId =
+              internIfNeeded(button.normalTextureId, button.normalTexture);
         };
 
-    if (textureHandle != null) {
-      Texture texture = resourceManager.resolveTextureHandle(textureHandle);
-      Matrix4f modelMatrix = calculateModelMatrix(transform);
-      spriteList.add(new Sprite(texture, modelMatrix));
+    if (textureId != 0) {
+      enqueue(transform, resourceManager.resolveTexture(textureId));
     }
   }
 
+  private int internIfNeeded(int id, String handle) {
+    return id != 0 || handle == null ? id : resourceManager.textureId(handle);
+  }
+
   public void end() {
-    for (var sprite : spriteList) {
-      sprite.texture.bind(0);
-      uiShader.setUniform("uTextureSampler", 0);
-      quadMesh.renderInstanced(List.of(sprite.transform));
+    // Order back-to-front for correct alpha blending
+    renderQueue.sort();
+    drawRuns(renderQueue);
+    endPass();
+  }
+
+  /**
+   * Draws a queue that the caller has already sorted and keeps across frames, in a pass of its own.
+   * Use instead of {@link #begin()}/{@link #end()} when the UI is retained.
+   *
+   * @param sortedQueue The entries to draw, in draw order.
+   */
+  public void draw(RenderQueue sortedQueue) {
+    beginPass();
+    drawRuns(sortedQueue);
+    endPass();
+  }
+
+  private void beginPass() {
+    GpuProfiler.begin(GpuProfiler.Pass.UI);
+    GLStateCache.setBlendEnabled(true);
+    GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+    cameraBuffer.bind();
+    uiShader.bind();
+    uiShader.setUniform("uTextureSampler", 0);
+  }
+
+  private void endPass() {
+    GLStateCache.setBlendEnabled(false);
+    GpuProfiler.end(GpuProfiler.Pass.UI);
+  }
+
+  private void drawRuns(RenderQueue queue) {
+    // Draw each run of consecutive same-texture elements with a single instanced call. The sort is
+    // stable, so elements keep their submission order within a run.
+    int drawCalls = 0;
+    int runStart = 0;
+    int size = queue.size();
+    while (runStart < size) {
+      Texture texture = queue.getTexture(runStart);
+      int runEnd = runStart + 1;
+      while (runEnd < size && queue.getTexture(runEnd) == texture) {
+        runEnd++;
+      }
+      texture.bind(0);
+      quadMesh.renderInstanced(queue, runStart, runEnd);
+      drawCalls += (runEnd - runStart + quadMesh.getMaxInstances() - 1) / quadMesh.getMaxInstances();
+      runStart = runEnd;
     }
-    uiShader.unbind();
-    glDisable(GL_BLEND);
+    lastDrawCallCount = drawCalls;
   }
 
-  public void resize(float width, float height) {
-    uiCamera.getProjectionMatrix().identity().ortho(0.0f, width, 0.0f, height, -1.0f, 1.0f);
+  /**
+   * Gets the number of instanced draw calls issued by the last {@link #end()}.
+   *
+   * @return The draw call count.
+   */
+  public int getLastDrawCallCount() {
+    return lastDrawCallCount;
   }
 
-  private Matrix4f calculateModelMatrix(UITransformComponent transform) {
+  private void enqueue(UITransformComponent transform, Texture texture) {
+    renderQueue.add(sortKey(transform, texture), null, texture, modelMatrix(transform, modelMatrix));
+  }
+
+  /**
+   * Computes the draw-order key of a UI element: back-to-front by {@code offset.z}, then grouped
+   * by texture.
+   *
+   * @param transform The element's transform.
+   * @param texture   The element's texture.
+   * @return The sort key.
+   */
+  public static long sortKey(UITransformComponent transform, Texture texture) {
+    return SortKey.of(0, transform.offset.z, 0, texture.getTextureId());
+  }
+
+  /**
+   * Computes the model matrix that maps the unit quad onto an element's screen bounds.
+   *
+   * @param transform The element's transform, with up-to-date screen bounds.
+   * @param dest      The matrix that receives the result.
+   * @return {@code dest}, for chaining.
+   */
+  public static Matrix4f modelMatrix(UITransformComponent transform, Matrix4f dest) {
     float[] bounds = transform.screenBounds;
     float width = bounds[2] - bounds[0];
     float height = bounds[3] - bounds[1];
     float posX = bounds[0] + width / 2.0f;
     float posY = bounds[1] + height / 2.0f;
-    return new Matrix4f().translate(posX, posY, transform.offset.z).scale(width, height, 1.0f);
+    return dest
+        .identity()
+        .translate(posX, posY, transform.offset.z)
+        .scale(width, height, 1.0f);
   }
 
   public void close() {
@@ -0,0 +1,97 @@
+package september.engine;
+
+import org.lwjgl.BufferUtils;
+import september.engine.rendering.gl.GLStateCache;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_RGBA8;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.GL_VIEWPORT;
+import static org.lwjgl.opengl.GL11.glClear;
+import static org.lwjgl.opengl.GL11.glClearColor;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glGetIntegerv;
+import static org.lwjgl.opengl.GL11.glReadPixels;
+import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.opengl.GL30.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30.glCheckFramebufferStatus;
+import static org.lwjgl.opengl.GL30.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30.glFramebufferTexture2D;
+import static org.lwjgl.opengl.GL30.glGenFramebuffers;
+
+/**
+ * A small framebuffer for integration tests that need to read back what was drawn. The harness
+ * window may be hidden, so its default framebuffer's contents are not reliable.
+ * <p>
+ * Creating the target binds it and sets the viewport to cover it; closing it restores both.
+ */
+public final class OffscreenTarget implements AutoCloseable {
+
+  private final int width;
+  private final int height;
+  private final int framebufferId;
+  private final int colorTextureId;
+  private final int[] previousViewport = new int[4];
+
+  public OffscreenTarget(int width, int height) {
+    this.width = width;
+    this.height = height;
+    glGetIntegerv(GL_VIEWPORT, previousViewport);
+
+    colorTextureId = glGenTextures();
+    GLStateCache.bindTexture(0, colorTextureId);
+    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+    GLStateCache.bindTexture(0, 0);
+
+    framebufferId = glGenFramebuffers();
+    glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+    glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, colorTextureId, 0);
+    if (glCheckFramebufferStatus(GL_FRAMEBUFFER) != GL_FRAMEBUFFER_COMPLETE) {
+      throw new IllegalStateException("Offscreen framebuffer is incomplete");
+    }
+    glViewport(0, 0, width, height);
+  }
+
+  /**
+   * Clears the target to transparent black.
+   */
+  public void clear() {
+    glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+    glClear(GL_COLOR_BUFFER_BIT);
+  }
+
+  /**
+   * Reads one pixel, with the origin at the bottom left.
+   *
+   * @return The pixel's red, green, blue and alpha values, each from 0 to 255.
+   */
+  public int[] readPixel(int x, int y) {
+    ByteBuffer pixel = BufferUtils.createByteBuffer(4);
+    glReadPixels(x, y, 1, 1, GL_RGBA, GL_UNSIGNED_BYTE, pixel);
+    return new int[] {pixel.get(0) & 0xFF, pixel.get(1) & 0xFF, pixel.get(2) & 0xFF, pixel.get(3) & 0xFF};
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void close() {
+    glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    glDeleteFramebuffers(framebufferId);
+    GLStateCache.deleteTexture(colorTextureId);
+    glViewport(previousViewport[0], previousViewport[1], previousViewport[2], previousViewport[3]);
+  }
+}
@@ -1,9 +1,16 @@
 package september.engine.assets;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -14,6 +21,43 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 class AssetLoaderTest {
 
+  @TempDir
+  Path temp;
+
+  @AfterEach
+  void unmount() {
+    AssetLoader.mountDirectories(List.of());
+  }
+
+  @Test
+  @DisplayName("loadShaderSourceWithIncludes should record the shader and every file it includes")
+  void loadShaderSourceWithIncludes_recordsDependencies() {
+    Set<String> dependencies = new HashSet<>();
+
+    AssetLoader.loadShaderSourceWithIncludes("shaders/with_includes.vert", dependencies);
+
+    assertThat(dependencies).containsExactlyInAnyOrder("/shaders/with_includes.vert", "/shaders/shared.glsl");
+  }
+
+  @Test
+  @DisplayName("Files in a mounted directory should be read ahead of the classpath")
+  void mountDirectories_overridesClasspath() throws Exception {
+    Files.createDirectories(temp.resolve("textures"));
+    Files.writeString(temp.resolve("textures/test.txt"), "edited");
+    AssetLoader.mountDirectories(List.of(temp));
+
+    assertThat(AssetLoader.readResourceToString("/textures/test.txt")).isEqualTo("edited");
+    assertThat(AssetLoader.readResourceToByteBuffer("textures/test.txt").remaining()).isEqualTo(6);
+    assertThat(AssetLoader.readResourceToString("shaders/shared.glsl")).isNotEmpty();
+  }
+
+  @Test
+  @DisplayName("normalize should give equivalent resource paths the same form")
+  void normalize_canonicalizesPaths() {
+    assertThat(AssetLoader.normalize("shaders/../shaders/a.glsl")).isEqualTo("/shaders/a.glsl");
+    assertThat(AssetLoader.normalize("/textures/./b.png")).isEqualTo("/textures/b.png");
+  }
+
   @Test
   @DisplayName("readResourceToString should read text file content correctly")
   void readResourceToString_withValidTextFile_returnsContent() {
@@ -0,0 +1,85 @@
+package september.engine.assets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetPackTest {
+
+  @TempDir
+  Path temp;
+
+  @AfterEach
+  void unmount() {
+    AssetLoader.mount(null);
+  }
+
+  private Path buildPack() throws IOException {
+    Path root = Files.createDirectories(temp.resolve("resources"));
+    Files.createDirectories(root.resolve("shaders"));
+    Files.writeString(root.resolve("shaders/a.glsl"), "void main() {}\n");
+    Files.write(root.resolve("blob.bin"), new byte[] {1, 2, 3});
+    Files.write(root.resolve("empty.bin"), new byte[0]);
+    Path pack = temp.resolve("assets.pack");
+    assertThat(AssetPackBuilder.build(root, pack)).isEqualTo(3);
+    return pack;
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    return data;
+  }
+
+  @Test
+  @DisplayName("A built pack should serve each file under its relative path")
+  void open_servesPackedFiles() throws IOException {
+    AssetPack pack = AssetPack.open(buildPack());
+
+    assertThat(pack.size()).isEqualTo(3);
+    assertThat(bytes(pack.find("blob.bin"))).containsExactly(1, 2, 3);
+    assertThat(new String(bytes(pack.find("/shaders/a.glsl")), StandardCharsets.UTF_8)).isEqualTo("void main() {}\n");
+    assertThat(pack.find("empty.bin").remaining()).isZero();
+    assertThat(pack.find("missing.png")).isNull();
+  }
+
+  @Test
+  @DisplayName("Packed files should be direct, read-only slices starting at an aligned offset")
+  void find_returnsAlignedDirectSlices() throws IOException {
+    Path file = buildPack();
+    AssetPack pack = AssetPack.open(file);
+
+    ByteBuffer blob = pack.find("blob.bin");
+    assertThat(blob.isDirect()).isTrue();
+    assertThat(blob.isReadOnly()).isTrue();
+    assertThat(Files.size(file) % AssetPack.ALIGNMENT).isZero();
+  }
+
+  @Test
+  @DisplayName("open should reject files that are not asset packs")
+  void open_rejectsForeignFiles() throws IOException {
+    Path bogus = Files.write(temp.resolve("bogus.pack"), new byte[32]);
+
+    assertThatThrownBy(() -> AssetPack.open(bogus)).isInstanceOf(IOException.class).hasMessageContaining("Not an asset pack");
+  }
+
+  @Test
+  @DisplayName("AssetLoader should prefer the mounted pack and fall back to the classpath")
+  void assetLoader_readsFromMountedPack() throws IOException {
+    AssetLoader.mount(AssetPack.open(buildPack()));
+
+    assertThat(AssetLoader.readResourceToString("/shaders/a.glsl")).isEqualTo("void main() {}\n");
+    assertThat(bytes(AssetLoader.readResourceToByteBuffer("blob.bin"))).containsExactly(1, 2, 3);
+    assertThat(AssetLoader.readResourceToString("textures/test.txt")).isEqualTo("dummy texture data\n");
+  }
+}
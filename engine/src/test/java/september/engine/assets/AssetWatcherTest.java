@@ -0,0 +1,75 @@
+package september.engine.assets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetWatcherTest {
+
+  private static final long TIMEOUT_NANOS = 10_000_000_000L;
+
+  @TempDir
+  Path root;
+
+  private AssetWatcher watcher;
+
+  @AfterEach
+  void tearDown() {
+    if (watcher != null) {
+      watcher.close();
+    }
+  }
+
+  /** Polls until the expected paths were reported; watch events arrive asynchronously. */
+  private Set<String> pollUntil(Set<String> expected) throws InterruptedException {
+    Set<String> changed = new HashSet<>();
+    long deadline = System.nanoTime() + TIMEOUT_NANOS;
+    while (!changed.containsAll(expected) && System.nanoTime() < deadline) {
+      changed.addAll(watcher.poll());
+      Thread.sleep(20);
+    }
+    return changed;
+  }
+
+  @Test
+  @DisplayName("A modified file should be reported once as a resource path relative to its root")
+  void poll_reportsModifiedFiles() throws IOException, InterruptedException {
+    Files.createDirectories(root.resolve("shaders"));
+    Files.writeString(root.resolve("shaders/sprite.vert"), "v1");
+    watcher = new AssetWatcher(List.of(root));
+
+    Files.writeString(root.resolve("shaders/sprite.vert"), "v2");
+
+    assertThat(pollUntil(Set.of("/shaders/sprite.vert"))).containsExactly("/shaders/sprite.vert");
+  }
+
+  @Test
+  @DisplayName("Files in directories created after the watcher started should be reported")
+  void poll_watchesNewDirectories() throws IOException, InterruptedException {
+    watcher = new AssetWatcher(List.of(root));
+
+    Files.createDirectories(root.resolve("textures"));
+    pollUntil(Set.of());
+    Files.write(root.resolve("textures/hero.png"), new byte[] {1});
+
+    assertThat(pollUntil(Set.of("/textures/hero.png"))).contains("/textures/hero.png");
+  }
+
+  @Test
+  @DisplayName("Polling without changes should return nothing and not block")
+  void poll_withoutChanges_returnsEmpty() throws IOException {
+    watcher = new AssetWatcher(List.of(root));
+
+    assertThat(watcher.poll()).isEmpty();
+  }
+}
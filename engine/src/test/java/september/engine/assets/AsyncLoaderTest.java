@@ -0,0 +1,104 @@
+package september.engine.assets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.core.MainThreadExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncLoaderTest {
+
+  // Decodes run inline on the calling thread so the tests control when uploads happen.
+  private final MainThreadExecutor mainThread = new MainThreadExecutor();
+  private final AsyncLoader loader = new AsyncLoader(Runnable::run, mainThread);
+
+  @Test
+  @DisplayName("The upload stage should only run when the main-thread executor is drained")
+  void load_uploadsOnMainThreadDrain() {
+    List<String> uploads = new ArrayList<>();
+    CompletableFuture<String> future = loader.load("texture:a",
+      () -> "decoded",
+      decoded -> {
+        uploads.add(decoded);
+        return "asset";
+      },
+      decoded -> { });
+
+    assertThat(future).isNotDone();
+    assertThat(uploads).isEmpty();
+    assertThat(loader.getInFlightCount()).isEqualTo(1);
+
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(future).isCompletedWithValue("asset");
+    assertThat(uploads).containsExactly("decoded");
+    assertThat(loader.getInFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Concurrent requests for the same key should share one load")
+  void load_dedupesByKey() {
+    AtomicInteger decodes = new AtomicInteger();
+    CompletableFuture<String> first = loader.load("texture:a",
+      () -> "decoded" + decodes.incrementAndGet(), decoded -> decoded, decoded -> { });
+    CompletableFuture<String> second = loader.load("texture:a",
+      () -> "decoded" + decodes.incrementAndGet(), decoded -> decoded, decoded -> { });
+
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(second).isSameAs(first);
+    assertThat(decodes).hasValue(1);
+    assertThat(first).isCompletedWithValue("decoded1");
+  }
+
+  @Test
+  @DisplayName("Decoded data waiting for upload should be discarded when the loader closes")
+  void close_discardsPendingUploads() {
+    List<String> discarded = new ArrayList<>();
+    List<String> uploaded = new ArrayList<>();
+    CompletableFuture<String> future = loader.load("audio:a",
+      () -> "samples",
+      decoded -> {
+        uploaded.add(decoded);
+        return decoded;
+      },
+      discarded::add);
+
+    loader.close();
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(uploaded).isEmpty();
+    assertThat(discarded).containsExactly("samples");
+    assertThatThrownBy(future::join).hasCauseInstanceOf(CancellationException.class);
+    assertThat(loader.load("audio:b", () -> "x", d -> d, d -> { })).isCompletedExceptionally();
+  }
+
+  @Test
+  @DisplayName("A failed decode should complete the future exceptionally without an upload")
+  void load_propagatesDecodeFailure() {
+    List<String> uploaded = new ArrayList<>();
+    CompletableFuture<String> future = loader.<String, String>load("texture:missing",
+      () -> {
+        throw new RuntimeException("not found");
+      },
+      decoded -> {
+        uploaded.add(decoded);
+        return decoded;
+      },
+      decoded -> { });
+
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThatThrownBy(future::join).isInstanceOf(CompletionException.class).hasMessageContaining("not found");
+    assertThat(uploaded).isEmpty();
+    assertThat(loader.getInFlightCount()).isZero();
+  }
+}
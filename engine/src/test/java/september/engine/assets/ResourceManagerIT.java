@@ -5,10 +5,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import september.engine.EngineTestHarness;
 import september.engine.audio.AudioBuffer;
+import september.engine.audio.Voice;
 import september.engine.rendering.Mesh;
 import september.engine.rendering.Texture;
 import september.engine.rendering.gl.Shader;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -225,4 +229,59 @@ class ResourceManagerIT extends EngineTestHarness {
     assertThatThrownBy(() -> resourceManager.loadAudioBuffer("badAudio", "non/existent/audio.ogg"))
       .isInstanceOf(RuntimeException.class);
   }
+
+  @Test
+  @DisplayName("An async shader load finishing after a synchronous load of the same handle should keep the cached shader")
+  void loadShaderAsync_keepsShaderLoadedDuringRead() {
+    CompletableFuture<Shader> future = resourceManager.loadShaderAsync("shader1", "shaders/test.vert", "shaders/test.frag");
+    Shader loaded = resourceManager.loadShader("shader1", "shaders/test.vert", "shaders/test.frag");
+
+    drainUntilDone(future);
+
+    assertThat(future).isCompletedWithValue(loaded);
+    assertThat(resourceManager.resolveShaderHandle("shader1")).isSameAs(loaded);
+  }
+
+  @Test
+  @DisplayName("An async audio load finishing after a synchronous load of the same handle should keep the cached buffer")
+  void loadAudioBufferAsync_keepsBufferLoadedDuringDecode() {
+    CompletableFuture<AudioBuffer> future = resourceManager.loadAudioBufferAsync("audio1", "audio/test-sound.ogg");
+    AudioBuffer loaded = resourceManager.loadAudioBuffer("audio1", "audio/test-sound.ogg");
+
+    drainUntilDone(future);
+
+    assertThat(future).isCompletedWithValue(loaded);
+    assertThat(resourceManager.resolveAudioBufferHandle("audio1")).isSameAs(loaded);
+  }
+
+  @Test
+  @DisplayName("A buffer replaced by a reload should be freed once no voice has it attached")
+  void reload_freesReplacedAudioBufferOnceDetached() throws InterruptedException {
+    AudioBuffer original = resourceManager.loadAudioBuffer("audio1", "audio/test-sound.ogg");
+    Voice voice = audioManager.createVoice();
+    voice.setLooping(true);
+    voice.play(original);
+
+    assertThat(resourceManager.reload("audio/test-sound.ogg")).isEqualTo(1);
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.resolveAudioBufferHandle("audio1")).isNotSameAs(original);
+    assertThat(original.isClosed()).isFalse();
+
+    voice.close();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (original.isAttached() && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    resourceManager.processUploads();
+
+    assertThat(original.isClosed()).isTrue();
+  }
+
+  private void drainUntilDone(CompletableFuture<?> future) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!future.isDone() && System.nanoTime() < deadline) {
+      resourceManager.processUploads();
+    }
+  }
 }
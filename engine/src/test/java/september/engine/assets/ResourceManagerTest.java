@@ -0,0 +1,502 @@
+package september.engine.assets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.core.MainThreadExecutor;
+import org.joml.Matrix4f;
+import september.engine.rendering.DecodedImage;
+import september.engine.rendering.InstancedMesh;
+import september.engine.rendering.Renderer;
+import september.engine.rendering.SpriteSheet;
+import september.engine.rendering.StaticSpriteLayer;
+import september.engine.rendering.Texture;
+import september.engine.rendering.gl.GLStateCache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ResourceManager's reference counting and memory budget. Sprite sheets and
+ * mocked textures stand in for real assets, so no GL context is needed.
+ */
+class ResourceManagerTest {
+
+  private static final long TEXTURE_BYTES = 64 * 64 * 4;
+
+  private final List<String> loadedPaths = new CopyOnWriteArrayList<>();
+  private final List<Thread> uploadThreads = new ArrayList<>();
+  private Function<String, DecodedImage> decoder = this::fakeImage;
+  private Function<DecodedImage, Texture> uploader = this::fakeTexture;
+  private final ResourceManager resourceManager = new ResourceManager(
+    Executors.newVirtualThreadPerTaskExecutor(), new MainThreadExecutor(),
+    path -> decoder.apply(path), image -> uploader.apply(image));
+
+  /** Decodes a 64x64 image without pixels; only the upload below looks at it. */
+  private DecodedImage fakeImage(String path) {
+    loadedPaths.add(path);
+    return new DecodedImage(64, 64, ByteBuffer.allocate(0));
+  }
+
+  /** Uploads a mock texture, last used in the current frame, as a new Texture would be. */
+  private Texture fakeTexture(DecodedImage image) {
+    uploadThreads.add(Thread.currentThread());
+    Texture texture = mock(Texture.class);
+    long frame = GLStateCache.getFrameNumber();
+    when(texture.getSizeBytes()).thenReturn(TEXTURE_BYTES);
+    when(texture.isResident()).thenReturn(true);
+    when(texture.getLastUsedFrame()).thenReturn(frame);
+    return texture;
+  }
+
+  @AfterEach
+  void tearDown() {
+    resourceManager.close();
+  }
+
+  @Test
+  @DisplayName("A released asset should stay resolvable until the next frame, then be freed")
+  void releaseScope_freesAtNextFrame() {
+    resourceManager.registerSpriteSheet("hero", new SpriteSheet(2, 2));
+    resourceManager.acquire("/scenes/a.json", AssetType.SPRITE_SHEET, "hero");
+
+    resourceManager.releaseScope("/scenes/a.json");
+
+    assertThat(resourceManager.getReferenceCount(AssetType.SPRITE_SHEET, "hero")).isZero();
+    assertThat(resourceManager.resolveSpriteSheetHandle("hero")).isNotNull();
+
+    resourceManager.processUploads();
+
+    assertThatThrownBy(() -> resourceManager.resolveSpriteSheetHandle("hero"))
+      .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  @DisplayName("An asset shared by two scopes should survive releasing one of them")
+  void releaseScope_keepsSharedAssets() {
+    resourceManager.registerSpriteSheet("hero", new SpriteSheet(2, 2));
+    resourceManager.acquire("/scenes/a.json", AssetType.SPRITE_SHEET, "hero");
+    resourceManager.acquire("/scenes/b.json", AssetType.SPRITE_SHEET, "hero");
+
+    resourceManager.releaseScope("/scenes/a.json");
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.getReferenceCount(AssetType.SPRITE_SHEET, "hero")).isEqualTo(1);
+    assertThat(resourceManager.resolveSpriteSheetHandle("hero")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Re-acquiring a released asset before the next frame should cancel its release")
+  void acquire_cancelsPendingRelease() {
+    SpriteSheet sheet = new SpriteSheet(2, 2);
+    resourceManager.registerSpriteSheet("hero", sheet);
+    resourceManager.acquire("/scenes/a.json", AssetType.SPRITE_SHEET, "hero");
+
+    resourceManager.releaseScope("/scenes/a.json");
+    resourceManager.acquire("/scenes/a.json", AssetType.SPRITE_SHEET, "hero");
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.resolveSpriteSheetHandle("hero")).isSameAs(sheet);
+  }
+
+  @Test
+  @DisplayName("Assets that were never acquired should be kept")
+  void unacquiredAssets_areKept() {
+    resourceManager.registerSpriteSheet("hero", new SpriteSheet(2, 2));
+
+    resourceManager.releaseScope("/scenes/unknown.json");
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.resolveSpriteSheetHandle("hero")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Exceeding the budget should evict the least recently used textures until it fits")
+  void memoryBudget_evictsLeastRecentlyUsedTextures() {
+    Texture oldest = resourceManager.loadTexture("oldest", "/textures/a.png");
+    GLStateCache.endFrame();
+    resourceManager.loadTexture("older", "/textures/b.png");
+    GLStateCache.endFrame();
+    GLStateCache.endFrame();
+    resourceManager.loadTexture("current", "/textures/c.png");
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(3 * TEXTURE_BYTES);
+
+    resourceManager.setMemoryBudgetBytes(2 * TEXTURE_BYTES);
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.getEvictionCount()).isEqualTo(1);
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(2 * TEXTURE_BYTES);
+    verify(oldest).close();
+  }
+
+  @Test
+  @DisplayName("Resolving an evicted texture should reload it from its file")
+  void resolveTextureHandle_reloadsEvictedTexture() {
+    Texture original = resourceManager.loadTexture("hero", "/textures/hero.png");
+    GLStateCache.endFrame();
+    GLStateCache.endFrame();
+    resourceManager.setMemoryBudgetBytes(0);
+    resourceManager.processUploads();
+
+    Texture reloaded = resourceManager.resolveTextureHandle("hero");
+
+    assertThat(reloaded).isNotSameAs(original);
+    assertThat(loadedPaths).containsExactly("/textures/hero.png", "/textures/hero.png");
+  }
+
+  @Test
+  @DisplayName("Textures used in the previous frame should not be evicted")
+  void memoryBudget_keepsRecentlyUsedTextures() {
+    resourceManager.loadTexture("hero", "/textures/hero.png");
+    GLStateCache.endFrame();
+    resourceManager.setMemoryBudgetBytes(0);
+
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.getEvictionCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Textures a scope still references should not be evicted")
+  void memoryBudget_keepsReferencedTextures() {
+    Texture referenced = resourceManager.loadTexture("hero", "/textures/hero.png");
+    Texture unreferenced = resourceManager.loadTexture("enemy", "/textures/enemy.png");
+    resourceManager.acquire("/scenes/a.json", AssetType.TEXTURE, "hero");
+    GLStateCache.endFrame();
+    GLStateCache.endFrame();
+    resourceManager.setMemoryBudgetBytes(0);
+
+    resourceManager.processUploads();
+
+    assertThat(resourceManager.getEvictionCount()).isEqualTo(1);
+    verify(unreferenced).close();
+    verify(referenced, never()).close();
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(TEXTURE_BYTES);
+  }
+
+  @Test
+  @DisplayName("Memory usage should follow loads, evictions, reloads and frees")
+  void memoryUsage_tracksCacheChanges() {
+    resourceManager.loadTexture("hero", "/textures/hero.png");
+    resourceManager.loadTexture("enemy", "/textures/enemy.png");
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(2 * TEXTURE_BYTES);
+
+    GLStateCache.endFrame();
+    GLStateCache.endFrame();
+    resourceManager.setMemoryBudgetBytes(TEXTURE_BYTES);
+    resourceManager.processUploads();
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(TEXTURE_BYTES);
+
+    resourceManager.setMemoryBudgetBytes(Long.MAX_VALUE);
+    resourceManager.resolveTextureHandle("hero");
+    resourceManager.resolveTextureHandle("enemy");
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(2 * TEXTURE_BYTES);
+
+    resourceManager.acquire("/scenes/a.json", AssetType.TEXTURE, "hero");
+    resourceManager.releaseScope("/scenes/a.json");
+    resourceManager.processUploads();
+    assertThat(resourceManager.getMemoryUsageBytes()).isEqualTo(TEXTURE_BYTES);
+  }
+
+  @Test
+  @DisplayName("A texture that fails to reload should not stop the others and its error should be thrown last")
+  void reload_defersTextureFailure() {
+    Texture first = resourceManager.loadTexture("hero", "/textures/hero.png");
+    Texture second = resourceManager.loadTexture("hero-copy", "/textures/hero.png");
+    List<Texture> refreshed = new ArrayList<>();
+    doAnswer(invocation -> refreshed.add(first)).when(first).replaceImage(any());
+    doAnswer(invocation -> refreshed.add(second)).when(second).replaceImage(any());
+    IllegalStateException broken = new IllegalStateException("half-saved file");
+    decoder = path -> {
+      // Only the first decode of the reload fails.
+      decoder = this::fakeImage;
+      throw broken;
+    };
+
+    assertThatThrownBy(() -> resourceManager.reload("/textures/hero.png")).isSameAs(broken);
+
+    // Whichever texture was visited first failed; the other was still refreshed.
+    assertThat(refreshed).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Interned texture IDs should be stable and resolve to the handle's texture")
+  void textureId_resolvesByIndex() {
+    Texture hero = resourceManager.loadTexture("hero", "/textures/hero.png");
+
+    int id = resourceManager.textureId("hero");
+
+    assertThat(id).isPositive().isEqualTo(resourceManager.textureId("hero"));
+    assertThat(resourceManager.textureId("enemy")).isNotEqualTo(id);
+    assertThat(resourceManager.resolveTexture(id)).isSameAs(hero);
+  }
+
+  @Test
+  @DisplayName("An ID whose texture was closed should resolve the handle's current texture")
+  void resolveTexture_refreshesClosedTextures() {
+    Texture original = resourceManager.loadTexture("hero", "/textures/hero.png");
+    int id = resourceManager.textureId("hero");
+    resourceManager.resolveTexture(id);
+    GLStateCache.endFrame();
+    GLStateCache.endFrame();
+    resourceManager.setMemoryBudgetBytes(0);
+    resourceManager.processUploads();
+    when(original.isClosed()).thenReturn(true);
+
+    Texture reloaded = resourceManager.resolveTexture(id);
+
+    assertThat(reloaded).isNotSameAs(original);
+    assertThat(resourceManager.resolveTexture(id)).isSameAs(reloaded);
+  }
+
+  @Test
+  @DisplayName("loadTextures should decode concurrently and upload every texture on the calling thread")
+  void loadTextures_decodesConcurrently() {
+    // Each decode waits until all three have started, which only succeeds if they run in parallel.
+    CountDownLatch started = new CountDownLatch(3);
+    decoder = path -> {
+      started.countDown();
+      try {
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return fakeImage(path);
+    };
+    Map<String, String> textures = new LinkedHashMap<>();
+    textures.put("a", "/textures/a.png");
+    textures.put("b", "/textures/b.png");
+    textures.put("c", "/textures/c.png");
+
+    resourceManager.loadTextures(textures);
+
+    assertThat(loadedPaths).containsExactlyInAnyOrder("/textures/a.png", "/textures/b.png", "/textures/c.png");
+    assertThat(uploadThreads).hasSize(3).containsOnly(Thread.currentThread());
+    assertThat(resourceManager.resolveTextureHandle("b")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("loadTextures should load the remaining textures before rethrowing a decode failure")
+  void loadTextures_rethrowsFailuresAfterLoadingTheRest() {
+    decoder = path -> {
+      if (path.contains("broken")) {
+        throw new IllegalStateException("corrupt image");
+      }
+      return fakeImage(path);
+    };
+    resourceManager.loadTexture("cached", "/textures/cached.png");
+    Map<String, String> textures = new LinkedHashMap<>();
+    textures.put("cached", "/textures/cached.png");
+    textures.put("broken", "/textures/broken.png");
+    textures.put("fine", "/textures/fine.png");
+
+    assertThatThrownBy(() -> resourceManager.loadTextures(textures)).hasMessage("corrupt image");
+
+    assertThat(resourceManager.resolveTextureHandle("fine")).isNotNull();
+    assertThat(loadedPaths).containsExactlyInAnyOrder("/textures/cached.png", "/textures/fine.png");
+    // A texture that never loaded must not look evicted and be decoded again on every resolve.
+    assertThatThrownBy(() -> resourceManager.resolveTextureHandle("broken")).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  @DisplayName("loadTextures should free an image whose upload failed and still load the rest")
+  void loadTextures_collectsUploadFailures() {
+    DecodedImage broken = mock(DecodedImage.class);
+    decoder = path -> path.contains("broken") ? broken : fakeImage(path);
+    uploader = image -> {
+      if (image == broken) {
+        throw new IllegalStateException("upload failed");
+      }
+      return fakeTexture(image);
+    };
+    Map<String, String> textures = new LinkedHashMap<>();
+    textures.put("broken", "/textures/broken.png");
+    textures.put("fine", "/textures/fine.png");
+
+    assertThatThrownBy(() -> resourceManager.loadTextures(textures)).hasMessage("upload failed");
+
+    verify(broken).close();
+    assertThat(resourceManager.resolveTextureHandle("fine")).isNotNull();
+    assertThatThrownBy(() -> resourceManager.resolveTextureHandle("broken")).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  @DisplayName("An interrupted loadTextures should free the images decoded after it gave up")
+  void loadTextures_freesImagesWhenInterrupted() {
+    CountDownLatch release = new CountDownLatch(1);
+    DecodedImage image = mock(DecodedImage.class);
+    decoder = path -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return image;
+    };
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThatThrownBy(() -> resourceManager.loadTextures(Map.of("hero", "/textures/hero.png")))
+        .isInstanceOf(IllegalStateException.class);
+    } finally {
+      Thread.interrupted();
+    }
+    release.countDown();
+
+    verify(image, timeout(5000)).close();
+    assertThat(uploadThreads).isEmpty();
+  }
+
+  @Test
+  @DisplayName("An async load finishing after a synchronous load of the same handle should keep the cached texture")
+  void loadTextureAsync_keepsTextureLoadedDuringDecode() throws InterruptedException {
+    CountDownLatch decodeStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    DecodedImage image = mock(DecodedImage.class);
+    decoder = path -> {
+      if (decodeStarted.getCount() == 0) {
+        return fakeImage(path);
+      }
+      decodeStarted.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return image;
+    };
+
+    CompletableFuture<Texture> future = resourceManager.loadTextureAsync("hero", "/textures/hero.png");
+    assertThat(decodeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    Texture loaded = resourceManager.loadTexture("hero", "/textures/hero.png");
+    release.countDown();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!future.isDone() && System.nanoTime() < deadline) {
+      resourceManager.processUploads();
+    }
+
+    assertThat(future).isCompletedWithValue(loaded);
+    assertThat(resourceManager.resolveTextureHandle("hero")).isSameAs(loaded);
+    verify(image).close();
+    assertThat(uploadThreads).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Loading a prefetched texture should take the prefetched image instead of decoding again")
+  void loadTexture_takesPrefetchedImage() {
+    resourceManager.prefetchTexture("textures/hero.png");
+    resourceManager.prefetchTexture("/textures/hero.png");
+
+    resourceManager.loadTexture("hero", "/textures/hero.png");
+
+    assertThat(loadedPaths).containsExactly("textures/hero.png");
+    assertThat(resourceManager.getPrefetchedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("An async load should keep its prefetched image when leftover prefetches are discarded right after it starts")
+  void loadTextureAsync_claimsPrefetchedImageBeforeDiscard() throws InterruptedException {
+    // Hold the decode stage back, as a busy virtual thread would, until the discard has run.
+    ExecutorService decodes = Executors.newSingleThreadExecutor();
+    CountDownLatch gate = new CountDownLatch(1);
+    decodes.execute(() -> {
+      try {
+        gate.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    try (ResourceManager manager = new ResourceManager(decodes, new MainThreadExecutor(),
+      path -> decoder.apply(path), image -> uploader.apply(image))) {
+      manager.prefetchTexture("/textures/hero.png");
+
+      // A state entering with loadAsync, followed by the exited state's prefetches being discarded
+      manager.loadTextureAsync("hero", "/textures/hero.png");
+      manager.discardPrefetched();
+      gate.countDown();
+      decodes.shutdown();
+      assertThat(decodes.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+      // The decode stage joined the prefetched image rather than decoding the file a second time.
+      assertThat(loadedPaths).containsExactly("/textures/hero.png");
+    }
+  }
+
+  @Test
+  @DisplayName("Prefetching the file of a resident texture should do nothing")
+  void prefetchTexture_skipsResidentTextures() {
+    resourceManager.loadTexture("hero", "/textures/hero.png");
+
+    resourceManager.prefetchTexture("textures/hero.png");
+
+    assertThat(resourceManager.getPrefetchedCount()).isZero();
+    assertThat(loadedPaths).containsExactly("/textures/hero.png");
+  }
+
+  @Test
+  @DisplayName("Discarded prefetches should be decoded again when loaded")
+  void discardPrefetched_dropsImages() throws Exception {
+    CountDownLatch decoded = new CountDownLatch(1);
+    decoder = path -> {
+      DecodedImage image = fakeImage(path);
+      decoded.countDown();
+      return image;
+    };
+    resourceManager.prefetchTexture("/textures/hero.png");
+    assertThat(decoded.await(5, TimeUnit.SECONDS)).isTrue();
+
+    resourceManager.discardPrefetched();
+    resourceManager.loadTexture("hero", "/textures/hero.png");
+
+    assertThat(loadedPaths).containsExactly("/textures/hero.png", "/textures/hero.png");
+  }
+
+  @Test
+  @DisplayName("A baked static chunk culled while its texture was evicted should draw the reloaded texture")
+  void staticLayer_drawsReloadedTextureAfterEviction() {
+    Texture original = resourceManager.loadTexture("tile", "/textures/tile.png");
+    StaticSpriteLayer layer = new StaticSpriteLayer(10f, () -> mock(InstancedMesh.class));
+    layer.put(0, resourceManager.textureId("tile"), new Matrix4f().translation(1f, 1f, 0f));
+    layer.rebuild();
+    Renderer renderer = mock(Renderer.class);
+
+    // The chunk stays out of view for two frames, so nothing marks its texture as used.
+    for (int frame = 0; frame < 2; frame++) {
+      layer.submitVisible(renderer, resourceManager::resolveTexture, 50f, 50f, 60f, 60f, 0);
+      GLStateCache.endFrame();
+    }
+    resourceManager.setMemoryBudgetBytes(0);
+    resourceManager.processUploads();
+    verify(original).close();
+    when(original.isClosed()).thenReturn(true);
+
+    layer.submitVisible(renderer, resourceManager::resolveTexture, 0f, 0f, 10f, 10f, 0);
+
+    Texture reloaded = resourceManager.resolveTextureHandle("tile");
+    assertThat(reloaded).isNotSameAs(original);
+    verify(renderer).submitBatch(any(InstancedMesh.class), eq(1), eq(reloaded), anyLong());
+    verify(renderer, never()).submitBatch(any(InstancedMesh.class), eq(1), eq(original), anyLong());
+  }
+}
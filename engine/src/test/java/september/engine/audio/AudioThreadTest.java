@@ -0,0 +1,112 @@
+package september.engine.audio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the AudioThread's command queue. The commands here don't touch OpenAL, so no
+ * audio device is needed.
+ */
+class AudioThreadTest {
+
+  private final AudioThread audioThread = new AudioThread(1_000_000L);
+
+  @AfterEach
+  void tearDown() {
+    audioThread.close();
+  }
+
+  @Test
+  @DisplayName("Commands should run on the audio thread in the order they were queued")
+  void execute_runsCommandsInOrderOnAudioThread() throws InterruptedException {
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    AtomicBoolean onAudioThread = new AtomicBoolean(true);
+    CountDownLatch done = new CountDownLatch(1);
+    audioThread.start();
+
+    for (int i = 0; i < 100; i++) {
+      int index = i;
+      audioThread.execute(() -> {
+        onAudioThread.compareAndSet(true, audioThread.isAudioThread());
+        order.add(index);
+      });
+    }
+    audioThread.execute(done::countDown);
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(order).hasSize(100).isSorted();
+    assertThat(onAudioThread).isTrue();
+    assertThat(audioThread.isAudioThread()).isFalse();
+  }
+
+  @Test
+  @DisplayName("A failing command should not stop the commands after it")
+  void execute_survivesFailingCommands() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    audioThread.start();
+
+    audioThread.execute(() -> {
+      throw new IllegalStateException("broken command");
+    });
+    audioThread.execute(done::countDown);
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Closing should run the commands that were still queued")
+  void close_drainsQueuedCommands() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> ran = new CopyOnWriteArrayList<>();
+    audioThread.start();
+
+    // Hold the thread in a command so the next one is still queued when closing.
+    audioThread.execute(() -> {
+      blocked.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+    audioThread.execute(() -> ran.add("queued"));
+    release.countDown();
+
+    audioThread.close();
+
+    assertThat(ran).containsExactly("queued");
+  }
+
+  @Test
+  @DisplayName("Closing should release voices that are still attached and drop later commands")
+  void close_releasesAttachedVoices() throws InterruptedException {
+    Voice voice = mock(Voice.class);
+    CountDownLatch attached = new CountDownLatch(1);
+    List<String> ran = new CopyOnWriteArrayList<>();
+    audioThread.start();
+    audioThread.execute(() -> {
+      audioThread.attach(voice);
+      attached.countDown();
+    });
+    assertThat(attached.await(5, TimeUnit.SECONDS)).isTrue();
+
+    audioThread.close();
+    audioThread.execute(() -> ran.add("late"));
+
+    verify(voice).release();
+    assertThat(ran).isEmpty();
+  }
+}
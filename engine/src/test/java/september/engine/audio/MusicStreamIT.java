@@ -0,0 +1,75 @@
+package september.engine.audio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.openal.AL10.AL_BUFFERS_PROCESSED;
+import static org.lwjgl.openal.AL10.AL_BUFFERS_QUEUED;
+import static org.lwjgl.openal.AL10.alGetSourcei;
+
+/**
+ * Integration test for MusicStream, streaming the bundled OGG track through a real source with
+ * the harness's OpenAL context.
+ */
+class MusicStreamIT extends EngineTestHarness {
+
+  private static final String MUSIC_PATH = "audio/test-music.ogg";
+
+  private AudioSource source;
+
+  @BeforeEach
+  void createSource() {
+    source = audioManager.createSource();
+  }
+
+  @AfterEach
+  void closeSource() {
+    source.close();
+  }
+
+  @Test
+  @DisplayName("Updating a looping stream should refill and requeue the buffers the source has played")
+  void update_requeuesProcessedBuffers() throws InterruptedException {
+    try (MusicStream stream = MusicStream.open(MUSIC_PATH, true)) {
+      stream.play(source);
+      int sourceId = source.getSourceId();
+      assertThat(alGetSourcei(sourceId, AL_BUFFERS_QUEUED)).isEqualTo(MusicStream.BUFFER_COUNT);
+
+      for (int i = 0; i < 3; i++) {
+        // Long enough for the source to finish at least one buffer.
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertThat(alGetSourcei(sourceId, AL_BUFFERS_PROCESSED)).isPositive();
+
+        stream.update();
+
+        assertThat(alGetSourcei(sourceId, AL_BUFFERS_PROCESSED)).isZero();
+        assertThat(alGetSourcei(sourceId, AL_BUFFERS_QUEUED)).isEqualTo(MusicStream.BUFFER_COUNT);
+        assertThat(stream.isPlaying()).isTrue();
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A stream that does not loop should stop playing once its last buffer has played")
+  void update_endsNonLoopingTrack() throws InterruptedException {
+    try (MusicStream stream = MusicStream.open(MUSIC_PATH, false)) {
+      stream.play(source);
+      assertThat(stream.isPlaying()).isTrue();
+
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (stream.isPlaying() && System.nanoTime() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(20);
+        stream.update();
+      }
+
+      assertThat(stream.isPlaying()).isFalse();
+      assertThat(alGetSourcei(source.getSourceId(), AL_BUFFERS_QUEUED)).isZero();
+    }
+  }
+}
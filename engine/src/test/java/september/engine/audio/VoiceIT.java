@@ -0,0 +1,89 @@
+package september.engine.audio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for Voice, playing a real buffer through the audio thread with the
+ * harness's OpenAL context.
+ */
+class VoiceIT extends EngineTestHarness {
+
+  private AudioBuffer buffer;
+
+  @BeforeEach
+  void loadBuffer() {
+    buffer = audioManager.loadAudioBuffer("audio/test-sound.ogg");
+  }
+
+  @AfterEach
+  void closeBuffer() {
+    buffer.close();
+  }
+
+  @Test
+  @DisplayName("State changes should be visible right after each call and stay once the audio thread catches up")
+  void stateChanges_areVisibleImmediately() throws InterruptedException {
+    Voice voice = audioManager.createVoice();
+    try {
+      // Looping keeps the short clip playing while the audio thread catches up.
+      voice.setLooping(true);
+
+      voice.play(buffer);
+      assertThat(voice.isPlaying()).isTrue();
+      TimeUnit.MILLISECONDS.sleep(50);
+      assertThat(voice.isPlaying()).isTrue();
+
+      voice.pause();
+      assertThat(voice.isPaused()).isTrue();
+      TimeUnit.MILLISECONDS.sleep(50);
+      assertThat(voice.isPaused()).isTrue();
+
+      voice.resume();
+      assertThat(voice.isPlaying()).isTrue();
+
+      voice.stop();
+      assertThat(voice.isStopped()).isTrue();
+      TimeUnit.MILLISECONDS.sleep(50);
+      assertThat(voice.isStopped()).isTrue();
+    } finally {
+      voice.close();
+    }
+  }
+
+  @Test
+  @DisplayName("A volume change on a playing voice should ramp rather than jump")
+  void setVolume_rampsWhilePlaying() throws InterruptedException {
+    AudioThread audioThread = new AudioThread();
+    audioThread.start();
+    try {
+      Voice voice = new Voice(audioThread);
+      voice.setLooping(true);
+      voice.play(buffer);
+      // Let a service pass publish the playing state, so the next change is ramped.
+      TimeUnit.MILLISECONDS.sleep(50);
+
+      voice.setVolume(0.0f);
+      List<Float> gains = new CopyOnWriteArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        audioThread.execute(() -> gains.add(voice.getGain()));
+        TimeUnit.MILLISECONDS.sleep(2);
+      }
+
+      assertThat(gains).anyMatch(gain -> gain > 0.0f && gain < 1.0f);
+      assertThat(gains.getLast()).isZero();
+      voice.close();
+    } finally {
+      audioThread.close();
+    }
+  }
+}
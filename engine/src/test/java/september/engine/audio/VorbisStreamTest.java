@@ -0,0 +1,70 @@
+package september.engine.audio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ShortBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VorbisStream. Decoding only uses STB, so no OpenAL device is needed.
+ */
+class VorbisStreamTest {
+
+  private static final String TRACK = "/audio/test-music.ogg";
+
+  private final ShortBuffer pcm = MemoryUtil.memAllocShort(4096);
+
+  @AfterEach
+  void tearDown() {
+    MemoryUtil.memFree(pcm);
+  }
+
+  @Test
+  @DisplayName("Reading a stream to its end should produce the same samples as a full decode")
+  void read_matchesFullDecode() {
+    try (DecodedAudio full = DecodedAudio.decodeOggResource(TRACK);
+         VorbisStream stream = VorbisStream.open(TRACK)) {
+      ShortBuffer expected = full.getSamples();
+      int offset = 0;
+      int frames;
+      do {
+        pcm.clear();
+        frames = stream.read(pcm, false);
+        pcm.flip();
+        for (int i = 0; i < pcm.limit(); i++) {
+          assertThat(pcm.get(i)).isEqualTo(expected.get(offset + i));
+        }
+        offset += pcm.limit();
+      } while (frames > 0);
+
+      assertThat(stream.getChannels()).isEqualTo(full.getChannels());
+      assertThat(stream.getSampleRate()).isEqualTo(full.getSampleRate());
+      assertThat(offset).isEqualTo(expected.remaining());
+    }
+  }
+
+  @Test
+  @DisplayName("A looping stream should wrap around to the start and keep filling buffers")
+  void read_looping_wrapsAround() {
+    int totalFrames;
+    try (DecodedAudio full = DecodedAudio.decodeOggResource(TRACK)) {
+      totalFrames = full.getSamples().remaining() / full.getChannels();
+    }
+
+    try (VorbisStream stream = VorbisStream.open(TRACK)) {
+      int framesPerRead = pcm.capacity() / stream.getChannels();
+      long read = 0;
+      // Read well past the end of the track.
+      while (read < 2L * totalFrames + framesPerRead) {
+        pcm.clear();
+        int frames = stream.read(pcm, true);
+        assertThat(frames).isEqualTo(framesPerRead);
+        read += frames;
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package september.engine.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MainThreadExecutorTest {
+
+  /** A clock that advances by one millisecond every time it is read. */
+  private static final class SteppingClock {
+    private long now;
+
+    long read() {
+      long value = now;
+      now += 1_000_000L;
+      return value;
+    }
+  }
+
+  @Test
+  @DisplayName("drain should run queued tasks in submission order")
+  void drain_runsTasksInOrder() {
+    MainThreadExecutor executor = new MainThreadExecutor();
+    List<Integer> order = new ArrayList<>();
+    executor.execute(() -> order.add(1));
+    executor.execute(() -> order.add(2));
+    executor.execute(() -> order.add(3));
+
+    int ran = executor.drain(Long.MAX_VALUE);
+
+    assertThat(ran).isEqualTo(3);
+    assertThat(order).containsExactly(1, 2, 3);
+    assertThat(executor.getPendingCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("drain should stop once the budget is spent and leave the rest queued")
+  void drain_stopsAtBudget() {
+    SteppingClock clock = new SteppingClock();
+    MainThreadExecutor executor = new MainThreadExecutor(clock::read);
+    for (int i = 0; i < 5; i++) {
+      executor.execute(() -> { });
+    }
+
+    // Each task appears to take one millisecond, so a 2 ms budget allows two tasks.
+    int ran = executor.drain(2_000_000L);
+
+    assertThat(ran).isEqualTo(2);
+    assertThat(executor.getPendingCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("drain should run one task even with a zero budget")
+  void drain_runsAtLeastOneTask() {
+    MainThreadExecutor executor = new MainThreadExecutor(() -> 0L);
+    executor.execute(() -> { });
+    executor.execute(() -> { });
+
+    assertThat(executor.drain(0L)).isEqualTo(1);
+    assertThat(executor.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("A failing task should not prevent later tasks from running")
+  void drain_isolatesFailingTasks() {
+    MainThreadExecutor executor = new MainThreadExecutor();
+    List<String> ran = new ArrayList<>();
+    executor.execute(() -> {
+      throw new IllegalStateException("boom");
+    });
+    executor.execute(() -> ran.add("after"));
+
+    assertThat(executor.drain(Long.MAX_VALUE)).isEqualTo(2);
+    assertThat(ran).containsExactly("after");
+  }
+}
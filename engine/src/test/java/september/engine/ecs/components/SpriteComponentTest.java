@@ -1,5 +1,6 @@
 package september.engine.ecs.components;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.joml.Vector4f;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -39,4 +40,28 @@ class SpriteComponentTest {
     assertThat(component.textureHandle()).as("Texture handle").isEqualTo(expectedHandle);
     assertThat(component.color()).as("Custom color").isEqualTo(expectedColor);
   }
+
+  @Test
+  @DisplayName("Deserializing from scene JSON should leave the texture ID unassigned")
+  void deserialize_leavesTextureIdUnassigned() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+
+    SpriteComponent component = mapper.readValue("{\"textureHandle\": \"player\"}", SpriteComponent.class);
+
+    assertThat(component.textureHandle()).isEqualTo("player");
+    assertThat(component.textureId()).isZero();
+    assertThat(mapper.writeValueAsString(component.withTextureId(7))).doesNotContain("textureId");
+  }
+
+  @Test
+  @DisplayName("withTextureId should keep the handle and color")
+  void withTextureId_keepsOtherProperties() {
+    SpriteComponent component = new SpriteComponent("player", new Vector4f(0.5f));
+
+    SpriteComponent bound = component.withTextureId(3);
+
+    assertThat(bound.textureId()).isEqualTo(3);
+    assertThat(bound.textureHandle()).isEqualTo("player");
+    assertThat(bound.color()).isSameAs(component.color());
+  }
 }
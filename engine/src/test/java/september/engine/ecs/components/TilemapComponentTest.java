@@ -0,0 +1,40 @@
+package september.engine.ecs.components;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TilemapComponentTest {
+
+  @Test
+  @DisplayName("A new tilemap should be blank and sized in whole chunks")
+  void constructor_createsBlankMap() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 40, 70);
+
+    assertThat(tilemap.getTile(0, 0)).isEqualTo(TilemapComponent.EMPTY);
+    assertThat(tilemap.getChunkColumns()).isEqualTo(2);
+    assertThat(tilemap.getChunkRows()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("setTile should store the index and mark only its chunk dirty")
+  void setTile_marksOwningChunkDirty() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 64, 64);
+
+    tilemap.setTile(33, 1, 7);
+
+    assertThat(tilemap.getTile(33, 1)).isEqualTo((short) 7);
+    assertThat(tilemap.dirtyChunks.stream().toArray()).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("Cells outside the map should read as empty and reject writes")
+  void outOfBounds_isEmptyAndRejected() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 4, 4);
+
+    assertThat(tilemap.getTile(-1, 0)).isEqualTo(TilemapComponent.EMPTY);
+    assertThatThrownBy(() -> tilemap.setTile(4, 0, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
@@ -2,11 +2,13 @@ package september.engine.rendering;
 
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
+import org.joml.Vector4f;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 class CameraTest {
 
@@ -73,4 +75,32 @@ class CameraTest {
     Matrix4f expected = new Matrix4f().identity().ortho(-originalOrthoWidth / 2f, originalOrthoWidth / 2f, -scaledHeight / 2f, scaledHeight / 2f, -1.0f, 100.0f);
     assertThat(camera.getProjectionMatrix()).isEqualTo(expected);
   }
+
+  @Test
+  @DisplayName("getVisibleBounds should match the orthographic extents around the camera position")
+  void getVisibleBounds_orthographic_matchesExtents() {
+    camera.setPosition(new Vector3f(10f, -2f, 5f));
+
+    Vector4f bounds = camera.getVisibleBounds(new Vector4f());
+
+    assertThat(bounds.x).isCloseTo(2f, offset(1e-4f));
+    assertThat(bounds.y).isCloseTo(-6.5f, offset(1e-4f));
+    assertThat(bounds.z).isCloseTo(18f, offset(1e-4f));
+    assertThat(bounds.w).isCloseTo(2.5f, offset(1e-4f));
+  }
+
+  @Test
+  @DisplayName("getVisibleBounds should intersect the perspective frustum with the z = 0 plane")
+  void getVisibleBounds_perspective_intersectsGroundPlane() {
+    camera.setPerspective(90f, 1f, 0.1f, 100f);
+    camera.setPosition(new Vector3f(0f, 0f, 5f));
+
+    Vector4f bounds = camera.getVisibleBounds(new Vector4f());
+
+    // A 90 degree FOV at distance 5 sees 5 units either side of the centre.
+    assertThat(bounds.x).isCloseTo(-5f, offset(1e-3f));
+    assertThat(bounds.y).isCloseTo(-5f, offset(1e-3f));
+    assertThat(bounds.z).isCloseTo(5f, offset(1e-3f));
+    assertThat(bounds.w).isCloseTo(5f, offset(1e-3f));
+  }
 }
@@ -0,0 +1,102 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DecodedImageCache keying and on-disk storage, which need no OpenGL context.
+ */
+class DecodedImageCacheTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("key() should depend on the encoded bytes and leave the buffer position unchanged")
+  void key_dependsOnContents() {
+    DecodedImageCache cache = new DecodedImageCache(directory);
+    ByteBuffer encoded = ByteBuffer.wrap(new byte[] {1, 2, 3});
+
+    String key = cache.key(encoded);
+
+    assertThat(encoded.position()).isZero();
+    assertThat(cache.key(ByteBuffer.wrap(new byte[] {1, 2, 3}))).isEqualTo(key);
+    assertThat(cache.key(ByteBuffer.wrap(new byte[] {1, 2, 4}))).isNotEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("A stored image should map back with the same size and pixels")
+  void storeThenLoad_roundTrips() {
+    DecodedImageCache cache = new DecodedImageCache(directory.resolve("nested"));
+    byte[] pixels = new byte[2 * 3 * DecodedImage.BYTES_PER_PIXEL];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = (byte) i;
+    }
+    String key = cache.key(ByteBuffer.wrap(new byte[] {42}));
+
+    cache.store(key, new DecodedImage(2, 3, ByteBuffer.wrap(pixels)));
+    Optional<DecodedImage> loaded = cache.load(key);
+
+    assertThat(loaded).isPresent();
+    assertThat(loaded.get().getWidth()).isEqualTo(2);
+    assertThat(loaded.get().getHeight()).isEqualTo(3);
+    ByteBuffer mapped = loaded.get().getPixels();
+    assertThat(mapped.isDirect()).isTrue();
+    byte[] read = new byte[mapped.remaining()];
+    mapped.get(read);
+    assertThat(read).containsExactly(pixels);
+  }
+
+  @Test
+  @DisplayName("load() should miss for absent keys and for files with a bad header or size")
+  void load_missesForInvalidEntries() throws IOException {
+    DecodedImageCache cache = new DecodedImageCache(directory);
+    Files.write(directory.resolve("bad.rgba"), new byte[64]);
+
+    assertThat(cache.load("absent")).isEmpty();
+    assertThat(cache.load("bad")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("store() should delete the least recently used entries once the cache exceeds its limit")
+  void store_evictsLeastRecentlyUsedEntries() throws IOException {
+    // Each 2x2 entry takes 16 header bytes plus 16 pixel bytes; the limit holds two of them.
+    DecodedImageCache cache = new DecodedImageCache(directory, 64);
+    String a = cache.key(ByteBuffer.wrap(new byte[] {1}));
+    String b = cache.key(ByteBuffer.wrap(new byte[] {2}));
+    String c = cache.key(ByteBuffer.wrap(new byte[] {3}));
+    cache.store(a, image());
+    cache.store(b, image());
+    age(a, 2);
+    age(b, 1);
+
+    // Using the oldest entry makes the other one the least recently used.
+    assertThat(cache.load(a)).isPresent();
+    cache.store(c, image());
+
+    assertThat(cache.load(a)).isPresent();
+    assertThat(cache.load(b)).isEmpty();
+    assertThat(cache.load(c)).isPresent();
+  }
+
+  private static DecodedImage image() {
+    return new DecodedImage(2, 2, ByteBuffer.allocate(2 * 2 * DecodedImage.BYTES_PER_PIXEL));
+  }
+
+  private void age(String key, int hours) throws IOException {
+    Files.setLastModifiedTime(directory.resolve(key + ".rgba"),
+      FileTime.from(Instant.now().minus(hours, ChronoUnit.HOURS)));
+  }
+}
@@ -0,0 +1,42 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.glGetError;
+
+/**
+ * Integration test for InstancedMesh, verifying shared geometry in a live OpenGL context.
+ */
+class InstancedMeshIT extends EngineTestHarness {
+
+  private static final float[] VERTICES = {
+    0.5f, 0.5f, 0.0f, 1.0f, 1.0f,
+    0.5f, -0.5f, 0.0f, 1.0f, 0.0f,
+    -0.5f, -0.5f, 0.0f, 0.0f, 0.0f,
+    -0.5f, 0.5f, 0.0f, 0.0f, 1.0f
+  };
+  private static final int[] INDICES = {0, 1, 3, 1, 2, 3};
+
+  @Test
+  @DisplayName("A mesh sharing geometry should own only its vertex array and instance buffer")
+  void sharedGeometry_ownsOnlyInstanceBuffer() {
+    try (InstancedMesh geometry = new InstancedMesh(VERTICES, INDICES, 1)) {
+      InstancedMesh shared = new InstancedMesh(geometry, 4);
+
+      assertThat(shared.getVaoId()).isPositive().isNotEqualTo(geometry.getVaoId());
+      assertThat(shared.getVertexCount()).isEqualTo(INDICES.length);
+      assertThat(shared.getSizeBytes()).isEqualTo(4L * InstancedMesh.INSTANCE_SIZE_FLOATS * Float.BYTES);
+
+      shared.uploadStaticInstances(new float[] {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1}, 1);
+      shared.close();
+
+      // The geometry's buffers survive the sharer, so the owner can still upload and be closed.
+      geometry.uploadStaticInstances(new float[16], 1);
+      assertThat(glGetError()).isEqualTo(GL_NO_ERROR);
+    }
+  }
+}
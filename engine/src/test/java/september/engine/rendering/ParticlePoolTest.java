@@ -0,0 +1,72 @@
+package september.engine.rendering;
+
+import org.joml.Vector4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for ParticlePool.
+ */
+class ParticlePoolTest {
+
+  private ParticlePool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ParticlePool(3);
+    pool.configure(0.0f, -10.0f, 1.0f, 0.0f, new Vector4f(1, 1, 1, 1), new Vector4f(1, 1, 1, 0));
+  }
+
+  @Test
+  @DisplayName("spawn should refuse particles once the pool is full")
+  void spawn_respectsCapacity() {
+    assertThat(pool.spawn(0, 0, 0, 0, 0, 1)).isTrue();
+    assertThat(pool.spawn(0, 0, 0, 0, 0, 1)).isTrue();
+    assertThat(pool.spawn(0, 0, 0, 0, 0, 1)).isTrue();
+    assertThat(pool.spawn(0, 0, 0, 0, 0, 1)).isFalse();
+    assertThat(pool.size()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("simulate should integrate velocity and gravity and interpolate size and alpha")
+  void simulate_integratesAndInterpolates() {
+    pool.spawn(0, 0, 0, 2, 0, 2);
+
+    pool.simulate(0.5f);
+
+    assertThat(pool.getX(0)).isCloseTo(1.0f, within(1e-5f));
+    assertThat(pool.getY(0)).isCloseTo(-2.5f, within(1e-5f));
+    assertThat(pool.getSize(0)).isCloseTo(0.75f, within(1e-5f));
+    assertThat(pool.getAlpha(0)).isCloseTo(0.75f, within(1e-5f));
+  }
+
+  @Test
+  @DisplayName("Dead particles should be replaced by the last live particle, keeping the pool dense")
+  void simulate_compactsDeadParticles() {
+    pool.spawn(1, 0, 0, 0, 0, 0.1f);
+    pool.spawn(2, 0, 0, 0, 0, 5.0f);
+    pool.spawn(3, 0, 0, 0, 0, 0.1f);
+
+    pool.simulate(0.2f);
+
+    assertThat(pool.size()).isEqualTo(1);
+    assertThat(pool.getX(0)).isEqualTo(2.0f);
+  }
+
+  @Test
+  @DisplayName("writeInstances should emit position, size and color for each live particle")
+  void writeInstances_writesEightFloatsPerParticle() {
+    pool.spawn(4, 5, 6, 0, 0, 1);
+    FloatBuffer buffer = FloatBuffer.allocate(ParticlePool.INSTANCE_FLOATS);
+
+    pool.writeInstances(buffer);
+
+    assertThat(buffer.array()).containsExactly(4, 5, 6, 1, 1, 1, 1, 1);
+  }
+}
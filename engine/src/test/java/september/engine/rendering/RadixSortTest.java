@@ -0,0 +1,83 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RadixSort.
+ */
+class RadixSortTest {
+
+  private static void sort(long[] keys, int[] values) {
+    RadixSort.sort(keys, values, keys.length, new long[keys.length], new int[keys.length], new int[8 * 256]);
+  }
+
+  @Test
+  @DisplayName("Sort should order random keys as unsigned values and carry payloads along")
+  void sort_ordersRandomKeysUnsigned() {
+    Random random = new Random(42);
+    long[] keys = new long[1000];
+    int[] values = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = random.nextLong();
+      values[i] = i;
+    }
+    long[] original = keys.clone();
+
+    sort(keys, values);
+
+    for (int i = 1; i < keys.length; i++) {
+      assertThat(Long.compareUnsigned(keys[i - 1], keys[i])).isLessThanOrEqualTo(0);
+    }
+    for (int i = 0; i < keys.length; i++) {
+      assertThat(original[values[i]]).isEqualTo(keys[i]);
+    }
+  }
+
+  @Test
+  @DisplayName("Sort should be stable for equal keys")
+  void sort_isStable() {
+    long[] keys = {5, 1, 5, 1, 5};
+    int[] values = {0, 1, 2, 3, 4};
+
+    sort(keys, values);
+
+    assertThat(keys).containsExactly(1, 1, 5, 5, 5);
+    assertThat(values).containsExactly(1, 3, 0, 2, 4);
+  }
+
+  @Test
+  @DisplayName("Sort should only sort the requested prefix")
+  void sort_respectsCount() {
+    long[] keys = {3, 2, 1, 0};
+    int[] values = {0, 1, 2, 3};
+
+    RadixSort.sort(keys, values, 3, new long[4], new int[4], new int[8 * 256]);
+
+    assertThat(keys).containsExactly(1, 2, 3, 0);
+    assertThat(values).containsExactly(2, 1, 0, 3);
+  }
+
+  @Test
+  @DisplayName("Sort should handle keys that differ in a single byte")
+  void sort_handlesSingleVaryingByte() {
+    long[] keys = new long[256];
+    int[] values = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = (long) (255 - i) << 40;
+      values[i] = i;
+    }
+
+    sort(keys, values);
+
+    long[] expected = keys.clone();
+    Arrays.sort(expected);
+    assertThat(keys).containsExactly(expected);
+    assertThat(values[0]).isEqualTo(255);
+  }
+}
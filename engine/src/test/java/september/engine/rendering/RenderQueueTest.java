@@ -0,0 +1,141 @@
+package september.engine.rendering;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for RenderQueue.
+ * Tests ordering logic without requiring OpenGL context.
+ */
+class RenderQueueTest {
+
+  private RenderQueue queue;
+  private Mesh mesh;
+  private Texture textureA;
+  private Texture textureB;
+
+  @BeforeEach
+  void setUp() {
+    queue = new RenderQueue();
+    mesh = mock(Mesh.class);
+    textureA = mock(Texture.class);
+    textureB = mock(Texture.class);
+  }
+
+  @Test
+  @DisplayName("Sort should order submissions by depth, then group by texture")
+  void sort_ordersByKey() {
+    queue.add(SortKey.of(0, 2f, 0, 2), mesh, textureB, new Matrix4f().translate(0, 0, 2));
+    queue.add(SortKey.of(0, 1f, 0, 2), mesh, textureB, new Matrix4f().translate(0, 0, 1));
+    queue.add(SortKey.of(0, 1f, 0, 1), mesh, textureA, new Matrix4f().translate(0, 0, 1));
+
+    queue.sort();
+
+    assertThat(queue.getTexture(0)).isSameAs(textureA);
+    assertThat(queue.getTexture(1)).isSameAs(textureB);
+    assertThat(queue.getTexture(2)).isSameAs(textureB);
+    assertThat(queue.getTransform(2, new Matrix4f()).m32()).isEqualTo(2f);
+  }
+
+  @Test
+  @DisplayName("Batches should be ordered alongside single submissions")
+  void addBatch_sortsWithSubmissions() {
+    InstancedMesh batch = mock(InstancedMesh.class);
+    queue.add(SortKey.of(0, 0f, 1, 1), mesh, textureA, new Matrix4f());
+    queue.addBatch(SortKey.of(0, 0f, 0, 2), batch, 42, textureB);
+
+    queue.sort();
+
+    assertThat(queue.getBatch(0)).isSameAs(batch);
+    assertThat(queue.getBatchInstanceCount(0)).isEqualTo(42);
+    assertThat(queue.getMesh(0)).isNull();
+    assertThat(queue.getBatch(1)).isNull();
+    assertThat(queue.getMesh(1)).isSameAs(mesh);
+  }
+
+  @Test
+  @DisplayName("Transforms should be copied so callers can reuse their matrices")
+  void add_copiesTransform() {
+    Matrix4f shared = new Matrix4f().translate(1, 0, 0);
+    queue.add(0L, mesh, textureA, shared);
+    shared.translate(5, 0, 0);
+    queue.add(0L, mesh, textureA, shared);
+
+    queue.sort();
+
+    assertThat(queue.getTransform(0, new Matrix4f()).m30()).isEqualTo(1f);
+    assertThat(queue.getTransform(1, new Matrix4f()).m30()).isEqualTo(6f);
+  }
+
+  @Test
+  @DisplayName("putTransform should write column-major floats in draw order")
+  void putTransform_writesSortedMatrices() {
+    queue.add(10L, mesh, textureA, new Matrix4f().translate(10, 0, 0));
+    queue.add(5L, mesh, textureA, new Matrix4f().translate(5, 0, 0));
+    queue.sort();
+
+    FloatBuffer buffer = FloatBuffer.allocate(32);
+    queue.putTransform(0, buffer);
+    queue.putTransform(1, buffer);
+
+    assertThat(buffer.get(12)).isEqualTo(5f);
+    assertThat(buffer.get(16 + 12)).isEqualTo(10f);
+  }
+
+  @Test
+  @DisplayName("The queue should grow past its initial capacity and reset on clear")
+  void add_growsAndClears() {
+    for (int i = 0; i < 1000; i++) {
+      queue.add(1000 - i, mesh, textureA, new Matrix4f());
+    }
+    queue.sort();
+
+    assertThat(queue.size()).isEqualTo(1000);
+    assertThat(queue.getKey(0)).isEqualTo(1L);
+
+    queue.clear();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Patching a slot should update that entry in place without changing the draw order")
+  void setTransformAndTexture_patchBySlot() {
+    int far = queue.add(SortKey.of(0, 2f, 0, 1), mesh, textureA, new Matrix4f().translate(0, 0, 2));
+    int near = queue.add(SortKey.of(0, 1f, 0, 1), mesh, textureA, new Matrix4f().translate(0, 0, 1));
+    queue.sort();
+
+    queue.setTransform(far, new Matrix4f().translate(5, 0, 2));
+    queue.setTexture(near, textureB);
+
+    assertThat(queue.getTexture(0)).isSameAs(textureB);
+    assertThat(queue.getTexture(1)).isSameAs(textureA);
+    assertThat(queue.getTransform(1, new Matrix4f()).m30()).isEqualTo(5f);
+  }
+
+  @Test
+  @DisplayName("putInstance should write the transform followed by the entry's texture region")
+  void putInstance_writesTransformAndUvRect() {
+    queue.add(10L, mesh, textureA, new Matrix4f().translate(10, 0, 0), 0.25f, 0.5f, 0.5f, 0.75f);
+    queue.add(5L, mesh, textureA, new Matrix4f().translate(5, 0, 0));
+    queue.sort();
+
+    FloatBuffer buffer = FloatBuffer.allocate(2 * InstancedMesh.INSTANCE_SIZE_FLOATS);
+    queue.putInstance(0, buffer);
+    queue.putInstance(1, buffer);
+
+    assertThat(buffer.position()).isEqualTo(2 * InstancedMesh.INSTANCE_SIZE_FLOATS);
+    assertThat(buffer.get(12)).isEqualTo(5f);
+    assertThat(new float[] {buffer.get(16), buffer.get(17), buffer.get(18), buffer.get(19)})
+      .containsExactly(0f, 0f, 1f, 1f);
+    assertThat(buffer.get(20 + 12)).isEqualTo(10f);
+    assertThat(new float[] {buffer.get(36), buffer.get(37), buffer.get(38), buffer.get(39)})
+      .containsExactly(0.25f, 0.5f, 0.5f, 0.75f);
+  }
+}
@@ -0,0 +1,39 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortKeyTest {
+
+  @Test
+  @DisplayName("Fields should round-trip through a packed key")
+  void of_packsFields() {
+    long key = SortKey.of(7, 1.5f, 3, 1234);
+
+    assertThat(SortKey.layer(key)).isEqualTo(7);
+    assertThat(SortKey.shader(key)).isEqualTo(3);
+    assertThat(SortKey.texture(key)).isEqualTo(1234);
+  }
+
+  @Test
+  @DisplayName("Layer should dominate depth, and depth should dominate texture")
+  void of_ordersByLayerThenDepthThenTexture() {
+    assertThat(Long.compareUnsigned(SortKey.of(0, 100f, 0, 9), SortKey.of(1, -100f, 0, 0))).isNegative();
+    assertThat(Long.compareUnsigned(SortKey.of(0, 0.1f, 0, 9), SortKey.of(0, 0.2f, 0, 0))).isNegative();
+    assertThat(Long.compareUnsigned(SortKey.of(0, 0.1f, 0, 1), SortKey.of(0, 0.1f, 0, 2))).isNegative();
+    assertThat(Long.compareUnsigned(SortKey.of(255, 0f, 0, 0), SortKey.of(254, 0f, 0, 0))).isPositive();
+  }
+
+  @Test
+  @DisplayName("Depth ordering should hold across negative and positive values")
+  void of_ordersNegativeDepths() {
+    float[] depths = {-50f, -1f, -0.25f, 0f, 0.25f, 1f, 50f};
+    for (int i = 1; i < depths.length; i++) {
+      long previous = SortKey.of(0, depths[i - 1], 0, 0);
+      long current = SortKey.of(0, depths[i], 0, 0);
+      assertThat(Long.compareUnsigned(previous, current)).as("%s < %s", depths[i - 1], depths[i]).isNegative();
+    }
+  }
+}
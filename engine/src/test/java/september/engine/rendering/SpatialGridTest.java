@@ -0,0 +1,115 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SpatialGrid.
+ * Tests indexing and visibility queries without requiring OpenGL context.
+ */
+class SpatialGridTest {
+
+  private SpatialGrid grid;
+
+  @BeforeEach
+  void setUp() {
+    grid = new SpatialGrid(4.0f);
+  }
+
+  private List<Integer> query(float minX, float minY, float maxX, float maxY) {
+    List<Integer> result = new ArrayList<>();
+    grid.query(minX, minY, maxX, maxY, result::add);
+    return result;
+  }
+
+  @Test
+  @DisplayName("Query should only report entities overlapping the region")
+  void query_reportsOnlyOverlappingEntities() {
+    grid.update(0, -0.5f, -0.5f, 0.5f, 0.5f);
+    grid.update(1, 100.0f, 100.0f, 101.0f, 101.0f);
+    grid.update(2, 2.5f, 2.5f, 3.5f, 3.5f);
+
+    assertThat(query(-1.0f, -1.0f, 3.0f, 3.0f)).containsExactlyInAnyOrder(0, 2);
+  }
+
+  @Test
+  @DisplayName("Entities spanning several cells should be reported once")
+  void query_reportsMultiCellEntityOnce() {
+    grid.update(7, -6.0f, -6.0f, 6.0f, 6.0f);
+
+    assertThat(query(-10.0f, -10.0f, 10.0f, 10.0f)).containsExactly(7);
+  }
+
+  @Test
+  @DisplayName("Moving an entity should update which queries find it")
+  void update_movesEntityBetweenCells() {
+    grid.update(3, 0.0f, 0.0f, 1.0f, 1.0f);
+    grid.update(3, 50.0f, 50.0f, 51.0f, 51.0f);
+
+    assertThat(query(0.0f, 0.0f, 1.0f, 1.0f)).isEmpty();
+    assertThat(query(49.0f, 49.0f, 52.0f, 52.0f)).containsExactly(3);
+  }
+
+  @Test
+  @DisplayName("Exact bounds should be checked, not just cell occupancy")
+  void query_testsExactBoundsWithinCell() {
+    grid.update(4, 3.0f, 3.0f, 3.5f, 3.5f);
+
+    assertThat(query(0.0f, 0.0f, 1.0f, 1.0f)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Sweep should drop entities that were not updated since the last sweep")
+  void sweep_removesStaleEntities() {
+    grid.update(0, 0.0f, 0.0f, 1.0f, 1.0f);
+    grid.update(1, 0.0f, 0.0f, 1.0f, 1.0f);
+    grid.sweep();
+
+    grid.update(1, 0.0f, 0.0f, 1.0f, 1.0f);
+    grid.sweep();
+
+    assertThat(grid.size()).isEqualTo(1);
+    assertThat(grid.contains(0)).isFalse();
+    assertThat(query(0.0f, 0.0f, 1.0f, 1.0f)).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("Oversized entities should still be found by any overlapping query")
+  void query_findsOversizedEntities() {
+    grid.update(9, -1000.0f, -1000.0f, 1000.0f, 1000.0f);
+
+    assertThat(query(500.0f, 500.0f, 501.0f, 501.0f)).containsExactly(9);
+    assertThat(query(2000.0f, 2000.0f, 2001.0f, 2001.0f)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Removing an entity should make it invisible to queries")
+  void remove_hidesEntity() {
+    grid.update(5, 0.0f, 0.0f, 1.0f, 1.0f);
+    grid.remove(5);
+
+    assertThat(grid.contains(5)).isFalse();
+    assertThat(query(0.0f, 0.0f, 1.0f, 1.0f)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Large entity IDs should grow the grid's storage")
+  void update_growsForLargeEntityIds() {
+    grid.update(10_000, 0.0f, 0.0f, 1.0f, 1.0f);
+
+    assertThat(query(0.0f, 0.0f, 1.0f, 1.0f)).containsExactly(10_000);
+  }
+
+  @Test
+  @DisplayName("A non-positive cell size should be rejected")
+  void constructor_rejectsNonPositiveCellSize() {
+    assertThatThrownBy(() -> new SpatialGrid(0.0f)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
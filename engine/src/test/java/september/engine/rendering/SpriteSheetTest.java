@@ -0,0 +1,55 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SpriteSheet and AnimationClip.
+ */
+class SpriteSheetTest {
+
+  @Test
+  @DisplayName("Frames should be numbered row by row from the top-left of the image")
+  void frameTable_startsAtTopLeft() {
+    SpriteSheet sheet = new SpriteSheet(4, 2);
+
+    assertThat(sheet.getFrameCount()).isEqualTo(8);
+    // Frame 0 is the top-left cell; textures are flipped, so the top row is at v = 1.
+    assertThat(sheet.getU0(0)).isEqualTo(0.0f);
+    assertThat(sheet.getV0(0)).isEqualTo(0.5f);
+    assertThat(sheet.getU1(0)).isEqualTo(0.25f);
+    assertThat(sheet.getV1(0)).isEqualTo(1.0f);
+    // Frame 6 is the third cell of the bottom row.
+    assertThat(sheet.getU0(6)).isEqualTo(0.5f);
+    assertThat(sheet.getV0(6)).isEqualTo(0.0f);
+    assertThat(sheet.getU1(6)).isEqualTo(0.75f);
+    assertThat(sheet.getV1(6)).isEqualTo(0.5f);
+  }
+
+  @Test
+  @DisplayName("Clips should be retrievable by name and must only reference frames in the sheet")
+  void addClip_validatesFrames() {
+    SpriteSheet sheet = new SpriteSheet(2, 2);
+    AnimationClip walk = AnimationClip.ofFps("walk", new int[] {0, 1, 2, 3}, 8.0f, true);
+
+    sheet.addClip(walk);
+
+    assertThat(sheet.getClip("walk")).isSameAs(walk);
+    assertThat(walk.frameDuration()).isEqualTo(0.125f);
+    assertThat(sheet.getClip("run")).isNull();
+    assertThatThrownBy(() -> sheet.addClip(new AnimationClip("bad", new int[] {4}, 0.1f, false)))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("A clip must have frames and a positive rate")
+  void clip_rejectsInvalidDefinitions() {
+    assertThatThrownBy(() -> new AnimationClip("empty", new int[0], 0.1f, true))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> AnimationClip.ofFps("still", new int[] {0}, 0.0f, true))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,127 @@
+package september.engine.rendering;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StaticSpriteLayer.
+ * Instance buffers are mocked so chunking, grouping and rebuild tracking can be tested without OpenGL.
+ */
+class StaticSpriteLayerTest {
+
+  private static final int TEXTURE_A = 1;
+  private static final int TEXTURE_B = 2;
+
+  private StaticSpriteLayer layer;
+  private List<InstancedMesh> batches;
+  private Texture textureA;
+  private Texture textureB;
+  private final IntFunction<Texture> textures = id -> id == TEXTURE_A ? textureA : textureB;
+
+  @BeforeEach
+  void setUp() {
+    batches = new ArrayList<>();
+    layer = new StaticSpriteLayer(10f, () -> {
+      InstancedMesh batch = mock(InstancedMesh.class);
+      batches.add(batch);
+      return batch;
+    });
+    textureA = mock(Texture.class);
+    when(textureA.getTextureId()).thenReturn(1);
+    textureB = mock(Texture.class);
+    when(textureB.getTextureId()).thenReturn(2);
+  }
+
+  private static Matrix4f at(float x, float y) {
+    return new Matrix4f().translation(x, y, 0f);
+  }
+
+  @Test
+  @DisplayName("Rebuild should bake one batch per texture within a chunk")
+  void rebuild_groupsByTexture() {
+    layer.put(0, TEXTURE_A, at(1, 1));
+    layer.put(1, TEXTURE_A, at(2, 2));
+    layer.put(2, TEXTURE_B, at(3, 3));
+
+    assertThat(layer.rebuild()).isEqualTo(1);
+
+    assertThat(layer.getChunkCount()).isEqualTo(1);
+    assertThat(batches).hasSize(2);
+    verify(batches.get(0)).uploadStaticInstances(any(float[].class), eq(2));
+    verify(batches.get(1)).uploadStaticInstances(any(float[].class), eq(1));
+  }
+
+  @Test
+  @DisplayName("Rebuild should do nothing when no sprite changed")
+  void rebuild_skipsCleanChunks() {
+    layer.put(0, TEXTURE_A, at(1, 1));
+    layer.rebuild();
+
+    layer.touch(0);
+    layer.sweep();
+
+    assertThat(layer.rebuild()).isZero();
+    verify(batches.get(0), times(1)).uploadStaticInstances(any(float[].class), anyInt());
+  }
+
+  @Test
+  @DisplayName("Only the chunk that changed should be rebuilt")
+  void put_marksOnlyOwningChunkDirty() {
+    layer.put(0, TEXTURE_A, at(1, 1));
+    layer.put(1, TEXTURE_A, at(25, 1));
+    layer.rebuild();
+
+    layer.put(1, TEXTURE_A, at(26, 1));
+
+    assertThat(layer.rebuild()).isEqualTo(1);
+    verify(batches.get(0), times(1)).uploadStaticInstances(any(float[].class), anyInt());
+  }
+
+  @Test
+  @DisplayName("Sweep should drop untouched sprites and release emptied chunks")
+  void sweep_releasesEmptyChunks() {
+    layer.put(0, TEXTURE_A, at(1, 1));
+    layer.rebuild();
+    layer.sweep();
+
+    layer.sweep();
+    layer.rebuild();
+
+    assertThat(layer.contains(0)).isFalse();
+    assertThat(layer.getChunkCount()).isZero();
+    verify(batches.get(0)).close();
+  }
+
+  @Test
+  @DisplayName("Submit should skip chunks outside the visible region")
+  void submitVisible_cullsChunks() {
+    layer.put(0, TEXTURE_A, at(1, 1));
+    layer.put(1, TEXTURE_A, at(2, 1));
+    layer.put(2, TEXTURE_A, at(100, 100));
+    layer.rebuild();
+    Renderer renderer = mock(Renderer.class);
+
+    int submitted = layer.submitVisible(renderer, textures, -10f, -10f, 10f, 10f, 0);
+
+    assertThat(submitted).isEqualTo(2);
+    verify(renderer, times(1)).submitBatch(any(InstancedMesh.class), eq(2), eq(textureA), anyLong());
+    verify(renderer, never()).submitBatch(any(InstancedMesh.class), eq(1), any(Texture.class), anyLong());
+  }
+}
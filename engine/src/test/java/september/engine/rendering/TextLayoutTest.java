@@ -0,0 +1,104 @@
+package september.engine.rendering;
+
+import org.joml.Vector4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for TextLayout, using a hand-built glyph table instead of a rasterized font.
+ */
+class TextLayoutTest {
+
+  private FontAtlas font;
+  private TextLayout layout;
+
+  /**
+   * Builds a font covering ' ' to 'Z' where every visible glyph is an 8x10 box on the baseline
+   * with an advance of 10, the space has no quad, and the ascent is 10 with 12 pixel lines.
+   */
+  @BeforeEach
+  void setUp() {
+    int first = ' ';
+    int count = 'Z' - first + 1;
+    float[] glyphs = new float[count * FontAtlas.GLYPH_FLOATS];
+    for (int i = 0; i < count; i++) {
+      int g = i * FontAtlas.GLYPH_FLOATS;
+      glyphs[g + FontAtlas.ADVANCE] = 10.0f;
+      if (i == 0) {
+        continue;
+      }
+      glyphs[g + FontAtlas.QUAD_X1] = 8.0f;
+      glyphs[g + FontAtlas.QUAD_Y1] = 10.0f;
+      glyphs[g + FontAtlas.U0] = i / 100.0f;
+      glyphs[g + FontAtlas.U1] = i / 100.0f + 0.01f;
+      glyphs[g + FontAtlas.V1] = 0.5f;
+    }
+    font = new FontAtlas(mock(Texture.class), 10.0f, 10.0f, 12.0f, first, glyphs);
+    layout = new TextLayout();
+  }
+
+  @Test
+  @DisplayName("Glyphs should advance along the first baseline, skipping quads for whitespace")
+  void layout_placesGlyphsOnBaseline() {
+    layout.update(font, "AB C", 1.0f);
+
+    assertThat(layout.getGlyphCount()).isEqualTo(3);
+    assertThat(layout.getWidth()).isEqualTo(40.0f);
+    assertThat(layout.getHeight()).isEqualTo(12.0f);
+    // The first baseline sits one ascent below the top edge
+    assertThat(layout.getQuad(0, 1)).isEqualTo(-10.0f);
+    assertThat(layout.getQuad(0, 3)).isEqualTo(0.0f);
+    assertThat(layout.getQuad(1, 0)).isEqualTo(10.0f);
+    assertThat(layout.getQuad(2, 0)).isEqualTo(30.0f);
+  }
+
+  @Test
+  @DisplayName("A newline should start a new line one line height lower")
+  void layout_breaksLines() {
+    layout.update(font, "AB\nC", 2.0f);
+
+    assertThat(layout.getGlyphCount()).isEqualTo(3);
+    assertThat(layout.getWidth()).isEqualTo(40.0f);
+    assertThat(layout.getHeight()).isEqualTo(48.0f);
+    assertThat(layout.getQuad(2, 0)).isEqualTo(0.0f);
+    assertThat(layout.getQuad(2, 1)).isEqualTo(-44.0f);
+  }
+
+  @Test
+  @DisplayName("update() should only rebuild when the text, font or scale changes")
+  void update_cachesUnchangedText() {
+    assertThat(layout.update(font, "SCORE 10", 1.0f)).isTrue();
+    assertThat(layout.update(font, new StringBuilder("SCORE 10"), 1.0f)).isFalse();
+    assertThat(layout.update(font, "SCORE 11", 1.0f)).isTrue();
+    assertThat(layout.update(font, "SCORE 11", 2.0f)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Characters outside the atlas should fall back to '?'")
+  void layout_fallsBackToQuestionMark() {
+    layout.update(font, "a", 1.0f);
+
+    assertThat(layout.getGlyphCount()).isEqualTo(1);
+    assertThat(font.glyphIndex('a')).isEqualTo('?' - ' ');
+  }
+
+  @Test
+  @DisplayName("writeInstances should emit the screen rect, atlas region and color of each glyph")
+  void writeInstances_offsetsByOrigin() {
+    layout.update(font, "!", 1.0f);
+    FloatBuffer buffer = FloatBuffer.allocate(TextLayout.INSTANCE_FLOATS);
+
+    layout.writeInstances(buffer, 100.0f, 50.0f, new Vector4f(1.0f, 0.0f, 0.0f, 0.5f));
+
+    assertThat(buffer.array()).containsExactly(
+      100.0f, 40.0f, 8.0f, 10.0f,
+      0.01f, 0.0f, 0.02f, 0.5f,
+      1.0f, 0.0f, 0.0f, 0.5f);
+  }
+}
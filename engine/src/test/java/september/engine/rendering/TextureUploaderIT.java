@@ -0,0 +1,35 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+import september.engine.assets.AssetLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for TextureUploader, streaming a real image through the PBO ring in a live OpenGL context.
+ */
+class TextureUploaderIT extends EngineTestHarness {
+
+  @Test
+  @DisplayName("An uploaded texture should be drawable at once and become resident after enough updates")
+  void upload_becomesResidentOverSeveralUpdates() {
+    // A tiny buffer forces the image to be split into many bands.
+    try (TextureUploader uploader = new TextureUploader(2, 256)) {
+      Texture texture = uploader.upload(AssetLoader.decodeImage("textures/player.png"));
+      assertThat(texture.getTextureId()).isPositive();
+      assertThat(texture.isResident()).isFalse();
+
+      int completed = 0;
+      for (int frame = 0; frame < 10_000 && completed == 0; frame++) {
+        completed = uploader.update();
+      }
+
+      assertThat(completed).isEqualTo(1);
+      assertThat(texture.isResident()).isTrue();
+      assertThat(uploader.getPendingCount()).isZero();
+      texture.close();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package september.engine.rendering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the band sizing and setup of TextureUploader, which need no OpenGL context.
+ */
+class TextureUploaderTest {
+
+  @Test
+  @DisplayName("rowsPerBand should fill the buffer with whole rows")
+  void rowsPerBand_fillsBufferWithWholeRows() {
+    // 256 px wide RGBA rows are 1 KiB, so a 4 KiB buffer holds four of them.
+    assertThat(TextureUploader.rowsPerBand(1024, 100, 4096)).isEqualTo(4);
+    assertThat(TextureUploader.rowsPerBand(1024, 100, 4095)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("rowsPerBand should never exceed the remaining rows")
+  void rowsPerBand_clampsToRemainingRows() {
+    assertThat(TextureUploader.rowsPerBand(1024, 2, 4096)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("rowsPerBand should send one row when a row is larger than the buffer")
+  void rowsPerBand_sendsAtLeastOneRow() {
+    assertThat(TextureUploader.rowsPerBand(8192, 10, 4096)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("A new uploader should have nothing pending and reject an empty ring")
+  void construction() {
+    assertThat(new TextureUploader().getPendingCount()).isZero();
+    assertThatThrownBy(() -> new TextureUploader(0, 1024)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,72 @@
+package september.engine.rendering.gl;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glGetBufferSubData;
+import static org.lwjgl.opengl.GL30.glGetIntegeri;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER_BINDING;
+
+/**
+ * Integration test for CameraUniformBuffer, verifying its std140 upload in a live OpenGL context.
+ */
+class CameraUniformBufferIT extends EngineTestHarness {
+
+  @Test
+  @DisplayName("update() should write projection then view in std140 order")
+  void update_writesMatricesInBlockOrder() {
+    try (CameraUniformBuffer buffer = new CameraUniformBuffer()) {
+      Matrix4f projection = new Matrix4f().ortho(0f, 800f, 0f, 600f, -1f, 1f);
+      Matrix4f view = new Matrix4f().translation(1f, 2f, 3f);
+
+      buffer.update(projection, view);
+      buffer.bind();
+
+      int boundBuffer = glGetIntegeri(GL_UNIFORM_BUFFER_BINDING, CameraUniformBuffer.BINDING);
+      float[] contents = new float[32];
+      glBindBuffer(GL_UNIFORM_BUFFER, boundBuffer);
+      glGetBufferSubData(GL_UNIFORM_BUFFER, 0, contents);
+      glBindBuffer(GL_UNIFORM_BUFFER, 0);
+
+      assertThat(contents[0]).isEqualTo(projection.m00());
+      assertThat(contents[16 + 12]).isEqualTo(1f);
+      assertThat(contents[16 + 13]).isEqualTo(2f);
+      assertThat(contents[16 + 14]).isEqualTo(3f);
+    }
+  }
+
+  @Test
+  @DisplayName("updateScreen() should upload a pixel-space projection with an identity view")
+  void updateScreen_writesPixelProjection() {
+    try (CameraUniformBuffer buffer = new CameraUniformBuffer()) {
+      buffer.updateScreen(800f, 600f);
+      buffer.bind();
+
+      int boundBuffer = glGetIntegeri(GL_UNIFORM_BUFFER_BINDING, CameraUniformBuffer.BINDING);
+      float[] contents = new float[32];
+      glBindBuffer(GL_UNIFORM_BUFFER, boundBuffer);
+      glGetBufferSubData(GL_UNIFORM_BUFFER, 0, contents);
+      glBindBuffer(GL_UNIFORM_BUFFER, 0);
+
+      float[] expected = new float[32];
+      new Matrix4f().ortho(0f, 800f, 0f, 600f, -1f, 1f).get(expected, 0);
+      new Matrix4f().get(expected, 16);
+      assertThat(contents).containsExactly(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("Shaders declaring the camera block should compile and link")
+  void glslBlock_compilesInShaders() {
+    assertThatCode(() -> new Shader(
+      InstancedShaderSources.INSTANCED_VERTEX_SHADER,
+      InstancedShaderSources.INSTANCED_FRAGMENT_SHADER
+    ).close()).doesNotThrowAnyException();
+  }
+}
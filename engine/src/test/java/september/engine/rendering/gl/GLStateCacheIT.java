@@ -0,0 +1,62 @@
+package september.engine.rendering.gl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_BINDING_2D;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glGetInteger;
+
+/**
+ * Integration test for GLStateCache, verifying redundant binds are skipped in a live OpenGL context.
+ */
+class GLStateCacheIT extends EngineTestHarness {
+
+  @Test
+  @DisplayName("Binding the same texture twice should issue the call once and avoid the second")
+  void bindTexture_skipsRedundantBind() {
+    int texture = glGenTextures();
+    GLStateCache.endFrame();
+
+    GLStateCache.bindTexture(0, texture);
+    long issued = GLStateCache.getIssuedCalls();
+    GLStateCache.bindTexture(0, texture);
+
+    assertThat(GLStateCache.getIssuedCalls()).isEqualTo(issued);
+    assertThat(GLStateCache.getAvoidedCalls()).isGreaterThanOrEqualTo(1);
+    assertThat(glGetInteger(GL_TEXTURE_BINDING_2D)).isEqualTo(texture);
+    GLStateCache.deleteTexture(texture);
+  }
+
+  @Test
+  @DisplayName("Deleting a bound texture should make the next bind of a recycled name reach the driver")
+  void deleteTexture_forgetsBinding() {
+    int texture = glGenTextures();
+    GLStateCache.bindTexture(0, texture);
+    GLStateCache.deleteTexture(texture);
+
+    int recycled = glGenTextures();
+    GLStateCache.bindTexture(0, recycled);
+
+    assertThat(glGetInteger(GL_TEXTURE_BINDING_2D)).isEqualTo(recycled);
+    GLStateCache.deleteTexture(recycled);
+  }
+
+  @Test
+  @DisplayName("invalidate() should force binds after state was changed behind the cache")
+  void invalidate_forcesNextBind() {
+    int texture = glGenTextures();
+    GLStateCache.bindTexture(0, texture);
+    glBindTexture(GL_TEXTURE_2D, 0);
+
+    GLStateCache.invalidate();
+    GLStateCache.bindTexture(0, texture);
+
+    assertThat(glGetInteger(GL_TEXTURE_BINDING_2D)).isEqualTo(texture);
+    GLStateCache.deleteTexture(texture);
+  }
+}
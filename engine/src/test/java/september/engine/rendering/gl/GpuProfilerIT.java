@@ -0,0 +1,38 @@
+package september.engine.rendering.gl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.glClear;
+import static org.lwjgl.opengl.GL11.glFinish;
+
+/**
+ * Integration test for GpuProfiler, verifying timer query results are read back in a live OpenGL context.
+ */
+class GpuProfilerIT extends EngineTestHarness {
+
+  @AfterEach
+  void disableProfiler() {
+    GpuProfiler.release();
+    GpuProfiler.setEnabled(false);
+  }
+
+  @Test
+  @DisplayName("A timed pass should report a GPU time once its query result is available")
+  void timedPass_reportsGpuTime() {
+    GpuProfiler.setEnabled(true);
+
+    GpuProfiler.begin(GpuProfiler.Pass.POST);
+    glClear(GL_COLOR_BUFFER_BIT);
+    GpuProfiler.end(GpuProfiler.Pass.POST);
+    glFinish();
+    GpuProfiler.endFrame();
+
+    assertThat(GpuProfiler.getGpuMillis(GpuProfiler.Pass.POST)).isNotNaN().isGreaterThanOrEqualTo(0.0);
+    assertThat(GpuProfiler.getCpuMillis(GpuProfiler.Pass.POST)).isGreaterThanOrEqualTo(0.0);
+  }
+}
@@ -0,0 +1,48 @@
+package september.engine.rendering.gl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GpuProfiler with GPU timing disabled, so no OpenGL context is required.
+ */
+class GpuProfilerTest {
+
+  @BeforeEach
+  void setUp() {
+    GpuProfiler.setEnabled(false);
+    GpuProfiler.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    GpuProfiler.reset();
+  }
+
+  @Test
+  @DisplayName("CPU time should be recorded for a pass even when GPU timing is disabled")
+  void cpuTimingRecordedWhenDisabled() throws InterruptedException {
+    GpuProfiler.begin(GpuProfiler.Pass.SCENE);
+    Thread.sleep(2);
+    GpuProfiler.end(GpuProfiler.Pass.SCENE);
+    GpuProfiler.endFrame();
+
+    assertThat(GpuProfiler.getCpuMillis(GpuProfiler.Pass.SCENE)).isGreaterThan(1.0);
+    assertThat(GpuProfiler.getCpuMillis(GpuProfiler.Pass.UI)).isZero();
+  }
+
+  @Test
+  @DisplayName("GPU time should be NaN until a query result has been read back")
+  void gpuTimingUnavailableWhenDisabled() {
+    GpuProfiler.begin(GpuProfiler.Pass.UI);
+    GpuProfiler.end(GpuProfiler.Pass.UI);
+    GpuProfiler.endFrame();
+
+    assertThat(GpuProfiler.getGpuMillis(GpuProfiler.Pass.UI)).isNaN();
+    assertThat(GpuProfiler.getDroppedSamples(GpuProfiler.Pass.UI)).isZero();
+  }
+}
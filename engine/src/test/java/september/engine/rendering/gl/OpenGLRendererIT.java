@@ -24,7 +24,7 @@ class OpenGLRendererIT extends EngineTestHarness {
   void setupRenderer() {
     // The harness provides a live OpenGL context.
     // We can now create a real renderer instance.
-    renderer = new OpenGLRenderer();
+    renderer = new OpenGLRenderer(engine.getWorldCameraBuffer());
   }
 
   @Test
@@ -0,0 +1,56 @@
+package september.engine.rendering.gl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.BufferUtils;
+import september.engine.EngineTestHarness;
+import september.engine.OffscreenTarget;
+import september.engine.rendering.Camera;
+import september.engine.rendering.DecodedImage;
+import september.engine.rendering.ParticlePool;
+import september.engine.rendering.Texture;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.glGetError;
+
+/**
+ * Integration test for ParticleRenderer, compiling its shader and drawing through its instance
+ * layout in a live OpenGL context.
+ */
+class ParticleRendererIT extends EngineTestHarness {
+
+  private static Texture whiteTexture() {
+    ByteBuffer pixel = BufferUtils.createByteBuffer(DecodedImage.BYTES_PER_PIXEL);
+    pixel.put((byte) 255).put((byte) 255).put((byte) 255).put((byte) 255).flip();
+    return new Texture(new DecodedImage(1, 1, pixel));
+  }
+
+  @Test
+  @DisplayName("A particle should be drawn at its centre and size, tinted by its color")
+  void draw_rendersInstanceAttributes() {
+    // A 16x9 world on a 32x18 target: each world unit covers two pixels, the origin is the centre.
+    Camera camera = new Camera(16f, 9f);
+    FloatBuffer instances = BufferUtils.createFloatBuffer(ParticlePool.INSTANCE_FLOATS);
+    instances.put(0f).put(0f).put(0f).put(2f).put(1f).put(0f).put(0f).put(1f).flip();
+
+    Texture texture = whiteTexture();
+    try (ParticleRenderer renderer = new ParticleRenderer(engine.getWorldCameraBuffer());
+         OffscreenTarget target = new OffscreenTarget(32, 18)) {
+      target.clear();
+      renderer.begin(camera);
+      renderer.draw(texture, false, instances, 1);
+      renderer.end();
+
+      assertThat(target.readPixel(16, 9)).containsExactly(255, 0, 0, 255);
+      assertThat(target.readPixel(1, 1)).containsExactly(0, 0, 0, 0);
+      assertThat(target.readPixel(20, 9)).containsExactly(0, 0, 0, 0);
+      assertThat(glGetError()).isEqualTo(GL_NO_ERROR);
+    } finally {
+      texture.close();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package september.engine.rendering.gl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProgramBinaryCache keying and on-disk storage, which need no OpenGL context.
+ */
+class ProgramBinaryCacheTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("key() should depend on both sources and the driver fingerprint")
+  void key_dependsOnSourcesAndDriver() {
+    ProgramBinaryCache cache = new ProgramBinaryCache(directory, "vendor\nrenderer\n4.6");
+    ProgramBinaryCache otherDriver = new ProgramBinaryCache(directory, "vendor\nrenderer\n4.6.1");
+
+    String key = cache.key("vertex", "fragment");
+
+    assertThat(cache.key("vertex", "fragment")).isEqualTo(key);
+    assertThat(cache.key("vertex", "fragment2")).isNotEqualTo(key);
+    assertThat(cache.key("vertexf", "ragment")).isNotEqualTo(key);
+    assertThat(otherDriver.key("vertex", "fragment")).isNotEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("A stored binary should load back with the same format and contents")
+  void storeThenLoad_roundTrips() {
+    ProgramBinaryCache cache = new ProgramBinaryCache(directory.resolve("nested"), "driver");
+    String key = cache.key("v", "f");
+
+    cache.store(key, new ProgramBinaryCache.Binary(0x1234, new byte[] {1, 2, 3, 4}));
+    Optional<ProgramBinaryCache.Binary> loaded = cache.load(key);
+
+    assertThat(loaded).isPresent();
+    assertThat(loaded.get().format()).isEqualTo(0x1234);
+    assertThat(loaded.get().data()).containsExactly(1, 2, 3, 4);
+  }
+
+  @Test
+  @DisplayName("Missing, foreign or evicted entries should load as empty")
+  void load_missesGracefully() throws IOException {
+    ProgramBinaryCache cache = new ProgramBinaryCache(directory, "driver");
+    String key = cache.key("v", "f");
+    assertThat(cache.load(key)).isEmpty();
+
+    Files.write(directory.resolve(key + ".bin"), new byte[] {9, 9, 9, 9, 9, 9});
+    assertThat(cache.load(key)).isEmpty();
+
+    cache.store(key, new ProgramBinaryCache.Binary(1, new byte[] {5}));
+    cache.evict(key);
+    assertThat(cache.load(key)).isEmpty();
+  }
+}
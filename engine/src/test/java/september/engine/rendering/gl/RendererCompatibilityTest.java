@@ -99,14 +99,14 @@ class RendererCompatibilityTest {
     // Verify that the instanced renderer has additional methods for monitoring performance
     try {
       var getStatsMethod = InstancedOpenGLRenderer.class.getMethod("getLastFrameStats");
-      var getBatchMethod = InstancedOpenGLRenderer.class.getMethod("getSpriteBatch");
+      var getQueueMethod = InstancedOpenGLRenderer.class.getMethod("getRenderQueue");
 
       assertThat(getStatsMethod).isNotNull();
-      assertThat(getBatchMethod).isNotNull();
+      assertThat(getQueueMethod).isNotNull();
 
       // Check return types
       assertThat(getStatsMethod.getReturnType().getSimpleName()).isEqualTo("RenderStats");
-      assertThat(getBatchMethod.getReturnType()).isEqualTo(september.engine.rendering.SpriteBatch.class);
+      assertThat(getQueueMethod.getReturnType()).isEqualTo(september.engine.rendering.RenderQueue.class);
 
     } catch (NoSuchMethodException e) {
       throw new AssertionError("InstancedOpenGLRenderer missing expected additional methods", e);
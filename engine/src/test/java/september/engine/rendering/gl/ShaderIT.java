@@ -1,10 +1,17 @@
 package september.engine.rendering.gl;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import september.engine.EngineTestHarness;
 import september.engine.assets.AssetLoader;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -14,6 +21,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 class ShaderIT extends EngineTestHarness {
 
+  private static final String SIMPLE_VERTEX =
+    "#version 460 core\nlayout (location = 0) in vec3 aPos;\nvoid main() { gl_Position = vec4(aPos, 1.0); }";
+  private static final String SIMPLE_FRAGMENT =
+    "#version 460 core\nout vec4 FragColor;\nvoid main() { FragColor = vec4(1.0); }";
+
   @Test
   @DisplayName("AssetLoader.loadShader should create a valid shader from real GLSL files")
   void loadShader_createsValidShader_fromRealFiles() {
@@ -52,4 +64,42 @@ class ShaderIT extends EngineTestHarness {
     assertThatCode(shader::unbind).as("unbind() should not throw").doesNotThrowAnyException();
     assertThatCode(shader::close).as("close() should not throw").doesNotThrowAnyException();
   }
+
+  @Test
+  @DisplayName("A second shader from the same sources should be created from the cached program binary")
+  void programBinaryCache_storesAndReusesBinary(@TempDir Path cacheDir) throws IOException {
+    ProgramBinaryCache cache = ProgramBinaryCache.forCurrentContext(cacheDir).orElse(null);
+    Assumptions.assumeTrue(cache != null, "Driver supports no program binary formats");
+    ProgramBinaryCache.install(cache);
+    try {
+      new Shader(SIMPLE_VERTEX, SIMPLE_FRAGMENT).close();
+      try (Stream<Path> files = Files.list(cacheDir)) {
+        assertThat(files.count()).isEqualTo(1);
+      }
+      assertThat(cache.load(cache.key(SIMPLE_VERTEX, SIMPLE_FRAGMENT))).isPresent();
+
+      Shader cached = new Shader(SIMPLE_VERTEX, SIMPLE_FRAGMENT);
+      assertThatCode(cached::bind).doesNotThrowAnyException();
+      cached.close();
+    } finally {
+      ProgramBinaryCache.install(null);
+    }
+  }
+
+  @Test
+  @DisplayName("Reloading a shader should evict the cached binary of its previous sources")
+  void reload_evictsPreviousBinary(@TempDir Path cacheDir) {
+    ProgramBinaryCache cache = ProgramBinaryCache.forCurrentContext(cacheDir).orElse(null);
+    Assumptions.assumeTrue(cache != null, "Driver supports no program binary formats");
+    String redFragment = "#version 460 core\nout vec4 FragColor;\nvoid main() { FragColor = vec4(1.0, 0.0, 0.0, 1.0); }";
+    ProgramBinaryCache.install(cache);
+    try (Shader shader = new Shader(SIMPLE_VERTEX, SIMPLE_FRAGMENT)) {
+      shader.reload(SIMPLE_VERTEX, redFragment);
+
+      assertThat(cache.load(cache.key(SIMPLE_VERTEX, SIMPLE_FRAGMENT))).isEmpty();
+      assertThat(cache.load(cache.key(SIMPLE_VERTEX, redFragment))).isPresent();
+    } finally {
+      ProgramBinaryCache.install(null);
+    }
+  }
 }
@@ -0,0 +1,186 @@
+package september.engine.scene;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import september.engine.assets.AssetLoader;
+import september.engine.assets.ResourceManager;
+import september.engine.core.MainThreadExecutor;
+import september.engine.ecs.Component;
+import september.engine.ecs.World;
+import september.engine.ecs.components.MovementStatsComponent;
+import september.engine.ecs.components.TransformComponent;
+import september.engine.rendering.Texture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for incremental scene reloads and prefetching. Scenes are read from a mounted
+ * temporary directory and the ResourceManager is mocked, so no GL resources are created.
+ */
+class SceneManagerTest {
+
+  private static final String SCENE = "/scenes/test.json";
+
+  @TempDir
+  Path root;
+
+  private final World world = new World();
+  private final ResourceManager resourceManager = mock(ResourceManager.class);
+  private final SceneManager sceneManager = new SceneManager(
+    Map.of("TransformComponent", TransformComponent.class, "MovementStatsComponent", MovementStatsComponent.class),
+    resourceManager);
+
+  @BeforeEach
+  void mount() throws IOException {
+    Files.createDirectories(root.resolve("scenes"));
+    AssetLoader.mountDirectories(List.of(root));
+  }
+
+  @AfterEach
+  void unmount() {
+    AssetLoader.mountDirectories(List.of());
+  }
+
+  private void writeScene(String entities) throws IOException {
+    Files.writeString(root.resolve("scenes/test.json"), "{\"name\": \"Test\", \"entities\": [" + entities + "]}");
+  }
+
+  private static String entity(String name, String components) {
+    return "{\"name\": \"" + name + "\", \"components\": {" + components + "}}";
+  }
+
+  /** Writes a scene with one texture whose async load completes when the returned future does. */
+  private CompletableFuture<Texture> writeSceneWithPendingTexture(MainThreadExecutor mainThread) throws IOException {
+    Files.writeString(root.resolve("scenes/test.json"), "{\"name\": \"Test\", \"manifest\": {\"textures\": ["
+      + "{\"handle\": \"hero\", \"path\": \"/textures/hero.png\"}]}, \"entities\": ["
+      + entity("Player", "\"TransformComponent\": {}") + "]}");
+    CompletableFuture<Texture> texture = new CompletableFuture<>();
+    when(resourceManager.loadTextureAsync("hero", "/textures/hero.png")).thenReturn(texture);
+    when(resourceManager.getMainThreadExecutor()).thenReturn(mainThread);
+    return texture;
+  }
+
+  private int entityWith(Class<? extends Component> componentClass) {
+    return world.getEntitiesWith(componentClass).getFirst();
+  }
+
+  @Test
+  @DisplayName("Reloading should replace changed components and keep unchanged ones and entity IDs")
+  void reload_replacesOnlyChangedComponents() throws IOException {
+    writeScene(entity("Player", "\"TransformComponent\": {}, \"MovementStatsComponent\": {\"speed\": 1.0}"));
+    sceneManager.load(SCENE, world);
+    int player = entityWith(MovementStatsComponent.class);
+    TransformComponent transform = world.getComponent(player, TransformComponent.class);
+    transform.position.x = 5.0f;
+
+    writeScene(entity("Player", "\"TransformComponent\": {}, \"MovementStatsComponent\": {\"speed\": 3.0}"));
+    boolean reloaded = sceneManager.reload(SCENE, world);
+
+    assertThat(reloaded).isTrue();
+    assertThat(world.getEntitiesWith()).containsExactly(player);
+    assertThat(world.getComponent(player, MovementStatsComponent.class).speed()).isEqualTo(3.0f);
+    assertThat(world.getComponent(player, TransformComponent.class)).isSameAs(transform);
+  }
+
+  @Test
+  @DisplayName("Reloading should create added templates, destroy removed ones and drop removed components")
+  void reload_appliesAddedAndRemovedTemplates() throws IOException {
+    writeScene(entity("Player", "\"TransformComponent\": {}, \"MovementStatsComponent\": {\"speed\": 1.0}")
+      + "," + entity("Enemy", "\"TransformComponent\": {}"));
+    sceneManager.load(SCENE, world);
+    int player = entityWith(MovementStatsComponent.class);
+
+    writeScene(entity("Player", "\"TransformComponent\": {}")
+      + "," + entity("Pickup", "\"MovementStatsComponent\": {\"speed\": 0.5}"));
+    sceneManager.reload(SCENE, world);
+
+    assertThat(world.getEntitiesWith()).hasSize(2).contains(player);
+    assertThat(world.getComponent(player, MovementStatsComponent.class)).isNull();
+    int pickup = entityWith(MovementStatsComponent.class);
+    assertThat(pickup).isNotEqualTo(player);
+    assertThat(world.getComponent(pickup, TransformComponent.class)).isNull();
+  }
+
+  @Test
+  @DisplayName("A change to a file other than the active scene should be ignored")
+  void reload_ignoresOtherScenes() throws IOException {
+    writeScene(entity("Player", "\"TransformComponent\": {}"));
+    sceneManager.load(SCENE, world);
+
+    assertThat(sceneManager.reload("/scenes/other.json", world)).isFalse();
+    assertThat(world.getEntitiesWith()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Prefetching a scene should prefetch its textures without creating entities")
+  void prefetch_prefetchesManifestTextures() throws IOException {
+    Files.writeString(root.resolve("scenes/next.json"), "{\"name\": \"Next\", \"manifest\": {\"textures\": ["
+      + "{\"handle\": \"hero\", \"path\": \"/textures/hero.png\"}]}, \"entities\": []}");
+
+    sceneManager.prefetch("/scenes/next.json");
+
+    verify(resourceManager).prefetchTexture("/textures/hero.png");
+    assertThat(world.getEntitiesWith()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("An async load should create its entities once its textures are uploaded")
+  void loadAsync_createsEntitiesAfterUploads() throws IOException {
+    MainThreadExecutor mainThread = new MainThreadExecutor();
+    CompletableFuture<Texture> texture = writeSceneWithPendingTexture(mainThread);
+
+    CompletableFuture<Void> loaded = sceneManager.loadAsync(SCENE, world);
+    assertThat(world.getEntitiesWith()).isEmpty();
+    texture.complete(mock(Texture.class));
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(loaded).isCompleted();
+    assertThat(world.getEntitiesWith()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("A scene unloaded before its uploads drain should never create its entities")
+  void loadAsync_skipsEntitiesWhenUnloadedFirst() throws IOException {
+    MainThreadExecutor mainThread = new MainThreadExecutor();
+    CompletableFuture<Texture> texture = writeSceneWithPendingTexture(mainThread);
+
+    CompletableFuture<Void> loaded = sceneManager.loadAsync(SCENE, world);
+    sceneManager.unload(world);
+    texture.complete(mock(Texture.class));
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(loaded).isCompleted();
+    assertThat(world.getEntitiesWith()).isEmpty();
+    verify(resourceManager).releaseScope(SCENE);
+  }
+
+  @Test
+  @DisplayName("A scene replaced by another load before its uploads drain should never create its entities")
+  void loadAsync_skipsEntitiesWhenSuperseded() throws IOException {
+    MainThreadExecutor mainThread = new MainThreadExecutor();
+    CompletableFuture<Texture> texture = writeSceneWithPendingTexture(mainThread);
+    sceneManager.loadAsync(SCENE, world);
+
+    Files.writeString(root.resolve("scenes/other.json"), "{\"name\": \"Other\", \"entities\": ["
+      + entity("Enemy", "\"MovementStatsComponent\": {\"speed\": 1.0}") + "]}");
+    sceneManager.load("/scenes/other.json", world);
+    texture.complete(mock(Texture.class));
+    mainThread.drain(Long.MAX_VALUE);
+
+    assertThat(world.getEntitiesWith()).hasSize(1);
+    assertThat(world.getEntitiesWith(TransformComponent.class)).isEmpty();
+  }
+}
@@ -0,0 +1,76 @@
+package september.engine.state;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import september.engine.assets.ResourceManager;
+import september.engine.core.EngineServices;
+import september.engine.scene.SceneManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the GameStateManager's handling of scene prefetches.
+ */
+class GameStateManagerTest {
+
+  private final GameStateManager gameStateManager = new GameStateManager();
+  private ResourceManager resourceManager;
+  private SceneManager sceneManager;
+  private EngineServices services;
+
+  @BeforeEach
+  void setUp() {
+    resourceManager = mock(ResourceManager.class);
+    sceneManager = mock(SceneManager.class);
+    services = EngineServices.builder().resourceManager(resourceManager).sceneManager(sceneManager).build();
+  }
+
+  private static GameState state(List<String> prefetchScenes) {
+    GameState state = mock(GameState.class);
+    when(state.getPrefetchScenes()).thenReturn(prefetchScenes);
+    return state;
+  }
+
+  @Test
+  @DisplayName("Entering a state should prefetch the scenes it names")
+  void pushState_prefetchesScenes() {
+    gameStateManager.pushState(state(List.of("/scenes/level.json")), services);
+
+    verify(sceneManager).prefetch("/scenes/level.json");
+    verify(resourceManager, never()).discardPrefetched();
+  }
+
+  @Test
+  @DisplayName("Leftover prefetches should be discarded after the next state has entered, before its own prefetches")
+  void changeState_discardsLeftoversAfterNextStateEnters() {
+    GameState menu = state(List.of("/scenes/level.json"));
+    GameState playing = state(List.of("/scenes/boss.json"));
+    gameStateManager.pushState(menu, services);
+
+    gameStateManager.changeState(playing, services);
+
+    InOrder order = inOrder(playing, resourceManager, sceneManager);
+    order.verify(playing).onEnter(services);
+    order.verify(resourceManager).discardPrefetched();
+    order.verify(sceneManager).prefetch("/scenes/boss.json");
+  }
+
+  @Test
+  @DisplayName("Popping a state that prefetched nothing should keep other prefetches")
+  void popState_keepsPrefetchesOfOtherStates() {
+    gameStateManager.pushState(state(List.of("/scenes/level.json")), services);
+    gameStateManager.pushState(state(List.of()), services);
+
+    gameStateManager.popState(services);
+
+    verify(resourceManager, never()).discardPrefetched();
+  }
+}
@@ -0,0 +1,120 @@
+package september.engine.systems;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.World;
+import september.engine.ecs.components.ParticleEmitterComponent;
+import september.engine.ecs.components.TransformComponent;
+import september.engine.rendering.Camera;
+import september.engine.rendering.Texture;
+import september.engine.rendering.gl.ParticleRenderer;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ParticleSystem, simulating synchronously against a mocked particle renderer.
+ */
+class ParticleSystemTest {
+
+  private IWorld world;
+  private ParticleRenderer renderer;
+  private ParticleSystem system;
+  private Texture spark;
+  private Texture smoke;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+    renderer = mock(ParticleRenderer.class);
+    ResourceManager resourceManager = mock(ResourceManager.class);
+    spark = mock(Texture.class);
+    smoke = mock(Texture.class);
+    when(spark.getTextureId()).thenReturn(1);
+    when(smoke.getTextureId()).thenReturn(2);
+    when(resourceManager.resolveTextureHandle("spark")).thenReturn(spark);
+    when(resourceManager.resolveTextureHandle("smoke")).thenReturn(smoke);
+    system = new ParticleSystem(world, resourceManager, new Camera(), renderer, Runnable::run, new Random(42));
+  }
+
+  private ParticleEmitterComponent addEmitter(String texture) {
+    ParticleEmitterComponent emitter = new ParticleEmitterComponent(texture);
+    emitter.emitting = false;
+    emitter.minLifetime = 10.0f;
+    emitter.maxLifetime = 10.0f;
+    int entity = world.createEntity();
+    world.addComponent(entity, new TransformComponent());
+    world.addComponent(entity, emitter);
+    return emitter;
+  }
+
+  @Test
+  @DisplayName("Bursts and continuous emission should spawn particles up to the pool capacity")
+  void emission_spawnsParticles() {
+    ParticleEmitterComponent emitter = addEmitter("spark");
+    emitter.maxParticles = 100;
+    emitter.burst(30);
+    system.update(0.016f);
+    assertThat(system.getLiveParticleCount()).isEqualTo(30);
+
+    emitter.emitting = true;
+    emitter.emissionRate = 1000.0f;
+    system.update(0.1f);
+    assertThat(system.getLiveParticleCount()).isEqualTo(100);
+  }
+
+  @Test
+  @DisplayName("Emitters sharing a texture and blend mode should be drawn with one call")
+  void emittersSharingTexture_drawTogether() {
+    addEmitter("spark").burst(10);
+    addEmitter("spark").burst(5);
+    addEmitter("smoke").burst(7);
+
+    system.update(0.016f);
+
+    assertThat(system.getLastDrawCallCount()).isEqualTo(2);
+    verify(renderer).draw(eq(spark), eq(false), any(FloatBuffer.class), eq(15));
+    verify(renderer).draw(eq(smoke), eq(false), any(FloatBuffer.class), eq(7));
+  }
+
+  @Test
+  @DisplayName("Additive and alpha-blended emitters should not share a draw")
+  void blendModes_areDrawnSeparately() {
+    addEmitter("spark").burst(4);
+    ParticleEmitterComponent additive = addEmitter("spark");
+    additive.additive = true;
+    additive.burst(6);
+
+    system.update(0.016f);
+
+    verify(renderer).draw(eq(spark), eq(false), any(FloatBuffer.class), eq(4));
+    verify(renderer).draw(eq(spark), eq(true), any(FloatBuffer.class), eq(6));
+  }
+
+  @Test
+  @DisplayName("Expired particles should be removed and nothing drawn once all are gone")
+  void expiredParticles_areRemoved() {
+    ParticleEmitterComponent emitter = addEmitter("spark");
+    emitter.minLifetime = 0.05f;
+    emitter.maxLifetime = 0.05f;
+    emitter.burst(10);
+
+    system.update(0.1f);
+    assertThat(system.getLiveParticleCount()).isZero();
+
+    system.update(0.1f);
+    assertThat(system.getLastDrawCallCount()).isZero();
+    verify(renderer, never()).draw(eq(smoke), any(Boolean.class), any(FloatBuffer.class), any(Integer.class));
+  }
+}
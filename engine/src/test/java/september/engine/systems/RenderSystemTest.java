@@ -0,0 +1,221 @@
+package september.engine.systems;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.World;
+import september.engine.ecs.components.SpriteAnimationComponent;
+import september.engine.ecs.components.SpriteComponent;
+import september.engine.ecs.components.StaticSpriteComponent;
+import september.engine.ecs.components.TransformComponent;
+import september.engine.rendering.Camera;
+import september.engine.rendering.InstancedMesh;
+import september.engine.rendering.Mesh;
+import september.engine.rendering.Renderer;
+import september.engine.rendering.SpriteSheet;
+import september.engine.rendering.StaticSpriteLayer;
+import september.engine.rendering.Texture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Logic tests for RenderSystem's visibility culling.
+ * A recording renderer stands in for OpenGL so the submitted sprites can be inspected directly.
+ */
+class RenderSystemTest {
+
+  private IWorld world;
+  private Camera camera;
+  private RecordingRenderer renderer;
+  private RenderSystem renderSystem;
+  private List<InstancedMesh> bakedBatches;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+    camera = new Camera(16f, 9f);
+    renderer = new RecordingRenderer();
+
+    ResourceManager resourceManager = mock(ResourceManager.class);
+    when(resourceManager.meshId("quad")).thenReturn(1);
+    when(resourceManager.resolveMesh(1)).thenReturn(mock(Mesh.class));
+    Texture texture = mock(Texture.class);
+    when(resourceManager.resolveTextureHandle(anyString())).thenReturn(texture);
+    when(resourceManager.textureId(anyString())).thenReturn(1);
+    when(resourceManager.resolveTexture(1)).thenReturn(texture);
+
+    bakedBatches = new ArrayList<>();
+    StaticSpriteLayer staticLayer = new StaticSpriteLayer(16f, () -> {
+      InstancedMesh batch = mock(InstancedMesh.class);
+      bakedBatches.add(batch);
+      return batch;
+    });
+    renderSystem = new RenderSystem(world, renderer, resourceManager, camera, staticLayer, new TilemapRenderer());
+  }
+
+  private int createSprite(float x, float y) {
+    int entity = world.createEntity();
+    TransformComponent transform = new TransformComponent();
+    transform.position.set(x, y, 0f);
+    world.addComponent(entity, transform);
+    world.addComponent(entity, new SpriteComponent("tile", new Vector4f(1f)));
+    return entity;
+  }
+
+  @Test
+  @DisplayName("update() should only submit sprites inside the camera view")
+  void update_submitsOnlyVisibleSprites() {
+    for (int x = -50; x <= 50; x++) {
+      createSprite(x, 0f);
+    }
+
+    renderSystem.update(0.016f);
+
+    // The 16x9 view spans x in [-8, 8], so only the sprites centred on -8..8 overlap it.
+    assertThat(renderSystem.getVisibleCount()).isEqualTo(17);
+    assertThat(renderer.submitted).hasSize(17);
+    assertThat(renderer.submitted).allSatisfy(m -> assertThat(Math.abs(m.m30())).isLessThanOrEqualTo(8f));
+  }
+
+  @Test
+  @DisplayName("update() should pick up sprites that move into view")
+  void update_tracksMovedSprites() {
+    int entity = createSprite(100f, 100f);
+    renderSystem.update(0.016f);
+    assertThat(renderSystem.getVisibleCount()).isZero();
+
+    world.getComponent(entity, TransformComponent.class).position.set(1f, 1f, 0f);
+    renderSystem.update(0.016f);
+
+    assertThat(renderSystem.getVisibleCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("update() should follow the camera as it pans")
+  void update_followsCameraPosition() {
+    createSprite(40f, 0f);
+    renderSystem.update(0.016f);
+    assertThat(renderSystem.getVisibleCount()).isZero();
+
+    camera.setPosition(new Vector3f(40f, 0f, 5f));
+    renderSystem.update(0.016f);
+
+    assertThat(renderSystem.getVisibleCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("update() should stop drawing destroyed entities")
+  void update_dropsDestroyedEntities() {
+    int entity = createSprite(0f, 0f);
+    renderSystem.update(0.016f);
+
+    world.destroyEntity(entity);
+    renderSystem.update(0.016f);
+
+    assertThat(renderSystem.getVisibleCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("update() should bake static sprites once and submit them as batches")
+  void update_bakesStaticSpritesOnce() {
+    for (int x = 1; x <= 7; x++) {
+      int entity = createSprite(x, 1f);
+      world.addComponent(entity, new StaticSpriteComponent());
+    }
+
+    renderSystem.update(0.016f);
+    renderSystem.update(0.016f);
+
+    // All seven sprites share a chunk, depth and texture, so they bake into a single batch.
+    assertThat(bakedBatches).hasSize(1);
+    verify(bakedBatches.get(0), times(1)).uploadStaticInstances(any(float[].class), anyInt());
+    assertThat(renderer.submitted).isEmpty();
+    assertThat(renderer.batchInstances).containsExactly(7);
+    assertThat(renderSystem.getVisibleStaticCount()).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("update() should rebake a static sprite only when it is flagged dirty")
+  void update_rebakesDirtyStaticSprites() {
+    int entity = createSprite(0f, 0f);
+    StaticSpriteComponent staticSprite = new StaticSpriteComponent();
+    world.addComponent(entity, staticSprite);
+    renderSystem.update(0.016f);
+
+    world.getComponent(entity, TransformComponent.class).position.set(2f, 0f, 0f);
+    renderSystem.update(0.016f);
+    verify(bakedBatches.get(0), times(1)).uploadStaticInstances(any(float[].class), anyInt());
+
+    staticSprite.dirty = true;
+    renderSystem.update(0.016f);
+    verify(bakedBatches.get(0), times(2)).uploadStaticInstances(any(float[].class), anyInt());
+    assertThat(staticSprite.dirty).isFalse();
+  }
+
+  @Test
+  @DisplayName("update() should draw an animated sprite's current sheet frame")
+  void update_submitsAnimationFrameRegion() {
+    int entity = createSprite(0f, 0f);
+    SpriteAnimationComponent animation = new SpriteAnimationComponent("bat", "fly");
+    animation.resolvedSheet = new SpriteSheet(4, 4);
+    animation.frame = 5;
+    world.addComponent(entity, animation);
+    createSprite(1f, 0f);
+
+    renderSystem.update(0.016f);
+
+    assertThat(renderer.submitted).hasSize(2);
+    assertThat(renderer.uvRects).containsExactlyInAnyOrder(
+      new float[] {0.25f, 0.5f, 0.5f, 0.75f},
+      new float[] {0f, 0f, 1f, 1f});
+  }
+
+  private static final class RecordingRenderer implements Renderer {
+    private final List<Matrix4f> submitted = new ArrayList<>();
+    private final List<float[]> uvRects = new ArrayList<>();
+    private final List<Integer> batchInstances = new ArrayList<>();
+
+    @Override
+    public void beginScene(Camera camera) {
+      submitted.clear();
+      uvRects.clear();
+      batchInstances.clear();
+    }
+
+    @Override
+    public void submitBatch(InstancedMesh batch, int instanceCount, Texture texture, long sortKey) {
+      batchInstances.add(instanceCount);
+    }
+
+    @Override
+    public void submit(Mesh mesh, Texture texture, Matrix4f transform, long sortKey) {
+      submit(mesh, texture, transform, 0f, 0f, 1f, 1f, sortKey);
+    }
+
+    @Override
+    public void submit(Mesh mesh, Texture texture, Matrix4f transform, float u0, float v0, float u1, float v1,
+                       long sortKey) {
+      submitted.add(new Matrix4f(transform));
+      uvRects.add(new float[] {u0, v0, u1, v1});
+    }
+
+    @Override
+    public void endScene() {
+    }
+  }
+}
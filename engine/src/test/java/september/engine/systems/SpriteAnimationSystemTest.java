@@ -0,0 +1,120 @@
+package september.engine.systems;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.World;
+import september.engine.ecs.components.SpriteAnimationComponent;
+import september.engine.rendering.AnimationClip;
+import september.engine.rendering.SpriteSheet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SpriteAnimationSystem.
+ */
+class SpriteAnimationSystemTest {
+
+  private IWorld world;
+  private ResourceManager resourceManager;
+  private SpriteAnimationSystem system;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+    resourceManager = mock(ResourceManager.class);
+    SpriteSheet sheet = new SpriteSheet(4, 4)
+      .addClip(new AnimationClip("walk", new int[] {4, 5, 6, 7}, 0.1f, true))
+      .addClip(new AnimationClip("die", new int[] {12, 13, 14}, 0.1f, false));
+    when(resourceManager.resolveSpriteSheetHandle("bat")).thenReturn(sheet);
+    system = new SpriteAnimationSystem(world, resourceManager);
+  }
+
+  private SpriteAnimationComponent addAnimation(String clip) {
+    SpriteAnimationComponent animation = new SpriteAnimationComponent("bat", clip);
+    world.addComponent(world.createEntity(), animation);
+    return animation;
+  }
+
+  @Test
+  @DisplayName("A looping clip should advance once per frame duration and wrap to its first frame")
+  void loopingClip_advancesAndWraps() {
+    SpriteAnimationComponent animation = addAnimation("walk");
+
+    system.update(0.05f);
+    assertThat(animation.frame).isEqualTo(4);
+
+    system.update(0.1f);
+    assertThat(animation.frame).isEqualTo(5);
+
+    system.update(0.3f);
+    assertThat(animation.frame).isEqualTo(4);
+    assertThat(animation.finished).isFalse();
+  }
+
+  @Test
+  @DisplayName("A non-looping clip should hold its last frame and report that it finished")
+  void nonLoopingClip_holdsLastFrame() {
+    SpriteAnimationComponent animation = addAnimation("die");
+
+    system.update(1.0f);
+
+    assertThat(animation.frame).isEqualTo(14);
+    assertThat(animation.finished).isTrue();
+  }
+
+  @Test
+  @DisplayName("Switching clips should restart playback without resolving the sheet again")
+  void play_restartsNewClip() {
+    SpriteAnimationComponent animation = addAnimation("walk");
+    system.update(0.25f);
+
+    animation.play("die");
+    system.update(0.0f);
+    assertThat(animation.frame).isEqualTo(12);
+
+    system.update(0.1f);
+    assertThat(animation.frame).isEqualTo(13);
+    verify(resourceManager, times(1)).resolveSpriteSheetHandle("bat");
+  }
+
+  @Test
+  @DisplayName("Changing the sheet handle should resolve the new sheet and restart the clip")
+  void sheetHandleChange_resolvesNewSheet() {
+    SpriteSheet rat = new SpriteSheet(4, 4)
+      .addClip(new AnimationClip("walk", new int[] {8, 9}, 0.1f, true));
+    when(resourceManager.resolveSpriteSheetHandle("rat")).thenReturn(rat);
+    SpriteAnimationComponent animation = addAnimation("walk");
+    system.update(0.15f);
+    assertThat(animation.frame).isEqualTo(5);
+
+    animation.sheetHandle = "rat";
+    system.update(0.0f);
+
+    assertThat(animation.resolvedSheet).isSameAs(rat);
+    assertThat(animation.frame).isEqualTo(8);
+    system.update(0.1f);
+    assertThat(animation.frame).isEqualTo(9);
+    verify(resourceManager, times(1)).resolveSpriteSheetHandle("rat");
+  }
+
+  @Test
+  @DisplayName("A paused animation should keep its frame and speed should scale playback")
+  void pausedAndScaledPlayback() {
+    SpriteAnimationComponent paused = addAnimation("walk");
+    SpriteAnimationComponent fast = addAnimation("walk");
+    paused.playing = false;
+    fast.speed = 2.0f;
+
+    system.update(0.1f);
+
+    assertThat(paused.frame).isEqualTo(4);
+    assertThat(fast.frame).isEqualTo(6);
+  }
+}
@@ -0,0 +1,104 @@
+package september.engine.systems;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.World;
+import september.engine.rendering.FontAtlas;
+import september.engine.rendering.Texture;
+import september.engine.ui.components.UITextComponent;
+import september.engine.ui.components.UITransformComponent;
+import september.engine.ui.rendering.TextRenderer;
+
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TextRenderSystem, drawing through a mocked text renderer.
+ */
+class TextRenderSystemTest {
+
+  private IWorld world;
+  private TextRenderer renderer;
+  private TextRenderSystem system;
+  private Texture bodyAtlas;
+  private Texture titleAtlas;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+    renderer = mock(TextRenderer.class);
+    bodyAtlas = mock(Texture.class);
+    titleAtlas = mock(Texture.class);
+    when(bodyAtlas.getTextureId()).thenReturn(1);
+    when(titleAtlas.getTextureId()).thenReturn(2);
+
+    ResourceManager resourceManager = mock(ResourceManager.class);
+    when(resourceManager.resolveFontHandle("body")).thenReturn(createFont(bodyAtlas));
+    when(resourceManager.resolveFontHandle("title")).thenReturn(createFont(titleAtlas));
+    system = new TextRenderSystem(world, resourceManager, renderer);
+  }
+
+  /** A font where every character from '!' to 'Z' is a 5x10 glyph and the space is blank. */
+  private static FontAtlas createFont(Texture atlas) {
+    int count = 'Z' - ' ' + 1;
+    float[] glyphs = new float[count * FontAtlas.GLYPH_FLOATS];
+    for (int i = 0; i < count; i++) {
+      int g = i * FontAtlas.GLYPH_FLOATS;
+      glyphs[g + FontAtlas.ADVANCE] = 6.0f;
+      if (i > 0) {
+        glyphs[g + FontAtlas.QUAD_X1] = 5.0f;
+        glyphs[g + FontAtlas.QUAD_Y1] = 10.0f;
+      }
+    }
+    return new FontAtlas(atlas, 10.0f, 10.0f, 12.0f, ' ', glyphs);
+  }
+
+  private UITextComponent addText(String text, String font) {
+    UITextComponent component = new UITextComponent(text, font, 0.0f, null);
+    int entity = world.createEntity();
+    world.addComponent(entity, new UITransformComponent());
+    world.addComponent(entity, component);
+    return component;
+  }
+
+  @Test
+  @DisplayName("All text in one font should be drawn with a single call")
+  void update_drawsOncePerFont() {
+    addText("HP 100", "body");
+    addText("AMMO 12", "body");
+    addText("PAUSED", "title");
+
+    system.update(0.016f);
+
+    assertThat(system.getLastDrawCallCount()).isEqualTo(2);
+    verify(renderer).draw(eq(bodyAtlas), any(FloatBuffer.class), eq(11));
+    verify(renderer).draw(eq(titleAtlas), any(FloatBuffer.class), eq(6));
+  }
+
+  @Test
+  @DisplayName("Unchanged strings should keep their layout between frames")
+  void update_relayoutsOnlyChangedText() {
+    UITextComponent counter = addText("FPS 60", "body");
+    addText("LABEL", "body");
+
+    system.update(0.016f);
+    assertThat(system.getLastLayoutCount()).isEqualTo(2);
+
+    system.update(0.016f);
+    assertThat(system.getLastLayoutCount()).isZero();
+
+    counter.text = "FPS 59";
+    system.update(0.016f);
+    assertThat(system.getLastLayoutCount()).isEqualTo(1);
+    assertThat(system.getLastGlyphCount()).isEqualTo(10);
+  }
+}
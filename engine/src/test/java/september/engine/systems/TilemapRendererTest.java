@@ -0,0 +1,150 @@
+package september.engine.systems;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import september.engine.ecs.components.TilemapComponent;
+import september.engine.rendering.InstancedMesh;
+import september.engine.rendering.Renderer;
+import september.engine.rendering.Texture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Logic tests for TilemapRenderer's chunk building and culling.
+ * Chunk meshes are mocked so the generated geometry can be inspected without OpenGL.
+ */
+class TilemapRendererTest {
+
+  private TilemapRenderer tilemapRenderer;
+  private List<float[]> builtVertices;
+  private List<InstancedMesh> builtMeshes;
+  private Texture tileset;
+  private Renderer renderer;
+
+  @BeforeEach
+  void setUp() {
+    builtVertices = new ArrayList<>();
+    builtMeshes = new ArrayList<>();
+    tilemapRenderer = new TilemapRenderer((vertices, indices) -> {
+      InstancedMesh mesh = mock(InstancedMesh.class);
+      builtVertices.add(vertices);
+      builtMeshes.add(mesh);
+      return mesh;
+    });
+
+    // A 64x32 pixel tileset of 16 pixel tiles: 4 columns by 2 rows.
+    tileset = mock(Texture.class);
+    when(tileset.getWidth()).thenReturn(64);
+    when(tileset.getHeight()).thenReturn(32);
+    renderer = mock(Renderer.class);
+  }
+
+  private int submit(TilemapComponent tilemap, float minX, float minY, float maxX, float maxY) {
+    return tilemapRenderer.submit(1, tilemap, tileset, new Matrix4f(), renderer, minX, minY, maxX, maxY, 0);
+  }
+
+  @Test
+  @DisplayName("Only chunks containing tiles should get a mesh")
+  void submit_skipsEmptyChunks() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 128, 128);
+    tilemap.setTile(0, 0, 1);
+    tilemap.setTile(100, 100, 2);
+
+    submit(tilemap, -1000f, -1000f, 1000f, 1000f);
+
+    assertThat(builtMeshes).hasSize(2);
+    verify(renderer, times(2)).submitBatch(any(InstancedMesh.class), eq(1), eq(tileset), anyLong());
+  }
+
+  @Test
+  @DisplayName("Tile quads should sample their cell of the tileset")
+  void submit_buildsTileQuads() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 4, 4);
+    tilemap.setTile(1, 0, 5); // second row, second column of the tileset
+
+    submit(tilemap, -10f, -10f, 10f, 10f);
+
+    float[] vertices = builtVertices.get(0);
+    assertThat(vertices).hasSize(20);
+    // Top-right corner: x = 2, y = 0, u = 0.5, v = 0.5
+    assertThat(vertices[0]).isEqualTo(2f);
+    assertThat(vertices[1]).isEqualTo(0f);
+    assertThat(vertices[3]).isCloseTo(0.5f, offset(1e-6f));
+    assertThat(vertices[4]).isCloseTo(0.5f, offset(1e-6f));
+    // Bottom-left corner: x = 1, y = -1, u = 0.25, v = 0
+    assertThat(vertices[10]).isEqualTo(1f);
+    assertThat(vertices[11]).isEqualTo(-1f);
+    assertThat(vertices[13]).isCloseTo(0.25f, offset(1e-6f));
+    assertThat(vertices[14]).isCloseTo(0f, offset(1e-6f));
+  }
+
+  @Test
+  @DisplayName("Chunks outside the visible region should not be submitted")
+  void submit_cullsChunks() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 512, 512);
+    for (int y = 0; y < 512; y += 8) {
+      for (int x = 0; x < 512; x += 8) {
+        tilemap.setTile(x, y, 0);
+      }
+    }
+
+    int submitted = submit(tilemap, 0f, -16f, 16f, 0f);
+
+    assertThat(builtMeshes).hasSize(256);
+    assertThat(submitted).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Editing a tile should rebuild only its chunk")
+  void submit_rebuildsDirtyChunkOnly() {
+    TilemapComponent tilemap = new TilemapComponent("tiles", 64, 32);
+    tilemap.setTile(0, 0, 1);
+    tilemap.setTile(40, 0, 1);
+    submit(tilemap, -1000f, -1000f, 1000f, 1000f);
+    submit(tilemap, -1000f, -1000f, 1000f, 1000f);
+    assertThat(builtMeshes).hasSize(2);
+
+    tilemap.setTile(41, 0, 2);
+    submit(tilemap, -1000f, -1000f, 1000f, 1000f);
+
+    assertThat(builtMeshes).hasSize(3);
+    verify(builtMeshes.get(1)).close();
+    assertThat(builtVertices.get(2)).hasSize(40);
+  }
+
+  @Test
+  @DisplayName("A chunk rebuilt on one map should be uploaded with its own transform while another map moves")
+  void submit_uploadsEachMapsOwnTransform() {
+    TilemapComponent mapA = new TilemapComponent("a", 4, 4);
+    mapA.setTile(0, 0, 1);
+    TilemapComponent mapB = new TilemapComponent("b", 4, 4);
+    mapB.setTile(0, 0, 1);
+    Matrix4f transformB = new Matrix4f().translation(100f, 0f, 0f);
+    tilemapRenderer.submit(1, mapA, tileset, new Matrix4f(), renderer, -1000f, -1000f, 1000f, 1000f, 0);
+    tilemapRenderer.submit(2, mapB, tileset, transformB, renderer, -1000f, -1000f, 1000f, 1000f, 0);
+
+    // Map A moves in the same frame as one of map B's chunks is edited.
+    mapB.setTile(1, 0, 2);
+    tilemapRenderer.submit(1, mapA, tileset, new Matrix4f().translation(5f, 0f, 0f), renderer,
+      -1000f, -1000f, 1000f, 1000f, 0);
+    tilemapRenderer.submit(2, mapB, tileset, transformB, renderer, -1000f, -1000f, 1000f, 1000f, 0);
+
+    ArgumentCaptor<float[]> uploaded = ArgumentCaptor.forClass(float[].class);
+    verify(builtMeshes.get(2)).uploadStaticInstances(uploaded.capture(), eq(1));
+    assertThat(uploaded.getValue()[12]).isEqualTo(100f);
+  }
+}
@@ -0,0 +1,52 @@
+package september.engine.systems;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.EngineTestHarness;
+import september.engine.ui.components.UIImageComponent;
+import september.engine.ui.components.UITransformComponent;
+import september.engine.ui.rendering.UIRenderer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.glGetError;
+
+/**
+ * Integration test for UIRenderSystem, drawing its retained list with a real UIRenderer in a live
+ * OpenGL context.
+ */
+class UIRenderSystemIT extends EngineTestHarness {
+
+  private void createImage(String textureHandle, float depth) {
+    int entity = world.createEntity();
+    UITransformComponent transform = new UITransformComponent();
+    transform.offset.z = depth;
+    transform.screenBounds[2] = 64.0f;
+    transform.screenBounds[3] = 64.0f;
+    transform.markLaidOut();
+    world.addComponent(entity, transform);
+    world.addComponent(entity, new UIImageComponent(textureHandle, null));
+  }
+
+  @Test
+  @DisplayName("A retained UI should draw one instanced call per texture on every frame")
+  void update_drawsRetainedListEachFrame() {
+    UIRenderer renderer = new UIRenderer(resourceManager, engine.getScreenCameraBuffer());
+    try {
+      UIRenderSystem system = new UIRenderSystem(world, resourceManager, renderer);
+      createImage("player_texture", 0.0f);
+      createImage("player_texture", 0.1f);
+      createImage("enemy_texture", 0.5f);
+
+      for (int frame = 0; frame < 3; frame++) {
+        system.update(0.016f);
+        assertThat(renderer.getLastDrawCallCount()).isEqualTo(2);
+      }
+
+      assertThat(system.getRebuildCount()).isEqualTo(1);
+      assertThat(glGetError()).isEqualTo(GL_NO_ERROR);
+    } finally {
+      renderer.close();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package september.engine.systems;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import september.engine.assets.ResourceManager;
+import september.engine.ecs.IWorld;
+import september.engine.ecs.World;
+import september.engine.rendering.RenderQueue;
+import september.engine.rendering.Texture;
+import september.engine.ui.components.UIImageComponent;
+import september.engine.ui.components.UITransformComponent;
+import september.engine.ui.rendering.UIRenderer;
+
+/**
+ * Unit tests for the retained draw list of UIRenderSystem. The renderer is a mock that only
+ * receives the list; drawing it is covered by UIRenderSystemIT.
+ */
+class UIRenderSystemTest {
+
+  private IWorld world;
+  private UIRenderer renderer;
+  private UIRenderSystem system;
+  private Texture panel;
+  private Texture icon;
+  private UITransformComponent backTransform;
+  private UIImageComponent frontImage;
+  private int frontEntity;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+    renderer = mock(UIRenderer.class);
+    ResourceManager resourceManager = mock(ResourceManager.class);
+    panel = mock(Texture.class);
+    icon = mock(Texture.class);
+    when(panel.getTextureId()).thenReturn(1);
+    when(icon.getTextureId()).thenReturn(2);
+    when(resourceManager.resolveTextureHandle("panel")).thenReturn(panel);
+    when(resourceManager.resolveTextureHandle("icon")).thenReturn(icon);
+    system = new UIRenderSystem(world, resourceManager, renderer);
+
+    int back = world.createEntity();
+    backTransform = laidOut(0.0f);
+    world.addComponent(back, backTransform);
+    world.addComponent(back, new UIImageComponent("panel", null));
+
+    frontEntity = world.createEntity();
+    frontImage = new UIImageComponent("icon", null);
+    world.addComponent(frontEntity, laidOut(0.5f));
+    world.addComponent(frontEntity, frontImage);
+  }
+
+  private static UITransformComponent laidOut(float depth) {
+    UITransformComponent transform = new UITransformComponent();
+    transform.offset.z = depth;
+    transform.markLaidOut();
+    return transform;
+  }
+
+  @Test
+  @DisplayName("An unchanged UI should be drawn from the retained list without rebuilding")
+  void unchangedUi_isNotRebuilt() {
+    system.update(0.0f);
+    RenderQueue drawList = system.getDrawList();
+    long backKey = drawList.getKey(0);
+    long frontKey = drawList.getKey(1);
+
+    system.update(0.0f);
+    system.update(0.0f);
+
+    assertThat(system.getRebuildCount()).isEqualTo(1);
+    // The same list is kept across frames, with its entries in back-to-front order.
+    assertThat(system.getDrawList()).isSameAs(drawList);
+    assertThat(drawList.size()).isEqualTo(2);
+    assertThat(drawList.getTexture(0)).isSameAs(panel);
+    assertThat(drawList.getTexture(1)).isSameAs(icon);
+    assertThat(drawList.getKey(0)).isEqualTo(backKey).isLessThan(frontKey);
+    assertThat(drawList.getKey(1)).isEqualTo(frontKey);
+  }
+
+  @Test
+  @DisplayName("Texture and layout changes should be patched in place")
+  void textureAndLayoutChanges_arePatched() {
+    system.update(0.0f);
+
+    frontImage.textureHandle = "panel";
+    backTransform.screenBounds[2] = 40.0f;
+    backTransform.markLaidOut();
+    system.update(0.0f);
+
+    assertThat(system.getRebuildCount()).isEqualTo(1);
+    RenderQueue drawList = system.getDrawList();
+    assertThat(drawList.getTexture(1)).isSameAs(panel);
+    assertThat(drawList.getTransform(0, new Matrix4f()).m00()).isEqualTo(40.0f);
+  }
+
+  @Test
+  @DisplayName("Depth changes and removed elements should rebuild the list")
+  void depthChangeAndRemoval_rebuild() {
+    system.update(0.0f);
+
+    backTransform.offset.z = 1.0f;
+    system.update(0.0f);
+    assertThat(system.getRebuildCount()).isEqualTo(2);
+    assertThat(system.getDrawList().getTexture(1)).isSameAs(panel);
+
+    world.destroyEntity(frontEntity);
+    system.update(0.0f);
+    assertThat(system.getRebuildCount()).isEqualTo(3);
+    assertThat(system.getDrawList().size()).isEqualTo(1);
+  }
+}
@@ -121,4 +121,28 @@ class UISystemTest {
     assertThat(image.textureHandle).isEqualTo(button.normalTexture);
     verify(mockEventBus, never()).publish(any());
   }
+
+  @Test
+  @DisplayName("Layout should only be recalculated for changed elements or after a resize")
+  void layout_isRetainedUntilSomethingChanges() {
+    when(mockInputService.getMouseX()).thenReturn(0.0);
+    when(mockInputService.getMouseY()).thenReturn(0.0);
+    var transform = world.getComponent(buttonEntity, UITransformComponent.class);
+
+    uiSystem.update(0.0f);
+    assertThat(uiSystem.getLastLayoutCount()).isEqualTo(1);
+    assertThat(transform.screenBounds).containsExactly(100f, 100f, 300f, 150f);
+
+    uiSystem.update(0.0f);
+    assertThat(uiSystem.getLastLayoutCount()).isZero();
+
+    transform.offset.x = 120.0f;
+    uiSystem.update(0.0f);
+    assertThat(uiSystem.getLastLayoutCount()).isEqualTo(1);
+    assertThat(transform.screenBounds[0]).isEqualTo(120f);
+
+    when(mockWindowContext.getWidth()).thenReturn(1024);
+    uiSystem.update(0.0f);
+    assertThat(uiSystem.getLastLayoutCount()).isEqualTo(1);
+  }
 }
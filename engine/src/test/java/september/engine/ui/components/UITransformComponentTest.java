@@ -53,4 +53,22 @@ class UITransformComponentTest {
     assertThat(transform.size).isEqualTo(new Vector2f(100, 30));
     assertThat(transform.offset).isEqualTo(new Vector3f(0, 0, 0));
   }
+
+  @Test
+  @DisplayName("Layout should be stale until marked laid out, and again after an input changes")
+  void layoutStaleness_tracksInputChanges() {
+    var transform = new UITransformComponent();
+    assertThat(transform.isLayoutStale()).isTrue();
+
+    transform.markLaidOut();
+    assertThat(transform.isLayoutStale()).isFalse();
+    assertThat(transform.layoutVersion).isEqualTo(1);
+
+    transform.offset.z = 0.5f;
+    assertThat(transform.isLayoutStale()).isTrue();
+
+    transform.markLaidOut();
+    transform.relativeSize = true;
+    assertThat(transform.isLayoutStale()).isTrue();
+  }
 }
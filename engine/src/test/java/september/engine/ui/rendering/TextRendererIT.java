@@ -0,0 +1,83 @@
+package september.engine.ui.rendering;
+
+import org.joml.Vector4f;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.BufferUtils;
+import september.engine.EngineTestHarness;
+import september.engine.OffscreenTarget;
+import september.engine.assets.AssetLoader;
+import september.engine.rendering.FontAtlas;
+import september.engine.rendering.TextLayout;
+import september.engine.rendering.gl.CameraUniformBuffer;
+
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.glGetError;
+
+/**
+ * Integration test for baking a font atlas and drawing its glyphs with the TextRenderer in a live
+ * OpenGL context.
+ */
+class TextRendererIT extends EngineTestHarness {
+
+  private static final String FONT_PATH = "fonts/DejaVuSansMono.ttf";
+
+  @Test
+  @DisplayName("Baking a font should upload an atlas and fill in the glyph table")
+  void bake_uploadsAtlasTexture() {
+    try (FontAtlas font = AssetLoader.loadFont(FONT_PATH, 32f)) {
+      int glyph = font.glyphIndex('H');
+
+      assertThat(font.getTexture().getTextureId()).isNotZero();
+      assertThat(font.getTexture().getWidth()).isGreaterThanOrEqualTo(256);
+      assertThat(font.getAscent()).isPositive();
+      assertThat(font.getLineHeight()).isGreaterThan(font.getAscent());
+      assertThat(font.glyph(glyph, FontAtlas.ADVANCE)).isPositive();
+      assertThat(font.glyph(glyph, FontAtlas.U1)).isGreaterThan(font.glyph(glyph, FontAtlas.U0));
+      assertThat(font.glyph(glyph, FontAtlas.V1)).isGreaterThan(font.glyph(glyph, FontAtlas.V0));
+      assertThat(glGetError()).isEqualTo(GL_NO_ERROR);
+    }
+  }
+
+  @Test
+  @DisplayName("A glyph should be drawn inside its laid-out quad and nowhere else")
+  void draw_rendersGlyphInsideItsQuad() {
+    float originX = 8f;
+    float originY = 56f;
+    try (FontAtlas font = AssetLoader.loadFont(FONT_PATH, 32f);
+         CameraUniformBuffer screenCamera = new CameraUniformBuffer();
+         TextRenderer renderer = new TextRenderer(screenCamera);
+         OffscreenTarget target = new OffscreenTarget(64, 64)) {
+      screenCamera.updateScreen(64f, 64f);
+      TextLayout layout = new TextLayout();
+      layout.update(font, "H", 1f);
+      FloatBuffer instances = BufferUtils.createFloatBuffer(layout.getGlyphCount() * TextLayout.INSTANCE_FLOATS);
+      layout.writeInstances(instances, originX, originY, new Vector4f(1f, 1f, 1f, 1f));
+      instances.flip();
+
+      target.clear();
+      renderer.begin();
+      renderer.draw(font.getTexture(), instances, layout.getGlyphCount());
+      renderer.end();
+
+      // The stems of an 'H' are fully covered, so some pixel inside the quad must be opaque.
+      int x0 = (int) Math.ceil(originX + layout.getQuad(0, 0));
+      int y0 = (int) Math.ceil(originY + layout.getQuad(0, 1));
+      int x1 = (int) Math.floor(originX + layout.getQuad(0, 2));
+      int y1 = (int) Math.floor(originY + layout.getQuad(0, 3));
+      int maxAlpha = 0;
+      for (int y = y0; y < y1; y++) {
+        for (int x = x0; x < x1; x++) {
+          maxAlpha = Math.max(maxAlpha, target.readPixel(x, y)[3]);
+        }
+      }
+      assertThat(maxAlpha).isGreaterThan(128);
+      assertThat(target.readPixel(62, 1)).containsExactly(0, 0, 0, 0);
+      assertThat(target.readPixel(1, 62)).containsExactly(0, 0, 0, 0);
+      assertThat(glGetError()).isEqualTo(GL_NO_ERROR);
+    }
+  }
+}
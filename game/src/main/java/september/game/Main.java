@@ -11,11 +11,16 @@ import september.engine.ecs.Component;
 import september.engine.ecs.components.ColliderComponent;
 import september.engine.ecs.components.ControllableComponent;
 import september.engine.ecs.components.MovementStatsComponent;
+import september.engine.ecs.components.ParticleEmitterComponent;
+import september.engine.ecs.components.SpriteAnimationComponent;
 import september.engine.ecs.components.SpriteComponent;
+import september.engine.ecs.components.StaticSpriteComponent;
+import september.engine.ecs.components.TilemapComponent;
 import september.engine.ecs.components.TransformComponent;
 import september.engine.state.GameState;
 import september.engine.ui.components.UIButtonComponent;
 import september.engine.ui.components.UIImageComponent;
+import september.engine.ui.components.UITextComponent;
 import september.engine.ui.components.UITransformComponent;
 import september.game.components.EnemyComponent;
 import september.game.components.HealthComponent;
@@ -43,6 +48,10 @@ public final class Main implements Game {
     // Engine Components
     registry.put("TransformComponent", TransformComponent.class);
     registry.put("SpriteComponent", SpriteComponent.class);
+    registry.put("SpriteAnimationComponent", SpriteAnimationComponent.class);
+    registry.put("StaticSpriteComponent", StaticSpriteComponent.class);
+    registry.put("TilemapComponent", TilemapComponent.class);
+    registry.put("ParticleEmitterComponent", ParticleEmitterComponent.class);
     registry.put("ControllableComponent", ControllableComponent.class);
     registry.put("MovementStatsComponent", MovementStatsComponent.class);
     registry.put("ColliderComponent", ColliderComponent.class);
@@ -53,6 +62,7 @@ public final class Main implements Game {
 
     registry.put("UITransformComponent", UITransformComponent.class);
     registry.put("UIImageComponent", UIImageComponent.class);
+    registry.put("UITextComponent", UITextComponent.class);
     registry.put("UIButtonComponent", UIButtonComponent.class);
 
     return registry;
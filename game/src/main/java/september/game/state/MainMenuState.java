@@ -7,9 +7,12 @@ import september.engine.events.EventListener;
 import september.engine.events.UIButtonClickedEvent;
 import september.engine.state.GameState;
 import september.engine.systems.RenderSystem;
+import september.engine.systems.TextRenderSystem;
 import september.engine.systems.UIRenderSystem;
 import september.engine.systems.UISystem;
 
+import java.util.List;
+
 public class MainMenuState implements GameState, EventListener<UIButtonClickedEvent> {
 
   private EngineServices services;
@@ -27,7 +30,8 @@ public class MainMenuState implements GameState, EventListener<UIButtonClickedEv
     var systemManager = services.systemManager();
     systemManager.register(new RenderSystem(services.world(), services.renderer(), services.resourceManager(), services.camera()));
     systemManager.register(new UISystem(services.world(), services.window(), services.inputService(), services.eventBus()));
-    systemManager.register(new UIRenderSystem(services.world(), services.resourceManager(), services.window()));
+    systemManager.register(new UIRenderSystem(services.world(), services.resourceManager(), services.screenCameraBuffer()));
+    systemManager.register(new TextRenderSystem(services.world(), services.resourceManager(), services.screenCameraBuffer()));
 
     // Subscribe to UI events
     services.eventBus().subscribe(UIButtonClickedEvent.class, this);
@@ -45,6 +49,12 @@ public class MainMenuState implements GameState, EventListener<UIButtonClickedEv
     services.systemManager().clear();
   }
 
+  @Override
+  public List<String> getPrefetchScenes() {
+    // "New Game" is the likely next step; decode its textures while the menu is shown.
+    return List.of(PlayingState.SCENE);
+  }
+
   @Override
   public void handle(UIButtonClickedEvent event) {
     if ("START_NEW_GAME".equals(event.actionEvent())) {
@@ -4,17 +4,21 @@ import org.joml.Vector3f;
 import september.engine.core.EngineServices;
 import september.engine.state.GameState;
 import september.engine.systems.MovementSystem;
+import september.engine.systems.ParticleSystem;
 import september.engine.systems.RenderSystem;
+import september.engine.systems.SpriteAnimationSystem;
 import september.game.input.InputMappingService;
 import september.game.input.MultiDeviceMappingService;
 import september.game.systems.EnemyAISystem;
 import september.game.systems.PlayerInputSystem;
 
 public class PlayingState implements GameState {
+  static final String SCENE = "/scenes/playing_scene.json";
+
   @Override
   public void onEnter(EngineServices services) {
-    // Step 1: Load the scene, which now includes loading all necessary assets.
-    services.sceneManager().load("/scenes/playing_scene.json", services.world());
+    // Step 1: Load the scene in the background; its entities appear once its textures are uploaded.
+    services.sceneManager().loadAsync(SCENE, services.world());
 
     // Step 2: Configure any engine services specific to this state.
     services.camera().setPosition(new Vector3f(0.0f, 0.0f, 5.0f));
@@ -27,7 +31,9 @@ public class PlayingState implements GameState {
     systemManager.register(new PlayerInputSystem(world, mappingService));
     systemManager.register(new MovementSystem(world));
     systemManager.register(new EnemyAISystem(world, services.timeService()));
+    systemManager.register(new SpriteAnimationSystem(world, services.resourceManager()));
     systemManager.register(new RenderSystem(world, services.renderer(), services.resourceManager(), services.camera()));
+    systemManager.register(new ParticleSystem(world, services.resourceManager(), services.camera(), services.worldCameraBuffer()));
   }
 
   @Override
@@ -39,13 +45,8 @@ public class PlayingState implements GameState {
 
   @Override
   public void onExit(EngineServices services) {
-    // When this state exits, we should clean up its resources.
-    // A robust implementation would involve the SceneManager and ResourceManager
-    // tracking which assets belong to which scene and unloading them.
-
-    // For now, we clear all entities and systems.
-    //var services = engine.getServices(); // Assuming a getter on Engine
-    services.world().getEntitiesWith().forEach(entityId -> services.world().destroyEntity(entityId));
+    // Destroy the scene's entities and release its assets; those no other scene uses are freed.
+    services.sceneManager().unload(services.world());
     services.systemManager().clear();
   }
 }